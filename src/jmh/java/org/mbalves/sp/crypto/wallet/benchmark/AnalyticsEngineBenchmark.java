@@ -0,0 +1,74 @@
+package org.mbalves.sp.crypto.wallet.benchmark;
+
+import org.mbalves.sp.crypto.wallet.application.usecase.PortfolioAnalyticsEngine;
+import org.mbalves.sp.crypto.wallet.domain.WalletAnalytics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time the {@link PortfolioAnalyticsEngine} takes to analyze a wallet over a year of daily returns,
+ * including the full correlation matrix of its tokens. With {@code threads=1} the correlations are computed
+ * on one core; with {@code threads=0} on every available processor.
+ * It runs on the CPU only:
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=AnalyticsEngineBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsEngineBenchmark {
+    private static final int HISTORY_DAYS = 365;
+
+    @Param({"10", "200"})
+    private int tokens;
+
+    @Param({"1", "0"})
+    private int threads;
+
+    private PortfolioAnalyticsEngine engine;
+    private double[] weights;
+    private double[][] logReturns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        engine = new PortfolioAnalyticsEngine(threads);
+        weights = new double[tokens];
+        Arrays.fill(weights, 1.0 / tokens);
+        logReturns = new double[tokens][HISTORY_DAYS];
+        for (double[] returns : logReturns) {
+            for (int day = 0; day < HISTORY_DAYS; day++) {
+                returns[day] = random.nextGaussian() * 0.04;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public WalletAnalytics analyze() {
+        return engine.analyze(weights, logReturns, 0.0);
+    }
+}
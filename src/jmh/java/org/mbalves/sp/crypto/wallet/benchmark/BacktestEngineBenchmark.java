@@ -0,0 +1,76 @@
+package org.mbalves.sp.crypto.wallet.benchmark;
+
+import org.mbalves.sp.crypto.wallet.application.usecase.DcaBacktestEngine;
+import org.mbalves.sp.crypto.wallet.domain.BacktestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time the {@link DcaBacktestEngine} takes to replay strategies of three weekly and daily
+ * purchases over five years of daily prices, for one strategy and for a hundred strategies replayed
+ * in parallel on every available processor. It runs on the CPU only:
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=BacktestEngineBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BacktestEngineBenchmark {
+    private static final int DAYS = 5 * 365 + 1;
+    private static final int TOKENS = 3;
+
+    @Param({"1", "100"})
+    private int strategyCount;
+
+    private DcaBacktestEngine engine;
+    private double[][] dailyPrices;
+    private List<DcaBacktestEngine.Strategy> strategies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        engine = new DcaBacktestEngine(0);
+        dailyPrices = new double[TOKENS][DAYS];
+        for (double[] prices : dailyPrices) {
+            prices[0] = 100.0;
+            for (int day = 1; day < DAYS; day++) {
+                prices[day] = prices[day - 1] * Math.exp(random.nextGaussian() * 0.04);
+            }
+        }
+        strategies = new ArrayList<>(strategyCount);
+        for (int s = 0; s < strategyCount; s++) {
+            strategies.add(new DcaBacktestEngine.Strategy(new int[]{0, 1, 2},
+                    new double[]{100.0, 50.0 + s, 10.0}, new int[]{7, 1 + s % 14, 1}));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public BacktestResult[] run() {
+        return engine.run(dailyPrices, strategies);
+    }
+}
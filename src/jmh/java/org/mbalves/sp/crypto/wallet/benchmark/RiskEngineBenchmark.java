@@ -0,0 +1,78 @@
+package org.mbalves.sp.crypto.wallet.benchmark;
+
+import org.mbalves.sp.crypto.wallet.application.usecase.MonteCarloRiskEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the paths per second simulated by the {@link MonteCarloRiskEngine} for a 10 day horizon
+ * over a year of daily returns. With {@code threads=1} the score is the throughput of one core;
+ * with {@code threads=0} the engine uses every available processor, so the score divided by the
+ * number of processors is the throughput per core when running in parallel.
+ * It runs on the CPU only:
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=RiskEngineBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RiskEngineBenchmark {
+    private static final int PATHS = 100_000;
+    private static final int HORIZON_DAYS = 10;
+    private static final int HISTORY_DAYS = 365;
+
+    @Param({"1", "10"})
+    private int positions;
+
+    @Param({"1", "0"})
+    private int threads;
+
+    private MonteCarloRiskEngine engine;
+    private double[] positionValues;
+    private double[] logReturns;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        engine = new MonteCarloRiskEngine(threads);
+        positionValues = new double[positions];
+        for (int p = 0; p < positions; p++) {
+            positionValues[p] = 1000.0 + random.nextInt(100_000);
+        }
+        logReturns = new double[HISTORY_DAYS * positions];
+        for (int i = 0; i < logReturns.length; i++) {
+            logReturns[i] = random.nextGaussian() * 0.04;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PATHS)
+    public double[] simulate() {
+        return engine.simulate(positionValues, logReturns, HORIZON_DAYS, PATHS, seed++);
+    }
+}
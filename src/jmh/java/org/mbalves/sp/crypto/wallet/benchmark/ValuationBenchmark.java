@@ -0,0 +1,84 @@
+package org.mbalves.sp.crypto.wallet.benchmark;
+
+import org.mbalves.sp.crypto.wallet.domain.Money;
+import org.mbalves.sp.crypto.wallet.domain.Quantity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares valuing a wallet and formatting its values to cents with {@link BigDecimal}, as the
+ * application did before, and with the fixed-point {@link Money} and {@link Quantity} types.
+ * It runs on the CPU only:
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=ValuationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValuationBenchmark {
+    @Param({"10", "1000"})
+    private int assets;
+
+    private BigDecimal[] decimalPrices;
+    private BigDecimal[] decimalQuantities;
+    private Money[] prices;
+    private Quantity[] quantities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        decimalPrices = new BigDecimal[assets];
+        decimalQuantities = new BigDecimal[assets];
+        prices = new Money[assets];
+        quantities = new Quantity[assets];
+        for (int i = 0; i < assets; i++) {
+            // Scale 10, as read from the DECIMAL(22,10) columns
+            decimalPrices[i] = BigDecimal.valueOf(random.nextLong(1_000_000_000_000_000L), 10);
+            decimalQuantities[i] = BigDecimal.valueOf(random.nextLong(100_000_000_000_000L), 10);
+            prices[i] = Money.of(decimalPrices[i]);
+            quantities[i] = Quantity.of(decimalQuantities[i]);
+        }
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole blackhole) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < assets; i++) {
+            BigDecimal value = decimalPrices[i].multiply(decimalQuantities[i]);
+            blackhole.consume(value.setScale(2, RoundingMode.HALF_UP).toPlainString());
+            total = total.add(value);
+        }
+        blackhole.consume(total.setScale(2, RoundingMode.HALF_UP).toPlainString());
+    }
+
+    @Benchmark
+    public void money(Blackhole blackhole) {
+        Money total = Money.ZERO;
+        for (int i = 0; i < assets; i++) {
+            Money value = prices[i].multiply(quantities[i]);
+            blackhole.consume(value.toCentsString());
+            total = total.add(value);
+        }
+        blackhole.consume(total.toCentsString());
+    }
+}
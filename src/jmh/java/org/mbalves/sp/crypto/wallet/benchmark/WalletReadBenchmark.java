@@ -0,0 +1,145 @@
+package org.mbalves.sp.crypto.wallet.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mbalves.sp.crypto.wallet.WalletApplication;
+import org.mbalves.sp.crypto.wallet.adapter.rest.dto.AssetResponse;
+import org.mbalves.sp.crypto.wallet.adapter.rest.dto.WalletResponse;
+import org.mbalves.sp.crypto.wallet.application.port.in.GetWalletUseCase;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.WalletView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways {@code GET /api/wallets/{id}} can produce its JSON body:
+ * <ul>
+ *   <li>{@code orm}: the wallet entity graph loaded by Hibernate, copied to the domain and serialized by Jackson</li>
+ *   <li>{@code view}: the read-only view projected from JDBC rows and serialized by Jackson</li>
+ *   <li>{@code database}: the document rendered by PostgreSQL with json_agg</li>
+ * </ul>
+ * It runs against the PostgreSQL database configured for the application, e.g. with
+ * {@code CRYPTO_DB_URL} and {@code CRYPTO_DB_NAME}, and removes the wallet and tokens it creates:
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=WalletReadBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WalletReadBenchmark {
+    private static final String TOKEN_PREFIX = "jmh-wallet-read-";
+
+    @Param({"1", "10", "50"})
+    private int assets;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private WalletRepositoryPort walletRepository;
+    private GetWalletUseCase getWalletUseCase;
+    private TransactionTemplate readOnly;
+    private ObjectMapper objectMapper;
+    private Long walletId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(WalletApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("crypto.price-update-interval=999999999", "crypto.price-history.compaction-cron=-")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        walletRepository = context.getBean(WalletRepositoryPort.class);
+        getWalletUseCase = context.getBean(GetWalletUseCase.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        tearDownData();
+        walletId = jdbcTemplate.queryForObject("INSERT INTO wallet (email) VALUES (?) RETURNING id", Long.class,
+                TOKEN_PREFIX + "wallet@example.com");
+        for (int i = 0; i < assets; i++) {
+            jdbcTemplate.update("INSERT INTO token (id, symbol, price, last_updated) VALUES (?, ?, ?, now())",
+                    TOKEN_PREFIX + i, "JMH" + i, new BigDecimal("1234.5678901234").add(BigDecimal.valueOf(i)));
+            jdbcTemplate.update("INSERT INTO asset (wallet_id, token_id, quantity) VALUES (?, ?, ?)",
+                    walletId, TOKEN_PREFIX + i, new BigDecimal("0.1234567891").multiply(BigDecimal.valueOf(i + 1)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tearDownData();
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] orm() throws JsonProcessingException {
+        Wallet wallet = readOnly.execute(status -> walletRepository.findById(walletId).orElseThrow());
+        WalletResponse response = new WalletResponse();
+        response.setId(wallet.getId());
+        response.setAssets(wallet.getAssets().stream()
+                .map(asset -> {
+                    AssetResponse ar = new AssetResponse();
+                    ar.setSymbol(asset.getToken().getSymbol());
+                    ar.setPrice(asset.getToken().getPrice());
+                    ar.setQuantity(asset.getQuantity());
+                    ar.setValue(asset.getValue());
+                    return ar;
+                })
+                .toList());
+        response.setTotal(wallet.getTotal());
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] view() throws JsonProcessingException {
+        WalletView wallet = getWalletUseCase.getWallet(walletId);
+        WalletResponse response = new WalletResponse();
+        response.setId(wallet.id());
+        response.setAssets(wallet.assets().stream()
+                .map(asset -> {
+                    AssetResponse ar = new AssetResponse();
+                    ar.setSymbol(asset.symbol());
+                    ar.setPrice(asset.price());
+                    ar.setQuantity(asset.quantity());
+                    ar.setValue(asset.value());
+                    return ar;
+                })
+                .toList());
+        response.setTotal(wallet.total());
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] database() {
+        return getWalletUseCase.getWalletJson(walletId);
+    }
+
+    private void tearDownData() {
+        jdbcTemplate.update("DELETE FROM wallet WHERE email LIKE ?", TOKEN_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM token WHERE id LIKE ?", TOKEN_PREFIX + "%");
+    }
+}
@@ -0,0 +1,217 @@
+package org.mbalves.sp.crypto.wallet.adapter.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceHistoryRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.PricePoint;
+import org.mbalves.sp.crypto.wallet.domain.PriceResolution;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Adapter for the price history, stored in the monthly partitions of {@code token_price_tick}.
+ * Implements the {@link PriceHistoryRepositoryPort} interface with plain JDBC, as partitions are
+ * managed with DDL that JPA has no notion of. The partition maintenance and the daily price query
+ * are PostgreSQL specific.
+ * The resolution column stores a fixed code per {@link PriceResolution}, independent of the declaration order:
+ * 0 for raw ticks, 1 for hourly and 2 for daily prices.
+ * Partition names are built from the month, never from input, and checked against a fixed pattern
+ * before they reach the DDL.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class PriceHistoryRepositoryAdapter implements PriceHistoryRepositoryPort {
+    private static final String TABLE = "token_price_tick";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTITION_NAME = Pattern.compile(TABLE + "_\\d{6}");
+    private static final String UTC_DAY = "date_trunc('day', ts AT TIME ZONE 'UTC')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void recordPrices(List<Token> tokens, Instant timestamp) {
+        OffsetDateTime ts = OffsetDateTime.ofInstant(timestamp, ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate("INSERT INTO " + TABLE + " (token_id, ts, resolution, price) VALUES (?, ?, ?, ?)",
+                tokens, tokens.size(), (ps, token) -> {
+                    ps.setString(1, token.getId());
+                    ps.setObject(2, ts);
+                    ps.setShort(3, code(PriceResolution.TICK));
+                    ps.setBigDecimal(4, token.getPrice());
+                });
+    }
+
+    /**
+     * Finds the prices of a token in the time range, oldest first.
+     * The range prunes the scan to the partitions it overlaps and the primary key
+     * on (token_id, ts) narrows it to the token.
+     *
+     * @param tokenId The ID of the token
+     * @param from    The start of the range, inclusive
+     * @param to      The end of the range, exclusive
+     * @return The prices in the range, at whatever resolution they are stored
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PricePoint> findPrices(String tokenId, Instant from, Instant to) {
+        return jdbcTemplate.query("SELECT ts, resolution, price FROM " + TABLE
+                        + " WHERE token_id = ? AND ts >= ? AND ts < ? ORDER BY ts",
+                (rs, rowNum) -> new PricePoint(
+                        rs.getObject("ts", OffsetDateTime.class).toInstant(),
+                        rs.getBigDecimal("price"),
+                        resolution(rs.getShort("resolution"))),
+                tokenId, OffsetDateTime.ofInstant(from, ZoneOffset.UTC), OffsetDateTime.ofInstant(to, ZoneOffset.UTC));
+    }
+
+    /**
+     * Finds the last price of each UTC day of many tokens in the time range with a single query.
+     * PostgreSQL picks the last price of each day with {@code DISTINCT ON}, so only one row per token
+     * and day is sent, whatever the resolution the prices are stored with.
+     *
+     * @param tokenIds The IDs of the tokens
+     * @param from     The start of the range, inclusive
+     * @param to       The end of the range, exclusive
+     * @return The daily prices of each token with prices in the range, oldest first, timestamped at the start of their day
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, List<PricePoint>> findDailyPrices(Collection<String> tokenIds, Instant from, Instant to) {
+        Map<String, List<PricePoint>> prices = new HashMap<>();
+        if (tokenIds.isEmpty()) {
+            return prices;
+        }
+        List<Object> args = new ArrayList<>(tokenIds);
+        args.add(OffsetDateTime.ofInstant(from, ZoneOffset.UTC));
+        args.add(OffsetDateTime.ofInstant(to, ZoneOffset.UTC));
+        jdbcTemplate.query("SELECT DISTINCT ON (token_id, " + UTC_DAY + ") token_id, "
+                        + UTC_DAY + " AT TIME ZONE 'UTC' AS day, price FROM " + TABLE
+                        + " WHERE token_id IN (" + String.join(", ", Collections.nCopies(tokenIds.size(), "?")) + ")"
+                        + " AND ts >= ? AND ts < ?"
+                        + " ORDER BY token_id, " + UTC_DAY + ", ts DESC",
+                (RowCallbackHandler) rs -> prices.computeIfAbsent(rs.getString("token_id"), id -> new ArrayList<>())
+                        .add(new PricePoint(rs.getObject("day", OffsetDateTime.class).toInstant(),
+                                rs.getBigDecimal("price"), PriceResolution.DAY)),
+                args.toArray());
+        return prices;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<YearMonth, PriceResolution> findPartitions() {
+        Map<YearMonth, PriceResolution> partitions = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT month_start, resolution FROM token_price_partition ORDER BY month_start", rs -> {
+            partitions.put(YearMonth.from(rs.getDate("month_start").toLocalDate()),
+                    resolution(rs.getShort("resolution")));
+        });
+        return partitions;
+    }
+
+    @Override
+    @Transactional
+    public boolean createPartition(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT create_token_price_tick_partition(?)", Boolean.class, month.atDay(1)));
+    }
+
+    /**
+     * Replaces the partition of the month with a downsampled copy, keeping the last price of
+     * each token per bucket. The copy is built in a new table and swapped in, so the old
+     * partition is dropped as a whole instead of leaving a mostly deleted table to vacuum.
+     *
+     * @param month      The month of the partition
+     * @param resolution The resolution to downsample to
+     */
+    @Override
+    @Transactional
+    public void downsamplePartition(YearMonth month, PriceResolution resolution) {
+        String partition = partitionName(month);
+        String compacted = partition + "_compacted";
+        String start = startOf(month);
+        String end = startOf(month.plusMonths(1));
+        String bucket = "date_trunc('" + (resolution.getBucket() == ChronoUnit.HOURS ? "hour" : "day")
+                + "', ts AT TIME ZONE 'UTC') AT TIME ZONE 'UTC'";
+
+        jdbcTemplate.execute("CREATE TABLE " + compacted + " (LIKE " + TABLE + " INCLUDING DEFAULTS)");
+        jdbcTemplate.update("INSERT INTO " + compacted + " (token_id, ts, resolution, price)"
+                + " SELECT token_id, " + bucket + ", ?, (array_agg(price ORDER BY ts DESC))[1]"
+                + " FROM " + partition + " GROUP BY token_id, " + bucket, code(resolution));
+        // A constraint matching the bounds lets ATTACH skip scanning the new partition
+        jdbcTemplate.execute("ALTER TABLE " + compacted + " ADD CONSTRAINT " + compacted + "_bounds CHECK (ts >= "
+                + start + " AND ts < " + end + ")");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        jdbcTemplate.execute("ALTER TABLE " + compacted + " RENAME TO " + partition);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition
+                + " FOR VALUES FROM (" + start + ") TO (" + end + ")");
+        jdbcTemplate.execute("ALTER TABLE " + partition + " DROP CONSTRAINT " + compacted + "_bounds");
+        jdbcTemplate.update("UPDATE token_price_partition SET resolution = ? WHERE month_start = ?",
+                code(resolution), month.atDay(1));
+    }
+
+    /**
+     * Detaches the partition of the month and drops it, removing its prices at once.
+     *
+     * @param month The month of the partition
+     */
+    @Override
+    @Transactional
+    public void dropPartition(YearMonth month) {
+        String partition = partitionName(month);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        jdbcTemplate.update("DELETE FROM token_price_partition WHERE month_start = ?", month.atDay(1));
+    }
+
+    /**
+     * Helper method that names the partition of a month, rejecting months whose name would not be
+     * a plain identifier, such as years beyond 9999.
+     */
+    static String partitionName(YearMonth month) {
+        String partition = TABLE + "_" + month.format(PARTITION_SUFFIX);
+        if (!PARTITION_NAME.matcher(partition).matches()) {
+            throw new IllegalArgumentException("No price partition for month: " + month);
+        }
+        return partition;
+    }
+
+    static short code(PriceResolution resolution) {
+        return switch (resolution) {
+            case TICK -> 0;
+            case HOUR -> 1;
+            case DAY -> 2;
+        };
+    }
+
+    static PriceResolution resolution(short code) {
+        return switch (code) {
+            case 0 -> PriceResolution.TICK;
+            case 1 -> PriceResolution.HOUR;
+            case 2 -> PriceResolution.DAY;
+            default -> throw new IllegalStateException("Unknown price resolution code: " + code);
+        };
+    }
+
+    private String startOf(YearMonth month) {
+        return "'" + month.atDay(1) + " 00:00:00+00'";
+    }
+}
@@ -0,0 +1,98 @@
+package org.mbalves.sp.crypto.wallet.adapter.persistence;
+
+import io.r2dbc.spi.Readable;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.mbalves.sp.crypto.wallet.adapter.persistence.entity.TokenEntity;
+import org.mbalves.sp.crypto.wallet.application.port.out.TokenRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * R2DBC adapter for token persistence operations, replacing the {@link TokenRepositoryAdapter} in the reactive profile.
+ * Implements the {@link TokenRepositoryPort} interface with plain SQL through the {@link DatabaseClient},
+ * waiting for each statement like the other R2DBC adapters.
+ * The tokens read and saved update the shared tokens of the {@link TokenRegistry}, and a saved token is evicted
+ * from the second-level cache the JDBC wallet queries read tokens from, since the save bypasses Hibernate.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class R2dbcTokenRepositoryAdapter implements TokenRepositoryPort {
+    private static final String SELECT_SQL = "SELECT id, symbol, price, last_updated FROM token";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final TokenRegistry tokenRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Updates the token, or inserts it if it is not stored yet, in one transaction.
+     * As with the JPA adapter, the time of the last update is the time of the save.
+     *
+     * @param token The token to save
+     * @return The saved token
+     */
+    @Override
+    public Token save(Token token) {
+        Instant lastUpdated = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        OffsetDateTime timestamp = lastUpdated.atOffset(ZoneOffset.UTC);
+        Mono<Long> update = databaseClient.sql("UPDATE token SET symbol = :symbol, price = :price, last_updated = :lastUpdated"
+                        + " WHERE id = :id")
+                .bind("symbol", token.getSymbol())
+                .bind("price", token.getPrice())
+                .bind("lastUpdated", timestamp)
+                .bind("id", token.getId())
+                .fetch()
+                .rowsUpdated();
+        Mono<Long> insert = databaseClient.sql("INSERT INTO token (id, symbol, price, last_updated)"
+                        + " VALUES (:id, :symbol, :price, :lastUpdated)")
+                .bind("id", token.getId())
+                .bind("symbol", token.getSymbol())
+                .bind("price", token.getPrice())
+                .bind("lastUpdated", timestamp)
+                .fetch()
+                .rowsUpdated();
+        transactionalOperator.transactional(update.flatMap(rows -> rows == 0 ? insert : Mono.just(rows))).block();
+        entityManagerFactory.getCache().evict(TokenEntity.class, token.getId());
+        return tokenRegistry.register(new Token(token.getId(), token.getSymbol(), token.getPrice(), lastUpdated));
+    }
+
+    @Override
+    public Optional<Token> findBySymbol(String symbol) {
+        return databaseClient.sql(SELECT_SQL + " WHERE symbol = :symbol")
+                .bind("symbol", symbol)
+                .map(this::toDomain)
+                .one()
+                .blockOptional();
+    }
+
+    @Override
+    public List<Token> findAll() {
+        return databaseClient.sql(SELECT_SQL)
+                .map(this::toDomain)
+                .all()
+                .collectList()
+                .block();
+    }
+
+    private Token toDomain(Readable row) {
+        return tokenRegistry.register(new Token(row.get("id", String.class), row.get("symbol", String.class),
+                row.get("price", BigDecimal.class), row.get("last_updated", OffsetDateTime.class).toInstant()));
+    }
+}
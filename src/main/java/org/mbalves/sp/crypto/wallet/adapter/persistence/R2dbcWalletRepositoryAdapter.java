@@ -0,0 +1,297 @@
+package org.mbalves.sp.crypto.wallet.adapter.persistence;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.mbalves.sp.crypto.wallet.adapter.persistence.WalletRepositoryAdapter.WalletRow;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.Asset;
+import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletConcurrentModificationException;
+import org.mbalves.sp.crypto.wallet.infrastructure.datasource.RecentWritesTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * R2DBC adapter for wallet persistence operations, replacing the {@link WalletRepositoryAdapter} in the reactive profile.
+ * Implements the {@link WalletRepositoryPort} interface with plain SQL through the {@link DatabaseClient}.
+ * The port is synchronous, so each method waits for its statements; it is called by use cases running
+ * off the event loops. Wallets are read with their assets and tokens in a single joined query,
+ * and all reads go to the primary, so there is no read-your-writes window to respect,
+ * but writes are still recorded for the JDBC adapters that read from replicas.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class R2dbcWalletRepositoryAdapter implements WalletRepositoryPort {
+    private static final String SELECT_SQL = "SELECT w.id, w.email, w.version,"
+            + " a.id AS asset_id, a.quantity, a.version AS asset_version, a.acquired_on,"
+            + " t.id AS token_id, t.symbol, t.price"
+            + " FROM wallet w"
+            + " LEFT JOIN asset a ON a.wallet_id = w.id"
+            + " LEFT JOIN token t ON t.id = a.token_id";
+    private static final String FIND_BY_ID_SQL = SELECT_SQL + " WHERE w.id = :id ORDER BY a.id";
+    private static final String FIND_BY_EMAIL_SQL = SELECT_SQL + " WHERE w.email = :email ORDER BY a.id";
+    private static final String FIND_ALL_SQL = SELECT_SQL + " ORDER BY w.id, a.id";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final RecentWritesTracker recentWritesTracker;
+    private final TokenRegistry tokenRegistry;
+
+    @Value("${crypto.wallet.export.fetch-size:1000}")
+    private int streamFetchSize;
+
+    /**
+     * Saves the wallet and its assets in one transaction, checking the versions read with them.
+     * As in the {@link WalletRepositoryAdapter}, the wallet version is incremented on every save of an
+     * existing wallet. Only the assets whose quantity changed are updated, and the stored assets no longer
+     * in the wallet are deleted; each of those statements is conditioned on the asset version, so a concurrent
+     * change fails the save even when the wallet version was not given. Any failure rolls the whole save back.
+     *
+     * @param wallet The wallet to save
+     * @return The saved wallet with its new versions, as read back in the transaction
+     * @throws WalletConcurrentModificationException if the wallet was modified since it was read
+     */
+    @Override
+    public Wallet save(Wallet wallet) {
+        Mono<Long> walletId = wallet.getId() == null ? insertWallet(wallet.getEmail()) : incrementVersion(wallet);
+        List<WalletRow> rows = transactionalOperator.transactional(walletId
+                        .flatMap(id -> saveAssets(id, wallet).then(findRows(FIND_BY_ID_SQL, "id", id).collectList())))
+                .block();
+        Wallet saved = WalletRepositoryAdapter.groupByWallet(rows.stream()).findFirst().orElseThrow();
+        recentWritesTracker.recordWalletWrite(saved.getId());
+        return saved;
+    }
+
+    /**
+     * Creates an empty wallet for the email unless one already exists.
+     * A single {@code INSERT} is sent; the unique email turns a second wallet into a duplicate key.
+     *
+     * @param email The email address of the wallet owner
+     * @return The new wallet, or empty if the email already has a wallet
+     */
+    @Override
+    public Optional<Wallet> createIfAbsent(String email) {
+        return insertWallet(email)
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.empty())
+                .blockOptional()
+                .map(id -> {
+                    recentWritesTracker.recordWalletWrite(id);
+                    Wallet wallet = new Wallet();
+                    wallet.setId(id);
+                    wallet.setEmail(email);
+                    wallet.setVersion(0L);
+                    return wallet;
+                });
+    }
+
+    @Override
+    public Optional<Wallet> findByEmail(String email) {
+        return findOne(FIND_BY_EMAIL_SQL, "email", email);
+    }
+
+    @Override
+    public Optional<Wallet> findById(Long id) {
+        return findOne(FIND_BY_ID_SQL, "id", id);
+    }
+
+    /**
+     * Same as {@link #findById(Long)}: the R2DBC pool only connects to the primary.
+     */
+    @Override
+    public Optional<Wallet> findByIdForUpdate(Long id) {
+        return findOne(FIND_BY_ID_SQL, "id", id);
+    }
+
+    /**
+     * Same as {@link #findById(Long)}: every read fetches the assets and their tokens with the wallet.
+     */
+    @Override
+    public Optional<Wallet> findByIdWithAssets(Long id) {
+        return findOne(FIND_BY_ID_SQL, "id", id);
+    }
+
+    /**
+     * Loads every wallet at once. Use {@link #streamAll()} for anything but small data sets.
+     *
+     * @return All wallets with their assets
+     */
+    @Override
+    public List<Wallet> findAll() {
+        List<WalletRow> rows = databaseClient.sql(FIND_ALL_SQL).map(this::toWalletRow).all().collectList().block();
+        return WalletRepositoryAdapter.groupByWallet(rows.stream()).toList();
+    }
+
+    /**
+     * Streams every wallet with its assets in ID order, requesting {@code fetch-size} rows at a time
+     * in a read transaction of its own, so the PostgreSQL driver can fetch them through a cursor.
+     * Only the rows requested and the wallet being assembled are held in memory.
+     * Closing the stream before its end cancels the query and ends the transaction.
+     *
+     * @return The wallets, to be closed after use
+     */
+    @Override
+    public Stream<Wallet> streamAll() {
+        Flux<WalletRow> rows = databaseClient.sql(FIND_ALL_SQL)
+                .filter(statement -> statement.fetchSize(streamFetchSize))
+                .map(this::toWalletRow)
+                .all();
+        return WalletRepositoryAdapter.groupByWallet(transactionalOperator.transactional(rows).toStream(streamFetchSize));
+    }
+
+    /**
+     * Deletes the wallet with a single {@code DELETE} statement; its assets are deleted by the foreign key.
+     *
+     * @param id The ID of the wallet to delete
+     * @return true if the wallet existed and was deleted
+     */
+    @Override
+    public boolean deleteById(Long id) {
+        recentWritesTracker.recordWalletWrite(id);
+        Long deleted = databaseClient.sql("DELETE FROM wallet WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .block();
+        return deleted != null && deleted > 0;
+    }
+
+    /**
+     * Helper method that inserts a wallet, taking its ID from the sequence default of the column.
+     */
+    private Mono<Long> insertWallet(String email) {
+        return databaseClient.sql("INSERT INTO wallet (email) VALUES (:email)")
+                .bind("email", email)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    /**
+     * Helper method that increments the version of an existing wallet, if it is still the version read.
+     */
+    private Mono<Long> incrementVersion(Wallet wallet) {
+        DatabaseClient.GenericExecuteSpec update = wallet.getVersion() != null
+                ? databaseClient.sql("UPDATE wallet SET email = :email, version = version + 1 WHERE id = :id AND version = :version")
+                        .bind("version", wallet.getVersion())
+                : databaseClient.sql("UPDATE wallet SET email = :email, version = version + 1 WHERE id = :id");
+        return update.bind("email", wallet.getEmail())
+                .bind("id", wallet.getId())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(rows -> rows == 0
+                        ? Mono.error(new WalletConcurrentModificationException(wallet.getId()))
+                        : Mono.just(wallet.getId()));
+    }
+
+    /**
+     * Helper method that writes the differences between the assets of the wallet and the stored ones.
+     */
+    private Mono<Void> saveAssets(Long walletId, Wallet wallet) {
+        return databaseClient.sql("SELECT id, quantity, version FROM asset WHERE wallet_id = :walletId")
+                .bind("walletId", walletId)
+                .map(row -> new StoredAsset(row.get("id", Long.class), row.get("quantity", BigDecimal.class),
+                        row.get("version", Long.class)))
+                .all()
+                .collectMap(StoredAsset::id)
+                .flatMap(storedAssets -> {
+                    Map<Long, StoredAsset> removed = new HashMap<>(storedAssets);
+                    List<Mono<Long>> writes = new ArrayList<>();
+                    for (Asset asset : wallet.getAssets()) {
+                        if (asset.getId() == null) {
+                            writes.add(databaseClient.sql("INSERT INTO asset (quantity, token_id, wallet_id, version)"
+                                            + " VALUES (:quantity, :tokenId, :walletId, 0)")
+                                    .bind("quantity", asset.getQuantity())
+                                    .bind("tokenId", asset.getToken().getId())
+                                    .bind("walletId", walletId)
+                                    .fetch()
+                                    .rowsUpdated());
+                            continue;
+                        }
+                        StoredAsset stored = removed.remove(asset.getId());
+                        if (stored == null || (asset.getVersion() != null && !asset.getVersion().equals(stored.version()))) {
+                            return Mono.error(new WalletConcurrentModificationException(walletId));
+                        }
+                        if (stored.quantity().compareTo(asset.getQuantity()) != 0) {
+                            writes.add(checkVersion(walletId, databaseClient.sql("UPDATE asset SET quantity = :quantity,"
+                                            + " version = version + 1 WHERE id = :id AND version = :version")
+                                    .bind("quantity", asset.getQuantity())
+                                    .bind("id", asset.getId())
+                                    .bind("version", stored.version())));
+                        }
+                    }
+                    for (StoredAsset stored : removed.values()) {
+                        writes.add(checkVersion(walletId, databaseClient.sql("DELETE FROM asset WHERE id = :id AND version = :version")
+                                .bind("id", stored.id())
+                                .bind("version", stored.version())));
+                    }
+                    return Flux.concat(writes).then();
+                });
+    }
+
+    /**
+     * Helper method that runs a versioned asset write, failing when the asset was modified since it was read.
+     */
+    private static Mono<Long> checkVersion(Long walletId, DatabaseClient.GenericExecuteSpec write) {
+        return write.fetch()
+                .rowsUpdated()
+                .flatMap(rows -> rows == 0
+                        ? Mono.error(new WalletConcurrentModificationException(walletId))
+                        : Mono.just(rows));
+    }
+
+    private Optional<Wallet> findOne(String sql, String name, Object value) {
+        List<WalletRow> rows = findRows(sql, name, value).collectList().block();
+        return WalletRepositoryAdapter.groupByWallet(rows.stream()).findFirst();
+    }
+
+    private Flux<WalletRow> findRows(String sql, String name, Object value) {
+        return databaseClient.sql(sql)
+                .bind(name, value)
+                .map(this::toWalletRow)
+                .all();
+    }
+
+    private WalletRow toWalletRow(Readable row) {
+        Wallet wallet = new Wallet();
+        wallet.setId(row.get("id", Long.class));
+        wallet.setEmail(row.get("email", String.class));
+        wallet.setVersion(row.get("version", Long.class));
+        Asset asset = null;
+        Long assetId = row.get("asset_id", Long.class);
+        if (assetId != null) {
+            asset = new Asset();
+            asset.setId(assetId);
+            asset.setQuantity(row.get("quantity", BigDecimal.class));
+            asset.setVersion(row.get("asset_version", Long.class));
+            asset.setAcquiredOn(row.get("acquired_on", LocalDate.class));
+            asset.setToken(tokenRegistry.get(row.get("token_id", String.class), row.get("symbol", String.class),
+                    row.get("price", BigDecimal.class)));
+        }
+        return new WalletRow(wallet, asset);
+    }
+
+    /**
+     * The stored state of an asset the saved one is compared with.
+     */
+    private record StoredAsset(Long id, BigDecimal quantity, Long version) {
+    }
+}
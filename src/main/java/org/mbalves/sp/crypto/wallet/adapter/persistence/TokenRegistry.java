@@ -0,0 +1,73 @@
+package org.mbalves.sp.crypto.wallet.adapter.persistence;
+
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hands out one shared {@link Token} per token ID to the persistence adapters, so that
+ * wallets holding the same token reference the same instance, symbol and price instead of a copy per asset.
+ * The registered token is replaced atomically when a read or a save brings a different price,
+ * and symbols are interned when a token is registered.
+ * There are only as many entries as tokens in the database, so the registry is not bounded.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Component
+public class TokenRegistry {
+    private final ConcurrentMap<String, Token> tokens = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared token for a row that does not carry the time of the last price update.
+     *
+     * @param id     The token ID
+     * @param symbol The token symbol
+     * @param price  The token price read
+     * @return The registered token, replaced first if it did not have this symbol and price
+     */
+    public Token get(String id, String symbol, BigDecimal price) {
+        if (id == null) {
+            return new Token(null, symbol, price, null);
+        }
+        Token registered = tokens.get(id);
+        if (registered != null && matches(registered, symbol, price)) {
+            return registered;
+        }
+        return tokens.compute(id, (key, current) -> current != null && matches(current, symbol, price)
+                ? current
+                : new Token(key, symbol.intern(), price, null));
+    }
+
+    /**
+     * Returns the shared token for a token read or saved with all its fields.
+     *
+     * @param token The token read or saved
+     * @return The registered token, replaced first by the given one if any field differs
+     */
+    public Token register(Token token) {
+        if (token.getId() == null) {
+            return token;
+        }
+        Token registered = tokens.get(token.getId());
+        if (token.equals(registered)) {
+            return registered;
+        }
+        return tokens.compute(token.getId(), (key, current) -> token.equals(current)
+                ? current
+                : new Token(key, token.getSymbol().intern(), token.getPrice(), token.getLastUpdated()));
+    }
+
+    int size() {
+        return tokens.size();
+    }
+
+    private static boolean matches(Token token, String symbol, BigDecimal price) {
+        return token.getSymbol().equals(symbol) && Objects.equals(token.getPrice(), price);
+    }
+}
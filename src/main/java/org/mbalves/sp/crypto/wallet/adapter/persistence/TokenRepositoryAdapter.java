@@ -5,7 +5,9 @@ import org.mbalves.sp.crypto.wallet.adapter.persistence.entity.TokenEntity;
 import org.mbalves.sp.crypto.wallet.adapter.persistence.repository.TokenJpaRepository;
 import org.mbalves.sp.crypto.wallet.application.port.out.TokenRepositoryPort;
 import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,15 +16,18 @@ import java.util.Optional;
  * Adapter for token persistence operations.
  * Implements the {@link TokenRepositoryPort} interface.
  * Handles conversion between domain and entity models for tokens.
+ * The tokens read and saved update the shared tokens of the {@link TokenRegistry}.
  * Delegates database operations to the {@link TokenJpaRepository}.
  *
  * @author Marcelo Alves
  * @version 1.0
  */
 @Component
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class TokenRepositoryAdapter implements TokenRepositoryPort {
     private final TokenJpaRepository tokenJpaRepository;
+    private final TokenRegistry tokenRegistry;
 
     @Override
     public Token save(Token token) {
@@ -33,10 +38,11 @@ public class TokenRepositoryAdapter implements TokenRepositoryPort {
 
     @Override
     public Optional<Token> findBySymbol(String symbol) {
-        return tokenJpaRepository.findById(symbol).map(this::toDomain);
+        return tokenJpaRepository.findBySymbol(symbol).map(this::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Token> findAll() {
         return tokenJpaRepository.findAll().stream()
                 .map(this::toDomain)
@@ -55,12 +61,7 @@ public class TokenRepositoryAdapter implements TokenRepositoryPort {
     }
 
     private Token toDomain(TokenEntity entity) {
-        Token token = new Token();
-        token.setId(entity.getId());
-        token.setSymbol(entity.getSymbol());
-        token.setPrice(entity.getPrice());
-        token.setLastUpdated(entity.getLastUpdated());
-        return token;
+        return tokenRegistry.register(new Token(entity.getId(), entity.getSymbol(), entity.getPrice(), entity.getLastUpdated()));
     }
 
 }
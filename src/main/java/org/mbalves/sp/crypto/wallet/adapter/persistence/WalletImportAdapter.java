@@ -0,0 +1,180 @@
+package org.mbalves.sp.crypto.wallet.adapter.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletImportPort;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportRow;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Adapter for bulk wallet imports on PostgreSQL.
+ * Implements the {@link WalletImportPort} interface.
+ * Rows are streamed with {@code COPY} into a temporary staging table that lives until the
+ * end of the transaction, and merged into the wallets and assets with set-based statements.
+ * All methods must run in the same transaction.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class WalletImportAdapter implements WalletImportPort {
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void createStaging() {
+        jdbcTemplate.execute("CREATE TEMP TABLE wallet_import ("
+                + " line BIGINT NOT NULL,"
+                + " email VARCHAR(255) NOT NULL,"
+                + " symbol VARCHAR(50),"
+                + " quantity DECIMAL(22,10)"
+                + ") ON COMMIT DROP");
+    }
+
+    /**
+     * Streams the rows into the staging table with {@code COPY}, holding only one buffer of rows in memory.
+     *
+     * @param rows The validated rows
+     * @return The number of rows staged
+     */
+    @Override
+    public long stage(Stream<WalletImportRow> rows) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyManager copyManager = new CopyManager(connection.unwrap(BaseConnection.class));
+            CopyIn copyIn = copyManager.copyIn("COPY wallet_import (line, email, symbol, quantity) FROM STDIN (FORMAT csv)");
+            try {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(COPY_BUFFER_SIZE + 1024);
+                Iterator<WalletImportRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    buffer.writeBytes(toCsv(iterator.next()).getBytes(StandardCharsets.UTF_8));
+                    if (buffer.size() >= COPY_BUFFER_SIZE) {
+                        copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+                        buffer.reset();
+                    }
+                }
+                if (buffer.size() > 0) {
+                    copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+                }
+                long staged = copyIn.endCopy();
+                // Temporary tables are never analyzed automatically
+                jdbcTemplate.execute("ANALYZE wallet_import");
+                return staged;
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        } catch (SQLException e) {
+            throw jdbcTemplate.getExceptionTranslator().translate("COPY wallet_import", null, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    @Override
+    public List<String> findUnknownSymbols() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT i.symbol FROM wallet_import i"
+                + " WHERE i.symbol IS NOT NULL"
+                + " AND NOT EXISTS (SELECT 1 FROM token t WHERE t.symbol = i.symbol)", String.class);
+    }
+
+    @Override
+    public List<WalletImportRow> findRowsWithSymbols(Collection<String> symbols, int limit) {
+        return jdbcTemplate.query("SELECT line, email, symbol, quantity FROM wallet_import"
+                        + " WHERE symbol = ANY (?) ORDER BY line LIMIT ?",
+                (rs, rowNum) -> new WalletImportRow(rs.getLong("line"), rs.getString("email"),
+                        rs.getString("symbol"), rs.getString("quantity")),
+                symbols.toArray(String[]::new), limit);
+    }
+
+    @Override
+    public long deleteRowsWithSymbols(Collection<String> symbols) {
+        return jdbcTemplate.update("DELETE FROM wallet_import WHERE symbol = ANY (?)", (Object) symbols.toArray(String[]::new));
+    }
+
+    /**
+     * Saves the tokens resolved during the import in its transaction, so the whole import commits or rolls back
+     * whichever adapter serves the token repository. Only missing tokens are inserted; none of them is cached yet.
+     *
+     * @param tokens The tokens of the symbols the database did not know
+     */
+    @Override
+    public void saveTokens(Collection<Token> tokens) {
+        jdbcTemplate.batchUpdate("INSERT INTO token (id, symbol, price, last_updated) VALUES (?, ?, ?, now())"
+                        + " ON CONFLICT DO NOTHING",
+                tokens.stream().map(token -> new Object[]{token.getId(), token.getSymbol(), token.getPrice()}).toList());
+    }
+
+    /**
+     * Creates the missing wallets and adds the staged quantities to the assets, creating missing assets.
+     * Quantities of the same wallet and symbol are summed first, then upserted on the unique wallet and token
+     * of the assets, so a concurrent import or asset creation never adds a second asset for the same token.
+     * The version of every wallet whose assets changed is incremented, so concurrent updates through the API
+     * detect the import.
+     *
+     * @return The number of wallets created, assets created and assets updated
+     */
+    @Override
+    public WalletImportResult merge() {
+        WalletImportResult result = new WalletImportResult();
+        Long walletsCreated = jdbcTemplate.queryForObject("WITH created AS ("
+                + " INSERT INTO wallet (email) SELECT DISTINCT email FROM wallet_import"
+                + " ON CONFLICT (email) DO NOTHING RETURNING id"
+                + ") SELECT count(*) FROM created", Long.class);
+        result.setWalletsCreated(walletsCreated != null ? walletsCreated : 0);
+
+        // xmax is 0 only on the rows the upsert inserted, so it tells created assets from updated ones
+        Map<String, Object> assets = jdbcTemplate.queryForMap("WITH incoming AS ("
+                + " SELECT w.id AS wallet_id, t.id AS token_id, SUM(i.quantity) AS quantity"
+                + " FROM wallet_import i"
+                + " JOIN wallet w ON w.email = i.email"
+                + " JOIN token t ON t.symbol = i.symbol"
+                + " GROUP BY w.id, t.id"
+                + "), upserted AS ("
+                + " INSERT INTO asset (quantity, token_id, wallet_id)"
+                + " SELECT n.quantity, n.token_id, n.wallet_id FROM incoming n"
+                + " ON CONFLICT (wallet_id, token_id)"
+                + " DO UPDATE SET quantity = asset.quantity + EXCLUDED.quantity, version = asset.version + 1"
+                + " RETURNING wallet_id, xmax = 0 AS inserted"
+                + "), touched AS ("
+                + " UPDATE wallet w SET version = w.version + 1"
+                + " WHERE w.id IN (SELECT wallet_id FROM upserted)"
+                + ") SELECT count(*) FILTER (WHERE inserted) AS created, count(*) FILTER (WHERE NOT inserted) AS updated"
+                + " FROM upserted");
+        result.setAssetsCreated(((Number) assets.get("created")).longValue());
+        result.setAssetsUpdated(((Number) assets.get("updated")).longValue());
+        return result;
+    }
+
+    static String toCsv(WalletImportRow row) {
+        return row.getLine() + "," + quote(row.getEmail()) + "," + quote(row.getSymbol()) + "," + quote(row.getQuantity()) + "\n";
+    }
+
+    /**
+     * Quotes a CSV value, leaving nulls unquoted and empty so {@code COPY} reads them as NULL.
+     */
+    private static String quote(String value) {
+        return value == null ? "" : "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,257 @@
+package org.mbalves.sp.crypto.wallet.adapter.persistence;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.mbalves.sp.crypto.wallet.adapter.persistence.entity.TokenEntity;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletQueryPort;
+import org.mbalves.sp.crypto.wallet.domain.AssetView;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.WalletSummary;
+import org.mbalves.sp.crypto.wallet.domain.WalletView;
+import org.mbalves.sp.crypto.wallet.infrastructure.datasource.RecentWritesTracker;
+import org.mbalves.sp.crypto.wallet.infrastructure.datasource.ReplicaRouting;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Adapter for wallet read operations.
+ * Implements the {@link WalletQueryPort} interface.
+ * Maps query results straight into read-only views, without loading wallet and asset entities into the persistence context.
+ * The tokens of the assets come from the second-level cache, and those missing from it are loaded together.
+ * It may be served by a replica, except for wallets written recently by this instance.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class WalletQueryAdapter implements WalletQueryPort {
+    // Tokens are not joined, they are resolved through the second-level cache
+    private static final String FIND_BY_ID_SQL = "SELECT w.id, w.email, a.token_id, a.quantity"
+            + " FROM wallet w"
+            + " LEFT JOIN asset a ON a.wallet_id = w.id"
+            + " WHERE w.id = ?"
+            + " ORDER BY a.id";
+    // PostgreSQL only. The document matches WalletResponse as written by Jackson: values and the total
+    // are rounded half up to two decimals like MoneyValueSerializer, the assets keep their ID order
+    private static final String FIND_JSON_BY_ID_SQL = "SELECT json_build_object("
+            + " 'id', w.id,"
+            + " 'total', round(COALESCE(SUM(a.quantity * t.price), 0), 2),"
+            + " 'assets', COALESCE(json_agg(json_build_object("
+            + "   'symbol', t.symbol,"
+            + "   'quantity', a.quantity,"
+            + "   'price', t.price,"
+            + "   'value', round(a.quantity * t.price, 2)"
+            + " ) ORDER BY a.id) FILTER (WHERE a.id IS NOT NULL), '[]'::json)"
+            + ")::text AS wallet"
+            + " FROM wallet w"
+            + " LEFT JOIN asset a ON a.wallet_id = w.id"
+            + " LEFT JOIN token t ON t.id = a.token_id"
+            + " WHERE w.id = ?"
+            + " GROUP BY w.id";
+    // The page of wallets is sought on the primary key first, so every page costs the same
+    private static final String PAGE_SQL = "WITH page AS ("
+            + " SELECT id, email FROM wallet WHERE id > ? ORDER BY id LIMIT ?"
+            + ") SELECT w.id, w.email, a.token_id, a.quantity"
+            + " FROM page w"
+            + " LEFT JOIN asset a ON a.wallet_id = w.id"
+            + " ORDER BY w.id, a.id";
+    private static final String SUMMARY_PAGE_SQL = "WITH page AS ("
+            + " SELECT id, email FROM wallet WHERE id > ? ORDER BY id LIMIT ?"
+            + ") SELECT w.id, w.email, COALESCE(SUM(a.quantity * t.price), 0) AS total"
+            + " FROM page w"
+            + " LEFT JOIN asset a ON a.wallet_id = w.id"
+            + " LEFT JOIN token t ON t.id = a.token_id"
+            + " GROUP BY w.id, w.email"
+            + " ORDER BY w.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RecentWritesTracker recentWritesTracker;
+    private final EntityManager entityManager;
+    private final TokenRegistry tokenRegistry;
+
+    /**
+     * Finds a wallet with its assets by ID using a single query, and resolves their tokens.
+     * A wallet written recently by this instance is read from the primary,
+     * so a replica lagging behind cannot hide the write.
+     *
+     * @param id The wallet ID
+     * @return The wallet view, or empty if the wallet does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<WalletView> findById(Long id) {
+        if (recentWritesTracker.isRecentlyWritten(id)) {
+            return ReplicaRouting.onPrimary(() -> queryById(id));
+        }
+        return queryById(id);
+    }
+
+    /**
+     * Renders a wallet with its assets as a JSON document in the database, on PostgreSQL only.
+     * The bytes are returned as the driver received them, so they can be written to a response
+     * without being decoded, parsed or serialized again.
+     *
+     * @param id The wallet ID
+     * @return The UTF-8 encoded JSON document, or empty if the wallet does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<byte[]> findJsonById(Long id) {
+        if (recentWritesTracker.isRecentlyWritten(id)) {
+            return ReplicaRouting.onPrimary(() -> queryJsonById(id));
+        }
+        return queryJsonById(id);
+    }
+
+    /**
+     * Finds the wallets with an ID greater than {@code afterId}, in ID order, with their assets,
+     * using a single query, and resolves their tokens. Seeking on the primary key instead of skipping
+     * an offset keeps the cost of a page independent of its position.
+     *
+     * @param afterId The last wallet ID of the previous page, or null for the first page
+     * @param limit   The maximum number of wallets
+     * @return The wallet views of the page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<WalletView> findPage(Long afterId, int limit) {
+        return toWalletViews(jdbcTemplate.query(PAGE_SQL, WalletQueryAdapter::toWalletRows,
+                afterId != null ? afterId : 0L, limit));
+    }
+
+    /**
+     * Finds the totals of the wallets with an ID greater than {@code afterId}, in ID order,
+     * summing the asset values in the database.
+     *
+     * @param afterId The last wallet ID of the previous page, or null for the first page
+     * @param limit   The maximum number of wallets
+     * @return The wallet totals of the page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<WalletSummary> findSummaryPage(Long afterId, int limit) {
+        return jdbcTemplate.query(SUMMARY_PAGE_SQL,
+                (rs, rowNum) -> new WalletSummary(rs.getLong("id"), rs.getString("email"), rs.getBigDecimal("total")),
+                afterId != null ? afterId : 0L, limit);
+    }
+
+    private Optional<WalletView> queryById(Long id) {
+        return toWalletViews(jdbcTemplate.query(FIND_BY_ID_SQL, WalletQueryAdapter::toWalletRows, id)).stream().findFirst();
+    }
+
+    private Optional<byte[]> queryJsonById(Long id) {
+        List<byte[]> wallets = jdbcTemplate.query(FIND_JSON_BY_ID_SQL, (rs, rowNum) -> rs.getBytes("wallet"), id);
+        return wallets.stream().findFirst();
+    }
+
+    /**
+     * Resolves the tokens of the wallet rows and builds their views.
+     *
+     * @param wallets The wallet rows
+     * @return The wallet views in the order of the rows
+     */
+    private List<WalletView> toWalletViews(List<WalletRow> wallets) {
+        Map<String, Token> tokens = findTokens(wallets.stream()
+                .flatMap(wallet -> wallet.assets().stream())
+                .map(AssetRow::tokenId)
+                .distinct()
+                .toList());
+        return toWalletViews(wallets, tokens);
+    }
+
+    /**
+     * Finds the tokens by ID in the second-level cache, loading those missing from it together,
+     * and shares them through the {@link TokenRegistry}.
+     *
+     * @param ids The token IDs
+     * @return The tokens by ID
+     */
+    private Map<String, Token> findTokens(List<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        // Initializing the first reference loads the others missing from the cache in the same batch
+        List<TokenEntity> entities = ids.stream().map(id -> entityManager.getReference(TokenEntity.class, id)).toList();
+        Map<String, Token> tokens = new HashMap<>();
+        for (TokenEntity entity : entities) {
+            tokens.put(entity.getId(), tokenRegistry.register(
+                    new Token(entity.getId(), entity.getSymbol(), entity.getPrice(), entity.getLastUpdated())));
+        }
+        return tokens;
+    }
+
+    /**
+     * Builds the wallet views from the wallet rows and their tokens.
+     *
+     * @param wallets The wallet rows
+     * @param tokens  The tokens of their assets by ID
+     * @return The wallet views in the order of the rows
+     */
+    static List<WalletView> toWalletViews(List<WalletRow> wallets, Map<String, Token> tokens) {
+        return wallets.stream()
+                .map(wallet -> new WalletView(wallet.id(), wallet.email(), wallet.assets().stream()
+                        .map(asset -> {
+                            Token token = tokens.get(asset.tokenId());
+                            return new AssetView(token.getSymbol(), asset.quantity(), token.getPrice());
+                        })
+                        .toList()))
+                .toList();
+    }
+
+    /**
+     * Assembles rows ordered by wallet ID into wallet rows, one row per asset
+     * and a single row without asset columns for a wallet without assets.
+     *
+     * @param rs The result set positioned before the first row
+     * @return The wallet rows in the order of the rows
+     * @throws SQLException if a column cannot be read
+     */
+    static List<WalletRow> toWalletRows(ResultSet rs) throws SQLException {
+        List<WalletRow> wallets = new ArrayList<>();
+        long walletId = 0;
+        String email = null;
+        List<AssetRow> assets = null;
+        while (rs.next()) {
+            long id = rs.getLong("id");
+            if (assets == null || id != walletId) {
+                if (assets != null) {
+                    wallets.add(new WalletRow(walletId, email, assets));
+                }
+                walletId = id;
+                email = rs.getString("email");
+                assets = new ArrayList<>();
+            }
+            String tokenId = rs.getString("token_id");
+            if (tokenId != null) {
+                assets.add(new AssetRow(tokenId, rs.getBigDecimal("quantity")));
+            }
+        }
+        if (assets != null) {
+            wallets.add(new WalletRow(walletId, email, assets));
+        }
+        return wallets;
+    }
+
+    /**
+     * A wallet as read, with the token IDs of its assets.
+     */
+    record WalletRow(long id, String email, List<AssetRow> assets) {
+    }
+
+    /**
+     * An asset as read, with the ID of its token.
+     */
+    record AssetRow(String tokenId, BigDecimal quantity) {
+    }
+}
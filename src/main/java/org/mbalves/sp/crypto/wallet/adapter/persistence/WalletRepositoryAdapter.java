@@ -7,67 +7,288 @@ import org.mbalves.sp.crypto.wallet.adapter.persistence.entity.WalletEntity;
 import org.mbalves.sp.crypto.wallet.adapter.persistence.repository.WalletJpaRepository;
 import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
 import org.mbalves.sp.crypto.wallet.domain.Asset;
-import org.mbalves.sp.crypto.wallet.domain.Token;
 import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletConcurrentModificationException;
+import org.mbalves.sp.crypto.wallet.infrastructure.datasource.RecentWritesTracker;
+import org.mbalves.sp.crypto.wallet.infrastructure.datasource.ReplicaRouting;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Adapter for wallet persistence operations.
  * Implements the {@link WalletRepositoryPort} interface.
  * Handles conversion between domain and entity models for wallets and their assets.
  * Delegates database operations to the {@link WalletJpaRepository}.
+ * Read-only methods may be served by a replica, except for wallets written recently by this instance.
  *
  * @author Marcelo Alves
  * @version 1.0
  */
 @Component
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class WalletRepositoryAdapter implements WalletRepositoryPort {
+    private static final String STREAM_ALL_SQL = "SELECT w.id, w.email, w.version,"
+            + " a.id AS asset_id, a.quantity, a.version AS asset_version, t.id AS token_id, t.symbol, t.price"
+            + " FROM wallet w"
+            + " LEFT JOIN asset a ON a.wallet_id = w.id"
+            + " LEFT JOIN token t ON t.id = a.token_id"
+            + " ORDER BY w.id, a.id";
+
     private final WalletJpaRepository walletJpaRepository;
+    private final RecentWritesTracker recentWritesTracker;
+    private final JdbcTemplate jdbcTemplate;
+    private final TokenRegistry tokenRegistry;
+
+    @Value("${crypto.wallet.export.fetch-size:1000}")
+    private int streamFetchSize;
 
+    /**
+     * Saves the wallet, checking the wallet and asset versions read with it.
+     * The wallet version is the version of the whole aggregate: it is incremented
+     * on every save of an existing wallet, also when only its assets changed, so two
+     * concurrent updates of the same wallet can never both succeed.
+     *
+     * @param wallet The wallet to save
+     * @return The saved wallet with its new versions
+     * @throws WalletConcurrentModificationException if the wallet was modified since it was read
+     */
     @Override
+    @Transactional
     public Wallet save(Wallet wallet) {
         WalletEntity entity = toEntity(wallet);
-        entity = walletJpaRepository.save(entity);
+        try {
+            if (entity.getId() != null && entity.getVersion() != null) {
+                if (walletJpaRepository.incrementVersion(entity.getId(), entity.getVersion()) == 0) {
+                    throw new WalletConcurrentModificationException(wallet.getId());
+                }
+                entity.setVersion(entity.getVersion() + 1);
+            }
+            // Flush now so that stale assets surface here rather than at commit time
+            entity = walletJpaRepository.saveAndFlush(entity);
+        } catch (OptimisticLockingFailureException e) {
+            throw new WalletConcurrentModificationException(wallet.getId());
+        }
+        recentWritesTracker.recordWalletWrite(entity.getId());
         return toDomain(entity);
     }
 
+    /**
+     * Creates an empty wallet for the email unless one already exists,
+     * using a single {@code INSERT ... ON CONFLICT DO NOTHING} statement.
+     *
+     * @param email The email address of the wallet owner
+     * @return The new wallet, or empty if the email already has a wallet
+     */
+    @Override
+    @Transactional
+    public Optional<Wallet> createIfAbsent(String email) {
+        return walletJpaRepository.insertIfAbsent(email).map(id -> {
+            recentWritesTracker.recordWalletWrite(id);
+            Wallet wallet = new Wallet();
+            wallet.setId(id);
+            wallet.setEmail(email);
+            wallet.setVersion(0L);
+            return wallet;
+        });
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public Optional<Wallet> findByEmail(String email) {
         return walletJpaRepository.findByEmail(email).map(this::toDomain);
     }
 
+    /**
+     * Finds the wallet by ID, reading from the primary if this instance wrote it
+     * within the read-your-writes window, so a client never sees its own update go missing.
+     *
+     * @param id The ID of the wallet
+     * @return The wallet, or empty if it does not exist
+     */
     @Override
+    @Transactional(readOnly = true)
     public Optional<Wallet> findById(Long id) {
+        if (recentWritesTracker.isRecentlyWritten(id)) {
+            return ReplicaRouting.onPrimary(() -> walletJpaRepository.findById(id).map(this::toDomain));
+        }
         return walletJpaRepository.findById(id).map(this::toDomain);
     }
 
+    /**
+     * Finds the wallet by ID on the primary, to be modified and saved.
+     * A replica lagging behind a write of another instance would return the same stale version
+     * on every retry of the update, so the read never goes to the replica.
+     *
+     * @param id The ID of the wallet
+     * @return The wallet, or empty if it does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Wallet> findByIdForUpdate(Long id) {
+        return ReplicaRouting.onPrimary(() -> walletJpaRepository.findById(id).map(this::toDomain));
+    }
+
+    /**
+     * Finds the wallet by ID with its assets in a single fetch-join query.
+     * Their tokens stay lazy: they come from the second-level cache, and those missing from it are loaded together.
+     * Like {@link #findById(Long)}, it reads from the primary if this instance wrote the wallet recently.
+     *
+     * @param id The ID of the wallet
+     * @return The wallet, or empty if it does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Wallet> findByIdWithAssets(Long id) {
+        if (recentWritesTracker.isRecentlyWritten(id)) {
+            return ReplicaRouting.onPrimary(() -> walletJpaRepository.findWithAssetsById(id).map(this::toDomain));
+        }
+        return walletJpaRepository.findWithAssetsById(id).map(this::toDomain);
+    }
+
+    /**
+     * Loads every wallet at once. Use {@link #streamAll()} for anything but small data sets.
+     *
+     * @return All wallets with their assets
+     */
     @Override
+    @Transactional(readOnly = true)
     public List<Wallet> findAll() {
         return walletJpaRepository.findAll().stream()
                 .map(this::toDomain)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Streams every wallet with its assets in ID order, reading one joined query through a
+     * server-side cursor, {@code fetch-size} rows at a time. Only the wallet being assembled is
+     * held in memory. The caller must consume and close the stream within a transaction, which
+     * the PostgreSQL driver needs to use a cursor; a read-only one goes to a replica if configured.
+     *
+     * @return The wallets, to be closed after use
+     */
     @Override
-    public void deleteById(Long id) {
-        walletJpaRepository.deleteById(id);
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<Wallet> streamAll() {
+        Stream<WalletRow> rows = jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(STREAM_ALL_SQL);
+            statement.setFetchSize(streamFetchSize);
+            return statement;
+        }, this::toWalletRow);
+        return groupByWallet(rows);
+    }
+
+    /**
+     * Assembles consecutive rows of the same wallet into one wallet with all its assets.
+     *
+     * @param rows The rows, ordered by wallet
+     * @return The wallets, closing the rows when closed
+     */
+    static Stream<Wallet> groupByWallet(Stream<WalletRow> rows) {
+        Iterator<WalletRow> rowIterator = rows.iterator();
+        Iterator<Wallet> wallets = new Iterator<>() {
+            private WalletRow pending;
+
+            @Override
+            public boolean hasNext() {
+                return pending != null || rowIterator.hasNext();
+            }
+
+            @Override
+            public Wallet next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                WalletRow row = pending != null ? pending : rowIterator.next();
+                pending = null;
+                Wallet wallet = row.wallet();
+                // Rows are ordered by wallet, so a wallet ends at the first row of the next one
+                while (true) {
+                    if (row.asset() != null) {
+                        wallet.addAsset(row.asset());
+                    }
+                    if (!rowIterator.hasNext()) {
+                        break;
+                    }
+                    row = rowIterator.next();
+                    if (!row.wallet().getId().equals(wallet.getId())) {
+                        pending = row;
+                        break;
+                    }
+                }
+                return wallet;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(wallets, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(rows::close);
+    }
+
+    /**
+     * Deletes the wallet and its assets with a single {@code DELETE} statement.
+     *
+     * @param id The ID of the wallet to delete
+     * @return true if the wallet existed and was deleted
+     */
+    @Override
+    @Transactional
+    public boolean deleteById(Long id) {
+        recentWritesTracker.recordWalletWrite(id);
+        return walletJpaRepository.deleteWalletById(id) > 0;
+    }
+
+    private WalletRow toWalletRow(ResultSet rs, int rowNum) throws SQLException {
+        Wallet wallet = new Wallet();
+        wallet.setId(rs.getLong("id"));
+        wallet.setEmail(rs.getString("email"));
+        wallet.setVersion(rs.getLong("version"));
+        Asset asset = null;
+        long assetId = rs.getLong("asset_id");
+        if (!rs.wasNull()) {
+            asset = new Asset();
+            asset.setId(assetId);
+            asset.setQuantity(rs.getBigDecimal("quantity"));
+            asset.setVersion(rs.getLong("asset_version"));
+            asset.setToken(tokenRegistry.get(rs.getString("token_id"), rs.getString("symbol"), rs.getBigDecimal("price")));
+        }
+        return new WalletRow(wallet, asset);
+    }
+
+    /**
+     * A row of the wallet stream: the wallet and one of its assets, or no asset for an empty wallet.
+     */
+    record WalletRow(Wallet wallet, Asset asset) {
     }
 
     private WalletEntity toEntity(Wallet wallet) {
         WalletEntity entity = new WalletEntity();
         entity.setId(wallet.getId());
         entity.setEmail(wallet.getEmail());
+        entity.setVersion(wallet.getVersion());
         entity.setAssets(wallet.getAssets().stream()
                 .map(asset -> {
                     AssetEntity assetEntity = new AssetEntity();
                     assetEntity.setWallet(entity);
                     assetEntity.setId(asset.getId());
                     assetEntity.setQuantity(asset.getQuantity());
+                    assetEntity.setVersion(asset.getVersion());
                     TokenEntity tokenEntity = new TokenEntity();
                     tokenEntity.setId(asset.getToken().getId());
                     tokenEntity.setSymbol(asset.getToken().getSymbol());
@@ -83,16 +304,16 @@ public class WalletRepositoryAdapter implements WalletRepositoryPort {
         Wallet wallet = new Wallet();
         wallet.setId(entity.getId());
         wallet.setEmail(entity.getEmail());
+        wallet.setVersion(entity.getVersion());
         wallet.setAssets(entity.getAssets().stream()
                 .map(assetEntity -> {
                     Asset asset = new Asset();
                     asset.setId(assetEntity.getId());
                     asset.setQuantity(assetEntity.getQuantity());
-                    Token token = new Token();
-                    token.setId(assetEntity.getToken().getId());
-                    token.setSymbol(assetEntity.getToken().getSymbol());
-                    token.setPrice(assetEntity.getToken().getPrice());
-                    asset.setToken(token);
+                    asset.setVersion(assetEntity.getVersion());
+                    asset.setAcquiredOn(assetEntity.getAcquiredOn());
+                    TokenEntity tokenEntity = assetEntity.getToken();
+                    asset.setToken(tokenRegistry.get(tokenEntity.getId(), tokenEntity.getSymbol(), tokenEntity.getPrice()));
                     return asset;
                 })
                 .collect(Collectors.toList()));
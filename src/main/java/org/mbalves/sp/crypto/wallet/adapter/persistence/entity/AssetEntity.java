@@ -4,23 +4,34 @@ import jakarta.persistence.*;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Entity
 @Table(name = "asset")
 @Data
 public class AssetEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asset_seq")
+    @SequenceGenerator(name = "asset_seq", sequenceName = "asset_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private BigDecimal quantity;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Set by the column default when the asset is inserted, and never changed afterwards
+    @Column(name = "acquired_on", insertable = false, updatable = false)
+    private LocalDate acquiredOn;
+
     @ManyToOne
     @JoinColumn(name = "wallet_id", nullable = false)
     private WalletEntity wallet;
 
-    @ManyToOne
+    // Lazy so that wallet reads resolve tokens from the second-level cache instead of joining them
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "token_id", nullable = false)
     private TokenEntity token;
 }
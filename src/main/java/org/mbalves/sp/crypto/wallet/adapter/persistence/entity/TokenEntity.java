@@ -2,6 +2,8 @@ package org.mbalves.sp.crypto.wallet.adapter.persistence.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -9,6 +11,8 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "token")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "token")
 @Data
 public class TokenEntity {
 
@@ -1,10 +1,17 @@
 package org.mbalves.sp.crypto.wallet.adapter.persistence.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.mbalves.sp.crypto.wallet.adapter.persistence.entity.TokenEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface TokenJpaRepository extends JpaRepository<TokenEntity, String> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "token-by-symbol")
+    })
     Optional<TokenEntity> findBySymbol(String symbol);
 }
@@ -2,9 +2,28 @@ package org.mbalves.sp.crypto.wallet.adapter.persistence.repository;
 
 import org.mbalves.sp.crypto.wallet.adapter.persistence.entity.WalletEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface WalletJpaRepository extends JpaRepository<WalletEntity, Long> {
     Optional<WalletEntity> findByEmail(String email);
+
+    @Query("SELECT w FROM WalletEntity w LEFT JOIN FETCH w.assets WHERE w.id = :id")
+    Optional<WalletEntity> findWithAssetsById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WalletEntity w SET w.version = w.version + 1 WHERE w.id = :id AND w.version = :version")
+    int incrementVersion(@Param("id") Long id, @Param("version") Long version);
+
+    @Query(value = "INSERT INTO wallet (email) VALUES (:email) ON CONFLICT (email) DO NOTHING RETURNING id",
+            nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("email") String email);
+
+    // The assets are removed by the ON DELETE CASCADE of the asset.wallet_id foreign key
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM WalletEntity w WHERE w.id = :id")
+    int deleteWalletById(@Param("id") Long id);
 }
@@ -1,39 +1,77 @@
 package org.mbalves.sp.crypto.wallet.adapter.pricing;
 
 import lombok.extern.slf4j.Slf4j;
+import org.mbalves.sp.crypto.wallet.adapter.pricing.dto.CoinCapData;
+import org.mbalves.sp.crypto.wallet.adapter.pricing.dto.CoinCapDataHistory;
 import org.mbalves.sp.crypto.wallet.adapter.pricing.dto.CoinCapListResponse;
 import org.mbalves.sp.crypto.wallet.adapter.pricing.dto.CoinCapPriceHistoryResponse;
 import org.mbalves.sp.crypto.wallet.adapter.pricing.dto.CoinCapPriceResponse;
 import org.mbalves.sp.crypto.wallet.application.port.out.PriceProviderPort;
 import org.mbalves.sp.crypto.wallet.domain.Token;
 import org.mbalves.sp.crypto.wallet.infrastructure.logging.LoggingUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
 
 /**
  * Adapter for interacting with the CoinCap API to fetch token information and prices.
  * Implements the {@link PriceProviderPort} interface.
  * Handles current and historical price retrieval, as well as token metadata.
- * Uses a REST client with authentication headers.
+ * Uses a REST client with authentication headers, sending its requests with the JDK {@link HttpClient}:
+ * a call waiting for the API only parks the calling thread, so it does not pin the carrier of a virtual thread,
+ * and it gives up after the configured connect and read timeouts.
+ * Requests are limited both in number per minute, to stay within the rate limit of the API, and in number
+ * in flight, so a burst of callers does not open as many connections at once.
+ * The reactive profile sends the same requests with the {@link WebClientCoinCapAdapter} instead.
  *
  * @author Marcelo Alves
  * @version 1.0
  */
 @Component
+@Profile("!reactive")
 @Slf4j
 public class CoinCapAdapter implements PriceProviderPort {
-    private final RestTemplate restTemplate = new RestTemplate();
+    private static final int ASSETS_PAGE_SIZE = 2000;
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+    private static final int DEFAULT_MAX_REQUESTS_PER_MINUTE = 600;
+    private static final long MILLIS_PER_DAY = Duration.ofDays(1).toMillis();
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(10);
+
+    private RestTemplate restTemplate = restTemplate(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT);
+
+    // Requests sent to the API per minute, shared by all callers
+    private RequestRateLimiter rateLimiter = new RequestRateLimiter(DEFAULT_MAX_REQUESTS_PER_MINUTE, Duration.ofMinutes(1));
+
+    // Requests in flight to the API; this caps concurrency, not the rate
+    private Semaphore requestPermits = new Semaphore(DEFAULT_MAX_CONCURRENT_REQUESTS, true);
 
     @Value("${crypto.pricing-api.url-symbol:}")
     private String apiUrlSymbol;
 
+    @Value("${crypto.pricing-api.url-assets:}")
+    private String apiUrlAssets;
+
     @Value("${crypto.pricing-api.url-price:}")
     private String apiUrlPrice;
 
@@ -43,6 +81,22 @@ public class CoinCapAdapter implements PriceProviderPort {
     @Value("${crypto.pricing-api.key:}")
     private String apiKey;
 
+    @Value("${crypto.pricing-api.max-requests-per-minute:" + DEFAULT_MAX_REQUESTS_PER_MINUTE + "}")
+    void setMaxRequestsPerMinute(int maxRequestsPerMinute) {
+        rateLimiter = new RequestRateLimiter(maxRequestsPerMinute, Duration.ofMinutes(1));
+    }
+
+    @Value("${crypto.pricing-api.max-concurrent-requests:" + DEFAULT_MAX_CONCURRENT_REQUESTS + "}")
+    void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        requestPermits = new Semaphore(maxConcurrentRequests, true);
+    }
+
+    @Autowired
+    void setTimeouts(@Value("${crypto.pricing-api.connect-timeout:5s}") Duration connectTimeout,
+                     @Value("${crypto.pricing-api.read-timeout:10s}") Duration readTimeout) {
+        restTemplate = restTemplate(connectTimeout, readTimeout);
+    }
+
     /**
      * Fetches token metadata and current price by symbol.
      *
@@ -57,10 +111,8 @@ public class CoinCapAdapter implements PriceProviderPort {
             
             CoinCapListResponse response = getApiWithAuth(apiUrlSymbol, CoinCapListResponse.class, symbol.toUpperCase());
             if (response != null && !response.getData().isEmpty() && response.getData().getFirst().getSymbol().equals(symbol)) {
-                Token token = new Token();
-                token.setSymbol(response.getData().getFirst().getSymbol());
-                token.setId(response.getData().getFirst().getId());
-                token.setPrice(new BigDecimal(response.getData().getFirst().getPriceUsd()));
+                CoinCapData data = response.getData().getFirst();
+                Token token = new Token(data.getId(), data.getSymbol(), new BigDecimal(data.getPriceUsd()), null);
                 log.info("Successfully fetched token information for {}: price={}", symbol, token.getPrice());
                 return token;
             }
@@ -71,6 +123,45 @@ public class CoinCapAdapter implements PriceProviderPort {
         return null;
     }
 
+    /**
+     * Fetches token metadata and current prices for many symbols at once.
+     * Pages through the asset list, ordered by market cap, until every symbol is found,
+     * so a typical batch costs a single request instead of one per symbol.
+     * As with {@link #getToken(String)}, the highest ranked asset wins when symbols are shared.
+     *
+     * @param symbols The uppercase token symbols (e.g., BTC)
+     * @return The tokens found, by symbol; symbols that were not found are absent
+     */
+    @Override
+    public Map<String, Token> getTokens(Collection<String> symbols) {
+        Set<String> missing = new HashSet<>(symbols);
+        Map<String, Token> tokens = new HashMap<>();
+        try {
+            log.debug("Fetching token information for {} symbols", missing.size());
+            int offset = 0;
+            while (!missing.isEmpty()) {
+                CoinCapListResponse response = getApiWithAuth(apiUrlAssets, CoinCapListResponse.class, ASSETS_PAGE_SIZE, offset);
+                if (response == null || response.getData() == null) {
+                    break;
+                }
+                for (CoinCapData data : response.getData()) {
+                    if (missing.remove(data.getSymbol())) {
+                        Token token = new Token(data.getId(), data.getSymbol(), new BigDecimal(data.getPriceUsd()), null);
+                        tokens.put(token.getSymbol(), token);
+                    }
+                }
+                if (response.getData().size() < ASSETS_PAGE_SIZE) {
+                    break;
+                }
+                offset += ASSETS_PAGE_SIZE;
+            }
+            log.info("Successfully fetched token information for {} of {} symbols", tokens.size(), symbols.size());
+        } catch (Exception e) {
+            log.error("Failed to fetch token information for {} symbols: {}", symbols.size(), e.getMessage(), e);
+        }
+        return tokens;
+    }
+
     /**
      * Fetches the current price for a token by its ID.
      *
@@ -125,8 +216,51 @@ public class CoinCapAdapter implements PriceProviderPort {
         return null;
     }
 
+    /**
+     * Fetches the daily prices of a token over a date range with a single request.
+     *
+     * @param tokenId The token ID (e.g., bitcoin)
+     * @param from The first date of the range
+     * @param to The last date of the range
+     * @return The price in USD of each day of the range, from the first date, with {@link Double#NaN}
+     *         for the days without a price; or null if the history could not be fetched
+     */
+    @Override
+    public double[] getTokenPrices(String tokenId, LocalDate from, LocalDate to) {
+        try {
+            LoggingUtils.setTokenSymbol(tokenId);
+            log.debug("Fetching daily prices for token: {} from {} to {}", tokenId, from, to);
+
+            String id = tokenId.toLowerCase();
+            long start = from.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            long end = to.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            CoinCapPriceHistoryResponse response = getApiWithAuth(apiUrlPriceHistory, CoinCapPriceHistoryResponse.class, id, start, end);
+            if (response != null && response.getData() != null) {
+                double[] prices = new double[(int) ChronoUnit.DAYS.between(from, to) + 1];
+                Arrays.fill(prices, Double.NaN);
+                for (CoinCapDataHistory data : response.getData()) {
+                    if (data.getTime() == null || data.getPriceUsd() == null) {
+                        continue;
+                    }
+                    int day = (int) Math.floorDiv(data.getTime() - start, MILLIS_PER_DAY);
+                    if (day >= 0 && day < prices.length) {
+                        prices[day] = Double.parseDouble(data.getPriceUsd());
+                    }
+                }
+                log.info("Successfully fetched {} daily prices for {} from {} to {}",
+                        response.getData().size(), tokenId, from, to);
+                return prices;
+            }
+            log.warn("No daily prices found for token: {} from {} to {}", tokenId, from, to);
+        } catch (Exception e) {
+            log.error("Failed to fetch daily prices for {} from {} to {}: {}", tokenId, from, to, e.getMessage(), e);
+        }
+        return null;
+    }
+
     /**
      * Helper method to call the CoinCap API with authentication headers.
+     * Waits for a permit of the rate limit, then while the maximum number of concurrent requests are in flight.
      *
      * @param url The API endpoint URL
      * @param responseType The expected response type
@@ -135,15 +269,57 @@ public class CoinCapAdapter implements PriceProviderPort {
      * @param <T> The response type
      */
     private <T> T getApiWithAuth(String url, Class<T> responseType, Object... uriVariables) {
+        Semaphore permits = requestPermits;
+        try {
+            rateLimiter.acquire();
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to call the pricing API", e);
+        }
+        try {
+            return exchange(url, createAuthHeader(apiKey), responseType, uriVariables);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Sends a GET request to the API and reads the response body.
+     *
+     * @param url The API endpoint URL
+     * @param headers The request headers, with authentication
+     * @param responseType The expected response type
+     * @param uriVariables URI variables for the endpoint
+     * @return The response body
+     * @param <T> The response type
+     */
+    protected <T> T exchange(String url, HttpHeaders headers, Class<T> responseType, Object... uriVariables) {
         return restTemplate.exchange(
             url,
             HttpMethod.GET,
-            new HttpEntity<>(createAuthHeader(apiKey)),
+            new HttpEntity<>(headers),
             responseType,
             uriVariables
         ).getBody();
     }
 
+    /**
+     * Creates the REST client, sending its requests with the JDK HTTP client.
+     *
+     * @param connectTimeout The time to wait for a connection to the API
+     * @param readTimeout The time to wait for a response once connected
+     * @return The REST client
+     */
+    private static RestTemplate restTemplate(Duration connectTimeout, Duration readTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return new RestTemplate(requestFactory);
+    }
+
     /**
      * Creates HTTP headers with the API authentication token.
      *
@@ -0,0 +1,62 @@
+package org.mbalves.sp.crypto.wallet.adapter.pricing;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the requests sent to an API to a number of permits per time window, as a token bucket:
+ * up to the whole window's permits may be used at once, then permits come back evenly over the window.
+ * Each caller reserves the next free slot and waits for it, so callers are served in arrival order.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+final class RequestRateLimiter {
+    private final long nanosPerPermit;
+    private final long burstNanos;
+    private final LongSupplier nanoTime;
+
+    // The time the bucket would be empty if every reserved permit had been taken at once
+    private long emptyAt;
+
+    RequestRateLimiter(int permits, Duration window) {
+        this(permits, window, System::nanoTime);
+    }
+
+    RequestRateLimiter(int permits, Duration window, LongSupplier nanoTime) {
+        if (permits < 1 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("The rate limit must allow at least one request per window");
+        }
+        this.nanosPerPermit = window.toNanos() / permits;
+        this.burstNanos = nanosPerPermit * (permits - 1);
+        this.nanoTime = nanoTime;
+        this.emptyAt = nanoTime.getAsLong();
+    }
+
+    /**
+     * Waits until a permit is available and takes it.
+     *
+     * @throws InterruptedException if interrupted while waiting; the permit is lost
+     */
+    void acquire() throws InterruptedException {
+        long wait = reserve();
+        if (wait > 0) {
+            Thread.sleep(Duration.ofNanos(wait));
+        }
+    }
+
+    /**
+     * Takes the next free permit.
+     *
+     * @return The nanoseconds to wait before the permit may be used, 0 if it may be used now
+     */
+    synchronized long reserve() {
+        long now = nanoTime.getAsLong();
+        if (emptyAt - now < 0) {
+            emptyAt = now;
+        }
+        long wait = emptyAt - burstNanos - now;
+        emptyAt += nanosPerPermit;
+        return Math.max(0, wait);
+    }
+}
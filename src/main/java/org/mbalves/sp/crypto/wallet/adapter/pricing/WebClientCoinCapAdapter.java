@@ -0,0 +1,61 @@
+package org.mbalves.sp.crypto.wallet.adapter.pricing;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * Variant of the {@link CoinCapAdapter} for the reactive profile, sending its requests with a {@link WebClient}
+ * on the Reactor Netty event loops and connection pool the server already runs on.
+ * The {@link org.mbalves.sp.crypto.wallet.application.port.out.PriceProviderPort} is synchronous, so each call
+ * waits for its response; the use cases are run off the event loops, where waiting only parks their thread.
+ * Requests, rate limit and error handling are those of the {@link CoinCapAdapter}.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Component
+@Profile("reactive")
+public class WebClientCoinCapAdapter extends CoinCapAdapter {
+    private final WebClient.Builder webClientBuilder;
+    private WebClient webClient;
+    private Duration readTimeout;
+
+    public WebClientCoinCapAdapter(WebClient.Builder webClientBuilder) {
+        this.webClientBuilder = webClientBuilder;
+    }
+
+    @Override
+    @Autowired
+    void setTimeouts(@Value("${crypto.pricing-api.connect-timeout:5s}") Duration connectTimeout,
+                     @Value("${crypto.pricing-api.read-timeout:10s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        this.webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Sends the GET request with the web client and waits at most the read timeout for the response body.
+     */
+    @Override
+    protected <T> T exchange(String url, HttpHeaders headers, Class<T> responseType, Object... uriVariables) {
+        return webClient.get()
+                .uri(url, uriVariables)
+                .headers(requestHeaders -> requestHeaders.addAll(headers))
+                .retrieve()
+                .bodyToMono(responseType)
+                .block(readTimeout);
+    }
+}
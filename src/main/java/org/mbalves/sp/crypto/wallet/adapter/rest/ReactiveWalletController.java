@@ -0,0 +1,378 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.mbalves.sp.crypto.wallet.adapter.rest.dto.*;
+import org.mbalves.sp.crypto.wallet.application.port.in.*;
+import org.mbalves.sp.crypto.wallet.domain.Backtest;
+import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.WalletAnalytics;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletRisk;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulation;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationSeries;
+import org.mbalves.sp.crypto.wallet.domain.WalletView;
+import org.mbalves.sp.crypto.wallet.infrastructure.logging.LoggingUtils;
+import org.mbalves.sp.crypto.wallet.infrastructure.logging.LoggingWebFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.context.ContextView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * WebFlux counterpart of the {@link WalletController} for the reactive profile, with the same endpoints and bodies.
+ * The use cases and the ports behind them are synchronous, so every use case call runs on the use case scheduler
+ * and the event loops only parse requests and write responses. Imports are read and exports and batch
+ * simulations are written as streams on the same scheduler, a buffer at a time.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/wallets")
+@RequiredArgsConstructor
+public class ReactiveWalletController {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveWalletController.class);
+    private static final int IMPORT_BUFFERS_REQUESTED = 16;
+
+    private final CreateWalletUseCase createWalletUseCase;
+    private final AddAssetUseCase addAssetUseCase;
+    private final GetWalletUseCase getWalletUseCase;
+    private final DeleteWalletUseCase deleteWalletUseCase;
+    private final DeleteAssetUseCase deleteAssetUseCase;
+    private final SimulateWalletProfitUseCase simulateWalletProfitUseCase;
+    private final SimulateWalletRiskUseCase simulateWalletRiskUseCase;
+    private final GetWalletAnalyticsUseCase getWalletAnalyticsUseCase;
+    private final BacktestStrategiesUseCase backtestStrategiesUseCase;
+    private final ImportWalletsUseCase importWalletsUseCase;
+    private final ExportWalletsUseCase exportWalletsUseCase;
+    private final ListWalletsUseCase listWalletsUseCase;
+    private final ObjectMapper objectMapper;
+    private final Scheduler useCaseScheduler;
+
+    // PostgreSQL only, see WalletQueryPort#findJsonById
+    @Value("${crypto.wallet.json-fast-path:false}")
+    private boolean jsonFastPath;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<WalletResponse> createWallet(@RequestBody WalletRequest request) {
+        return call(() -> {
+            log.info("Creating new wallet for email: {}", request.getEmail());
+
+            Wallet wallet = createWalletUseCase.createWallet(request.getEmail());
+            log.info("Wallet created successfully with id: {}", wallet.getId());
+
+            return WalletResponses.toResponse(wallet);
+        });
+    }
+
+    @PostMapping(value = "/import", consumes = {WalletController.TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<WalletImportResponse> importWallets(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                    @RequestBody Flux<DataBuffer> body) {
+        return call(() -> {
+            log.info("Importing wallets from {}", contentType);
+
+            // Requests the next buffers as the rows are parsed, so the body is never held in memory
+            InputStream in = DataBufferUtils.subscriberInputStream(body, IMPORT_BUFFERS_REQUESTED);
+            WalletImportResult result = WalletResponses.importWallets(in, contentType, importWalletsUseCase);
+            log.info("Wallet import completed with {} rows imported and {} rejected",
+                result.getRowsImported(), result.getRowsRejected());
+
+            return WalletResponses.toResponse(result);
+        });
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DataBuffer> exportWalletsAsNdjson() {
+        return stream(out -> {
+            log.info("Exporting wallets as NDJSON");
+            log.info("Exported {} wallets", WalletResponses.exportNdjson(out, exportWalletsUseCase, objectMapper));
+        });
+    }
+
+    @GetMapping(value = "/export", produces = WalletController.TEXT_CSV)
+    public Flux<DataBuffer> exportWalletsAsCsv() {
+        return stream(out -> {
+            log.info("Exporting wallets as CSV");
+            log.info("Exported {} wallets", WalletResponses.exportCsv(out, exportWalletsUseCase));
+        });
+    }
+
+    @GetMapping
+    public Mono<WalletPageResponse> listWallets(@RequestParam(required = false) Long after,
+                                                @RequestParam(defaultValue = "50") int limit,
+                                                @RequestParam(defaultValue = "false") boolean totalsOnly) {
+        return call(() -> {
+            log.info("Listing wallets after id: {} with limit: {}", after, limit);
+
+            WalletPageResponse response = totalsOnly
+                    ? WalletResponses.toTotalsPageResponse(listWalletsUseCase.listWalletTotals(after, limit))
+                    : WalletResponses.toPageResponse(listWalletsUseCase.listWallets(after, limit));
+            log.info("Listed {} wallets", response.getWallets().size());
+
+            return response;
+        });
+    }
+
+    @GetMapping("/{walletId}")
+    public Mono<ResponseEntity<?>> getWallet(@PathVariable Long walletId) {
+        return call(() -> {
+            log.info("Fetching wallet with id: {}", walletId);
+            LoggingUtils.setWalletId(walletId);
+
+            if (jsonFastPath) {
+                byte[] json = getWalletUseCase.getWalletJson(walletId);
+                log.info("Wallet retrieved successfully as {} bytes of JSON", json.length);
+
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+            }
+
+            WalletView wallet = getWalletUseCase.getWallet(walletId);
+            log.info("Wallet retrieved successfully with {} assets", wallet.assets().size());
+
+            return ResponseEntity.ok(WalletResponses.toResponse(wallet));
+        });
+    }
+
+    @DeleteMapping("/{walletId}")
+    public Mono<ResponseEntity<Void>> deleteWallet(@PathVariable Long walletId) {
+        return call(() -> {
+            log.info("Deleting wallet with id: {}", walletId);
+            LoggingUtils.setWalletId(walletId);
+
+            deleteWalletUseCase.deleteWallet(walletId);
+            log.info("Wallet deleted successfully");
+
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    @PostMapping("/{walletId}/assets")
+    public Mono<WalletResponse> addAsset(@PathVariable Long walletId, @RequestBody AssetRequest request) {
+        return call(() -> {
+            log.info("Adding asset {} to wallet {} with quantity {}",
+                request.getSymbol(), walletId, request.getQuantity());
+            LoggingUtils.setWalletId(walletId);
+            LoggingUtils.setTokenSymbol(request.getSymbol());
+
+            Wallet wallet = addAssetUseCase.addAsset(walletId, request.getSymbol(), request.getQuantity());
+            log.info("Asset added successfully to wallet");
+
+            return WalletResponses.toResponse(wallet);
+        });
+    }
+
+    @DeleteMapping("/{walletId}/assets/{symbol}")
+    public Mono<WalletResponse> deleteAsset(@PathVariable Long walletId, @PathVariable String symbol) {
+        return call(() -> {
+            log.info("Deleting asset {} from wallet {}", symbol, walletId);
+            LoggingUtils.setWalletId(walletId);
+            LoggingUtils.setTokenSymbol(symbol);
+
+            Wallet wallet = deleteAssetUseCase.deleteAsset(walletId, symbol);
+            log.info("Asset deleted successfully from wallet");
+
+            return WalletResponses.toResponse(wallet);
+        });
+    }
+
+    @GetMapping("/{walletId}/risk")
+    public Mono<WalletRiskResponse> simulateWalletRisk(@PathVariable Long walletId,
+                                                       @RequestParam(defaultValue = "1") int horizonDays) {
+        return call(() -> {
+            log.info("Simulating risk of wallet {} over {} days", walletId, horizonDays);
+            LoggingUtils.setWalletId(walletId);
+
+            return toResponse(simulateWalletRiskUseCase.simulateRisk(walletId, horizonDays));
+        });
+    }
+
+    @GetMapping("/{walletId}/analytics")
+    public Mono<WalletAnalyticsResponse> getWalletAnalytics(@PathVariable Long walletId,
+                                                            @RequestParam(defaultValue = "90") int window) {
+        return call(() -> {
+            log.info("Computing analytics of wallet {} over {} days", walletId, window);
+            LoggingUtils.setWalletId(walletId);
+
+            return toResponse(getWalletAnalyticsUseCase.getAnalytics(walletId, window));
+        });
+    }
+
+    @PostMapping("/risk")
+    public Mono<WalletRiskResponse> simulateAssetsRisk(@RequestBody WalletRiskRequest request) {
+        return call(() -> {
+            int horizonDays = request.getHorizonDays() != null ? request.getHorizonDays() : 1;
+            log.info("Simulating risk of {} assets over {} days", request.getAssets().size(), horizonDays);
+
+            return toResponse(simulateWalletRiskUseCase.simulateRisk(WalletResponses.toAssetSimulations(request), horizonDays));
+        });
+    }
+
+    @PostMapping("/simulate")
+    public Mono<WalletSimulationResponse> simulateWallet(@RequestBody WalletSimulationRequest request) {
+        return call(() -> {
+            log.info("Simulating wallet with {} assets for date: {}",
+                request.getAssets().size(),
+                request.getDate() != null ? request.getDate() : "current date");
+
+            WalletSimulationResult result = simulateWalletProfitUseCase.simulateProfit(
+                    WalletResponses.toAssetSimulations(request.getAssets()),
+                    request.getDate() != null ? request.getDate() : LocalDate.now()
+            );
+
+            log.info("Simulation completed - Total: {}, Best Asset: {} ({}%), Worst Asset: {} ({}%)",
+                result.getTotal(),
+                result.getBestAsset(),
+                result.getBestPerformance(),
+                result.getWorstAsset(),
+                result.getWorstPerformance());
+
+            return WalletResponses.toResponse(result);
+        });
+    }
+
+    @PostMapping("/{walletId}/simulate")
+    public Mono<WalletSimulationResponse> simulateStoredWallet(
+            @PathVariable Long walletId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate baseline) {
+        return call(() -> {
+            log.info("Simulating wallet {} for date: {} from baseline: {}", walletId,
+                date != null ? date : "current date",
+                baseline != null ? baseline : "acquisition dates");
+            LoggingUtils.setWalletId(walletId);
+
+            WalletSimulationResult result = simulateWalletProfitUseCase.simulateProfit(
+                    walletId, date != null ? date : LocalDate.now(), baseline);
+
+            return WalletResponses.toResponse(result);
+        });
+    }
+
+    @PostMapping("/simulate/range")
+    public Mono<WalletSimulationSeriesResponse> simulateWalletRange(@RequestBody WalletSimulationRangeRequest request) {
+        return call(() -> {
+            LocalDate end = request.getEnd() != null ? request.getEnd() : LocalDate.now();
+            int step = request.getStep() != null ? request.getStep() : 1;
+            log.info("Simulating wallet with {} assets from {} to {} every {} days",
+                request.getAssets().size(), request.getStart(), end, step);
+
+            WalletSimulationSeries series = simulateWalletProfitUseCase.simulateProfitSeries(
+                    WalletResponses.toAssetSimulations(request.getAssets()), request.getStart(), end, step);
+            log.info("Simulation completed with {} steps", series.getDates().size());
+
+            return WalletResponses.toResponse(series);
+        });
+    }
+
+    @PostMapping("/backtest")
+    public Mono<WalletBacktestResponse> backtestStrategies(@RequestBody WalletBacktestRequest request) {
+        return call(() -> {
+            LocalDate end = request.getEnd() != null ? request.getEnd() : LocalDate.now();
+            log.info("Backtesting {} strategies from {} to {}", request.getStrategies().size(), request.getStart(), end);
+
+            Backtest backtest = backtestStrategiesUseCase.backtest(
+                    WalletResponses.toBuyStrategies(request), request.getStart(), end);
+
+            return WalletResponses.toResponse(backtest);
+        });
+    }
+
+    @PostMapping(value = "/simulate/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DataBuffer> simulateWallets(@RequestBody WalletBatchSimulationRequest request) {
+        log.info("Simulating {} wallets for date: {}",
+            request.getPortfolios().size(),
+            request.getDate() != null ? request.getDate() : "current date");
+
+        List<WalletSimulation> wallets = WalletResponses.toWalletSimulations(request);
+
+        return stream(out -> {
+            WalletResponses.writeSimulations(out, simulateWalletProfitUseCase, wallets, objectMapper);
+            log.info("Simulated {} wallets", wallets.size());
+        });
+    }
+
+    /**
+     * Runs a use case call on the use case scheduler, with the request ID of the call in the MDC.
+     *
+     * @param useCaseCall The use case call and the mapping of its result
+     * @return The result, published on the use case scheduler
+     */
+    private <T> Mono<T> call(Callable<T> useCaseCall) {
+        return Mono.deferContextual(context -> Mono.fromCallable(() -> {
+            setRequestId(context);
+            try {
+                return useCaseCall.call();
+            } finally {
+                LoggingUtils.clear();
+            }
+        })).subscribeOn(useCaseScheduler);
+    }
+
+    /**
+     * Runs a use case writing a streamed body on the use case scheduler, with the request ID of the call in the MDC.
+     * The body is sent a buffer at a time as it is written, and writing waits while the client is slower.
+     *
+     * @param body Writes the body
+     * @return The buffers of the body
+     */
+    private Flux<DataBuffer> stream(BodyWriter body) {
+        return Flux.deferContextual(context -> DataBufferUtils.outputStreamPublisher(out -> {
+            setRequestId(context);
+            try {
+                body.write(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                LoggingUtils.clear();
+            }
+        }, DefaultDataBufferFactory.sharedInstance, useCaseScheduler::schedule));
+    }
+
+    private static void setRequestId(ContextView context) {
+        context.<String>getOrEmpty(LoggingWebFilter.REQUEST_ID).ifPresent(LoggingUtils::setRequestId);
+    }
+
+    @FunctionalInterface
+    private interface BodyWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static WalletRiskResponse toResponse(WalletRisk risk) {
+        log.info("Risk simulation completed - Value: {}, Expected: {}, Levels: {}",
+            risk.getCurrentValue(), risk.getExpectedValue(), risk.getLevels());
+
+        return WalletResponses.toResponse(risk);
+    }
+
+    private static WalletAnalyticsResponse toResponse(WalletAnalytics analytics) {
+        log.info("Analytics completed - Volatility: {}, Sharpe: {}, Max drawdown: {}, Tokens: {}",
+            analytics.getVolatility(), analytics.getSharpeRatio(), analytics.getMaxDrawdown(), analytics.getSymbols().size());
+
+        return WalletResponses.toResponse(analytics);
+    }
+}
@@ -1,27 +1,43 @@
 package org.mbalves.sp.crypto.wallet.adapter.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.mbalves.sp.crypto.wallet.adapter.rest.dto.*;
 import org.mbalves.sp.crypto.wallet.application.port.in.*;
-import org.mbalves.sp.crypto.wallet.domain.AssetSimulation;
+import org.mbalves.sp.crypto.wallet.domain.Backtest;
 import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.WalletAnalytics;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletRisk;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulation;
 import org.mbalves.sp.crypto.wallet.domain.WalletSimulationResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationSeries;
+import org.mbalves.sp.crypto.wallet.domain.WalletView;
 import org.mbalves.sp.crypto.wallet.infrastructure.logging.LoggingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/wallets")
 @RequiredArgsConstructor
 public class WalletController {
     private static final Logger log = LoggerFactory.getLogger(WalletController.class);
+    static final String TEXT_CSV = "text/csv";
     
     private final CreateWalletUseCase createWalletUseCase;
     private final AddAssetUseCase addAssetUseCase;
@@ -29,6 +45,17 @@ public class WalletController {
     private final DeleteWalletUseCase deleteWalletUseCase;
     private final DeleteAssetUseCase deleteAssetUseCase;
     private final SimulateWalletProfitUseCase simulateWalletProfitUseCase;
+    private final SimulateWalletRiskUseCase simulateWalletRiskUseCase;
+    private final GetWalletAnalyticsUseCase getWalletAnalyticsUseCase;
+    private final BacktestStrategiesUseCase backtestStrategiesUseCase;
+    private final ImportWalletsUseCase importWalletsUseCase;
+    private final ExportWalletsUseCase exportWalletsUseCase;
+    private final ListWalletsUseCase listWalletsUseCase;
+    private final ObjectMapper objectMapper;
+
+    // PostgreSQL only, see WalletQueryPort#findJsonById
+    @Value("${crypto.wallet.json-fast-path:false}")
+    private boolean jsonFastPath;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -38,18 +65,70 @@ public class WalletController {
         Wallet wallet = createWalletUseCase.createWallet(request.getEmail());
         log.info("Wallet created successfully with id: {}", wallet.getId());
         
-        return toResponse(wallet);
+        return WalletResponses.toResponse(wallet);
+    }
+
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE})
+    public WalletImportResponse importWallets(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                              InputStream body) throws IOException {
+        log.info("Importing wallets from {}", contentType);
+
+        WalletImportResult result = WalletResponses.importWallets(body, contentType, importWalletsUseCase);
+        log.info("Wallet import completed with {} rows imported and {} rejected",
+            result.getRowsImported(), result.getRowsRejected());
+
+        return WalletResponses.toResponse(result);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportWalletsAsNdjson() {
+        log.info("Exporting wallets as NDJSON");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> log.info("Exported {} wallets",
+                        WalletResponses.exportNdjson(out, exportWalletsUseCase, objectMapper)));
+    }
+
+    @GetMapping(value = "/export", produces = TEXT_CSV)
+    public ResponseEntity<StreamingResponseBody> exportWalletsAsCsv() {
+        log.info("Exporting wallets as CSV");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TEXT_CSV))
+                .body(out -> log.info("Exported {} wallets", WalletResponses.exportCsv(out, exportWalletsUseCase)));
+    }
+
+    @GetMapping
+    public WalletPageResponse listWallets(@RequestParam(required = false) Long after,
+                                          @RequestParam(defaultValue = "50") int limit,
+                                          @RequestParam(defaultValue = "false") boolean totalsOnly) {
+        log.info("Listing wallets after id: {} with limit: {}", after, limit);
+
+        WalletPageResponse response = totalsOnly
+                ? WalletResponses.toTotalsPageResponse(listWalletsUseCase.listWalletTotals(after, limit))
+                : WalletResponses.toPageResponse(listWalletsUseCase.listWallets(after, limit));
+        log.info("Listed {} wallets", response.getWallets().size());
+
+        return response;
     }
 
     @GetMapping("/{walletId}")
-    public WalletResponse getWallet(@PathVariable Long walletId) {
+    public ResponseEntity<?> getWallet(@PathVariable Long walletId) {
         log.info("Fetching wallet with id: {}", walletId);
         LoggingUtils.setWalletId(walletId);
+
+        if (jsonFastPath) {
+            byte[] json = getWalletUseCase.getWalletJson(walletId);
+            log.info("Wallet retrieved successfully as {} bytes of JSON", json.length);
+
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+        }
+
+        WalletView wallet = getWalletUseCase.getWallet(walletId);
+        log.info("Wallet retrieved successfully with {} assets", wallet.assets().size());
         
-        Wallet wallet = getWalletUseCase.getWallet(walletId);
-        log.info("Wallet retrieved successfully with {} assets", wallet.getAssets().size());
-        
-        return toResponse(wallet);
+        return ResponseEntity.ok(WalletResponses.toResponse(wallet));
     }
 
     @DeleteMapping("/{walletId}")
@@ -73,7 +152,7 @@ public class WalletController {
         Wallet wallet = addAssetUseCase.addAsset(walletId, request.getSymbol(), request.getQuantity());
         log.info("Asset added successfully to wallet");
         
-        return toResponse(wallet);
+        return WalletResponses.toResponse(wallet);
     }
 
     @DeleteMapping("/{walletId}/assets/{symbol}")
@@ -85,7 +164,33 @@ public class WalletController {
         Wallet wallet = deleteAssetUseCase.deleteAsset(walletId, symbol);
         log.info("Asset deleted successfully from wallet");
         
-        return toResponse(wallet);
+        return WalletResponses.toResponse(wallet);
+    }
+
+    @GetMapping("/{walletId}/risk")
+    public WalletRiskResponse simulateWalletRisk(@PathVariable Long walletId,
+                                                 @RequestParam(defaultValue = "1") int horizonDays) {
+        log.info("Simulating risk of wallet {} over {} days", walletId, horizonDays);
+        LoggingUtils.setWalletId(walletId);
+
+        return toResponse(simulateWalletRiskUseCase.simulateRisk(walletId, horizonDays));
+    }
+
+    @GetMapping("/{walletId}/analytics")
+    public WalletAnalyticsResponse getWalletAnalytics(@PathVariable Long walletId,
+                                                      @RequestParam(defaultValue = "90") int window) {
+        log.info("Computing analytics of wallet {} over {} days", walletId, window);
+        LoggingUtils.setWalletId(walletId);
+
+        return toResponse(getWalletAnalyticsUseCase.getAnalytics(walletId, window));
+    }
+
+    @PostMapping("/risk")
+    public WalletRiskResponse simulateAssetsRisk(@RequestBody WalletRiskRequest request) {
+        int horizonDays = request.getHorizonDays() != null ? request.getHorizonDays() : 1;
+        log.info("Simulating risk of {} assets over {} days", request.getAssets().size(), horizonDays);
+
+        return toResponse(simulateWalletRiskUseCase.simulateRisk(WalletResponses.toAssetSimulations(request), horizonDays));
     }
 
     @PostMapping("/simulate")
@@ -94,18 +199,8 @@ public class WalletController {
             request.getAssets().size(), 
             request.getDate() != null ? request.getDate() : "current date");
         
-        List<AssetSimulation> assetSimulations = request.getAssets().stream()
-                .map(asset -> {
-                    AssetSimulation simulation = new AssetSimulation();
-                    simulation.setSymbol(asset.getSymbol());
-                    simulation.setQuantity(asset.getQuantity());
-                    simulation.setValue(asset.getValue());
-                    return simulation;
-                })
-                .collect(Collectors.toList());
-
         WalletSimulationResult result = simulateWalletProfitUseCase.simulateProfit(
-                assetSimulations,
+                WalletResponses.toAssetSimulations(request.getAssets()),
                 request.getDate() != null ? request.getDate() : LocalDate.now()
         );
 
@@ -116,29 +211,77 @@ public class WalletController {
             result.getWorstAsset(),
             result.getWorstPerformance());
 
-        WalletSimulationResponse response = new WalletSimulationResponse();
-        response.setTotal(result.getTotal());
-        response.setBestAsset(result.getBestAsset());
-        response.setBestPerformance(result.getBestPerformance());
-        response.setWorstAsset(result.getWorstAsset());
-        response.setWorstPerformance(result.getWorstPerformance());
-        return response;
+        return WalletResponses.toResponse(result);
     }
 
-    private WalletResponse toResponse(Wallet wallet) {
-        WalletResponse response = new WalletResponse();
-        response.setId(wallet.getId());
-        response.setAssets(wallet.getAssets().stream()
-                .map(asset -> {
-                    AssetResponse ar = new AssetResponse();
-                    ar.setSymbol(asset.getToken().getSymbol());
-                    ar.setPrice(asset.getToken().getPrice());
-                    ar.setQuantity(asset.getQuantity());
-                    ar.setValue(asset.getValue());
-                    return ar;
-                })
-                .toList());
-        response.setTotal(wallet.getTotal());
-        return response;
+    @PostMapping("/{walletId}/simulate")
+    public WalletSimulationResponse simulateStoredWallet(
+            @PathVariable Long walletId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate baseline) {
+        log.info("Simulating wallet {} for date: {} from baseline: {}", walletId,
+            date != null ? date : "current date",
+            baseline != null ? baseline : "acquisition dates");
+        LoggingUtils.setWalletId(walletId);
+
+        WalletSimulationResult result = simulateWalletProfitUseCase.simulateProfit(
+                walletId, date != null ? date : LocalDate.now(), baseline);
+
+        return WalletResponses.toResponse(result);
+    }
+
+    @PostMapping("/simulate/range")
+    public WalletSimulationSeriesResponse simulateWalletRange(@RequestBody WalletSimulationRangeRequest request) {
+        LocalDate end = request.getEnd() != null ? request.getEnd() : LocalDate.now();
+        int step = request.getStep() != null ? request.getStep() : 1;
+        log.info("Simulating wallet with {} assets from {} to {} every {} days",
+            request.getAssets().size(), request.getStart(), end, step);
+
+        WalletSimulationSeries series = simulateWalletProfitUseCase.simulateProfitSeries(
+                WalletResponses.toAssetSimulations(request.getAssets()), request.getStart(), end, step);
+        log.info("Simulation completed with {} steps", series.getDates().size());
+
+        return WalletResponses.toResponse(series);
+    }
+
+    @PostMapping("/backtest")
+    public WalletBacktestResponse backtestStrategies(@RequestBody WalletBacktestRequest request) {
+        LocalDate end = request.getEnd() != null ? request.getEnd() : LocalDate.now();
+        log.info("Backtesting {} strategies from {} to {}", request.getStrategies().size(), request.getStart(), end);
+
+        Backtest backtest = backtestStrategiesUseCase.backtest(
+                WalletResponses.toBuyStrategies(request), request.getStart(), end);
+
+        return WalletResponses.toResponse(backtest);
+    }
+
+    @PostMapping(value = "/simulate/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> simulateWallets(@RequestBody WalletBatchSimulationRequest request) {
+        log.info("Simulating {} wallets for date: {}",
+            request.getPortfolios().size(),
+            request.getDate() != null ? request.getDate() : "current date");
+
+        List<WalletSimulation> wallets = WalletResponses.toWalletSimulations(request);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> {
+                    WalletResponses.writeSimulations(out, simulateWalletProfitUseCase, wallets, objectMapper);
+                    log.info("Simulated {} wallets", wallets.size());
+                });
+    }
+
+    private static WalletRiskResponse toResponse(WalletRisk risk) {
+        log.info("Risk simulation completed - Value: {}, Expected: {}, Levels: {}",
+            risk.getCurrentValue(), risk.getExpectedValue(), risk.getLevels());
+
+        return WalletResponses.toResponse(risk);
+    }
+
+    private static WalletAnalyticsResponse toResponse(WalletAnalytics analytics) {
+        log.info("Analytics completed - Volatility: {}, Sharpe: {}, Max drawdown: {}, Tokens: {}",
+            analytics.getVolatility(), analytics.getSharpeRatio(), analytics.getMaxDrawdown(), analytics.getSymbols().size());
+
+        return WalletResponses.toResponse(analytics);
     }
 }
@@ -0,0 +1,143 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportRow;
+
+import java.io.BufferedReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Reads the rows of a bulk wallet import lazily, one line at a time.
+ * CSV files have the columns {@code email,symbol,quantity}, or the columns named by a header line with
+ * an {@code email} column, so the CSV of the wallet export imports as is. Fields may be quoted,
+ * with {@code ""} for a quote inside them, but cannot span lines.
+ * NDJSON files have one {@code {"email":...,"symbol":...,"quantity":...}} object per line.
+ * Lines that cannot be parsed become rows without email, which the import rejects.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+public final class WalletImportParser {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private WalletImportParser() {
+    }
+
+    public static Stream<WalletImportRow> csv(BufferedReader reader) {
+        AtomicLong line = new AtomicLong();
+        CsvColumns columns = new CsvColumns();
+        return reader.lines()
+                .map(text -> columns.parse(line.incrementAndGet(), text))
+                .filter(Objects::nonNull);
+    }
+
+    public static Stream<WalletImportRow> ndjson(BufferedReader reader) {
+        AtomicLong line = new AtomicLong();
+        return reader.lines()
+                .map(text -> parseJson(line.incrementAndGet(), text))
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * Splits a CSV line into its fields, unquoting the quoted ones.
+     *
+     * @return The fields, or null when a quoted field is not closed
+     */
+    static List<String> fields(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static WalletImportRow parseJson(long line, String text) {
+        if (text.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = MAPPER.readTree(text);
+            return new WalletImportRow(line, textOf(node, "email"), textOf(node, "symbol"), textOf(node, "quantity"));
+        } catch (JsonProcessingException e) {
+            return new WalletImportRow(line, null, null, null);
+        }
+    }
+
+    private static String textOf(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * The positions of the columns of one CSV file, {@code email,symbol,quantity} unless the first line
+     * is a header naming them. A row has every column, or just the email of a wallet without assets.
+     */
+    private static final class CsvColumns {
+        private int email = 0;
+        private int symbol = 1;
+        private int quantity = 2;
+        private int width = 3;
+
+        WalletImportRow parse(long line, String text) {
+            if (text.isBlank()) {
+                return null;
+            }
+            List<String> fields = fields(text);
+            if (fields != null && line == 1 && readHeader(fields)) {
+                return null;
+            }
+            if (fields == null || (fields.size() != 1 && fields.size() != width)) {
+                return new WalletImportRow(line, null, null, null);
+            }
+            return new WalletImportRow(line, field(fields, email), field(fields, symbol), field(fields, quantity));
+        }
+
+        private boolean readHeader(List<String> fields) {
+            List<String> names = fields.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+            if (!names.contains("email")) {
+                return false;
+            }
+            email = names.indexOf("email");
+            symbol = names.indexOf("symbol");
+            quantity = names.indexOf("quantity");
+            width = names.size();
+            return true;
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index) : null;
+        }
+    }
+}
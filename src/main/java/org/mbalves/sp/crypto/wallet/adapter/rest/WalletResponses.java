@@ -0,0 +1,373 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mbalves.sp.crypto.wallet.adapter.rest.dto.*;
+import org.mbalves.sp.crypto.wallet.application.port.in.ExportWalletsUseCase;
+import org.mbalves.sp.crypto.wallet.application.port.in.ImportWalletsUseCase;
+import org.mbalves.sp.crypto.wallet.application.port.in.SimulateWalletProfitUseCase;
+import org.mbalves.sp.crypto.wallet.domain.AssetSimulation;
+import org.mbalves.sp.crypto.wallet.domain.Backtest;
+import org.mbalves.sp.crypto.wallet.domain.BacktestResult;
+import org.mbalves.sp.crypto.wallet.domain.BuyRule;
+import org.mbalves.sp.crypto.wallet.domain.BuyStrategy;
+import org.mbalves.sp.crypto.wallet.domain.Money;
+import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.WalletAnalytics;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportRow;
+import org.mbalves.sp.crypto.wallet.domain.WalletPage;
+import org.mbalves.sp.crypto.wallet.domain.WalletRisk;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulation;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationSeries;
+import org.mbalves.sp.crypto.wallet.domain.WalletSummary;
+import org.mbalves.sp.crypto.wallet.domain.WalletView;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maps requests to the domain and the domain to responses for the {@link WalletController}
+ * and the {@link ReactiveWalletController}, so both stacks answer with the same bodies.
+ * The streamed bodies are written to an output stream, whichever server sends it.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+final class WalletResponses {
+    static final String CSV_HEADER = "wallet_id,email,symbol,quantity,price,value\n";
+
+    private WalletResponses() {
+    }
+
+    static WalletResponse toResponse(Wallet wallet) {
+        WalletResponse response = new WalletResponse();
+        fillResponse(response, wallet);
+        return response;
+    }
+
+    static WalletResponse toResponse(WalletView wallet) {
+        WalletResponse response = new WalletResponse();
+        response.setId(wallet.id());
+        response.setAssets(wallet.assets().stream()
+                .map(asset -> {
+                    AssetResponse ar = new AssetResponse();
+                    ar.setSymbol(asset.symbol());
+                    ar.setPrice(asset.price());
+                    ar.setQuantity(asset.quantity());
+                    ar.setValue(asset.value());
+                    return ar;
+                })
+                .toList());
+        response.setTotal(wallet.total());
+        return response;
+    }
+
+    static WalletPageResponse toTotalsPageResponse(WalletPage<WalletSummary> page) {
+        WalletPageResponse response = new WalletPageResponse();
+        response.setWallets(page.getItems().stream()
+                .map(summary -> {
+                    WalletResponse wr = new WalletResponse();
+                    wr.setId(summary.getId());
+                    wr.setTotal(Money.of(summary.getTotal()));
+                    return wr;
+                })
+                .toList());
+        response.setNextAfter(page.getNextAfter());
+        return response;
+    }
+
+    static WalletPageResponse toPageResponse(WalletPage<WalletView> page) {
+        WalletPageResponse response = new WalletPageResponse();
+        response.setWallets(page.getItems().stream().map(WalletResponses::toResponse).toList());
+        response.setNextAfter(page.getNextAfter());
+        return response;
+    }
+
+    static WalletImportResponse toResponse(WalletImportResult result) {
+        WalletImportResponse response = new WalletImportResponse();
+        response.setRowsRead(result.getRowsRead());
+        response.setRowsImported(result.getRowsImported());
+        response.setRowsRejected(result.getRowsRejected());
+        response.setWalletsCreated(result.getWalletsCreated());
+        response.setAssetsCreated(result.getAssetsCreated());
+        response.setAssetsUpdated(result.getAssetsUpdated());
+        response.setErrors(result.getErrors().stream()
+                .map(error -> {
+                    WalletImportErrorResponse er = new WalletImportErrorResponse();
+                    er.setLine(error.getLine());
+                    er.setMessage(error.getMessage());
+                    return er;
+                })
+                .toList());
+        return response;
+    }
+
+    static WalletRiskResponse toResponse(WalletRisk risk) {
+        WalletRiskResponse response = new WalletRiskResponse();
+        response.setCurrentValue(risk.getCurrentValue());
+        response.setHorizonDays(risk.getHorizonDays());
+        response.setPaths(risk.getPaths());
+        response.setHistoryDays(risk.getHistoryDays());
+        response.setExpectedValue(risk.getExpectedValue());
+        response.setLevels(risk.getLevels().stream()
+                .map(level -> {
+                    WalletRiskResponse.ValueAtRiskResponse vr = new WalletRiskResponse.ValueAtRiskResponse();
+                    vr.setConfidence(level.confidence());
+                    vr.setValueAtRisk(level.valueAtRisk());
+                    vr.setConditionalValueAtRisk(level.conditionalValueAtRisk());
+                    return vr;
+                })
+                .toList());
+        return response;
+    }
+
+    static WalletAnalyticsResponse toResponse(WalletAnalytics analytics) {
+        WalletAnalyticsResponse response = new WalletAnalyticsResponse();
+        response.setWindowDays(analytics.getWindowDays());
+        response.setHistoryDays(analytics.getHistoryDays());
+        response.setVolatility(analytics.getVolatility());
+        response.setSharpeRatio(analytics.getSharpeRatio());
+        response.setMaxDrawdown(analytics.getMaxDrawdown());
+        response.setSymbols(analytics.getSymbols());
+        response.setVolatilities(analytics.getVolatilities());
+        response.setCorrelations(analytics.getCorrelations());
+        return response;
+    }
+
+    static WalletSimulationResponse toResponse(WalletSimulationResult result) {
+        WalletSimulationResponse response = new WalletSimulationResponse();
+        fillResponse(response, result);
+        return response;
+    }
+
+    static WalletSimulationSeriesResponse toResponse(WalletSimulationSeries series) {
+        WalletSimulationSeriesResponse response = new WalletSimulationSeriesResponse();
+        response.setDates(series.getDates());
+        response.setTotals(series.getTotals());
+        List<WalletSimulationSeriesResponse.AssetSeriesResponse> assetSeries = new ArrayList<>();
+        for (int a = 0; a < series.getSymbols().size(); a++) {
+            WalletSimulationSeriesResponse.AssetSeriesResponse ar = new WalletSimulationSeriesResponse.AssetSeriesResponse();
+            ar.setSymbol(series.getSymbols().get(a));
+            ar.setPerformances(series.getPerformances()[a]);
+            assetSeries.add(ar);
+        }
+        response.setAssets(assetSeries);
+        return response;
+    }
+
+    static WalletBacktestResponse toResponse(Backtest backtest) {
+        WalletBacktestResponse response = new WalletBacktestResponse();
+        response.setDates(backtest.getDates());
+        List<WalletBacktestResponse.StrategyResultResponse> results = new ArrayList<>(backtest.getResults().size());
+        for (BacktestResult result : backtest.getResults()) {
+            WalletBacktestResponse.StrategyResultResponse sr = new WalletBacktestResponse.StrategyResultResponse();
+            sr.setFinalValue(result.getFinalValue());
+            sr.setInvested(result.getInvested());
+            sr.setIrr(result.getIrr());
+            sr.setWorstDrawdown(result.getWorstDrawdown());
+            sr.setDrawdowns(result.getDrawdowns());
+            results.add(sr);
+        }
+        response.setStrategies(results);
+        return response;
+    }
+
+    static List<BuyStrategy> toBuyStrategies(WalletBacktestRequest request) {
+        return request.getStrategies().stream()
+                .map(strategy -> new BuyStrategy(strategy.getRules().stream()
+                        .map(rule -> new BuyRule(rule.getSymbol(), rule.getAmount(),
+                                rule.getIntervalDays() != null ? rule.getIntervalDays() : 0))
+                        .toList()))
+                .toList();
+    }
+
+    static List<AssetSimulation> toAssetSimulations(WalletRiskRequest request) {
+        return request.getAssets().stream()
+                .map(asset -> {
+                    AssetSimulation simulation = new AssetSimulation();
+                    simulation.setSymbol(asset.getSymbol());
+                    simulation.setQuantity(asset.getQuantity());
+                    return simulation;
+                })
+                .toList();
+    }
+
+    static List<AssetSimulation> toAssetSimulations(List<WalletSimulationRequest.AssetSimulationRequest> assets) {
+        return assets.stream()
+                .map(asset -> {
+                    AssetSimulation simulation = new AssetSimulation();
+                    simulation.setSymbol(asset.getSymbol());
+                    simulation.setQuantity(asset.getQuantity());
+                    simulation.setValue(asset.getValue());
+                    return simulation;
+                })
+                .collect(Collectors.toList());
+    }
+
+    static List<WalletSimulation> toWalletSimulations(WalletBatchSimulationRequest request) {
+        LocalDate today = LocalDate.now();
+        return request.getPortfolios().stream()
+                .map(portfolio -> new WalletSimulation(toAssetSimulations(portfolio.getAssets()),
+                        portfolio.getDate() != null ? portfolio.getDate()
+                                : request.getDate() != null ? request.getDate() : today))
+                .toList();
+    }
+
+    /**
+     * Parses the rows of an import as they are read and imports them.
+     *
+     * @param contentType CSV or NDJSON
+     */
+    static WalletImportResult importWallets(InputStream body, MediaType contentType,
+                                            ImportWalletsUseCase importWalletsUseCase) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+             Stream<WalletImportRow> rows = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                     ? WalletImportParser.ndjson(reader)
+                     : WalletImportParser.csv(reader)) {
+            return importWalletsUseCase.importWallets(rows);
+        }
+    }
+
+    /**
+     * Writes every wallet as one line of JSON, as wallets are read.
+     *
+     * @return The number of wallets written
+     */
+    static long exportNdjson(OutputStream out, ExportWalletsUseCase exportWalletsUseCase,
+                             ObjectMapper objectMapper) throws IOException {
+        return exportWallets(out, exportWalletsUseCase, null, (writer, wallet) -> {
+            WalletExportResponse response = new WalletExportResponse();
+            fillResponse(response, wallet);
+            response.setEmail(wallet.getEmail());
+            writer.write(objectMapper.writeValueAsString(response));
+            writer.write('\n');
+        });
+    }
+
+    /**
+     * Writes every asset as one CSV row, and a row without asset for an empty wallet, as wallets are read.
+     *
+     * @return The number of wallets written
+     */
+    static long exportCsv(OutputStream out, ExportWalletsUseCase exportWalletsUseCase) throws IOException {
+        return exportWallets(out, exportWalletsUseCase, CSV_HEADER, (writer, wallet) -> {
+            String prefix = wallet.getId() + "," + csvValue(wallet.getEmail()) + ",";
+            if (wallet.getAssets().isEmpty()) {
+                writer.write(prefix + ",,,\n");
+            }
+            for (var asset : wallet.getAssets()) {
+                writer.write(prefix + csvValue(asset.getToken().getSymbol()) + ","
+                        + plain(asset.getQuantity()) + "," + plain(asset.getToken().getPrice()) + ","
+                        + asset.getValue().toCentsString() + "\n");
+            }
+        });
+    }
+
+    /**
+     * Writes the outcome of every simulation as one line of JSON, in input order.
+     */
+    static void writeSimulations(OutputStream out, SimulateWalletProfitUseCase simulateWalletProfitUseCase,
+                                 List<WalletSimulation> wallets, ObjectMapper objectMapper) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            simulateWalletProfitUseCase.simulateProfits(wallets, outcome -> {
+                WalletBatchSimulationResponse response = new WalletBatchSimulationResponse();
+                if (outcome.result() != null) {
+                    fillResponse(response, outcome.result());
+                }
+                response.setError(outcome.error());
+                try {
+                    writer.write(objectMapper.writeValueAsString(response));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes the export through a buffered writer, so the response is sent in chunks as wallets are read.
+     */
+    private static long exportWallets(OutputStream out, ExportWalletsUseCase exportWalletsUseCase, String header,
+                                      WalletWriter walletWriter) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (header != null) {
+            writer.write(header);
+        }
+        long count;
+        try {
+            count = exportWalletsUseCase.exportWallets(wallet -> {
+                try {
+                    walletWriter.write(writer, wallet);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return count;
+    }
+
+    @FunctionalInterface
+    private interface WalletWriter {
+        void write(Writer writer, Wallet wallet) throws IOException;
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.contains(",") || value.contains("\"") || value.contains("\n")
+                ? "\"" + value.replace("\"", "\"\"") + "\""
+                : value;
+    }
+
+    private static String plain(BigDecimal value) {
+        return value != null ? value.toPlainString() : "";
+    }
+
+    private static void fillResponse(WalletSimulationResponse response, WalletSimulationResult result) {
+        response.setTotal(result.getTotal());
+        response.setBestAsset(result.getBestAsset());
+        response.setBestPerformance(result.getBestPerformance());
+        response.setWorstAsset(result.getWorstAsset());
+        response.setWorstPerformance(result.getWorstPerformance());
+    }
+
+    private static void fillResponse(WalletResponse response, Wallet wallet) {
+        response.setId(wallet.getId());
+        response.setAssets(wallet.getAssets().stream()
+                .map(asset -> {
+                    AssetResponse ar = new AssetResponse();
+                    ar.setSymbol(asset.getToken().getSymbol());
+                    ar.setPrice(asset.getToken().getPrice());
+                    ar.setQuantity(asset.getQuantity());
+                    ar.setValue(asset.getValue());
+                    return ar;
+                })
+                .toList());
+        response.setTotal(wallet.getTotal());
+    }
+}
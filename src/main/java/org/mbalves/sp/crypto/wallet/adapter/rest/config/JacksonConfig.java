@@ -1,6 +1,7 @@
 package org.mbalves.sp.crypto.wallet.adapter.rest.config;
 
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.mbalves.sp.crypto.wallet.domain.Money;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,6 +14,7 @@ public class JacksonConfig {
         SimpleModule module = new SimpleModule();
         module.addSerializer(BigDecimal.class, new BigDecimalSerializer());
         module.addSerializer(BigDecimal.class, new MoneyValueSerializer());
+        module.addSerializer(Money.class, new MoneySerializer());
         return module;
     }
 }
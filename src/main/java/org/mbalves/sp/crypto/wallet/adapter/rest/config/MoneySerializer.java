@@ -0,0 +1,18 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.mbalves.sp.crypto.wallet.domain.Money;
+
+import java.io.IOException;
+
+/**
+ * Custom serializer for Money to format it to 2 decimal places, like {@link MoneyValueSerializer}.
+ */
+public class MoneySerializer extends JsonSerializer<Money> {
+    @Override
+    public void serialize(Money value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeNumber(value.toCentsString());
+    }
+}
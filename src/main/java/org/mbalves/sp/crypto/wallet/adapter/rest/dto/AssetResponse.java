@@ -3,7 +3,8 @@ package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 import org.mbalves.sp.crypto.wallet.adapter.rest.config.BigDecimalSerializer;
-import org.mbalves.sp.crypto.wallet.adapter.rest.config.MoneyValueSerializer;
+import org.mbalves.sp.crypto.wallet.adapter.rest.config.MoneySerializer;
+import org.mbalves.sp.crypto.wallet.domain.Money;
 
 import java.math.BigDecimal;
 
@@ -14,6 +15,6 @@ public class AssetResponse {
     private BigDecimal quantity;
     @JsonSerialize(using = BigDecimalSerializer.class)
     private BigDecimal price;
-    @JsonSerialize(using = MoneyValueSerializer.class)
-    private BigDecimal value;
+    @JsonSerialize(using = MoneySerializer.class)
+    private Money value;
 }
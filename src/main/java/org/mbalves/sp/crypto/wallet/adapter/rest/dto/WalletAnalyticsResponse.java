@@ -0,0 +1,17 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class WalletAnalyticsResponse {
+    private int windowDays;
+    private int historyDays;
+    private double volatility;
+    private Double sharpeRatio;
+    private double maxDrawdown;
+    private List<String> symbols;
+    private double[] volatilities;
+    private double[][] correlations;
+}
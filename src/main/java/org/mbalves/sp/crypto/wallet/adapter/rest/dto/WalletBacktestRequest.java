@@ -0,0 +1,46 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class WalletBacktestRequest {
+    @NotEmpty
+    private List<StrategyRequest> strategies;
+
+    @NotNull
+    @PastOrPresent
+    private LocalDate start;
+
+    // Today when absent
+    @PastOrPresent
+    private LocalDate end;
+
+    @Data
+    public static class StrategyRequest {
+        @NotEmpty
+        private List<BuyRuleRequest> rules;
+    }
+
+    @Data
+    public static class BuyRuleRequest {
+        @NotNull
+        private String symbol;
+
+        // In USD, spent on each purchase
+        @NotNull
+        @Positive
+        private BigDecimal amount;
+
+        @NotNull
+        @Positive
+        private Integer intervalDays;
+    }
+}
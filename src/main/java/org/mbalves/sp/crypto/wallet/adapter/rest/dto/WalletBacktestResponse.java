@@ -0,0 +1,21 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class WalletBacktestResponse {
+    private List<LocalDate> dates;
+    private List<StrategyResultResponse> strategies;
+
+    @Data
+    public static class StrategyResultResponse {
+        private double finalValue;
+        private double invested;
+        private Double irr;
+        private double worstDrawdown;
+        private double[] drawdowns;
+    }
+}
@@ -0,0 +1,18 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.PastOrPresent;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class WalletBatchSimulationRequest {
+    @NotEmpty
+    private List<WalletSimulationRequest> portfolios;
+
+    // Used by the portfolios without a date of their own
+    @PastOrPresent
+    private LocalDate date;
+}
@@ -0,0 +1,12 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WalletBatchSimulationResponse extends WalletSimulationResponse {
+    private String error;
+}
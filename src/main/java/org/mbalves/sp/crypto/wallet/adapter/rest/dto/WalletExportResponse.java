@@ -0,0 +1,10 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class WalletExportResponse extends WalletResponse {
+    private String email;
+}
@@ -0,0 +1,9 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
+
+import lombok.Data;
+
+@Data
+public class WalletImportErrorResponse {
+    private long line;
+    private String message;
+}
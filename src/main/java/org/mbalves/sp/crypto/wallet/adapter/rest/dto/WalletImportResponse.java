@@ -0,0 +1,16 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class WalletImportResponse {
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private long walletsCreated;
+    private long assetsCreated;
+    private long assetsUpdated;
+    private List<WalletImportErrorResponse> errors;
+}
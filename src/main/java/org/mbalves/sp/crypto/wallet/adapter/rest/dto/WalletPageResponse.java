@@ -0,0 +1,11 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class WalletPageResponse {
+    private List<WalletResponse> wallets;
+    private Long nextAfter;
+}
@@ -1,17 +1,19 @@
 package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
-import org.mbalves.sp.crypto.wallet.adapter.rest.config.MoneyValueSerializer;
+import org.mbalves.sp.crypto.wallet.adapter.rest.config.MoneySerializer;
+import org.mbalves.sp.crypto.wallet.domain.Money;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 @Data
 public class WalletResponse {
     private Long id;
-    @JsonSerialize(using = MoneyValueSerializer.class)
-    private BigDecimal total;
+    @JsonSerialize(using = MoneySerializer.class)
+    private Money total;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<AssetResponse> assets;
 }
 
@@ -0,0 +1,17 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class WalletRiskRequest {
+    @NotEmpty
+    private List<AssetRequest> assets;
+
+    // One day when absent
+    @Positive
+    private Integer horizonDays;
+}
@@ -0,0 +1,22 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class WalletRiskResponse {
+    private double currentValue;
+    private int horizonDays;
+    private int paths;
+    private int historyDays;
+    private double expectedValue;
+    private List<ValueAtRiskResponse> levels;
+
+    @Data
+    public static class ValueAtRiskResponse {
+        private double confidence;
+        private double valueAtRisk;
+        private double conditionalValueAtRisk;
+    }
+}
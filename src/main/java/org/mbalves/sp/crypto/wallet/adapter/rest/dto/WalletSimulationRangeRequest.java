@@ -0,0 +1,29 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.mbalves.sp.crypto.wallet.adapter.rest.dto.WalletSimulationRequest.AssetSimulationRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class WalletSimulationRangeRequest {
+    @NotEmpty
+    private List<AssetSimulationRequest> assets;
+
+    @NotNull
+    @PastOrPresent
+    private LocalDate start;
+
+    // Today when absent
+    @PastOrPresent
+    private LocalDate end;
+
+    // Days between two steps, one when absent
+    @Positive
+    private Integer step;
+}
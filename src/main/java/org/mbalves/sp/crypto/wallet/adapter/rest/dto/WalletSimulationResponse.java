@@ -3,14 +3,15 @@ package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 import org.mbalves.sp.crypto.wallet.adapter.rest.config.BigDecimalSerializer;
-import org.mbalves.sp.crypto.wallet.adapter.rest.config.MoneyValueSerializer;
+import org.mbalves.sp.crypto.wallet.adapter.rest.config.MoneySerializer;
+import org.mbalves.sp.crypto.wallet.domain.Money;
 
 import java.math.BigDecimal;
 
 @Data
 public class WalletSimulationResponse {
-    @JsonSerialize(using = MoneyValueSerializer.class)
-    private BigDecimal total;
+    @JsonSerialize(using = MoneySerializer.class)
+    private Money total;
     private String bestAsset;
     @JsonSerialize(using = BigDecimalSerializer.class)
     private BigDecimal bestPerformance;
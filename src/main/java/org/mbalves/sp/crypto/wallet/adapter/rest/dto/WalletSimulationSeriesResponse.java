@@ -0,0 +1,19 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class WalletSimulationSeriesResponse {
+    private List<LocalDate> dates;
+    private double[] totals;
+    private List<AssetSeriesResponse> assets;
+
+    @Data
+    public static class AssetSeriesResponse {
+        private String symbol;
+        private double[] performances;
+    }
+}
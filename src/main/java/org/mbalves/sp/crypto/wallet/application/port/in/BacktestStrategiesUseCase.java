@@ -0,0 +1,11 @@
+package org.mbalves.sp.crypto.wallet.application.port.in;
+
+import org.mbalves.sp.crypto.wallet.domain.Backtest;
+import org.mbalves.sp.crypto.wallet.domain.BuyStrategy;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface BacktestStrategiesUseCase {
+    Backtest backtest(List<BuyStrategy> strategies, LocalDate start, LocalDate end);
+}
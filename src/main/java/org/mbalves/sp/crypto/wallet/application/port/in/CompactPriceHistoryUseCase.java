@@ -0,0 +1,5 @@
+package org.mbalves.sp.crypto.wallet.application.port.in;
+
+public interface CompactPriceHistoryUseCase {
+    void compactPriceHistory();
+}
@@ -0,0 +1,9 @@
+package org.mbalves.sp.crypto.wallet.application.port.in;
+
+import org.mbalves.sp.crypto.wallet.domain.Wallet;
+
+import java.util.function.Consumer;
+
+public interface ExportWalletsUseCase {
+    long exportWallets(Consumer<Wallet> consumer);
+}
@@ -0,0 +1,7 @@
+package org.mbalves.sp.crypto.wallet.application.port.in;
+
+import org.mbalves.sp.crypto.wallet.domain.WalletAnalytics;
+
+public interface GetWalletAnalyticsUseCase {
+    WalletAnalytics getAnalytics(Long walletId, int windowDays);
+}
@@ -1,7 +1,8 @@
 package org.mbalves.sp.crypto.wallet.application.port.in;
 
-import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.WalletView;
 
 public interface GetWalletUseCase {
-    Wallet getWallet(Long walletId);
+    WalletView getWallet(Long walletId);
+    byte[] getWalletJson(Long walletId);
 }
@@ -0,0 +1,10 @@
+package org.mbalves.sp.crypto.wallet.application.port.in;
+
+import org.mbalves.sp.crypto.wallet.domain.WalletImportResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportRow;
+
+import java.util.stream.Stream;
+
+public interface ImportWalletsUseCase {
+    WalletImportResult importWallets(Stream<WalletImportRow> rows);
+}
@@ -0,0 +1,10 @@
+package org.mbalves.sp.crypto.wallet.application.port.in;
+
+import org.mbalves.sp.crypto.wallet.domain.WalletPage;
+import org.mbalves.sp.crypto.wallet.domain.WalletSummary;
+import org.mbalves.sp.crypto.wallet.domain.WalletView;
+
+public interface ListWalletsUseCase {
+    WalletPage<WalletView> listWallets(Long afterId, int limit);
+    WalletPage<WalletSummary> listWalletTotals(Long afterId, int limit);
+}
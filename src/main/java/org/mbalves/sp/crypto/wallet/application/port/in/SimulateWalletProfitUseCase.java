@@ -1,11 +1,18 @@
 package org.mbalves.sp.crypto.wallet.application.port.in;
 
 import org.mbalves.sp.crypto.wallet.domain.AssetSimulation;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulation;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationOutcome;
 import org.mbalves.sp.crypto.wallet.domain.WalletSimulationResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationSeries;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface SimulateWalletProfitUseCase {
     WalletSimulationResult simulateProfit(List<AssetSimulation> assets, LocalDate date);
+    WalletSimulationResult simulateProfit(Long walletId, LocalDate date, LocalDate baseline);
+    WalletSimulationSeries simulateProfitSeries(List<AssetSimulation> assets, LocalDate start, LocalDate end, int stepDays);
+    void simulateProfits(List<WalletSimulation> wallets, Consumer<WalletSimulationOutcome> outcomes);
 }
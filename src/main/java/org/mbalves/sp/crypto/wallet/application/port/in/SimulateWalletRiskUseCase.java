@@ -0,0 +1,11 @@
+package org.mbalves.sp.crypto.wallet.application.port.in;
+
+import org.mbalves.sp.crypto.wallet.domain.AssetSimulation;
+import org.mbalves.sp.crypto.wallet.domain.WalletRisk;
+
+import java.util.List;
+
+public interface SimulateWalletRiskUseCase {
+    WalletRisk simulateRisk(Long walletId, int horizonDays);
+    WalletRisk simulateRisk(List<AssetSimulation> assets, int horizonDays);
+}
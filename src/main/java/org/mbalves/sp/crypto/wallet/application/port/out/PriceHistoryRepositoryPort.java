@@ -0,0 +1,21 @@
+package org.mbalves.sp.crypto.wallet.application.port.out;
+
+import org.mbalves.sp.crypto.wallet.domain.PricePoint;
+import org.mbalves.sp.crypto.wallet.domain.PriceResolution;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface PriceHistoryRepositoryPort {
+    void recordPrices(List<Token> tokens, Instant timestamp);
+    List<PricePoint> findPrices(String tokenId, Instant from, Instant to);
+    Map<String, List<PricePoint>> findDailyPrices(Collection<String> tokenIds, Instant from, Instant to);
+    Map<YearMonth, PriceResolution> findPartitions();
+    boolean createPartition(YearMonth month);
+    void downsamplePartition(YearMonth month, PriceResolution resolution);
+    void dropPartition(YearMonth month);
+}
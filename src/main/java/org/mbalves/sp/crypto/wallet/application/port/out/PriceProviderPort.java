@@ -3,9 +3,13 @@ package org.mbalves.sp.crypto.wallet.application.port.out;
 import org.mbalves.sp.crypto.wallet.domain.Token;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
 
 public interface PriceProviderPort {
     Token getToken(String symbol);
+    Map<String, Token> getTokens(Collection<String> symbols);
     Double getTokenPrice(String tokenId);
     Double getTokenPrice(String tokenId, LocalDate date);
+    double[] getTokenPrices(String tokenId, LocalDate from, LocalDate to);
 }
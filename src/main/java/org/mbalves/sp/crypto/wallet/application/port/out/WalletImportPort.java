@@ -0,0 +1,19 @@
+package org.mbalves.sp.crypto.wallet.application.port.out;
+
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportRow;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface WalletImportPort {
+    void createStaging();
+    long stage(Stream<WalletImportRow> rows);
+    List<String> findUnknownSymbols();
+    List<WalletImportRow> findRowsWithSymbols(Collection<String> symbols, int limit);
+    long deleteRowsWithSymbols(Collection<String> symbols);
+    void saveTokens(Collection<Token> tokens);
+    WalletImportResult merge();
+}
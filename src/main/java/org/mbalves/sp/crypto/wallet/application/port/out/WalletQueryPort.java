@@ -0,0 +1,14 @@
+package org.mbalves.sp.crypto.wallet.application.port.out;
+
+import org.mbalves.sp.crypto.wallet.domain.WalletSummary;
+import org.mbalves.sp.crypto.wallet.domain.WalletView;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WalletQueryPort {
+    Optional<WalletView> findById(Long id);
+    Optional<byte[]> findJsonById(Long id);
+    List<WalletView> findPage(Long afterId, int limit);
+    List<WalletSummary> findSummaryPage(Long afterId, int limit);
+}
@@ -4,11 +4,16 @@ import org.mbalves.sp.crypto.wallet.domain.Wallet;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface WalletRepositoryPort {
     Wallet save(Wallet wallet);
+    Optional<Wallet> createIfAbsent(String email);
     Optional<Wallet> findByEmail(String email);
     Optional<Wallet> findById(Long id);
+    Optional<Wallet> findByIdForUpdate(Long id);
+    Optional<Wallet> findByIdWithAssets(Long id);
     List<Wallet> findAll();
-    void deleteById(Long id);
+    Stream<Wallet> streamAll();
+    boolean deleteById(Long id);
 }
@@ -6,10 +6,12 @@ import org.mbalves.sp.crypto.wallet.application.port.out.PriceProviderPort;
 import org.mbalves.sp.crypto.wallet.application.port.out.TokenRepositoryPort;
 import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
 import org.mbalves.sp.crypto.wallet.domain.Asset;
+import org.mbalves.sp.crypto.wallet.domain.PriceEpoch;
 import org.mbalves.sp.crypto.wallet.domain.Token;
 import org.mbalves.sp.crypto.wallet.domain.Wallet;
 import org.mbalves.sp.crypto.wallet.domain.exception.InsufficientFundsException;
 import org.mbalves.sp.crypto.wallet.domain.exception.InvalidTokenException;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletConcurrentModificationException;
 import org.mbalves.sp.crypto.wallet.domain.exception.WalletNotFoundException;
 import org.springframework.stereotype.Service;
 
@@ -29,6 +31,7 @@ public class AddAssetUseCaseImpl implements AddAssetUseCase {
     private final WalletRepositoryPort walletRepository;
     private final TokenRepositoryPort tokenRepository;
     private final PriceProviderPort priceProvider;
+    private final ConcurrentUpdateRetrier retrier;
 
     /**
      * Adds an asset to the wallet or updates its quantity if it already exists.
@@ -37,6 +40,7 @@ public class AddAssetUseCaseImpl implements AddAssetUseCase {
      * 2. Validates token existence and updates its price
      * 3. Updates existing asset quantity or creates a new asset
      * 4. Handles negative quantities for asset reduction
+     * 5. Retries the wallet update when it conflicts with a concurrent modification
      *
      * @param walletId The ID of the wallet to add the asset to
      * @param symbol The cryptocurrency symbol (e.g., "BTC", "ETH")
@@ -45,17 +49,33 @@ public class AddAssetUseCaseImpl implements AddAssetUseCase {
      * @throws WalletNotFoundException if the wallet doesn't exist
      * @throws InvalidTokenException if the token symbol is invalid
      * @throws InsufficientFundsException if trying to reduce more than available
+     * @throws WalletConcurrentModificationException if the wallet kept conflicting with concurrent updates
      */
     @Override
     public Wallet addAsset(Long walletId, String symbol, Double quantity) {
         // Validate wallet existence
-        Wallet wallet = walletRepository.findById(walletId)
-                .orElseThrow(() -> new WalletNotFoundException(walletId));
+        Wallet wallet = loadWallet(walletId);
 
-        String normalizedSymbol = symbol.toUpperCase();
+        String normalizedSymbol = Wallet.normalizeSymbol(symbol);
 
         Token token = validateAndUpdateToken(normalizedSymbol);
 
+        // The first attempt reuses the wallet read above, retries read the latest version
+        return retrier.execute(walletId, attempt -> applyQuantity(
+                attempt == 1 ? wallet : loadWallet(walletId), normalizedSymbol, token, quantity));
+    }
+
+    /**
+     * Helper method that applies the quantity change to the wallet and saves it.
+     *
+     * @param wallet The wallet to update
+     * @param normalizedSymbol The uppercase symbol of the asset
+     * @param token The validated token of the asset
+     * @param quantity The quantity to add (can be negative to reduce)
+     * @return The updated wallet
+     * @throws InsufficientFundsException if trying to reduce more than available
+     */
+    private Wallet applyQuantity(Wallet wallet, String normalizedSymbol, Token token, Double quantity) {
         Asset asset = getAssetFromWallet(wallet, normalizedSymbol);
 
         BigDecimal quantityBD = BigDecimal.valueOf(quantity);
@@ -75,6 +95,18 @@ public class AddAssetUseCaseImpl implements AddAssetUseCase {
         return walletRepository.save(wallet);
     }
 
+    /**
+     * Helper method to load a wallet by its ID from the primary, to be updated.
+     *
+     * @param walletId The ID of the wallet
+     * @return The wallet
+     * @throws WalletNotFoundException if the wallet doesn't exist
+     */
+    private Wallet loadWallet(Long walletId) {
+        return walletRepository.findByIdForUpdate(walletId)
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
+    }
+
     /**
      * Helper method to get an asset from the wallet by its symbol.
      * If the asset doesn't exist, returns a new Asset instance.
@@ -84,10 +116,7 @@ public class AddAssetUseCaseImpl implements AddAssetUseCase {
      * @return The existing asset or a new Asset instance
      */
     private static Asset getAssetFromWallet(Wallet wallet, String normalizedSymbol) {
-        return wallet.getAssets().stream()
-                .filter(a -> a.getToken().getSymbol().equalsIgnoreCase(normalizedSymbol))
-                .findFirst()
-                .orElse(new Asset());
+        return wallet.findAsset(normalizedSymbol).orElseGet(Asset::new);
     }
 
     /**
@@ -105,6 +134,7 @@ public class AddAssetUseCaseImpl implements AddAssetUseCase {
         }
         // update the token price or create it if not exists
         tokenRepository.save(token);
+        PriceEpoch.advance();
         return token;
     }
 }
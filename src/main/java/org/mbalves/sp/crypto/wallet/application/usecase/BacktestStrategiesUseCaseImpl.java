@@ -0,0 +1,197 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import lombok.extern.slf4j.Slf4j;
+import org.mbalves.sp.crypto.wallet.application.port.in.BacktestStrategiesUseCase;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceHistoryRepositoryPort;
+import org.mbalves.sp.crypto.wallet.application.port.out.TokenRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.Backtest;
+import org.mbalves.sp.crypto.wallet.domain.BacktestResult;
+import org.mbalves.sp.crypto.wallet.domain.BuyRule;
+import org.mbalves.sp.crypto.wallet.domain.BuyStrategy;
+import org.mbalves.sp.crypto.wallet.domain.PricePoint;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidBuyRuleException;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidSimulationRangeException;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidTokenException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link BacktestStrategiesUseCase} interface.
+ * This use case replays dollar-cost averaging strategies over the stored price history
+ * with the {@link DcaBacktestEngine}.
+ *
+ * <p>
+ * Business rules:
+ * <ol>
+ *   <li>The range runs every day from the start date to the end date, which may be today</li>
+ *   <li>The stored history of each distinct token is read once for all the strategies, keeping the last
+ *       price of each UTC day; a day without a price keeps the price of the previous day</li>
+ *   <li>Every token must have a price on the first day</li>
+ *   <li>Each rule buys its amount on the first day and then every 'intervalDays' days, at the price of the day</li>
+ *   <li>At most 'max-strategies' strategies are replayed at once, over at most 'max-range-days' days</li>
+ * </ol>
+ * </p>
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class BacktestStrategiesUseCaseImpl implements BacktestStrategiesUseCase {
+    private final TokenRepositoryPort tokenRepository;
+    private final PriceHistoryRepositoryPort priceHistoryRepository;
+    private final DcaBacktestEngine engine;
+    private final Clock clock;
+    private final int maxRangeDays;
+    private final int maxStrategies;
+
+    @Autowired
+    public BacktestStrategiesUseCaseImpl(TokenRepositoryPort tokenRepository,
+                                         PriceHistoryRepositoryPort priceHistoryRepository,
+                                         DcaBacktestEngine engine,
+                                         @Value("${crypto.backtest.max-range-days:1825}") int maxRangeDays,
+                                         @Value("${crypto.backtest.max-strategies:1000}") int maxStrategies) {
+        this(tokenRepository, priceHistoryRepository, engine, Clock.systemUTC(), maxRangeDays, maxStrategies);
+    }
+
+    BacktestStrategiesUseCaseImpl(TokenRepositoryPort tokenRepository, PriceHistoryRepositoryPort priceHistoryRepository,
+                                  DcaBacktestEngine engine, Clock clock, int maxRangeDays, int maxStrategies) {
+        this.tokenRepository = tokenRepository;
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.engine = engine;
+        this.clock = clock;
+        this.maxRangeDays = maxRangeDays;
+        this.maxStrategies = maxStrategies;
+    }
+
+    /**
+     * Replays the strategies over the stored daily prices of the range.
+     *
+     * @param strategies The strategies to replay
+     * @param start The first day of the range
+     * @param end The last day of the range
+     * @return The days of the range and the result of each strategy
+     * @throws InvalidSimulationRangeException if the range is empty, in the future or too long
+     * @throws InvalidBuyRuleException if there are no or too many strategies, or a rule is invalid
+     * @throws InvalidTokenException if a token is not known or has no price on the first day
+     */
+    @Override
+    public Backtest backtest(List<BuyStrategy> strategies, LocalDate start, LocalDate end) {
+        validateRange(start, end);
+        validateStrategies(strategies);
+        int days = (int) ChronoUnit.DAYS.between(start, end) + 1;
+
+        // Each rule refers to the daily prices of its token by index
+        Map<String, Integer> tokenIndexes = new LinkedHashMap<>();
+        List<DcaBacktestEngine.Strategy> plans = new ArrayList<>(strategies.size());
+        for (BuyStrategy strategy : strategies) {
+            int rules = strategy.getRules().size();
+            int[] tokens = new int[rules];
+            double[] amounts = new double[rules];
+            int[] intervals = new int[rules];
+            for (int r = 0; r < rules; r++) {
+                BuyRule rule = strategy.getRules().get(r);
+                tokens[r] = tokenIndexes.computeIfAbsent(rule.getSymbol(), symbol -> tokenIndexes.size());
+                amounts[r] = rule.getAmount().doubleValue();
+                intervals[r] = rule.getIntervalDays();
+            }
+            plans.add(new DcaBacktestEngine.Strategy(tokens, amounts, intervals));
+        }
+        double[][] dailyPrices = new double[tokenIndexes.size()][];
+        int t = 0;
+        for (String symbol : tokenIndexes.keySet()) {
+            Token token = tokenRepository.findBySymbol(symbol)
+                    .orElseThrow(() -> new InvalidTokenException(symbol));
+            dailyPrices[t++] = dailyCloses(token, start, days);
+        }
+
+        long startNanos = System.nanoTime();
+        BacktestResult[] results = engine.run(dailyPrices, plans);
+        log.info("Backtested {} strategies over {} days of {} tokens in {} ms", strategies.size(), days,
+                dailyPrices.length, Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+
+        Backtest backtest = new Backtest();
+        backtest.setDates(start.datesUntil(end.plusDays(1)).toList());
+        backtest.setResults(Arrays.asList(results));
+        return backtest;
+    }
+
+    /**
+     * Helper method that reads the stored history of a token once and keeps the last price of each UTC day.
+     *
+     * @param token The token
+     * @param start The first day of the range
+     * @param days The number of days of the range
+     * @return The price of each day of the range
+     * @throws InvalidTokenException if the token has no price on the first day
+     */
+    private double[] dailyCloses(Token token, LocalDate start, int days) {
+        double[] closes = new double[days];
+        Arrays.fill(closes, Double.NaN);
+        List<PricePoint> prices = priceHistoryRepository.findPrices(token.getId(),
+                start.atStartOfDay(ZoneOffset.UTC).toInstant(),
+                start.plusDays(days).atStartOfDay(ZoneOffset.UTC).toInstant());
+        for (PricePoint price : prices) {
+            if (price.getPrice() != null && price.getPrice().signum() > 0) {
+                int day = (int) ChronoUnit.DAYS.between(start, LocalDate.ofInstant(price.getTimestamp(), ZoneOffset.UTC));
+                closes[day] = price.getPrice().doubleValue();
+            }
+        }
+        if (Double.isNaN(closes[0])) {
+            throw new InvalidTokenException(token.getSymbol());
+        }
+        for (int day = 1; day < days; day++) {
+            if (Double.isNaN(closes[day])) {
+                closes[day] = closes[day - 1];
+            }
+        }
+        return closes;
+    }
+
+    private void validateRange(LocalDate start, LocalDate end) {
+        if (start == null || end == null || start.isAfter(end)) {
+            throw new InvalidSimulationRangeException("The start date must not be after the end date");
+        }
+        if (end.isAfter(LocalDate.now(clock))) {
+            throw new InvalidSimulationRangeException("The end date must not be in the future");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > maxRangeDays) {
+            throw new InvalidSimulationRangeException("The range must not span more than " + maxRangeDays + " days");
+        }
+    }
+
+    private void validateStrategies(List<BuyStrategy> strategies) {
+        if (strategies == null || strategies.isEmpty() || strategies.size() > maxStrategies) {
+            throw new InvalidBuyRuleException("Between 1 and " + maxStrategies + " strategies are required");
+        }
+        for (BuyStrategy strategy : strategies) {
+            if (strategy.getRules() == null || strategy.getRules().isEmpty()) {
+                throw new InvalidBuyRuleException("Every strategy must have at least one rule");
+            }
+            for (BuyRule rule : strategy.getRules()) {
+                if (rule.getSymbol() == null) {
+                    throw new InvalidBuyRuleException("Every rule must have a symbol");
+                }
+                if (rule.getAmount() == null || rule.getAmount().signum() <= 0) {
+                    throw new InvalidBuyRuleException("The amount of " + rule.getSymbol() + " must be positive");
+                }
+                if (rule.getIntervalDays() < 1) {
+                    throw new InvalidBuyRuleException("The interval of " + rule.getSymbol() + " must be at least one day");
+                }
+            }
+        }
+    }
+}
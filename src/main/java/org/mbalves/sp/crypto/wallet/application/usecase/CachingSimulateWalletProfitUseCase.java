@@ -0,0 +1,174 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.mbalves.sp.crypto.wallet.application.port.in.SimulateWalletProfitUseCase;
+import org.mbalves.sp.crypto.wallet.domain.AssetSimulation;
+import org.mbalves.sp.crypto.wallet.domain.PriceEpoch;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulation;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationOutcome;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationSeries;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Caches the results of single-date wallet simulations in front of {@link SimulateWalletProfitUseCaseImpl}.
+ * The business rules are:
+ * <ul>
+ *   <li>Requests are identified by a SHA-256 hash of their assets, sorted, and their date, so the same portfolio
+ *       listed in another order or with values written with another scale shares the result</li>
+ *   <li>Results for past dates never change, so they are kept until the cache is full</li>
+ *   <li>Results for today are kept for the current price epoch only, and for at most one price update interval</li>
+ *   <li>Failed simulations are not cached, and assets without a symbol or a positive quantity and value
+ *       are passed to the simulation as they are, which rejects them</li>
+ *   <li>Batch and range simulations are not cached, they already fetch each price once per request</li>
+ *   <li>Simulations of stored wallets are not cached, their holdings may change at any time</li>
+ * </ul>
+ * The cache holds at most {@code crypto.simulation.cache.max-size} results, and its hits, misses, evictions
+ * and size are published as the {@code cache.*} metrics tagged with {@code cache=simulation.results}.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Service
+@Primary
+public class CachingSimulateWalletProfitUseCase implements SimulateWalletProfitUseCase {
+    static final String CACHE_NAME = "simulation.results";
+
+    // Marks the keys of past dates, which do not depend on the price epoch
+    private static final long NO_EPOCH = -1;
+
+    private static final Comparator<AssetSimulation> CANONICAL_ORDER = Comparator
+            .comparing(AssetSimulation::getSymbol)
+            .thenComparing(AssetSimulation::getQuantity)
+            .thenComparing(AssetSimulation::getValue);
+
+    private final SimulateWalletProfitUseCaseImpl delegate;
+    private final Cache<SimulationKey, WalletSimulationResult> results;
+
+    public CachingSimulateWalletProfitUseCase(SimulateWalletProfitUseCaseImpl delegate,
+                                              MeterRegistry meterRegistry,
+                                              @Value("${crypto.simulation.cache.max-size:10000}") long maxSize,
+                                              @Value("${crypto.price-update-interval:60000}") long priceUpdateIntervalMillis) {
+        this.delegate = delegate;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ResultExpiry(priceUpdateIntervalMillis * 1_000_000L))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached result of the same simulation, or simulates the assets in their canonical order
+     * and caches the result. The result is shared by every caller of the same simulation and must not be modified.
+     * Invalid assets, which cannot be ordered or hashed, go straight to the simulation.
+     *
+     * @param assets The list of assets to simulate
+     * @param date The date for the simulation (current or historical)
+     * @return The result of the wallet profit simulation
+     */
+    @Override
+    public WalletSimulationResult simulateProfit(List<AssetSimulation> assets, LocalDate date) {
+        if (!assets.stream().allMatch(CachingSimulateWalletProfitUseCase::isCacheable)) {
+            return delegate.simulateProfit(assets, date);
+        }
+        List<AssetSimulation> canonical = assets.stream().sorted(CANONICAL_ORDER).toList();
+        SimulationKey key = new SimulationKey(hash(canonical), date,
+                date.isBefore(LocalDate.now()) ? NO_EPOCH : PriceEpoch.current());
+        WalletSimulationResult result = results.getIfPresent(key);
+        if (result == null) {
+            // Simulated outside of the cache, so a slow price lookup does not block other keys
+            result = delegate.simulateProfit(canonical, date);
+            results.put(key, result);
+        }
+        return result;
+    }
+
+    @Override
+    public WalletSimulationResult simulateProfit(Long walletId, LocalDate date, LocalDate baseline) {
+        return delegate.simulateProfit(walletId, date, baseline);
+    }
+
+    @Override
+    public WalletSimulationSeries simulateProfitSeries(List<AssetSimulation> assets, LocalDate start, LocalDate end,
+                                                       int stepDays) {
+        return delegate.simulateProfitSeries(assets, start, end, stepDays);
+    }
+
+    @Override
+    public void simulateProfits(List<WalletSimulation> wallets, Consumer<WalletSimulationOutcome> outcomes) {
+        delegate.simulateProfits(wallets, outcomes);
+    }
+
+    /**
+     * @return The number of cached results, after pending evictions
+     */
+    long size() {
+        results.cleanUp();
+        return results.estimatedSize();
+    }
+
+    private static boolean isCacheable(AssetSimulation asset) {
+        return asset.getSymbol() != null && SimulateWalletProfitUseCaseImpl.hasPositiveQuantityAndValue(asset);
+    }
+
+    /**
+     * Helper method that hashes the assets in their canonical order.
+     * Values are hashed without trailing zeros, so 30000 and 30000.00 are the same value.
+     */
+    private static String hash(List<AssetSimulation> canonical) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        StringBuilder text = new StringBuilder();
+        for (AssetSimulation asset : canonical) {
+            text.append(asset.getSymbol()).append('\u001f')
+                    .append(asset.getQuantity()).append('\u001f')
+                    .append(asset.getValue().stripTrailingZeros().toPlainString()).append('\u001e');
+        }
+        return HexFormat.of().formatHex(digest.digest(text.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private record SimulationKey(String assetsHash, LocalDate date, long priceEpoch) {
+    }
+
+    /**
+     * Keeps the results of past dates until they are evicted and the results of today for one price update interval.
+     */
+    private record ResultExpiry(long currentResultNanos) implements Expiry<SimulationKey, WalletSimulationResult> {
+        @Override
+        public long expireAfterCreate(SimulationKey key, WalletSimulationResult value, long currentTime) {
+            return key.priceEpoch() == NO_EPOCH ? Long.MAX_VALUE : currentResultNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(SimulationKey key, WalletSimulationResult value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(SimulationKey key, WalletSimulationResult value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import lombok.extern.slf4j.Slf4j;
+import org.mbalves.sp.crypto.wallet.application.port.in.CompactPriceHistoryUseCase;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceHistoryRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.PriceResolution;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Implementation of the {@link CompactPriceHistoryUseCase} interface.
+ * This use case keeps the monthly partitioned price history bounded.
+ * It runs on the schedule defined by the 'crypto.price-history.compaction-cron' property.
+ *
+ * <p>
+ * Business rules:
+ * <ol>
+ *   <li>Partitions for the current month and the next months are created ahead of time</li>
+ *   <li>A month that ended more than 'hourly-after' ago is downsampled to hourly prices</li>
+ *   <li>A month that ended more than 'daily-after' ago is downsampled to daily prices</li>
+ *   <li>A month that ended more than 'retention' ago is detached and dropped</li>
+ *   <li>A failure on one partition does not stop the others from being processed</li>
+ * </ol>
+ * </p>
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class CompactPriceHistoryUseCaseImpl implements CompactPriceHistoryUseCase {
+    private final PriceHistoryRepositoryPort priceHistoryRepository;
+    private final Clock clock;
+    private final Duration hourlyAfter;
+    private final Duration dailyAfter;
+    private final Duration retention;
+    private final int partitionsAhead;
+
+    @Autowired
+    public CompactPriceHistoryUseCaseImpl(PriceHistoryRepositoryPort priceHistoryRepository,
+                                          @Value("${crypto.price-history.hourly-after:7d}") Duration hourlyAfter,
+                                          @Value("${crypto.price-history.daily-after:90d}") Duration dailyAfter,
+                                          @Value("${crypto.price-history.retention:1825d}") Duration retention,
+                                          @Value("${crypto.price-history.partitions-ahead:3}") int partitionsAhead) {
+        this(priceHistoryRepository, Clock.systemUTC(), hourlyAfter, dailyAfter, retention, partitionsAhead);
+    }
+
+    CompactPriceHistoryUseCaseImpl(PriceHistoryRepositoryPort priceHistoryRepository, Clock clock,
+                                   Duration hourlyAfter, Duration dailyAfter, Duration retention, int partitionsAhead) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.clock = clock;
+        this.hourlyAfter = hourlyAfter;
+        this.dailyAfter = dailyAfter;
+        this.retention = retention;
+        this.partitionsAhead = partitionsAhead;
+    }
+
+    /**
+     * Scheduled method to create upcoming partitions and compact or drop old ones.
+     */
+    @Override
+    @Scheduled(cron = "${crypto.price-history.compaction-cron:0 15 3 * * *}", zone = "UTC")
+    public void compactPriceHistory() {
+        Instant now = clock.instant();
+        YearMonth currentMonth = YearMonth.from(now.atZone(ZoneOffset.UTC));
+        for (int i = 0; i <= partitionsAhead; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            if (priceHistoryRepository.createPartition(month)) {
+                log.info("Created price history partition for {}", month);
+            }
+        }
+
+        priceHistoryRepository.findPartitions().forEach((month, resolution) -> {
+            Instant monthEnd = month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            try {
+                if (monthEnd.isBefore(now.minus(retention))) {
+                    priceHistoryRepository.dropPartition(month);
+                    log.info("Dropped expired price history partition for {}", month);
+                } else if (monthEnd.isBefore(now.minus(dailyAfter)) && resolution.isFinerThan(PriceResolution.DAY)) {
+                    priceHistoryRepository.downsamplePartition(month, PriceResolution.DAY);
+                    log.info("Downsampled price history for {} to daily prices", month);
+                } else if (monthEnd.isBefore(now.minus(hourlyAfter)) && resolution.isFinerThan(PriceResolution.HOUR)) {
+                    priceHistoryRepository.downsamplePartition(month, PriceResolution.HOUR);
+                    log.info("Downsampled price history for {} to hourly prices", month);
+                }
+            } catch (Exception e) {
+                log.error("Error compacting price history for {}: {}", month, e.getMessage(), e);
+            }
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletConcurrentModificationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Runs wallet read-modify-write operations with bounded optimistic retry.
+ * Every retry must re-read the wallet, so it works on the latest version
+ * written by the concurrent request that caused the conflict.
+ *
+ * <p>
+ * Every conflict is counted in the {@code wallet.update.conflicts} metric, tagged with
+ * {@code outcome=retried} when another attempt follows and {@code outcome=exhausted}
+ * when the conflict is surfaced to the caller.
+ * </p>
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class ConcurrentUpdateRetrier {
+    static final String CONFLICTS_METRIC = "wallet.update.conflicts";
+
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final Counter retriedConflicts;
+    private final Counter exhaustedConflicts;
+
+    public ConcurrentUpdateRetrier(MeterRegistry meterRegistry,
+                                   @Value("${crypto.wallet.update-retry.max-attempts:3}") int maxAttempts,
+                                   @Value("${crypto.wallet.update-retry.backoff:10}") long backoffMillis) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+        this.retriedConflicts = Counter.builder(CONFLICTS_METRIC)
+                .description("Optimistic locking conflicts on wallet updates")
+                .tag("outcome", "retried")
+                .register(meterRegistry);
+        this.exhaustedConflicts = Counter.builder(CONFLICTS_METRIC)
+                .description("Optimistic locking conflicts on wallet updates")
+                .tag("outcome", "exhausted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executes the update, retrying it when a concurrent modification of the wallet is detected.
+     *
+     * @param walletId The ID of the wallet being updated
+     * @param update The read-modify-write operation to execute, given the attempt number starting at 1
+     * @return The result of the first successful attempt
+     * @param <T> The result type
+     * @throws WalletConcurrentModificationException if every attempt conflicted
+     */
+    public <T> T execute(Long walletId, IntFunction<T> update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return update.apply(attempt);
+            } catch (WalletConcurrentModificationException e) {
+                if (attempt >= maxAttempts) {
+                    exhaustedConflicts.increment();
+                    log.warn("Giving up update of wallet {} after {} conflicting attempts", walletId, attempt);
+                    throw e;
+                }
+                retriedConflicts.increment();
+                log.debug("Concurrent modification of wallet {} on attempt {}, retrying", walletId, attempt);
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    /**
+     * Waits a short, jittered and growing amount of time so that the conflicting
+     * requests do not collide again on the next attempt.
+     *
+     * @param attempt The attempt that just failed, starting at 1
+     * @param conflict The conflict to surface if the wait is interrupted
+     */
+    private void backoff(int attempt, WalletConcurrentModificationException conflict) {
+        if (backoffMillis <= 0) {
+            return;
+        }
+        long delay = ThreadLocalRandom.current().nextLong(backoffMillis * attempt) + 1;
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
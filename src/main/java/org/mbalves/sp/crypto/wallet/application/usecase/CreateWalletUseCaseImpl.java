@@ -23,9 +23,11 @@ public class CreateWalletUseCaseImpl implements CreateWalletUseCase {
     /**
      * Creates a new wallet for the given email address.
      * This method implements the following business rules:
-     * 1. Validates that the user doesn't already have a wallet
-     * 2. Creates a new wallet with the provided email
-     * 3. Persists the wallet in the repository
+     * 1. Creates a new wallet with the provided email
+     * 2. Validates that the user doesn't already have a wallet
+     *
+     * Both happen in a single insert that skips existing emails, so concurrent
+     * requests for the same email cannot both create a wallet.
      *
      * @param email The email address of the wallet owner
      * @return The newly created wallet
@@ -34,11 +36,7 @@ public class CreateWalletUseCaseImpl implements CreateWalletUseCase {
     @Override
     public Wallet createWallet(String email) {
         // A user has only one wallet
-        if (walletRepository.findByEmail(email).isPresent()) {
-            throw new WalletAlreadyExistsException(email);
-        }
-        Wallet wallet = new Wallet();
-        wallet.setEmail(email);
-        return walletRepository.save(wallet);
+        return walletRepository.createIfAbsent(email)
+                .orElseThrow(() -> new WalletAlreadyExistsException(email));
     }
 }
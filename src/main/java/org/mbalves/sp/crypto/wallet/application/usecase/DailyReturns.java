@@ -0,0 +1,77 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceHistoryRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.PricePoint;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Loads the daily log returns of several tokens from the stored daily prices, aligned on the days
+ * every token has a price. A return is only taken between consecutive days: across a day missing
+ * a price, the change spans several days and would be counted as one unusually large daily return.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+final class DailyReturns {
+
+    private DailyReturns() {
+    }
+
+    /**
+     * Reads the last price of each UTC day of every token with a single query and turns them into log returns.
+     *
+     * @param priceHistoryRepository The repository of the price history
+     * @param tokenIds The IDs of the tokens
+     * @param from The start of the time range, inclusive
+     * @param to The end of the time range, exclusive
+     * @return The daily log returns, by token in the given order and then by day, the same days for every token
+     */
+    static double[][] load(PriceHistoryRepositoryPort priceHistoryRepository, List<String> tokenIds,
+                           Instant from, Instant to) {
+        if (tokenIds.isEmpty()) {
+            return new double[0][0];
+        }
+        Map<String, List<PricePoint>> prices = priceHistoryRepository.findDailyPrices(tokenIds, from, to);
+
+        List<Map<LocalDate, Double>> closes = new ArrayList<>(tokenIds.size());
+        TreeSet<LocalDate> commonDays = null;
+        for (String tokenId : tokenIds) {
+            Map<LocalDate, Double> tokenCloses = new HashMap<>();
+            for (PricePoint price : prices.getOrDefault(tokenId, List.of())) {
+                if (price.getPrice() != null && price.getPrice().signum() > 0) {
+                    tokenCloses.put(LocalDate.ofInstant(price.getTimestamp(), ZoneOffset.UTC), price.getPrice().doubleValue());
+                }
+            }
+            closes.add(tokenCloses);
+            if (commonDays == null) {
+                commonDays = new TreeSet<>(tokenCloses.keySet());
+            } else {
+                commonDays.retainAll(tokenCloses.keySet());
+            }
+        }
+
+        List<LocalDate> returnDays = new ArrayList<>();
+        for (LocalDate day : commonDays) {
+            if (commonDays.contains(day.minusDays(1))) {
+                returnDays.add(day);
+            }
+        }
+        double[][] logReturns = new double[tokenIds.size()][returnDays.size()];
+        for (int t = 0; t < logReturns.length; t++) {
+            Map<LocalDate, Double> tokenCloses = closes.get(t);
+            for (int d = 0; d < returnDays.size(); d++) {
+                LocalDate day = returnDays.get(d);
+                logReturns[t][d] = Math.log(tokenCloses.get(day) / tokenCloses.get(day.minusDays(1)));
+            }
+        }
+        return logReturns;
+    }
+}
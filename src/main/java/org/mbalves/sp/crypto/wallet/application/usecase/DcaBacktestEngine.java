@@ -0,0 +1,236 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import jakarta.annotation.PreDestroy;
+import org.mbalves.sp.crypto.wallet.domain.BacktestResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Replays periodic purchases over daily prices and measures their value, internal rate of return and drawdowns.
+ * Each strategy is replayed in a single pass over the days, reading and writing primitive arrays only.
+ * Many strategies are replayed in parallel as fork/join tasks of {@value #STRATEGIES_PER_TASK} strategies.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Component
+public class DcaBacktestEngine {
+    static final int STRATEGIES_PER_TASK = 8;
+
+    private static final double DAYS_PER_YEAR = 365.0;
+    private static final int MAX_IRR_ITERATIONS = 100;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * @param parallelism The number of threads replaying strategies, or 0 for one per available processor
+     */
+    public DcaBacktestEngine(@Value("${crypto.backtest.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Replays every strategy over the same daily prices.
+     *
+     * @param dailyPrices The price of each token on each day, indexed by token and then by day;
+     *                    every token has a price on every day
+     * @param strategies The strategies to replay
+     * @return The result of each strategy, in input order
+     */
+    public BacktestResult[] run(double[][] dailyPrices, List<Strategy> strategies) {
+        BacktestResult[] results = new BacktestResult[strategies.size()];
+        pool.invoke(new StrategyTask(dailyPrices, strategies, results, 0, results.length));
+        return results;
+    }
+
+    /**
+     * Replays one strategy. The portfolio is valued as shares, like a fund: each purchase buys shares at the
+     * value of one share before it, so the drawdowns measure the price moves and not the money added.
+     *
+     * @param dailyPrices The price of each token on each day, indexed by token and then by day
+     * @param strategy The strategy to replay
+     * @return The result of the strategy
+     */
+    static BacktestResult replay(double[][] dailyPrices, Strategy strategy) {
+        int days = dailyPrices[0].length;
+        int rules = strategy.tokens().length;
+        double[] units = new double[rules];
+        double[] drawdowns = new double[days];
+        // The amount spent on each day, for the internal rate of return
+        double[] spent = new double[days];
+        double shares = 0.0;
+        double invested = 0.0;
+        double peak = 0.0;
+        double worstDrawdown = 0.0;
+        double value = 0.0;
+
+        for (int day = 0; day < days; day++) {
+            value = 0.0;
+            for (int r = 0; r < rules; r++) {
+                value += units[r] * dailyPrices[strategy.tokens()[r]][day];
+            }
+            double shareValue = shares > 0.0 ? value / shares : 1.0;
+
+            double bought = 0.0;
+            for (int r = 0; r < rules; r++) {
+                if (day % strategy.intervals()[r] == 0) {
+                    units[r] += strategy.amounts()[r] / dailyPrices[strategy.tokens()[r]][day];
+                    bought += strategy.amounts()[r];
+                }
+            }
+            if (bought > 0.0) {
+                shares += bought / shareValue;
+                invested += bought;
+                spent[day] = bought;
+                value += bought;
+            }
+
+            if (shares > 0.0) {
+                peak = Math.max(peak, shareValue);
+                double drawdown = Rounding.toHundredths((shareValue / peak - 1.0) * 100);
+                drawdowns[day] = drawdown;
+                worstDrawdown = Math.min(worstDrawdown, drawdown);
+            }
+        }
+
+        BacktestResult result = new BacktestResult();
+        result.setFinalValue(Rounding.toHundredths(value));
+        result.setInvested(Rounding.toHundredths(invested));
+        result.setIrr(irr(spent, value));
+        result.setWorstDrawdown(worstDrawdown);
+        result.setDrawdowns(drawdowns);
+        return result;
+    }
+
+    /**
+     * Solves the annualized rate r at which the purchases, compounded to the last day, are worth the final value:
+     * {@code finalValue = sum(spent[d] * (1 + r)^((last - d) / 365))}. The right-hand side increases with r,
+     * so there is at most one solution; it is found by Newton's method on {@code x = ln(1 + r)},
+     * falling back to bisection when a step leaves the bracket of the solution.
+     *
+     * @param spent The amount spent on each day
+     * @param finalValue The value on the last day
+     * @return The rate in percent, rounded to two decimal places, or null if it is not defined
+     */
+    static Double irr(double[] spent, double finalValue) {
+        int last = spent.length - 1;
+        boolean elapsed = false;
+        for (int day = 0; day < last; day++) {
+            elapsed |= spent[day] > 0.0;
+        }
+        if (!elapsed || finalValue <= 0.0) {
+            return null;
+        }
+
+        // The gap between the final value and the compounded purchases decreases with x
+        double low = -1.0;
+        while (finalValue - compound(spent, low, null) < 0.0) {
+            low *= 2;
+            if (low < -1e6) {
+                return null;
+            }
+        }
+        double high = 1.0;
+        while (finalValue - compound(spent, high, null) > 0.0) {
+            high *= 2;
+            if (high > 1e6) {
+                return null;
+            }
+        }
+
+        double x = 0.0;
+        double[] slope = new double[1];
+        for (int i = 0; i < MAX_IRR_ITERATIONS && high - low > 1e-12; i++) {
+            double gap = finalValue - compound(spent, x, slope);
+            if (Math.abs(gap) < 1e-9 * finalValue) {
+                break;
+            }
+            if (gap > 0.0) {
+                low = x;
+            } else {
+                high = x;
+            }
+            double next = slope[0] != 0.0 ? x + gap / slope[0] : Double.NaN;
+            x = next > low && next < high ? next : (low + high) / 2;
+        }
+        return Rounding.toHundredths(Math.expm1(x) * 100);
+    }
+
+    /**
+     * Helper method that compounds the purchases to the last day at the continuous annual rate x.
+     * The growth of each day is a product of the daily growth, walking back from the last day,
+     * instead of one exponential per purchase.
+     *
+     * @param spent The amount spent on each day
+     * @param x The continuous annual rate, {@code ln(1 + r)}
+     * @param derivative Receives the derivative of the result by x, if not null
+     * @return The sum of the compounded purchases
+     */
+    private static double compound(double[] spent, double x, double[] derivative) {
+        int last = spent.length - 1;
+        double dailyGrowth = Math.exp(x / DAYS_PER_YEAR);
+        double growth = 1.0;
+        double sum = 0.0;
+        double slope = 0.0;
+        for (int day = last; day >= 0; day--) {
+            if (spent[day] > 0.0) {
+                double compounded = spent[day] * growth;
+                sum += compounded;
+                slope += compounded * (last - day) / DAYS_PER_YEAR;
+            }
+            growth *= dailyGrowth;
+        }
+        if (derivative != null) {
+            derivative[0] = slope;
+        }
+        return sum;
+    }
+
+    /**
+     * The purchases of a strategy, one per index.
+     *
+     * @param tokens The index of the bought token in the daily prices
+     * @param amounts The amount spent on each purchase
+     * @param intervals The number of days between two purchases, the first purchase being on the first day
+     */
+    public record Strategy(int[] tokens, double[] amounts, int[] intervals) {
+    }
+
+    private static final class StrategyTask extends RecursiveAction {
+        private final double[][] dailyPrices;
+        private final List<Strategy> strategies;
+        private final BacktestResult[] results;
+        private final int from;
+        private final int to;
+
+        StrategyTask(double[][] dailyPrices, List<Strategy> strategies, BacktestResult[] results, int from, int to) {
+            this.dailyPrices = dailyPrices;
+            this.strategies = strategies;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > STRATEGIES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new StrategyTask(dailyPrices, strategies, results, from, middle),
+                        new StrategyTask(dailyPrices, strategies, results, middle, to));
+                return;
+            }
+            for (int s = from; s < to; s++) {
+                results[s] = replay(dailyPrices, strategies.get(s));
+            }
+        }
+    }
+}
@@ -3,14 +3,11 @@ package org.mbalves.sp.crypto.wallet.application.usecase;
 import lombok.RequiredArgsConstructor;
 import org.mbalves.sp.crypto.wallet.application.port.in.DeleteAssetUseCase;
 import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
-import org.mbalves.sp.crypto.wallet.domain.Asset;
 import org.mbalves.sp.crypto.wallet.domain.Wallet;
 import org.mbalves.sp.crypto.wallet.domain.exception.AssetNotFoundException;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletConcurrentModificationException;
 import org.mbalves.sp.crypto.wallet.domain.exception.WalletNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.Optional;
 
 /**
  * Implementation of the DeleteAssetUseCase interface.
@@ -24,6 +21,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class DeleteAssetUseCaseImpl implements DeleteAssetUseCase {
     private final WalletRepositoryPort walletRepository;
+    private final ConcurrentUpdateRetrier retrier;
 
     /**
      * Deletes an asset from a wallet.
@@ -32,31 +30,40 @@ public class DeleteAssetUseCaseImpl implements DeleteAssetUseCase {
      * 2. Validates asset existence in the wallet
      * 3. Removes the asset from the wallet
      * 4. Persists the updated wallet
+     * 5. Retries when the update conflicts with a concurrent modification of the wallet
+     *
+     * The method is deliberately not transactional: each attempt reads and saves
+     * the wallet in its own transaction, so a retry sees the concurrent change.
      *
      * @param walletId The ID of the wallet containing the asset
      * @param symbol The symbol of the asset to delete
      * @return The updated wallet without the deleted asset
      * @throws WalletNotFoundException if the wallet doesn't exist
      * @throws AssetNotFoundException if the asset doesn't exist in the wallet
+     * @throws WalletConcurrentModificationException if the wallet kept conflicting with concurrent updates
      */
     @Override
-    @Transactional
     public Wallet deleteAsset(Long walletId, String symbol) {
-        // Check if wallet exists
-        Wallet wallet = walletRepository.findById(walletId)
-                .orElseThrow(() -> new WalletNotFoundException(walletId));
+        return retrier.execute(walletId, attempt -> removeAsset(walletId, symbol));
+    }
 
-        // Check if the asset exists in the wallet
-        Optional<Asset> asset = wallet.getAssets().stream()
-                .filter(a -> a.getToken().getSymbol().equals(symbol)).findFirst();
+    /**
+     * Helper method that reads the wallet, removes the asset and saves it.
+     *
+     * @param walletId The ID of the wallet containing the asset
+     * @param symbol The symbol of the asset to delete
+     * @return The updated wallet without the deleted asset
+     */
+    private Wallet removeAsset(Long walletId, String symbol) {
+        // Check if wallet exists, reading the latest version from the primary
+        Wallet wallet = walletRepository.findByIdForUpdate(walletId)
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
 
-        if (asset.isEmpty()) {
+        // Remove the asset from the wallet, the symbol is matched ignoring its case like when adding
+        if (!wallet.removeAsset(symbol)) {
             throw new AssetNotFoundException(walletId, symbol);
         }
 
-        // Remove the asset from the wallet's assets collection
-        wallet.getAssets().remove(asset.get());
-
         // Delete the asset and return the updated wallet
         return walletRepository.save(wallet);
     }
@@ -5,12 +5,11 @@ import org.mbalves.sp.crypto.wallet.application.port.in.DeleteWalletUseCase;
 import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
 import org.mbalves.sp.crypto.wallet.domain.exception.WalletNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Implementation of the DeleteWalletUseCase interface.
  * This use case handles the deletion of cryptocurrency wallets.
- * It ensures that the wallet exists before deletion and handles the transaction.
+ * It deletes the wallet in a single statement and reports a missing wallet from its row count.
  * It's aligned to the GDPR principles of data protection and user rights.
  *
  * @author Marcelo Alves
@@ -24,19 +23,17 @@ public class DeleteWalletUseCaseImpl implements DeleteWalletUseCase {
     /**
      * Deletes a wallet by its ID.
      * This method implements the following business rules:
-     * 1. Validates wallet existence
-     * 2. Deletes the wallet and all its associated assets
-     * 3. Handles the operation in a transaction
+     * 1. Deletes the wallet and all its associated assets
+     * 2. Validates wallet existence from the number of deleted rows
+     * 3. Relies on the repository to delete atomically, as the deletion is its only write
      *
      * @param walletId The ID of the wallet to delete
      * @throws WalletNotFoundException if the wallet doesn't exist
      */
     @Override
-    @Transactional
     public void deleteWallet(Long walletId) {
-        if (walletRepository.findById(walletId).isEmpty()) {
+        if (!walletRepository.deleteById(walletId)) {
             throw new WalletNotFoundException(walletId);
         }
-        walletRepository.deleteById(walletId);
     }
 }
@@ -0,0 +1,45 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import lombok.RequiredArgsConstructor;
+import org.mbalves.sp.crypto.wallet.application.port.in.ExportWalletsUseCase;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the ExportWalletsUseCase interface.
+ * This use case hands every wallet with its assets to a consumer, one wallet at a time,
+ * so that exports of any size run in constant memory.
+ * It runs in a single read-only transaction, served by a replica when one is configured.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportWalletsUseCaseImpl implements ExportWalletsUseCase {
+    private final WalletRepositoryPort walletRepository;
+
+    /**
+     * Passes every wallet to the consumer, in ID order.
+     *
+     * @param consumer Receives each wallet with its assets
+     * @return The number of wallets exported
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportWallets(Consumer<Wallet> consumer) {
+        long count = 0;
+        try (Stream<Wallet> wallets = walletRepository.streamAll()) {
+            for (Wallet wallet : (Iterable<Wallet>) wallets::iterator) {
+                consumer.accept(wallet);
+                count++;
+            }
+        }
+        return count;
+    }
+}
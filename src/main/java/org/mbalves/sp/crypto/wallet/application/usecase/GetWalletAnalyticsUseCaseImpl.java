@@ -0,0 +1,188 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.mbalves.sp.crypto.wallet.application.port.in.GetWalletAnalyticsUseCase;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceHistoryRepositoryPort;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.Asset;
+import org.mbalves.sp.crypto.wallet.domain.PriceEpoch;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.WalletAnalytics;
+import org.mbalves.sp.crypto.wallet.domain.exception.InsufficientPriceHistoryException;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidSimulationRangeException;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidTokenException;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link GetWalletAnalyticsUseCase} interface.
+ * This use case measures the historical volatility, Sharpe ratio and maximum drawdown of a stored wallet
+ * and the correlations of its tokens, with the {@link PortfolioAnalyticsEngine}.
+ *
+ * <p>
+ * Business rules:
+ * <ol>
+ *   <li>The wallet is weighted by the current value of its assets; assets of the same token are one position</li>
+ *   <li>Daily returns are taken from the stored daily prices of the last 'window' days, read for every token
+ *       with a single query, between consecutive days with a price for every token</li>
+ *   <li>The window is between 2 and 'max-window-days' days, and at least 'min-history-days' daily returns are required</li>
+ *   <li>The Sharpe ratio is measured against the annual 'risk-free-rate'</li>
+ *   <li>Results are cached per wallet version, window and price epoch, for at most one price update interval</li>
+ * </ol>
+ * </p>
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class GetWalletAnalyticsUseCaseImpl implements GetWalletAnalyticsUseCase {
+    static final String CACHE_NAME = "wallet.analytics";
+
+    private final WalletRepositoryPort walletRepository;
+    private final PriceHistoryRepositoryPort priceHistoryRepository;
+    private final PortfolioAnalyticsEngine engine;
+    private final Clock clock;
+    private final int maxWindowDays;
+    private final int minHistoryDays;
+    private final double riskFreeRate;
+    private final Cache<AnalyticsKey, WalletAnalytics> results;
+
+    @Autowired
+    public GetWalletAnalyticsUseCaseImpl(WalletRepositoryPort walletRepository,
+                                         PriceHistoryRepositoryPort priceHistoryRepository,
+                                         PortfolioAnalyticsEngine engine,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${crypto.analytics.max-window-days:365}") int maxWindowDays,
+                                         @Value("${crypto.analytics.min-history-days:7}") int minHistoryDays,
+                                         @Value("${crypto.analytics.risk-free-rate:0.0}") double riskFreeRate,
+                                         @Value("${crypto.analytics.cache.max-size:1000}") long cacheSize,
+                                         @Value("${crypto.price-update-interval:60000}") long priceUpdateIntervalMillis) {
+        this(walletRepository, priceHistoryRepository, engine, meterRegistry, Clock.systemUTC(), maxWindowDays,
+                minHistoryDays, riskFreeRate, cacheSize, Duration.ofMillis(priceUpdateIntervalMillis));
+    }
+
+    GetWalletAnalyticsUseCaseImpl(WalletRepositoryPort walletRepository, PriceHistoryRepositoryPort priceHistoryRepository,
+                                  PortfolioAnalyticsEngine engine, MeterRegistry meterRegistry, Clock clock,
+                                  int maxWindowDays, int minHistoryDays, double riskFreeRate, long cacheSize,
+                                  Duration cacheDuration) {
+        this.walletRepository = walletRepository;
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.engine = engine;
+        this.clock = clock;
+        this.maxWindowDays = maxWindowDays;
+        this.minHistoryDays = Math.max(2, minHistoryDays);
+        this.riskFreeRate = riskFreeRate;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheDuration)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+    }
+
+    /**
+     * Returns the analytics of a stored wallet over the window, cached until its assets change or prices are updated.
+     * The result is shared by every caller of the same analytics and must not be modified.
+     *
+     * @param walletId The ID of the wallet
+     * @param windowDays The number of days of history to measure
+     * @return The statistics of the wallet and of its tokens
+     * @throws WalletNotFoundException if the wallet does not exist
+     * @throws InvalidSimulationRangeException if the window is out of range
+     * @throws InsufficientPriceHistoryException if there are not enough daily returns
+     */
+    @Override
+    public WalletAnalytics getAnalytics(Long walletId, int windowDays) {
+        if (windowDays < 2 || windowDays > maxWindowDays) {
+            throw new InvalidSimulationRangeException("The window must be between 2 and " + maxWindowDays + " days");
+        }
+        Wallet wallet = walletRepository.findById(walletId)
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
+        AnalyticsKey key = new AnalyticsKey(walletId, wallet.getVersion(), windowDays, PriceEpoch.current());
+        WalletAnalytics analytics = results.getIfPresent(key);
+        if (analytics == null) {
+            // Computed outside of the cache, so a slow history read does not block other keys
+            analytics = analyze(wallet, windowDays);
+            results.put(key, analytics);
+        }
+        return analytics;
+    }
+
+    /**
+     * Helper method that weighs the positions of the wallet and analyzes their aligned daily returns.
+     */
+    private WalletAnalytics analyze(Wallet wallet, int windowDays) {
+        Map<String, Double> positions = new LinkedHashMap<>();
+        Map<String, String> symbols = new HashMap<>();
+        double total = 0.0;
+        for (Asset asset : wallet.getAssets()) {
+            Token token = asset.getToken();
+            if (token.getPrice() == null) {
+                throw new InvalidTokenException(token.getSymbol());
+            }
+            double value = token.getPrice().doubleValue() * asset.getQuantity().doubleValue();
+            positions.merge(token.getId(), value, Double::sum);
+            symbols.put(token.getId(), token.getSymbol());
+            total += value;
+        }
+
+        WalletAnalytics analytics;
+        List<String> tokenIds = new ArrayList<>(positions.keySet());
+        if (tokenIds.isEmpty() || total <= 0.0) {
+            analytics = new WalletAnalytics();
+            analytics.setVolatilities(new double[tokenIds.size()]);
+            analytics.setCorrelations(new double[tokenIds.size()][tokenIds.size()]);
+        } else {
+            double[][] logReturns = loadLogReturns(tokenIds, windowDays);
+            double[] weights = new double[tokenIds.size()];
+            for (int t = 0; t < weights.length; t++) {
+                weights[t] = positions.get(tokenIds.get(t)) / total;
+            }
+            long start = System.nanoTime();
+            analytics = engine.analyze(weights, logReturns, riskFreeRate);
+            analytics.setHistoryDays(logReturns[0].length);
+            log.info("Analyzed {} tokens over {} daily returns in {} ms", weights.length, logReturns[0].length,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+        }
+        analytics.setWindowDays(windowDays);
+        analytics.setSymbols(tokenIds.stream().map(symbols::get).toList());
+        return analytics;
+    }
+
+    /**
+     * Helper method that loads the daily log returns of the tokens over the window.
+     *
+     * @param tokenIds The IDs of the tokens, in position order
+     * @param windowDays The number of days of history to load
+     * @return The daily log returns, by token and then by day
+     * @throws InsufficientPriceHistoryException if there are fewer than 'min-history-days' returns
+     */
+    private double[][] loadLogReturns(List<String> tokenIds, int windowDays) {
+        Instant to = clock.instant();
+        double[][] logReturns = DailyReturns.load(priceHistoryRepository, tokenIds, to.minus(Duration.ofDays(windowDays)), to);
+        if (logReturns[0].length < minHistoryDays) {
+            throw new InsufficientPriceHistoryException("compute the analytics", logReturns[0].length, minHistoryDays);
+        }
+        return logReturns;
+    }
+
+    private record AnalyticsKey(Long walletId, Long walletVersion, int windowDays, long priceEpoch) {
+    }
+}
@@ -2,15 +2,18 @@ package org.mbalves.sp.crypto.wallet.application.usecase;
 
 import lombok.RequiredArgsConstructor;
 import org.mbalves.sp.crypto.wallet.application.port.in.GetWalletUseCase;
-import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
-import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletQueryPort;
+import org.mbalves.sp.crypto.wallet.domain.WalletView;
 import org.mbalves.sp.crypto.wallet.domain.exception.WalletNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Implementation of the GetWalletUseCase interface.
  * This use case handles retrieving wallet information by ID.
  * It ensures that the wallet exists before returning it.
+ * It runs read-only, so it is served by a replica when one is configured.
+ * The wallet is read as a view, without loading entities into the persistence context.
  *
  * @author Marcelo Alves
  * @version 1.0
@@ -18,7 +21,7 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class GetWalletUseCaseImpl implements GetWalletUseCase {
-    private final WalletRepositoryPort walletRepository;
+    private final WalletQueryPort walletQuery;
 
     /**
      * Retrieves the wallet for the given ID.
@@ -29,8 +32,24 @@ public class GetWalletUseCaseImpl implements GetWalletUseCase {
      * @throws WalletNotFoundException if the wallet does not exist
      */
     @Override
-    public Wallet getWallet(Long walletId) {
-        return walletRepository.findById(walletId)
+    @Transactional(readOnly = true)
+    public WalletView getWallet(Long walletId) {
+        return walletQuery.findById(walletId)
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
+    }
+
+    /**
+     * Retrieves the wallet for the given ID as a JSON document rendered by the database.
+     * If the wallet does not exist, it throws a WalletNotFoundException.
+     *
+     * @param walletId The ID of the wallet to retrieve
+     * @return The wallet as a UTF-8 encoded JSON document
+     * @throws WalletNotFoundException if the wallet does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public byte[] getWalletJson(Long walletId) {
+        return walletQuery.findJsonById(walletId)
                 .orElseThrow(() -> new WalletNotFoundException(walletId));
     }
 }
@@ -0,0 +1,191 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import lombok.extern.slf4j.Slf4j;
+import org.mbalves.sp.crypto.wallet.application.port.in.ImportWalletsUseCase;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceProviderPort;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletImportPort;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportError;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the {@link ImportWalletsUseCase} interface.
+ * This use case creates wallets and adds assets in bulk from a stream of rows.
+ * Rows are validated and staged as they are read, so memory use does not depend on the size of the import.
+ *
+ * <p>
+ * Business rules:
+ * <ol>
+ *   <li>Each row names a wallet by email and optionally an asset symbol and a positive quantity</li>
+ *   <li>Missing wallets are created, existing wallets are kept</li>
+ *   <li>Quantities are added to the assets the wallet already holds</li>
+ *   <li>Symbols unknown to the database are resolved with a single batched price provider lookup</li>
+ *   <li>Invalid rows and rows with unresolved symbols are rejected and reported, the rest is imported</li>
+ *   <li>The import, with the tokens it resolves, is a single transaction</li>
+ * </ol>
+ * </p>
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class ImportWalletsUseCaseImpl implements ImportWalletsUseCase {
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final int MAX_EMAIL_LENGTH = 255;
+    private static final int MAX_SYMBOL_LENGTH = 50;
+    private static final int MAX_QUANTITY_SCALE = 10;
+    private static final int MAX_QUANTITY_PRECISION = 22;
+
+    private final WalletImportPort walletImport;
+    private final PriceProviderPort priceProvider;
+    private final int maxReportedErrors;
+    private final long progressInterval;
+
+    public ImportWalletsUseCaseImpl(WalletImportPort walletImport,
+                                    PriceProviderPort priceProvider,
+                                    @Value("${crypto.wallet.import.max-reported-errors:1000}") int maxReportedErrors,
+                                    @Value("${crypto.wallet.import.progress-interval:100000}") long progressInterval) {
+        this.walletImport = walletImport;
+        this.priceProvider = priceProvider;
+        this.maxReportedErrors = maxReportedErrors;
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Imports the wallets and assets of the rows.
+     *
+     * @param rows The rows to import, read lazily
+     * @return The counts of the import and the first rejected rows
+     */
+    @Override
+    @Transactional
+    public WalletImportResult importWallets(Stream<WalletImportRow> rows) {
+        log.info("Starting wallet import");
+        List<WalletImportError> errors = new ArrayList<>();
+        long[] read = {0};
+        long[] rejected = {0};
+
+        walletImport.createStaging();
+        long staged = walletImport.stage(rows
+                .peek(row -> {
+                    if (++read[0] % progressInterval == 0) {
+                        log.info("Wallet import read {} rows, {} rejected", read[0], rejected[0]);
+                    }
+                })
+                .filter(row -> {
+                    String error = validate(row);
+                    if (error != null) {
+                        rejected[0]++;
+                        report(errors, new WalletImportError(row.getLine(), error));
+                    }
+                    return error == null;
+                }));
+        log.info("Wallet import staged {} of {} rows", staged, read[0]);
+
+        List<String> unresolved = resolveUnknownSymbols();
+        if (!unresolved.isEmpty()) {
+            walletImport.findRowsWithSymbols(unresolved, Math.max(maxReportedErrors - errors.size(), 0))
+                    .forEach(row -> report(errors, new WalletImportError(row.getLine(), "Invalid token symbol: " + row.getSymbol())));
+            long removed = walletImport.deleteRowsWithSymbols(unresolved);
+            rejected[0] += removed;
+            staged -= removed;
+        }
+
+        WalletImportResult result = walletImport.merge();
+        result.setRowsRead(read[0]);
+        result.setRowsImported(staged);
+        result.setRowsRejected(rejected[0]);
+        errors.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+        result.setErrors(errors);
+        log.info("Completed wallet import: {} rows imported, {} rejected, {} wallets created, {} assets created, {} assets updated",
+                result.getRowsImported(), result.getRowsRejected(), result.getWalletsCreated(),
+                result.getAssetsCreated(), result.getAssetsUpdated());
+        return result;
+    }
+
+    /**
+     * Helper method that looks up the staged symbols missing from the database with the price provider
+     * and saves the tokens it finds.
+     *
+     * @return The symbols the price provider does not know
+     */
+    private List<String> resolveUnknownSymbols() {
+        List<String> unknown = walletImport.findUnknownSymbols();
+        if (unknown.isEmpty()) {
+            return unknown;
+        }
+        Map<String, Token> tokens = priceProvider.getTokens(unknown);
+        if (!tokens.isEmpty()) {
+            walletImport.saveTokens(List.copyOf(tokens.values()));
+        }
+        return unknown.stream().filter(symbol -> !tokens.containsKey(symbol)).toList();
+    }
+
+    /**
+     * Helper method that validates a row and normalizes its symbol and quantity.
+     *
+     * @param row The row to validate
+     * @return The reason the row is invalid, or null if it is valid
+     */
+    private static String validate(WalletImportRow row) {
+        String email = row.getEmail() != null ? row.getEmail().trim() : null;
+        if (email == null || email.isEmpty()) {
+            return "Malformed row or missing email";
+        }
+        if (email.length() > MAX_EMAIL_LENGTH || !EMAIL.matcher(email).matches()) {
+            return "Invalid email: " + email;
+        }
+        row.setEmail(email);
+
+        boolean hasSymbol = row.getSymbol() != null && !row.getSymbol().isBlank();
+        boolean hasQuantity = row.getQuantity() != null && !row.getQuantity().isBlank();
+        if (!hasSymbol && !hasQuantity) {
+            row.setSymbol(null);
+            row.setQuantity(null);
+            return null;
+        }
+        if (!hasSymbol || !hasQuantity) {
+            return "Symbol and quantity must be given together";
+        }
+
+        String symbol = row.getSymbol().trim().toUpperCase();
+        if (symbol.length() > MAX_SYMBOL_LENGTH || symbol.chars().anyMatch(Character::isWhitespace)) {
+            return "Invalid token symbol: " + symbol;
+        }
+        row.setSymbol(symbol);
+
+        BigDecimal quantity;
+        try {
+            quantity = new BigDecimal(row.getQuantity().trim()).stripTrailingZeros();
+        } catch (NumberFormatException e) {
+            return "Invalid quantity: " + row.getQuantity();
+        }
+        if (quantity.signum() <= 0) {
+            return "Quantity must be positive: " + row.getQuantity();
+        }
+        if (quantity.scale() > MAX_QUANTITY_SCALE
+                || quantity.precision() - quantity.scale() > MAX_QUANTITY_PRECISION - MAX_QUANTITY_SCALE) {
+            return "Quantity out of range: " + row.getQuantity();
+        }
+        row.setQuantity(quantity.toPlainString());
+        return null;
+    }
+
+    private void report(List<WalletImportError> errors, WalletImportError error) {
+        if (errors.size() < maxReportedErrors) {
+            errors.add(error);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import org.mbalves.sp.crypto.wallet.application.port.in.ListWalletsUseCase;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletQueryPort;
+import org.mbalves.sp.crypto.wallet.domain.WalletPage;
+import org.mbalves.sp.crypto.wallet.domain.WalletSummary;
+import org.mbalves.sp.crypto.wallet.domain.WalletView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Implementation of the {@link ListWalletsUseCase} interface.
+ * This use case lists wallets one page at a time, in ID order.
+ *
+ * <p>
+ * Business rules:
+ * <ol>
+ *   <li>A page starts after the last wallet ID of the previous page, the first page after no ID</li>
+ *   <li>The page size is kept between 1 and the configured maximum</li>
+ *   <li>Wallets are listed with their assets, or reduced to their totals</li>
+ *   <li>It runs read-only, so it is served by a replica when one is configured</li>
+ * </ol>
+ * </p>
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Service
+public class ListWalletsUseCaseImpl implements ListWalletsUseCase {
+    private final WalletQueryPort walletQuery;
+    private final int maxLimit;
+
+    public ListWalletsUseCaseImpl(WalletQueryPort walletQuery,
+                                  @Value("${crypto.wallet.page.max-limit:500}") int maxLimit) {
+        this.walletQuery = walletQuery;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Lists the wallets with their assets that follow the given wallet ID.
+     *
+     * @param afterId The last wallet ID of the previous page, or null for the first page
+     * @param limit   The requested page size
+     * @return The views of the wallets of the page, in ID order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public WalletPage<WalletView> listWallets(Long afterId, int limit) {
+        int pageSize = pageSize(limit);
+        return toPage(walletQuery.findPage(afterId, pageSize + 1), pageSize, WalletView::id);
+    }
+
+    /**
+     * Lists the totals of the wallets that follow the given wallet ID.
+     *
+     * @param afterId The last wallet ID of the previous page, or null for the first page
+     * @param limit   The requested page size
+     * @return The wallet totals of the page, in ID order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public WalletPage<WalletSummary> listWalletTotals(Long afterId, int limit) {
+        int pageSize = pageSize(limit);
+        return toPage(walletQuery.findSummaryPage(afterId, pageSize + 1), pageSize, WalletSummary::getId);
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    // One wallet beyond the page size is read to tell whether another page follows
+    private static <T> WalletPage<T> toPage(List<T> wallets, int pageSize, Function<T, Long> id) {
+        if (wallets.size() <= pageSize) {
+            return new WalletPage<>(wallets, null);
+        }
+        List<T> items = wallets.subList(0, pageSize);
+        return new WalletPage<>(items, id.apply(items.getLast()));
+    }
+}
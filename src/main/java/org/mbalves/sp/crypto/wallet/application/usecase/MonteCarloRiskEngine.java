@@ -0,0 +1,109 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Simulates the value of a set of positions some days ahead by bootstrapping historical daily returns.
+ * Each path draws whole historical days, so the returns of the positions keep their correlation.
+ * The paths are split into fork/join tasks of {@value #PATHS_PER_TASK} paths, each with its own random
+ * generator seeded from the simulation seed and its first path, so a seed always gives the same values
+ * whatever the parallelism. The tasks only read and write primitive arrays.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Component
+public class MonteCarloRiskEngine {
+    static final int PATHS_PER_TASK = 4096;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * @param parallelism The number of threads simulating paths, or 0 for one per available processor
+     */
+    public MonteCarloRiskEngine(@Value("${crypto.risk.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Simulates the total value of the positions after the horizon on every path.
+     *
+     * @param positionValues The current value of each position
+     * @param logReturns The historical daily log returns, by day and then by position,
+     *                   so the return of position p on day d is at {@code d * positionValues.length + p}
+     * @param horizonDays The number of days to simulate
+     * @param paths The number of paths to simulate
+     * @param seed The seed of the random draws
+     * @return The total value at the horizon of each path, sorted in ascending order
+     */
+    public double[] simulate(double[] positionValues, double[] logReturns, int horizonDays, int paths, long seed) {
+        int days = logReturns.length / positionValues.length;
+        double[] values = new double[paths];
+        pool.invoke(new PathTask(positionValues, logReturns, days, horizonDays, seed, values, 0, paths));
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static final class PathTask extends RecursiveAction {
+        private final double[] positionValues;
+        private final double[] logReturns;
+        private final int days;
+        private final int horizonDays;
+        private final long seed;
+        private final double[] values;
+        private final int from;
+        private final int to;
+
+        PathTask(double[] positionValues, double[] logReturns, int days, int horizonDays, long seed,
+                 double[] values, int from, int to) {
+            this.positionValues = positionValues;
+            this.logReturns = logReturns;
+            this.days = days;
+            this.horizonDays = horizonDays;
+            this.seed = seed;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PATHS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PathTask(positionValues, logReturns, days, horizonDays, seed, values, from, middle),
+                        new PathTask(positionValues, logReturns, days, horizonDays, seed, values, middle, to));
+                return;
+            }
+            int positions = positionValues.length;
+            SplittableRandom random = new SplittableRandom(seed ^ (from * 0x9E3779B97F4A7C15L));
+            // The cumulative log return of each position on the current path
+            double[] growth = new double[positions];
+            for (int path = from; path < to; path++) {
+                Arrays.fill(growth, 0.0);
+                for (int day = 0; day < horizonDays; day++) {
+                    int row = random.nextInt(days) * positions;
+                    for (int p = 0; p < positions; p++) {
+                        growth[p] += logReturns[row + p];
+                    }
+                }
+                double value = 0.0;
+                for (int p = 0; p < positions; p++) {
+                    value += positionValues[p] * Math.exp(growth[p]);
+                }
+                values[path] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import jakarta.annotation.PreDestroy;
+import org.mbalves.sp.crypto.wallet.domain.WalletAnalytics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Measures the volatility, Sharpe ratio and maximum drawdown of a portfolio and the correlations of its tokens
+ * from aligned daily log returns. Means and variances are accumulated in a single pass with Welford's algorithm.
+ * The returns of each token are then standardized, so each correlation is a dot product of two rows;
+ * the rows of the matrix are computed in parallel as fork/join tasks of {@value #ROWS_PER_TASK} rows.
+ * The tasks only read and write primitive arrays.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Component
+public class PortfolioAnalyticsEngine {
+    static final int ROWS_PER_TASK = 4;
+
+    private static final double DAYS_PER_YEAR = 365.0;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * @param parallelism The number of threads computing correlations, or 0 for one per available processor
+     */
+    public PortfolioAnalyticsEngine(@Value("${crypto.analytics.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Analyzes a portfolio rebalanced daily to constant weights.
+     * The window, history and symbols of the result are left to the caller.
+     *
+     * @param weights The share of each token in the portfolio value, adding up to 1
+     * @param logReturns The daily log returns of each token, indexed by token and then by day;
+     *                   every token has the same number of days, at least two
+     * @param riskFreeRate The annual risk-free rate the Sharpe ratio is measured against, e.g. 0.04
+     * @return The statistics of the portfolio and of its tokens
+     */
+    public WalletAnalytics analyze(double[] weights, double[][] logReturns, double riskFreeRate) {
+        int tokens = logReturns.length;
+        int days = logReturns[0].length;
+
+        // The daily simple return of the portfolio, accumulated token by token to read each row in order
+        double[] portfolioReturns = new double[days];
+        double[] volatilities = new double[tokens];
+        double[][] standardized = new double[tokens][];
+        for (int t = 0; t < tokens; t++) {
+            double[] returns = logReturns[t];
+            double weight = weights[t];
+            RunningStatistics statistics = new RunningStatistics();
+            for (int day = 0; day < days; day++) {
+                statistics.add(returns[day]);
+                portfolioReturns[day] += weight * Math.expm1(returns[day]);
+            }
+            volatilities[t] = Rounding.toHundredths(statistics.standardDeviation() * Math.sqrt(DAYS_PER_YEAR) * 100);
+            standardized[t] = standardize(returns, statistics);
+        }
+
+        RunningStatistics portfolio = new RunningStatistics();
+        double value = 1.0;
+        double peak = 1.0;
+        double maxDrawdown = 0.0;
+        for (int day = 0; day < days; day++) {
+            portfolio.add(portfolioReturns[day]);
+            value *= 1.0 + portfolioReturns[day];
+            peak = Math.max(peak, value);
+            maxDrawdown = Math.max(maxDrawdown, 1.0 - value / peak);
+        }
+        double volatility = portfolio.standardDeviation() * Math.sqrt(DAYS_PER_YEAR);
+
+        double[][] correlations = new double[tokens][tokens];
+        pool.invoke(new CorrelationTask(standardized, correlations, 0, tokens));
+
+        WalletAnalytics analytics = new WalletAnalytics();
+        analytics.setVolatility(Rounding.toHundredths(volatility * 100));
+        analytics.setSharpeRatio(volatility > 0.0
+                ? Rounding.toHundredths((portfolio.mean * DAYS_PER_YEAR - riskFreeRate) / volatility)
+                : null);
+        analytics.setMaxDrawdown(Rounding.toHundredths(maxDrawdown * 100));
+        analytics.setVolatilities(volatilities);
+        analytics.setCorrelations(correlations);
+        return analytics;
+    }
+
+    /**
+     * Helper method that centers the returns and scales them to a unit sum of squares,
+     * so the dot product of two standardized rows is the correlation of the returns.
+     *
+     * @return The standardized returns, or null if the returns do not vary
+     */
+    private static double[] standardize(double[] returns, RunningStatistics statistics) {
+        if (statistics.m2 <= 0.0) {
+            return null;
+        }
+        double scale = 1.0 / Math.sqrt(statistics.m2);
+        double[] standardized = new double[returns.length];
+        for (int day = 0; day < returns.length; day++) {
+            standardized[day] = (returns[day] - statistics.mean) * scale;
+        }
+        return standardized;
+    }
+
+    /**
+     * Welford's single-pass mean and sum of squared deviations, numerically stable for returns close to each other.
+     */
+    private static final class RunningStatistics {
+        private long count;
+        private double mean;
+        private double m2;
+
+        void add(double value) {
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+        }
+
+        double standardDeviation() {
+            return count > 1 ? Math.sqrt(m2 / (count - 1)) : 0.0;
+        }
+    }
+
+    /**
+     * Computes the rows of the correlation matrix in a range, from the diagonal to the right,
+     * and mirrors them below the diagonal. Each cell is written by a single task.
+     */
+    private static final class CorrelationTask extends RecursiveAction {
+        private final double[][] standardized;
+        private final double[][] correlations;
+        private final int from;
+        private final int to;
+
+        CorrelationTask(double[][] standardized, double[][] correlations, int from, int to) {
+            this.standardized = standardized;
+            this.correlations = correlations;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > ROWS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new CorrelationTask(standardized, correlations, from, middle),
+                        new CorrelationTask(standardized, correlations, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                correlations[i][i] = 1.0;
+                double[] row = standardized[i];
+                for (int j = i + 1; j < standardized.length; j++) {
+                    double[] other = standardized[j];
+                    double correlation = 0.0;
+                    if (row != null && other != null) {
+                        for (int day = 0; day < row.length; day++) {
+                            correlation += row[day] * other[day];
+                        }
+                        correlation = Math.round(correlation * 10_000) / 10_000.0;
+                    }
+                    correlations[i][j] = correlation;
+                    correlations[j][i] = correlation;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+/**
+ * Rounding of the values and percentages the simulations and analytics report as doubles.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+final class Rounding {
+
+    private Rounding() {
+    }
+
+    static double toHundredths(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -1,31 +1,90 @@
 package org.mbalves.sp.crypto.wallet.application.usecase;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
 import org.mbalves.sp.crypto.wallet.application.port.in.SimulateWalletProfitUseCase;
 import org.mbalves.sp.crypto.wallet.application.port.out.PriceProviderPort;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.Asset;
 import org.mbalves.sp.crypto.wallet.domain.AssetSimulation;
+import org.mbalves.sp.crypto.wallet.domain.Money;
+import org.mbalves.sp.crypto.wallet.domain.Quantity;
 import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulation;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationOutcome;
 import org.mbalves.sp.crypto.wallet.domain.WalletSimulationResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationSeries;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidSimulationRangeException;
 import org.mbalves.sp.crypto.wallet.domain.exception.InvalidTokenException;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the SimulateWalletProfitUseCase interface.
  * This use case handles the simulation of wallet profit based on current or historical prices.
  * It calculates the total value, best and worst performing assets, and their performances.
+ * The prices of the distinct symbols are fetched concurrently on a bounded pool, or on a virtual thread
+ * each when 'price-lookup-threads' is 0, so a simulation waits for about one provider round trip per step
+ * instead of one per asset; the provider adapter limits how many of those requests are sent at the same time. A batch of portfolios shares
+ * one token lookup and one request per distinct past price. Past prices never change, so they are
+ * kept in a bounded cache shared by every simulation.
  *
  * @author Marcelo Alves
  * @version 1.0
  */
 @Service
-@RequiredArgsConstructor
 public class SimulateWalletProfitUseCaseImpl implements SimulateWalletProfitUseCase {
     private final PriceProviderPort priceProvider;
+    private final WalletRepositoryPort walletRepository;
+    private final ExecutorService priceLookupExecutor;
+    private final ForkJoinPool simulationPool;
+    private final int maxRangeDays;
+    private final Cache<HistoricalPriceKey, Double> historicalPrices;
+
+    public SimulateWalletProfitUseCaseImpl(PriceProviderPort priceProvider,
+                                           WalletRepositoryPort walletRepository,
+                                           @Value("${crypto.simulation.price-lookup-threads:8}") int priceLookupThreads,
+                                           @Value("${crypto.simulation.parallelism:0}") int parallelism,
+                                           @Value("${crypto.simulation.max-range-days:1825}") int maxRangeDays,
+                                           @Value("${crypto.simulation.price-cache.max-size:10000}") long priceCacheSize) {
+        this.priceProvider = priceProvider;
+        this.walletRepository = walletRepository;
+        this.priceLookupExecutor = priceLookupThreads > 0
+                ? Executors.newFixedThreadPool(priceLookupThreads)
+                : Executors.newVirtualThreadPerTaskExecutor();
+        this.simulationPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxRangeDays = maxRangeDays;
+        this.historicalPrices = Caffeine.newBuilder().maximumSize(priceCacheSize).build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        priceLookupExecutor.shutdownNow();
+        simulationPool.shutdownNow();
+    }
 
     /**
      * Simulates the profit of a wallet based on the current or historical price of the assets.
@@ -35,12 +94,239 @@ public class SimulateWalletProfitUseCaseImpl implements SimulateWalletProfitUseC
      * @param assets The list of assets to simulate
      * @param date The date for the simulation (current or historical)
      * @return The result of the wallet profit simulation
+     * @throws InvalidSimulationRangeException if an asset does not have a positive quantity and value
      * @throws InvalidTokenException if a token is invalid or price cannot be fetched
      */
     @Override
     public WalletSimulationResult simulateProfit(List<AssetSimulation> assets, LocalDate date) {
+        validateAssets(assets);
+        return aggregate(assets, fetchPrices(assets, date));
+    }
+
+    /**
+     * Simulates the profit of a stored wallet, without the client sending its holdings.
+     * The business rules are:
+     * <ul>
+     *   <li>The wallet, its assets and their tokens are read with a single query</li>
+     *   <li>The performance of each asset is measured from the baseline date, or from the day the asset
+     *       was acquired when no baseline is given</li>
+     *   <li>Prices for today and later are the stored token prices, kept current by the price updates;
+     *       past prices are fetched once per distinct token and date, concurrently, and cached</li>
+     *   <li>Total value, best and worst assets are calculated as in a simulation of the same assets</li>
+     * </ul>
+     *
+     * @param walletId The ID of the wallet
+     * @param date The date for the simulation (current or historical)
+     * @param baseline The date the performances are measured from, or null for the acquisition date of each asset
+     * @return The result of the wallet profit simulation
+     * @throws WalletNotFoundException if the wallet does not exist
+     * @throws InvalidTokenException if a past price cannot be fetched
+     */
+    @Override
+    public WalletSimulationResult simulateProfit(Long walletId, LocalDate date, LocalDate baseline) {
+        Wallet wallet = walletRepository.findByIdWithAssets(walletId)
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
+        LocalDate today = LocalDate.now();
+
+        Map<HistoricalPriceKey, CompletableFuture<Double>> lookups = new HashMap<>();
+        for (Asset asset : wallet.getAssets()) {
+            LocalDate assetBaseline = baselineOf(asset, baseline, today);
+            for (LocalDate day : List.of(assetBaseline, date)) {
+                if (day.isBefore(today)) {
+                    Token token = asset.getToken();
+                    lookups.computeIfAbsent(new HistoricalPriceKey(token.getId(), day), key -> CompletableFuture
+                            .supplyAsync(() -> historicalPrice(token, day), priceLookupExecutor));
+                }
+            }
+        }
+        awaitAll(lookups.values());
+
+        List<AssetSimulation> assets = new ArrayList<>(wallet.getAssets().size());
+        Map<String, BigDecimal> prices = new HashMap<>();
+        for (Asset asset : wallet.getAssets()) {
+            Token token = asset.getToken();
+            BigDecimal baselinePrice = priceOn(token, baselineOf(asset, baseline, today), today, lookups);
+            AssetSimulation simulation = new AssetSimulation();
+            simulation.setSymbol(token.getSymbol());
+            simulation.setQuantity(asset.getQuantity().doubleValue());
+            simulation.setValue(baselinePrice.multiply(asset.getQuantity()));
+            assets.add(simulation);
+            prices.put(token.getSymbol(), priceOn(token, date, today, lookups));
+        }
+        return aggregate(assets, prices);
+    }
+
+    /**
+     * Simulates the profit of many portfolios at once.
+     * The business rules are:
+     * <ul>
+     *   <li>The tokens of all the distinct symbols are fetched with a single lookup</li>
+     *   <li>Each distinct (symbol, date) pair in the past is priced once, concurrently, however many portfolios hold it</li>
+     *   <li>The portfolios are then simulated in parallel, on their own CPU-sized pool rather than the threads
+     *       fetching prices, and their outcomes are sent in input order</li>
+     *   <li>A portfolio with an invalid token, a missing price, or an asset without a positive quantity and value
+     *       fails alone, with the reason as its error</li>
+     * </ul>
+     *
+     * @param wallets The portfolios to simulate, each with its date
+     * @param outcomes Receives the outcome of each portfolio, in input order
+     */
+    @Override
+    public void simulateProfits(List<WalletSimulation> wallets, Consumer<WalletSimulationOutcome> outcomes) {
+        LocalDate today = LocalDate.now();
+        Set<String> symbols = new LinkedHashSet<>();
+        Set<PriceKey> pastPrices = new LinkedHashSet<>();
+        for (WalletSimulation wallet : wallets) {
+            for (AssetSimulation asset : wallet.getAssets()) {
+                symbols.add(asset.getSymbol());
+                if (wallet.getDate().isBefore(today)) {
+                    pastPrices.add(new PriceKey(asset.getSymbol(), wallet.getDate()));
+                }
+            }
+        }
+        Map<String, Token> tokens = symbols.isEmpty() ? Map.of() : priceProvider.getTokens(symbols);
+
+        Map<PriceKey, CompletableFuture<Double>> lookups = new HashMap<>();
+        for (PriceKey key : pastPrices) {
+            Token token = tokens.get(key.symbol());
+            if (token != null) {
+                // A failed lookup is a missing price, so it only fails the portfolios holding the token
+                lookups.put(key, CompletableFuture
+                        .supplyAsync(() -> cachedHistoricalPrice(token.getId(), key.date()), priceLookupExecutor)
+                        .exceptionally(e -> null));
+            }
+        }
+        // Waited for here, so the simulations below never block a pool thread on a lookup
+        CompletableFuture.allOf(lookups.values().toArray(CompletableFuture[]::new)).join();
+        Map<PriceKey, Double> historicalPrices = new HashMap<>();
+        lookups.forEach((key, lookup) -> historicalPrices.put(key, lookup.join()));
+
+        List<CompletableFuture<WalletSimulationOutcome>> simulations = wallets.stream()
+                .map(wallet -> CompletableFuture.supplyAsync(
+                        () -> simulate(wallet, tokens, historicalPrices, today), simulationPool))
+                .toList();
+        for (CompletableFuture<WalletSimulationOutcome> simulation : simulations) {
+            outcomes.accept(simulation.join());
+        }
+    }
+
+    /**
+     * Simulates the profit of a wallet at every step of a date range.
+     * The business rules are:
+     * <ul>
+     *   <li>The range runs from the start date, every step days, up to the end date, which may be today</li>
+     *   <li>The daily price history of each distinct token is fetched once for the whole range, concurrently</li>
+     *   <li>A day without a price keeps the price of the previous day; today uses the current price</li>
+     *   <li>Each step has the total value of the wallet and the performance of each asset, as in a single simulation</li>
+     * </ul>
+     *
+     * @param assets The list of assets to simulate
+     * @param start The first date of the range
+     * @param end The last date of the range
+     * @param stepDays The number of days between two steps
+     * @return The value and performances of the wallet at each step
+     * @throws InvalidSimulationRangeException if the range is empty, in the future, too long or has no steps,
+     *                                         or an asset does not have a positive quantity and value
+     * @throws InvalidTokenException if a token is invalid or its prices cannot be fetched
+     */
+    @Override
+    public WalletSimulationSeries simulateProfitSeries(List<AssetSimulation> assets, LocalDate start, LocalDate end,
+                                                       int stepDays) {
+        LocalDate today = LocalDate.now();
+        validateRange(start, end, stepDays, today);
+        validateAssets(assets);
+        int days = (int) ChronoUnit.DAYS.between(start, end);
+        int steps = days / stepDays + 1;
+
+        // Each asset refers to the daily prices of its token by index
+        Map<String, Integer> tokenIndexes = new LinkedHashMap<>();
+        int assetCount = assets.size();
+        int[] assetTokens = new int[assetCount];
+        double[] quantities = new double[assetCount];
+        double[] initialPrices = new double[assetCount];
+        List<String> symbols = new ArrayList<>(assetCount);
+        for (int a = 0; a < assetCount; a++) {
+            AssetSimulation asset = assets.get(a);
+            assetTokens[a] = tokenIndexes.computeIfAbsent(asset.getSymbol(), symbol -> tokenIndexes.size());
+            quantities[a] = asset.getQuantity();
+            initialPrices[a] = asset.getValue().doubleValue() / asset.getQuantity();
+            symbols.add(asset.getSymbol());
+        }
+        double[][] dailyPrices = fetchDailyPrices(tokenIndexes.keySet(), start, end, today);
+
+        List<LocalDate> dates = new ArrayList<>(steps);
+        double[] totals = new double[steps];
+        double[][] performances = new double[assetCount][steps];
+        for (int step = 0; step < steps; step++) {
+            int day = step * stepDays;
+            dates.add(start.plusDays(day));
+            double total = 0;
+            for (int a = 0; a < assetCount; a++) {
+                double price = dailyPrices[assetTokens[a]][day];
+                total += Rounding.toHundredths(price * quantities[a]);
+                // Calculate percentage change: ((current - initial) / initial) * 100
+                performances[a][step] = Rounding.toHundredths((price - initialPrices[a]) / initialPrices[a] * 100);
+            }
+            totals[step] = Rounding.toHundredths(total);
+        }
+
+        WalletSimulationSeries series = new WalletSimulationSeries();
+        series.setDates(dates);
+        series.setTotals(totals);
+        series.setSymbols(symbols);
+        series.setPerformances(performances);
+        return series;
+    }
+
+    /**
+     * Helper method that simulates one portfolio of a batch with the prices fetched for the batch.
+     *
+     * @param wallet The portfolio to simulate
+     * @param tokens The tokens of the batch, by symbol
+     * @param historicalPrices The past prices of the batch, missing when they could not be fetched
+     * @param today The current date of the batch
+     * @return The result of the simulation, or the reason it failed
+     */
+    private WalletSimulationOutcome simulate(WalletSimulation wallet, Map<String, Token> tokens,
+                                             Map<PriceKey, Double> historicalPrices, LocalDate today) {
+        boolean historical = wallet.getDate().isBefore(today);
+        Map<String, BigDecimal> prices = new HashMap<>();
+        try {
+            for (AssetSimulation asset : wallet.getAssets()) {
+                String symbol = asset.getSymbol();
+                if (!hasPositiveQuantityAndValue(asset)) {
+                    return new WalletSimulationOutcome(null, "Quantity and value must be positive for symbol: " + symbol);
+                }
+                Token token = tokens.get(symbol);
+                if (token == null) {
+                    throw new InvalidTokenException(symbol);
+                }
+                if (!historical) {
+                    prices.put(symbol, token.getPrice());
+                    continue;
+                }
+                Double historicalPriceValue = historicalPrices.get(new PriceKey(symbol, wallet.getDate()));
+                if (historicalPriceValue == null) {
+                    throw new InvalidTokenException(symbol);
+                }
+                prices.put(symbol, BigDecimal.valueOf(historicalPriceValue));
+            }
+            return new WalletSimulationOutcome(aggregate(wallet.getAssets(), prices), null);
+        } catch (InvalidTokenException e) {
+            return new WalletSimulationOutcome(null, e.getMessage());
+        }
+    }
+
+    /**
+     * Helper method that calculates the total value of the assets and their best and worst performances.
+     *
+     * @param assets The assets to simulate
+     * @param prices The price of each symbol on the simulation date
+     * @return The result of the simulation
+     */
+    private static WalletSimulationResult aggregate(List<AssetSimulation> assets, Map<String, BigDecimal> prices) {
         WalletSimulationResult result = new WalletSimulationResult();
-        BigDecimal total = BigDecimal.ZERO;
+        Money total = Money.ZERO;
         String bestAsset = null;
         BigDecimal bestPerformance = null;
         String worstAsset = null;
@@ -49,20 +335,7 @@ public class SimulateWalletProfitUseCaseImpl implements SimulateWalletProfitUseC
         for (AssetSimulation asset : assets) {
             BigDecimal initialPrice = asset.getValue()
                     .divide(BigDecimal.valueOf(asset.getQuantity()), 8, RoundingMode.HALF_UP);
-            Token token = priceProvider.getToken(asset.getSymbol());
-            if (token == null) {
-                throw new InvalidTokenException(asset.getSymbol());
-            }
-
-            BigDecimal currentPrice = token.getPrice();
-            // If the date is in the past, fetch the historical price
-            if (date.isBefore(LocalDate.now())) {
-                Double historicalPriceValue = priceProvider.getTokenPrice(token.getId(), date);
-                if (historicalPriceValue == null) {
-                    throw new InvalidTokenException(asset.getSymbol());
-                }
-                currentPrice = BigDecimal.valueOf(historicalPriceValue);
-            }
+            BigDecimal currentPrice = prices.get(asset.getSymbol());
 
             // Calculate percentage change: ((current - initial) / initial) * 100
             BigDecimal performance = currentPrice
@@ -72,9 +345,9 @@ public class SimulateWalletProfitUseCaseImpl implements SimulateWalletProfitUseC
                     .setScale(2, RoundingMode.HALF_UP);
 
             // Calculate asset value: currentPrice * quantity
-            BigDecimal assetValue = currentPrice
-                    .multiply(BigDecimal.valueOf(asset.getQuantity()))
-                    .setScale(2, RoundingMode.HALF_UP);
+            Money assetValue = Money.of(currentPrice)
+                    .multiply(Quantity.of(BigDecimal.valueOf(asset.getQuantity())))
+                    .roundToCents();
             total = total.add(assetValue);
 
             // Update best/worst assets
@@ -95,4 +368,231 @@ public class SimulateWalletProfitUseCaseImpl implements SimulateWalletProfitUseC
         result.setWorstPerformance(worstPerformance);
         return result;
     }
+
+    /**
+     * Helper method that fetches the price of every distinct symbol concurrently.
+     *
+     * @param assets The assets to simulate
+     * @param date The date for the simulation
+     * @return The price of each symbol on the date
+     * @throws InvalidTokenException if a token is invalid or price cannot be fetched
+     */
+    private Map<String, BigDecimal> fetchPrices(List<AssetSimulation> assets, LocalDate date) {
+        boolean historical = date.isBefore(LocalDate.now());
+        Map<String, CompletableFuture<BigDecimal>> lookups = new LinkedHashMap<>();
+        for (AssetSimulation asset : assets) {
+            lookups.computeIfAbsent(asset.getSymbol(), symbol -> CompletableFuture.supplyAsync(
+                    () -> fetchPrice(symbol, date, historical), priceLookupExecutor));
+        }
+        awaitAll(lookups.values());
+        Map<String, BigDecimal> prices = new HashMap<>();
+        lookups.forEach((symbol, lookup) -> prices.put(symbol, lookup.join()));
+        return prices;
+    }
+
+    /**
+     * Helper method that fetches the price of a symbol, current or on a past date.
+     * The historical price needs the token ID, so it is fetched after the token.
+     *
+     * @param symbol The token symbol
+     * @param date The date for the simulation
+     * @param historical Whether the date is in the past
+     * @return The price of the token on the date
+     * @throws InvalidTokenException if the token is invalid or its price cannot be fetched
+     */
+    private BigDecimal fetchPrice(String symbol, LocalDate date, boolean historical) {
+        Token token = priceProvider.getToken(symbol);
+        if (token == null) {
+            throw new InvalidTokenException(symbol);
+        }
+        if (!historical) {
+            return token.getPrice();
+        }
+        return BigDecimal.valueOf(historicalPrice(token, date));
+    }
+
+    /**
+     * Helper method that returns the price of a token on a date, stored for today and later, fetched for the past.
+     *
+     * @param lookups The lookups of the past prices, all completed
+     */
+    private static BigDecimal priceOn(Token token, LocalDate date, LocalDate today,
+                                      Map<HistoricalPriceKey, CompletableFuture<Double>> lookups) {
+        if (!date.isBefore(today)) {
+            return token.getPrice();
+        }
+        return BigDecimal.valueOf(lookups.get(new HistoricalPriceKey(token.getId(), date)).join());
+    }
+
+    /**
+     * Helper method that returns the baseline date of an asset, never after today.
+     */
+    private static LocalDate baselineOf(Asset asset, LocalDate baseline, LocalDate today) {
+        LocalDate date = baseline != null ? baseline : asset.getAcquiredOn();
+        return date == null || date.isAfter(today) ? today : date;
+    }
+
+    /**
+     * Helper method that fetches the price of a token on a past date, failing when it is missing.
+     *
+     * @throws InvalidTokenException if the price cannot be fetched
+     */
+    private double historicalPrice(Token token, LocalDate date) {
+        Double price = cachedHistoricalPrice(token.getId(), date);
+        if (price == null) {
+            throw new InvalidTokenException(token.getSymbol());
+        }
+        return price;
+    }
+
+    /**
+     * Helper method that fetches the price of a token on a past date, through the cache.
+     * Missing prices are not cached, so they are fetched again by the next simulation.
+     * The price is fetched outside of the cache: a loading function would run while holding a lock of the map,
+     * blocking other keys and pinning a virtual thread to its carrier for the whole request.
+     *
+     * @return The price, or null if it cannot be fetched
+     */
+    private Double cachedHistoricalPrice(String tokenId, LocalDate date) {
+        HistoricalPriceKey key = new HistoricalPriceKey(tokenId, date);
+        Double price = historicalPrices.getIfPresent(key);
+        if (price == null) {
+            price = priceProvider.getTokenPrice(tokenId, date);
+            if (price != null) {
+                historicalPrices.put(key, price);
+            }
+        }
+        return price;
+    }
+
+    /**
+     * Helper method that fetches the daily prices of every distinct symbol over a range concurrently.
+     *
+     * @param symbols The distinct symbols to fetch
+     * @param start The first date of the range
+     * @param end The last date of the range
+     * @param today The current date
+     * @return The price of each day of the range, indexed by symbol in iteration order and then by day
+     * @throws InvalidTokenException if a token is invalid or its prices cannot be fetched
+     */
+    private double[][] fetchDailyPrices(Set<String> symbols, LocalDate start, LocalDate end, LocalDate today) {
+        Map<String, Token> tokens = symbols.isEmpty() ? Map.of() : priceProvider.getTokens(symbols);
+        List<CompletableFuture<double[]>> lookups = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            Token token = tokens.get(symbol);
+            if (token == null) {
+                throw new InvalidTokenException(symbol);
+            }
+            lookups.add(CompletableFuture.supplyAsync(
+                    () -> fetchDailyPrices(token, start, end, today), priceLookupExecutor));
+        }
+        awaitAll(lookups);
+        double[][] dailyPrices = new double[lookups.size()][];
+        for (int i = 0; i < dailyPrices.length; i++) {
+            dailyPrices[i] = lookups.get(i).join();
+        }
+        return dailyPrices;
+    }
+
+    /**
+     * Helper method that fetches the daily prices of a token over a range with a single history request.
+     * Days without a price keep the price of the previous day, and today uses the current price.
+     *
+     * @param token The token
+     * @param start The first date of the range
+     * @param end The last date of the range
+     * @param today The current date
+     * @return The price of each day of the range
+     * @throws InvalidTokenException if the history cannot be fetched or has no price on the first day
+     */
+    private double[] fetchDailyPrices(Token token, LocalDate start, LocalDate end, LocalDate today) {
+        double[] prices = new double[(int) ChronoUnit.DAYS.between(start, end) + 1];
+        Arrays.fill(prices, Double.NaN);
+        LocalDate lastPastDay = end.isBefore(today) ? end : today.minusDays(1);
+        if (!start.isAfter(lastPastDay)) {
+            double[] history = priceProvider.getTokenPrices(token.getId(), start, lastPastDay);
+            if (history == null) {
+                throw new InvalidTokenException(token.getSymbol());
+            }
+            System.arraycopy(history, 0, prices, 0, Math.min(history.length, prices.length));
+        }
+        if (!end.isBefore(today)) {
+            prices[prices.length - 1] = token.getPrice().doubleValue();
+        }
+        for (int day = 1; day < prices.length; day++) {
+            if (Double.isNaN(prices[day])) {
+                prices[day] = prices[day - 1];
+            }
+        }
+        if (Double.isNaN(prices[0])) {
+            throw new InvalidTokenException(token.getSymbol());
+        }
+        return prices;
+    }
+
+    /**
+     * Helper method that checks an asset can be simulated: its performance is measured from value / quantity,
+     * so both must be positive.
+     *
+     * @param asset The asset to simulate
+     * @return true if the quantity and the value are set and positive
+     */
+    static boolean hasPositiveQuantityAndValue(AssetSimulation asset) {
+        return asset.getQuantity() != null && asset.getQuantity() > 0
+                && asset.getValue() != null && asset.getValue().signum() > 0;
+    }
+
+    /**
+     * Helper method that checks every asset of a simulation can be simulated.
+     *
+     * @throws InvalidSimulationRangeException if an asset does not have a positive quantity and value
+     */
+    private static void validateAssets(List<AssetSimulation> assets) {
+        for (AssetSimulation asset : assets) {
+            if (!hasPositiveQuantityAndValue(asset)) {
+                throw new InvalidSimulationRangeException("Quantity and value must be positive for symbol: "
+                        + asset.getSymbol());
+            }
+        }
+    }
+
+    /**
+     * Helper method that checks the range of a series simulation.
+     *
+     * @throws InvalidSimulationRangeException if the range is empty, in the future, too long or has no steps
+     */
+    private void validateRange(LocalDate start, LocalDate end, int stepDays, LocalDate today) {
+        if (start == null || end == null || start.isAfter(end)) {
+            throw new InvalidSimulationRangeException("The start date must not be after the end date");
+        }
+        if (end.isAfter(today)) {
+            throw new InvalidSimulationRangeException("The end date must not be in the future");
+        }
+        if (stepDays < 1) {
+            throw new InvalidSimulationRangeException("The step must be at least one day");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > maxRangeDays) {
+            throw new InvalidSimulationRangeException("The range must not span more than " + maxRangeDays + " days");
+        }
+    }
+
+    /**
+     * Helper method that waits for every lookup and rethrows the first failure as it was thrown.
+     */
+    private static void awaitAll(Collection<? extends CompletableFuture<?>> lookups) {
+        try {
+            CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record PriceKey(String symbol, LocalDate date) {
+    }
+
+    private record HistoricalPriceKey(String tokenId, LocalDate date) {
+    }
 }
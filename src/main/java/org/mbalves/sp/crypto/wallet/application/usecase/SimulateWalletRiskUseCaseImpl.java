@@ -0,0 +1,233 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import lombok.extern.slf4j.Slf4j;
+import org.mbalves.sp.crypto.wallet.application.port.in.SimulateWalletRiskUseCase;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceHistoryRepositoryPort;
+import org.mbalves.sp.crypto.wallet.application.port.out.TokenRepositoryPort;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.Asset;
+import org.mbalves.sp.crypto.wallet.domain.AssetSimulation;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.WalletRisk;
+import org.mbalves.sp.crypto.wallet.domain.exception.InsufficientPriceHistoryException;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidSimulationRangeException;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidTokenException;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implementation of the {@link SimulateWalletRiskUseCase} interface.
+ * This use case estimates the distribution of the value of a stored wallet or of a list of assets
+ * some days ahead, with the {@link MonteCarloRiskEngine}.
+ *
+ * <p>
+ * Business rules:
+ * <ol>
+ *   <li>Positions are valued at the stored token prices; assets of the same token are one position</li>
+ *   <li>Daily returns are taken from the stored daily prices of the last 'lookback-days', read for every token
+ *       with a single query, between consecutive days with a price for every token</li>
+ *   <li>At least 'min-history-days' daily returns are required</li>
+ *   <li>The horizon is between 1 and 'max-horizon-days' days</li>
+ *   <li>The value at risk and conditional value at risk are reported as positive losses at each confidence level</li>
+ * </ol>
+ * </p>
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class SimulateWalletRiskUseCaseImpl implements SimulateWalletRiskUseCase {
+    private final WalletRepositoryPort walletRepository;
+    private final TokenRepositoryPort tokenRepository;
+    private final PriceHistoryRepositoryPort priceHistoryRepository;
+    private final MonteCarloRiskEngine engine;
+    private final Clock clock;
+    private final int paths;
+    private final int lookbackDays;
+    private final int minHistoryDays;
+    private final int maxHorizonDays;
+    private final double[] confidenceLevels;
+
+    @Autowired
+    public SimulateWalletRiskUseCaseImpl(WalletRepositoryPort walletRepository,
+                                         TokenRepositoryPort tokenRepository,
+                                         PriceHistoryRepositoryPort priceHistoryRepository,
+                                         MonteCarloRiskEngine engine,
+                                         @Value("${crypto.risk.paths:100000}") int paths,
+                                         @Value("${crypto.risk.lookback-days:365}") int lookbackDays,
+                                         @Value("${crypto.risk.min-history-days:30}") int minHistoryDays,
+                                         @Value("${crypto.risk.max-horizon-days:365}") int maxHorizonDays,
+                                         @Value("${crypto.risk.confidence-levels:0.95,0.99}") double[] confidenceLevels) {
+        this(walletRepository, tokenRepository, priceHistoryRepository, engine, Clock.systemUTC(),
+                paths, lookbackDays, minHistoryDays, maxHorizonDays, confidenceLevels);
+    }
+
+    SimulateWalletRiskUseCaseImpl(WalletRepositoryPort walletRepository, TokenRepositoryPort tokenRepository,
+                                  PriceHistoryRepositoryPort priceHistoryRepository, MonteCarloRiskEngine engine,
+                                  Clock clock, int paths, int lookbackDays, int minHistoryDays, int maxHorizonDays,
+                                  double[] confidenceLevels) {
+        this.walletRepository = walletRepository;
+        this.tokenRepository = tokenRepository;
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.engine = engine;
+        this.clock = clock;
+        this.paths = paths;
+        this.lookbackDays = lookbackDays;
+        this.minHistoryDays = Math.max(1, minHistoryDays);
+        this.maxHorizonDays = maxHorizonDays;
+        this.confidenceLevels = confidenceLevels.clone();
+    }
+
+    /**
+     * Simulates the value of a stored wallet after the horizon.
+     *
+     * @param walletId The ID of the wallet
+     * @param horizonDays The number of days ahead to simulate
+     * @return The distribution of the value of the wallet at the horizon
+     * @throws WalletNotFoundException if the wallet does not exist
+     * @throws InvalidSimulationRangeException if the horizon is out of range
+     * @throws InsufficientPriceHistoryException if there are not enough daily returns
+     */
+    @Override
+    public WalletRisk simulateRisk(Long walletId, int horizonDays) {
+        validateHorizon(horizonDays);
+        Wallet wallet = walletRepository.findById(walletId)
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
+        Map<String, Double> positions = new LinkedHashMap<>();
+        for (Asset asset : wallet.getAssets()) {
+            addPosition(positions, asset.getToken(), asset.getQuantity());
+        }
+        return simulate(positions, horizonDays);
+    }
+
+    /**
+     * Simulates the value of a list of assets after the horizon.
+     * Only the symbols and quantities of the assets are used.
+     *
+     * @param assets The assets to simulate
+     * @param horizonDays The number of days ahead to simulate
+     * @return The distribution of the value of the assets at the horizon
+     * @throws InvalidTokenException if a token is not known
+     * @throws InvalidSimulationRangeException if the horizon is out of range
+     * @throws InsufficientPriceHistoryException if there are not enough daily returns
+     */
+    @Override
+    public WalletRisk simulateRisk(List<AssetSimulation> assets, int horizonDays) {
+        validateHorizon(horizonDays);
+        Map<String, Double> positions = new LinkedHashMap<>();
+        for (AssetSimulation asset : assets) {
+            Token token = tokenRepository.findBySymbol(asset.getSymbol())
+                    .orElseThrow(() -> new InvalidTokenException(asset.getSymbol()));
+            addPosition(positions, token, BigDecimal.valueOf(asset.getQuantity()));
+        }
+        return simulate(positions, horizonDays);
+    }
+
+    /**
+     * Helper method that runs the simulation of the positions and summarizes the simulated values.
+     *
+     * @param positions The current value of the assets of each token, by token ID
+     * @param horizonDays The number of days ahead to simulate
+     */
+    private WalletRisk simulate(Map<String, Double> positions, int horizonDays) {
+        double currentValue = 0.0;
+        double[] positionValues = new double[positions.size()];
+        int p = 0;
+        for (double value : positions.values()) {
+            positionValues[p++] = value;
+            currentValue += value;
+        }
+
+        WalletRisk risk = new WalletRisk();
+        risk.setCurrentValue(Rounding.toHundredths(currentValue));
+        risk.setHorizonDays(horizonDays);
+        if (positions.isEmpty()) {
+            risk.setExpectedValue(0.0);
+            risk.setLevels(List.of());
+            return risk;
+        }
+
+        double[] logReturns = loadLogReturns(new ArrayList<>(positions.keySet()));
+        int historyDays = logReturns.length / positionValues.length;
+        long start = System.nanoTime();
+        double[] values = engine.simulate(positionValues, logReturns, horizonDays, paths,
+                ThreadLocalRandom.current().nextLong());
+        log.info("Simulated {} paths of {} days for {} positions from {} daily returns in {} ms",
+                paths, horizonDays, positionValues.length, historyDays,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+
+        double sum = 0.0;
+        for (double value : values) {
+            sum += value;
+        }
+        List<WalletRisk.ValueAtRisk> levels = new ArrayList<>(confidenceLevels.length);
+        for (double confidence : confidenceLevels) {
+            // The paths at or below the quantile are the tail the losses are measured on
+            int tail = Math.min(values.length - 1, (int) Math.floor((1.0 - confidence) * values.length));
+            double tailSum = 0.0;
+            for (int i = 0; i <= tail; i++) {
+                tailSum += values[i];
+            }
+            levels.add(new WalletRisk.ValueAtRisk(confidence,
+                    Rounding.toHundredths(currentValue - values[tail]),
+                    Rounding.toHundredths(currentValue - tailSum / (tail + 1))));
+        }
+        risk.setPaths(values.length);
+        risk.setHistoryDays(historyDays);
+        risk.setExpectedValue(Rounding.toHundredths(sum / values.length));
+        risk.setLevels(levels);
+        return risk;
+    }
+
+    /**
+     * Helper method that loads the daily log returns of the tokens of the last 'lookback-days'.
+     *
+     * @param tokenIds The IDs of the tokens, in position order
+     * @return The daily log returns, by day and then by token
+     * @throws InsufficientPriceHistoryException if there are fewer than 'min-history-days' returns
+     */
+    private double[] loadLogReturns(List<String> tokenIds) {
+        Instant to = clock.instant();
+        double[][] byToken = DailyReturns.load(priceHistoryRepository, tokenIds, to.minus(Duration.ofDays(lookbackDays)), to);
+        int historyDays = byToken[0].length;
+        if (historyDays < minHistoryDays) {
+            throw new InsufficientPriceHistoryException(historyDays, minHistoryDays);
+        }
+        // The engine samples whole days, so the returns of the same day are stored together
+        int positions = tokenIds.size();
+        double[] logReturns = new double[historyDays * positions];
+        for (int p = 0; p < positions; p++) {
+            for (int day = 0; day < historyDays; day++) {
+                logReturns[day * positions + p] = byToken[p][day];
+            }
+        }
+        return logReturns;
+    }
+
+    private void validateHorizon(int horizonDays) {
+        if (horizonDays < 1 || horizonDays > maxHorizonDays) {
+            throw new InvalidSimulationRangeException("The horizon must be between 1 and " + maxHorizonDays + " days");
+        }
+    }
+
+    private static void addPosition(Map<String, Double> positions, Token token, BigDecimal quantity) {
+        if (token.getPrice() == null) {
+            throw new InvalidTokenException(token.getSymbol());
+        }
+        positions.merge(token.getId(), token.getPrice().doubleValue() * quantity.doubleValue(), Double::sum);
+    }
+}
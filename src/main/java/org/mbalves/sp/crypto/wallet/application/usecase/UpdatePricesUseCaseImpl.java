@@ -3,8 +3,10 @@ package org.mbalves.sp.crypto.wallet.application.usecase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.mbalves.sp.crypto.wallet.application.port.in.UpdatePricesUseCase;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceHistoryRepositoryPort;
 import org.mbalves.sp.crypto.wallet.application.port.out.PriceProviderPort;
 import org.mbalves.sp.crypto.wallet.application.port.out.TokenRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.PriceEpoch;
 import org.mbalves.sp.crypto.wallet.domain.Token;
 import org.mbalves.sp.crypto.wallet.infrastructure.logging.LoggingUtils;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -12,6 +14,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -30,6 +33,8 @@ import java.util.concurrent.Executors;
  *   <li>Fetches all tokens from the repository</li>
  *   <li>Fetches the latest price for each token using the price provider</li>
  *   <li>Updates and saves the tokens with new prices</li>
+ *   <li>Records the new prices in the price history</li>
+ *   <li>Advances the {@link PriceEpoch}, so cached wallet values are recalculated</li>
  *   <li>Runs updates concurrently for better performance</li>
  * </ul>
  * </p>
@@ -44,6 +49,7 @@ import java.util.concurrent.Executors;
 public class UpdatePricesUseCaseImpl implements UpdatePricesUseCase {
     private final TokenRepositoryPort tokenRepository;
     private final PriceProviderPort priceProvider;
+    private final PriceHistoryRepositoryPort priceHistoryRepository;
     private final ExecutorService executorService = Executors.newFixedThreadPool(3);
 
     /**
@@ -78,12 +84,28 @@ public class UpdatePricesUseCaseImpl implements UpdatePricesUseCase {
                 tokenRepository.save(token);
                 log.info("Updated price for {} to {}", token.getSymbol(), token.getPrice());
             });
+            PriceEpoch.advance();
+            recordPriceHistory(updatedTokens);
             log.info("Completed price update for {} tokens", updatedTokens.size());
         } else {
             log.warn("No tokens were updated in this cycle");
         }
     }
 
+    /**
+     * Records the updated prices as ticks of this cycle.
+     * A failure is logged and does not undo the price update.
+     *
+     * @param tokens The tokens with their new prices
+     */
+    private void recordPriceHistory(List<Token> tokens) {
+        try {
+            priceHistoryRepository.recordPrices(tokens, Instant.now());
+        } catch (Exception e) {
+            log.error("Error recording price history: {}", e.getMessage(), e);
+        }
+    }
+
     /**
      * Updates the price of a single token.
      * It fetches the latest price from the price provider and updates the token.
@@ -97,9 +119,8 @@ public class UpdatePricesUseCaseImpl implements UpdatePricesUseCase {
             LoggingUtils.setTokenSymbol(token.getSymbol());
             Double newPrice = priceProvider.getTokenPrice(token.getId());
             if (newPrice != null) {
-                token.setPrice(BigDecimal.valueOf(newPrice));
                 log.debug("Fetched new price for {}: {}", token.getSymbol(), newPrice);
-                return token;
+                return token.withPrice(BigDecimal.valueOf(newPrice));
             } else {
                 log.warn("No price update available for {}", token.getSymbol());
             }
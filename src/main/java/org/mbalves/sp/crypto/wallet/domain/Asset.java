@@ -1,12 +1,19 @@
 package org.mbalves.sp.crypto.wallet.domain;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 /**
  * Represents a cryptocurrency asset in a wallet.
  * An asset consists of a token and its quantity.
+ * Like the wallet holding it, an asset is meant to be used by one thread at a time.
  *
  * @author Marcelo Alves
  * @version 1.0
@@ -28,13 +35,68 @@ public class Asset {
      */
     private BigDecimal quantity;
 
+    /**
+     * Optimistic locking version of the asset.
+     */
+    private Long version;
+
+    /**
+     * The day the asset was first added to the wallet, or null if it was not read from the database.
+     */
+    private LocalDate acquiredOn;
+
+    /**
+     * The wallet holding this asset, told when the value of the asset changes.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Wallet wallet;
+
+    // The value calculated in valueEpoch, or null when the token or the quantity changed since
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Money value;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private long valueEpoch;
+
+    public void setToken(Token token) {
+        this.token = token;
+        invalidateValue();
+    }
+
+    public void setQuantity(BigDecimal quantity) {
+        this.quantity = quantity;
+        invalidateValue();
+    }
+
     /**
      * Calculates the total value of this asset.
-     * The value is calculated as quantity * token price.
+     * The value is calculated as quantity * token price, rounded half up to {@value Money#SCALE} decimal places.
+     * It is kept until the token or the quantity change, or the {@link PriceEpoch} advances.
      *
      * @return The total value of the asset in USD
      */
-    public BigDecimal getValue() {
-        return token.getPrice().multiply(quantity);
+    public Money getValue() {
+        long epoch = PriceEpoch.current();
+        if (value == null || valueEpoch != epoch) {
+            value = Money.of(token.getPrice()).multiply(Quantity.of(quantity));
+            valueEpoch = epoch;
+        }
+        return value;
+    }
+
+    private void invalidateValue() {
+        value = null;
+        if (wallet != null) {
+            wallet.invalidateTotal();
+        }
     }
 }
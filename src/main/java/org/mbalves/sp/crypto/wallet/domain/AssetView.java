@@ -0,0 +1,23 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of an asset held in a wallet, with the current price of its token.
+ *
+ * @param symbol   The symbol of the token
+ * @param quantity The quantity of the token held
+ * @param price    The current price of the token in USD
+ * @param value    The value of the asset in USD, as quantity * token price like {@link Asset#getValue()}
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+public record AssetView(String symbol, BigDecimal quantity, BigDecimal price, Money value) {
+
+    /**
+     * Creates the view and calculates its value once, the view being immutable.
+     */
+    public AssetView(String symbol, BigDecimal quantity, BigDecimal price) {
+        this(symbol, quantity, price, Money.of(price).multiply(Quantity.of(quantity)));
+    }
+}
@@ -0,0 +1,25 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents the backtest of several strategies over the same date range.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Data
+public class Backtest {
+    /**
+     * Every day of the range, from the start to the end.
+     */
+    private List<LocalDate> dates;
+
+    /**
+     * The result of each strategy, in input order.
+     */
+    private List<BacktestResult> results;
+}
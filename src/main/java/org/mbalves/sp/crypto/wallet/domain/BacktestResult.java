@@ -0,0 +1,41 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import lombok.Data;
+
+/**
+ * Represents the outcome of replaying one {@link BuyStrategy} over the price history.
+ * Amounts are in USD rounded to cents, percentages are rounded to two decimal places.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Data
+public class BacktestResult {
+    /**
+     * The value of the bought tokens on the last day.
+     */
+    private double finalValue;
+
+    /**
+     * The total amount spent on purchases.
+     */
+    private double invested;
+
+    /**
+     * The annualized internal rate of return of the purchases and the final value, in percent,
+     * or null when it is not defined, e.g. when every purchase is on the last day.
+     */
+    private Double irr;
+
+    /**
+     * The lowest value of {@link #drawdowns}.
+     */
+    private double worstDrawdown;
+
+    /**
+     * The percentage drop of each day from the highest value reached before, indexed like the backtest dates.
+     * It is measured on the value of one share of the portfolio, so purchases do not hide losses.
+     * The values are zero or negative.
+     */
+    private double[] drawdowns;
+}
@@ -0,0 +1,34 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A periodic purchase of a token for a fixed amount of money, as in dollar-cost averaging.
+ * The first purchase is on the first day of the backtest.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuyRule {
+    /**
+     * The cryptocurrency symbol to buy (e.g., "BTC", "ETH").
+     */
+    private String symbol;
+
+    /**
+     * The amount spent on each purchase, in USD.
+     */
+    private BigDecimal amount;
+
+    /**
+     * The number of days between two purchases, e.g. 7 for weekly.
+     */
+    private int intervalDays;
+}
@@ -0,0 +1,23 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A set of periodic purchases backtested together as one portfolio.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuyStrategy {
+    /**
+     * The purchases of the strategy.
+     */
+    private List<BuyRule> rules;
+}
@@ -0,0 +1,124 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Arithmetic on values scaled by 10^10, as kept by {@link Money} and {@link Quantity}.
+ * Results that do not fit are reported as {@link #OVERFLOW}, so the callers can fall back to {@link BigDecimal}.
+ */
+final class FixedPoint {
+    /**
+     * Returned instead of a result that does not fit. It is never a valid scaled value,
+     * so every valid value can be negated.
+     */
+    static final long OVERFLOW = Long.MIN_VALUE;
+
+    static final long ONE = 10_000_000_000L;
+
+    // The division by 10^10 is done in two steps of 10^5, small enough to divide 32 bits at a time
+    private static final long STEP = 100_000L;
+    private static final long HALF = ONE / 2;
+    private static final long LOW_WORD = 0xFFFF_FFFFL;
+    private static final long MAX_HIGH_WORD = 0x7FFF_FFFFL;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * Every value that fits is converted, so a value has a single representation whichever way it was computed.
+     *
+     * @param scaled A decimal with a scale of 10
+     * @return The unscaled value, or {@link #OVERFLOW} if it does not fit
+     */
+    static long toUnits(BigDecimal scaled) {
+        // Below 10^18 the value fits and the conversion does not allocate a BigInteger
+        if (scaled.precision() <= 18) {
+            return scaled.scaleByPowerOfTen(10).longValueExact();
+        }
+        BigInteger units = scaled.unscaledValue();
+        return units.bitLength() < 64 ? units.longValue() : OVERFLOW;
+    }
+
+    /**
+     * @return The sum, or {@link #OVERFLOW} if it does not fit
+     */
+    static long add(long a, long b) {
+        long sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? OVERFLOW : sum;
+    }
+
+    /**
+     * Multiplies two scaled values and rounds the product half up back to the scale.
+     * The product is computed exactly in 128 bits.
+     *
+     * @return The rounded product, or {@link #OVERFLOW} if it does not fit
+     */
+    static long multiply(long a, long b) {
+        long x = Math.abs(a);
+        long y = Math.abs(b);
+        long high = Math.unsignedMultiplyHigh(x, y);
+        long low = x * y;
+
+        // First step: (w3, w2, w1, w0) / 10^5
+        long w3 = high >>> 32;
+        long w2 = high & LOW_WORD;
+        long w1 = low >>> 32;
+        long w0 = low & LOW_WORD;
+        long q3 = w3 / STEP;
+        long c = ((w3 % STEP) << 32) | w2;
+        long q2 = c / STEP;
+        c = ((c % STEP) << 32) | w1;
+        long q1 = c / STEP;
+        c = ((c % STEP) << 32) | w0;
+        long q0 = c / STEP;
+        long firstRemainder = c % STEP;
+
+        // Second step: (q3, q2, q1, q0) / 10^5
+        long p3 = q3 / STEP;
+        c = ((q3 % STEP) << 32) | q2;
+        long p2 = c / STEP;
+        c = ((c % STEP) << 32) | q1;
+        long p1 = c / STEP;
+        c = ((c % STEP) << 32) | q0;
+        long p0 = c / STEP;
+        long remainder = (c % STEP) * STEP + firstRemainder;
+
+        if (p3 != 0 || p2 != 0 || p1 > MAX_HIGH_WORD) {
+            return OVERFLOW;
+        }
+        long product = (p1 << 32) | p0;
+        if (remainder >= HALF) {
+            if (product == Long.MAX_VALUE) {
+                return OVERFLOW;
+            }
+            product++;
+        }
+        return (a ^ b) < 0 ? -product : product;
+    }
+
+    /**
+     * Rounds a scaled value half up to the given number of decimal places.
+     *
+     * @param units    The scaled value
+     * @param decimals The decimal places to keep, from 0 to 10
+     * @return The value with the given decimal places, unscaled
+     */
+    static long round(long units, int decimals) {
+        long divisor = pow10(10 - decimals);
+        long quotient = units / divisor;
+        long remainder = units % divisor;
+        if (Math.abs(remainder) >= divisor / 2 && divisor > 1) {
+            quotient += Long.signum(units);
+        }
+        return quotient;
+    }
+
+    static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+}
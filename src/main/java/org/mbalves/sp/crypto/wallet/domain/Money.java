@@ -0,0 +1,178 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable fixed-point amount of money in USD, with {@value #SCALE} decimal places like the stored prices.
+ * The value is kept as a scaled {@code long}, so valuing a wallet adds and multiplies primitives
+ * instead of allocating a {@link BigDecimal} at every step. Amounts that do not fit in a {@code long},
+ * beyond about ±922 million USD, fall back to {@link BigDecimal} with the same scale and rounding.
+ * Products are rounded half up to {@value #SCALE} decimal places.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+public final class Money extends Number implements Comparable<Money> {
+    /**
+     * The number of decimal places of every amount.
+     */
+    public static final int SCALE = 10;
+
+    public static final Money ZERO = new Money(0L, null);
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int CENTS = 2;
+    private static final long UNITS_PER_CENT = FixedPoint.pow10(SCALE - CENTS);
+
+    // The value times 10^SCALE, when decimal is null
+    private final long units;
+    // The value when it does not fit in units
+    private final BigDecimal decimal;
+
+    private Money(long units, BigDecimal decimal) {
+        this.units = units;
+        this.decimal = decimal;
+    }
+
+    /**
+     * Converts a decimal to an amount, rounding half up to {@value #SCALE} decimal places.
+     *
+     * @param value The decimal value
+     * @return The amount
+     */
+    public static Money of(BigDecimal value) {
+        return ofScaled(value.setScale(SCALE, RoundingMode.HALF_UP));
+    }
+
+    private static Money ofScaled(BigDecimal scaled) {
+        long units = FixedPoint.toUnits(scaled);
+        return units != FixedPoint.OVERFLOW ? new Money(units, null) : new Money(0L, scaled);
+    }
+
+    private static Money ofUnits(long units) {
+        return units == 0 ? ZERO : new Money(units, null);
+    }
+
+    /**
+     * @param other The amount to add
+     * @return The sum of both amounts
+     */
+    public Money add(Money other) {
+        if (decimal == null && other.decimal == null) {
+            long sum = FixedPoint.add(units, other.units);
+            if (sum != FixedPoint.OVERFLOW) {
+                return ofUnits(sum);
+            }
+        }
+        return ofScaled(toBigDecimal().add(other.toBigDecimal()));
+    }
+
+    /**
+     * Values a quantity at this amount per unit, as price * quantity.
+     *
+     * @param quantity The quantity
+     * @return The product, rounded half up to {@value #SCALE} decimal places
+     */
+    public Money multiply(Quantity quantity) {
+        if (decimal == null && quantity.decimal == null) {
+            long product = FixedPoint.multiply(units, quantity.units);
+            if (product != FixedPoint.OVERFLOW) {
+                return ofUnits(product);
+            }
+        }
+        return ofScaled(toBigDecimal().multiply(quantity.toBigDecimal()).setScale(SCALE, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * @return The amount rounded half up to whole cents
+     */
+    public Money roundToCents() {
+        if (decimal == null) {
+            long cents = FixedPoint.round(units, CENTS);
+            if (Math.abs(cents) <= Long.MAX_VALUE / UNITS_PER_CENT) {
+                return ofUnits(cents * UNITS_PER_CENT);
+            }
+        }
+        return ofScaled(toBigDecimal().setScale(CENTS, RoundingMode.HALF_UP).setScale(SCALE));
+    }
+
+    /**
+     * Formats the amount rounded half up to whole cents, as {@code new BigDecimal(...).setScale(2, HALF_UP)}
+     * would print it, without creating the {@link BigDecimal}.
+     *
+     * @return The amount in cents precision, e.g. {@code 25000.00}
+     */
+    public String toCentsString() {
+        if (decimal != null) {
+            return decimal.setScale(CENTS, RoundingMode.HALF_UP).toPlainString();
+        }
+        long cents = FixedPoint.round(units, CENTS);
+        long whole = Math.abs(cents / 100);
+        long fraction = Math.abs(cents % 100);
+        StringBuilder text = new StringBuilder(24);
+        if (cents < 0) {
+            text.append('-');
+        }
+        text.append(whole).append('.');
+        if (fraction < 10) {
+            text.append('0');
+        }
+        return text.append(fraction).toString();
+    }
+
+    /**
+     * @return The amount as a decimal with {@value #SCALE} decimal places
+     */
+    public BigDecimal toBigDecimal() {
+        return decimal != null ? decimal : BigDecimal.valueOf(units, SCALE);
+    }
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    @Override
+    public long longValue() {
+        return decimal != null ? decimal.longValue() : units / FixedPoint.ONE;
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) doubleValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return decimal != null ? decimal.doubleValue() : (double) units / FixedPoint.ONE;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        if (decimal == null && other.decimal == null) {
+            return Long.compare(units, other.units);
+        }
+        return toBigDecimal().compareTo(other.toBigDecimal());
+    }
+
+    /**
+     * Every value that fits in a {@code long} is kept in units, so equal values have the same representation.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && units == other.units
+                && (decimal == null ? other.decimal == null : decimal.equals(other.decimal));
+    }
+
+    @Override
+    public int hashCode() {
+        return decimal != null ? decimal.hashCode() : Long.hashCode(units);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
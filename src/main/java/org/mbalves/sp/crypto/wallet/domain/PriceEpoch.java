@@ -0,0 +1,32 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the token price updates made by this instance of the application.
+ * Values cached against an epoch, like {@link Asset#getValue()} and {@link Wallet#getTotal()},
+ * are recalculated once the epoch advances.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+public final class PriceEpoch {
+    private static final AtomicLong EPOCH = new AtomicLong();
+
+    private PriceEpoch() {
+    }
+
+    /**
+     * @return The current epoch
+     */
+    public static long current() {
+        return EPOCH.get();
+    }
+
+    /**
+     * Starts a new epoch, to be called after token prices are updated.
+     */
+    public static void advance() {
+        EPOCH.incrementAndGet();
+    }
+}
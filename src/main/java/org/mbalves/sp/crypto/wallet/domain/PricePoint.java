@@ -0,0 +1,34 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A historical price of a token.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricePoint {
+    /**
+     * The time of the price, the start of the bucket for downsampled prices.
+     */
+    private Instant timestamp;
+
+    /**
+     * The price of the token in USD.
+     */
+    private BigDecimal price;
+
+    /**
+     * The granularity the price was stored with.
+     */
+    private PriceResolution resolution;
+}
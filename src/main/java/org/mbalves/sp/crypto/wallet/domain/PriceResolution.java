@@ -0,0 +1,34 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Granularity of the stored price history.
+ * Old history is downsampled from raw ticks to hourly and then to daily prices,
+ * keeping the last price of each bucket.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+public enum PriceResolution {
+    TICK(null),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit bucket;
+
+    PriceResolution(ChronoUnit bucket) {
+        this.bucket = bucket;
+    }
+
+    /**
+     * @return The time unit prices are bucketed by, or null for raw ticks
+     */
+    public ChronoUnit getBucket() {
+        return bucket;
+    }
+
+    public boolean isFinerThan(PriceResolution other) {
+        return ordinal() < other.ordinal();
+    }
+}
@@ -0,0 +1,77 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable fixed-point quantity of a token, with {@value #SCALE} decimal places like the stored quantities.
+ * The value is kept as a scaled {@code long}, or as a {@link BigDecimal} when it does not fit in one,
+ * beyond about ±922 million units.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+public final class Quantity implements Comparable<Quantity> {
+    /**
+     * The number of decimal places of every quantity.
+     */
+    public static final int SCALE = 10;
+
+    public static final Quantity ZERO = new Quantity(0L, null);
+
+    // The value times 10^SCALE, when decimal is null
+    final long units;
+    // The value when it does not fit in units
+    final BigDecimal decimal;
+
+    private Quantity(long units, BigDecimal decimal) {
+        this.units = units;
+        this.decimal = decimal;
+    }
+
+    /**
+     * Converts a decimal to a quantity, rounding half up to {@value #SCALE} decimal places.
+     *
+     * @param value The decimal value
+     * @return The quantity
+     */
+    public static Quantity of(BigDecimal value) {
+        BigDecimal scaled = value.setScale(SCALE, RoundingMode.HALF_UP);
+        long units = FixedPoint.toUnits(scaled);
+        return units != FixedPoint.OVERFLOW ? new Quantity(units, null) : new Quantity(0L, scaled);
+    }
+
+    /**
+     * @return The quantity as a decimal with {@value #SCALE} decimal places
+     */
+    public BigDecimal toBigDecimal() {
+        return decimal != null ? decimal : BigDecimal.valueOf(units, SCALE);
+    }
+
+    @Override
+    public int compareTo(Quantity other) {
+        if (decimal == null && other.decimal == null) {
+            return Long.compare(units, other.units);
+        }
+        return toBigDecimal().compareTo(other.toBigDecimal());
+    }
+
+    /**
+     * Every value that fits in a {@code long} is kept in units, so equal values have the same representation.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Quantity other && units == other.units
+                && (decimal == null ? other.decimal == null : decimal.equals(other.decimal));
+    }
+
+    @Override
+    public int hashCode() {
+        return decimal != null ? decimal.hashCode() : Long.hashCode(units);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
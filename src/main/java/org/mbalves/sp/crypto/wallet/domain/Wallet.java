@@ -1,15 +1,21 @@
 package org.mbalves.sp.crypto.wallet.domain;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.SequencedCollection;
+import java.util.SequencedMap;
 
 /**
  * Represents a cryptocurrency wallet that can hold multiple crypto assets.
  * A wallet is associated with a user's email and contains a collection of assets.
+ * It is an aggregate loaded for a single request, meant to be used by one thread at a time.
  *
  * @author Marcelo Alves
  * @version 1.0
@@ -28,25 +34,116 @@ public class Wallet {
     private String email;
 
     /**
-     * List of crypto assets held in this wallet.
+     * Optimistic locking version of the wallet.
+     * It is read together with the wallet and checked when the wallet is saved,
+     * so a concurrent modification is detected instead of silently overwritten.
      */
-    private List<Asset> assets = new ArrayList<>();
+    private Long version;
 
     /**
-     * Adds a new asset to the wallet.
+     * Crypto assets held in this wallet, indexed by their normalized symbol.
+     * The map keeps the insertion order, which is the order of the assets in the responses.
+     */
+    private final SequencedMap<String, Asset> assets = new LinkedHashMap<>();
+
+    // The total calculated in totalEpoch, or null when an asset changed since
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Money total;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long totalEpoch;
+
+    /**
+     * Normalizes a token symbol the way the assets are indexed, e.g. {@code btc} to {@code BTC}.
+     *
+     * @param symbol The token symbol
+     * @return The uppercase symbol
+     */
+    public static String normalizeSymbol(String symbol) {
+        return symbol.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Retrieves the assets held in this wallet, in insertion order.
+     *
+     * @return A read-only view of the assets
+     */
+    public SequencedCollection<Asset> getAssets() {
+        return Collections.unmodifiableSequencedCollection(assets.sequencedValues());
+    }
+
+    /**
+     * Replaces the assets held in this wallet.
+     *
+     * @param assets The assets, in the order they should be kept
+     */
+    public void setAssets(Collection<Asset> assets) {
+        this.assets.values().forEach(asset -> asset.setWallet(null));
+        this.assets.clear();
+        assets.forEach(this::addAsset);
+        invalidateTotal();
+    }
+
+    /**
+     * Adds an asset to the wallet, or replaces the asset of the same token keeping its position.
      *
      * @param asset The asset to be added to the wallet.
      */
     public void addAsset(Asset asset) {
-        assets.add(asset);
+        Asset replaced = assets.put(normalizeSymbol(asset.getToken().getSymbol()), asset);
+        if (replaced != null) {
+            replaced.setWallet(null);
+        }
+        asset.setWallet(this);
+        invalidateTotal();
+    }
+
+    /**
+     * Finds the asset of a token, ignoring the case of the symbol.
+     *
+     * @param symbol The token symbol
+     * @return The asset, or empty if the wallet does not hold the token
+     */
+    public Optional<Asset> findAsset(String symbol) {
+        return Optional.ofNullable(assets.get(normalizeSymbol(symbol)));
+    }
+
+    /**
+     * Removes the asset of a token, ignoring the case of the symbol.
+     *
+     * @param symbol The token symbol
+     * @return true if the wallet held the token
+     */
+    public boolean removeAsset(String symbol) {
+        Asset removed = assets.remove(normalizeSymbol(symbol));
+        if (removed == null) {
+            return false;
+        }
+        removed.setWallet(null);
+        invalidateTotal();
+        return true;
     }
 
     /**
      * Retrieves the total value of all assets in the wallet.
+     * It is kept until an asset is added, removed or changed, or the {@link PriceEpoch} advances.
      */
-    public BigDecimal getTotal() {
-        return assets.stream()
-            .map(Asset::getValue)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public Money getTotal() {
+        long epoch = PriceEpoch.current();
+        if (total == null || totalEpoch != epoch) {
+            Money sum = Money.ZERO;
+            for (Asset asset : assets.values()) {
+                sum = sum.add(asset.getValue());
+            }
+            total = sum;
+            totalEpoch = epoch;
+        }
+        return total;
+    }
+
+    void invalidateTotal() {
+        total = null;
     }
 }
@@ -0,0 +1,58 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Represents the historical risk and return statistics of a wallet, measured on the daily returns
+ * of its tokens over a window of days. The wallet is weighted by the current value of its assets.
+ * Percentages are rounded to two decimal places and annualized over 365 days, as tokens trade every day.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Data
+public class WalletAnalytics {
+    /**
+     * The number of days of history the statistics are measured over.
+     */
+    private int windowDays;
+
+    /**
+     * The number of daily returns found in the window on the days every token has a price.
+     */
+    private int historyDays;
+
+    /**
+     * The annualized standard deviation of the daily returns of the wallet, in percent.
+     */
+    private double volatility;
+
+    /**
+     * The annualized mean excess return of the wallet over its volatility,
+     * or null when the wallet returns do not vary.
+     */
+    private Double sharpeRatio;
+
+    /**
+     * The largest drop of the wallet value from a previous high within the window, in percent, as a positive loss.
+     */
+    private double maxDrawdown;
+
+    /**
+     * The symbol of each token of the wallet, in the order of {@link #volatilities} and {@link #correlations}.
+     */
+    private List<String> symbols;
+
+    /**
+     * The annualized volatility of each token, in percent.
+     */
+    private double[] volatilities;
+
+    /**
+     * The correlation of the daily returns of each pair of tokens, rounded to four decimal places,
+     * indexed by token and then by token. A token whose price did not vary has no correlation, reported as 0.
+     */
+    private double[][] correlations;
+}
@@ -0,0 +1,26 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of a bulk wallet import that was rejected.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletImportError {
+    /**
+     * The line of the rejected row in the import file.
+     */
+    private long line;
+
+    /**
+     * Why the row was rejected.
+     */
+    private String message;
+}
@@ -0,0 +1,27 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outcome of a bulk wallet import.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Data
+public class WalletImportResult {
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private long walletsCreated;
+    private long assetsCreated;
+    private long assetsUpdated;
+
+    /**
+     * The first rejected rows, up to the configured maximum; rowsRejected has the full count.
+     */
+    private List<WalletImportError> errors = new ArrayList<>();
+}
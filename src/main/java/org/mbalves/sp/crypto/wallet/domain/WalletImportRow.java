@@ -0,0 +1,37 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of a bulk wallet import, as read from the import file.
+ * A row without symbol and quantity only creates the wallet.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletImportRow {
+    /**
+     * The line of the row in the import file, used to report errors.
+     */
+    private long line;
+
+    /**
+     * The email address of the wallet owner.
+     */
+    private String email;
+
+    /**
+     * The cryptocurrency symbol of the asset (e.g., "BTC", "ETH").
+     */
+    private String symbol;
+
+    /**
+     * The quantity of the asset, added to the quantity the wallet already holds.
+     */
+    private String quantity;
+}
@@ -0,0 +1,26 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a wallet listing in ID order.
+ *
+ * @param <T> The representation of the listed wallets
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletPage<T> {
+    private List<T> items;
+
+    /**
+     * The wallet ID the next page starts after, or null when this is the last page.
+     */
+    private Long nextAfter;
+}
@@ -0,0 +1,55 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Represents the distribution of the value of a wallet some days ahead, estimated by Monte Carlo simulation.
+ * Amounts are in USD rounded to cents.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Data
+public class WalletRisk {
+    /**
+     * The value of the wallet at the current prices.
+     */
+    private double currentValue;
+
+    /**
+     * The number of days ahead the value is simulated for.
+     */
+    private int horizonDays;
+
+    /**
+     * The number of simulated paths.
+     */
+    private int paths;
+
+    /**
+     * The number of historical daily returns the paths were drawn from.
+     */
+    private int historyDays;
+
+    /**
+     * The mean value of the wallet at the horizon.
+     */
+    private double expectedValue;
+
+    /**
+     * The value at risk and the conditional value at risk at each configured confidence level.
+     */
+    private List<ValueAtRisk> levels;
+
+    /**
+     * The losses at a confidence level, as positive amounts.
+     *
+     * @param confidence The confidence level, e.g. 0.95
+     * @param valueAtRisk The loss that is not exceeded with the given confidence
+     * @param conditionalValueAtRisk The mean loss when the value at risk is exceeded, also known as expected shortfall
+     */
+    public record ValueAtRisk(double confidence, double valueAtRisk, double conditionalValueAtRisk) {
+    }
+}
@@ -0,0 +1,29 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A portfolio to simulate as part of a batch, with the date of its simulation.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletSimulation {
+    /**
+     * The assets of the portfolio.
+     */
+    private List<AssetSimulation> assets;
+
+    /**
+     * The date for the simulation (current or historical).
+     */
+    private LocalDate date;
+}
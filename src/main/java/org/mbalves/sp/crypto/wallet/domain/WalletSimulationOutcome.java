@@ -0,0 +1,12 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+/**
+ * The outcome of simulating one portfolio of a batch: either its result or why it could not be simulated.
+ *
+ * @param result The result of the simulation, or null if it failed
+ * @param error  Why the simulation failed, or null if it succeeded
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+public record WalletSimulationOutcome(WalletSimulationResult result, String error) {
+}
@@ -18,7 +18,7 @@ public class WalletSimulationResult {
      * The total value of the wallet after simulation.
      * This is the sum of all asset values at the simulation date.
      */
-    private BigDecimal total;
+    private Money total;
 
     /**
      * The symbol of the best performing asset in the wallet.
@@ -0,0 +1,37 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents the result of a wallet profit simulation over a date range.
+ * The values of each step are kept in primitive arrays indexed like {@link #dates}.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Data
+public class WalletSimulationSeries {
+    /**
+     * The date of each step, from the start to the end of the range.
+     */
+    private List<LocalDate> dates;
+
+    /**
+     * The total value of the wallet at each step, in USD rounded to cents.
+     */
+    private double[] totals;
+
+    /**
+     * The symbol of each simulated asset, in input order.
+     */
+    private List<String> symbols;
+
+    /**
+     * The percentage gain of each asset at each step, rounded to two decimal places,
+     * indexed by asset and then by step. A negative value indicates a loss.
+     */
+    private double[][] performances;
+}
@@ -0,0 +1,27 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A wallet reduced to its total value, for listings that do not need the assets.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletSummary {
+    private Long id;
+
+    private String email;
+
+    /**
+     * The total value of all assets in the wallet, as {@link Wallet#getTotal()}.
+     */
+    private BigDecimal total;
+}
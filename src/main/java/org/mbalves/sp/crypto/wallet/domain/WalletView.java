@@ -0,0 +1,37 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import java.util.List;
+
+/**
+ * Read-only projection of a wallet and its assets.
+ * It is built straight from query results for the read endpoints, without the bookkeeping
+ * of the persistence context, and cannot be saved back.
+ *
+ * @param id     The wallet ID
+ * @param email  The email address of the wallet owner
+ * @param assets The assets held in the wallet
+ * @param total  The total value of all assets in USD, as {@link Wallet#getTotal()}
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+public record WalletView(Long id, String email, List<AssetView> assets, Money total) {
+
+    public WalletView {
+        assets = List.copyOf(assets);
+    }
+
+    /**
+     * Creates the view and sums the values of its assets once, the view being immutable.
+     */
+    public WalletView(Long id, String email, List<AssetView> assets) {
+        this(id, email, assets, sum(assets));
+    }
+
+    private static Money sum(List<AssetView> assets) {
+        Money total = Money.ZERO;
+        for (AssetView asset : assets) {
+            total = total.add(asset.value());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,12 @@
+package org.mbalves.sp.crypto.wallet.domain.exception;
+
+public class InsufficientPriceHistoryException extends RuntimeException {
+    public InsufficientPriceHistoryException(int historyDays, int requiredDays) {
+        this("simulate the risk", historyDays, requiredDays);
+    }
+
+    public InsufficientPriceHistoryException(String purpose, int historyDays, int requiredDays) {
+        super("Not enough price history to " + purpose + ": " + historyDays + " daily returns found, "
+                + requiredDays + " required");
+    }
+}
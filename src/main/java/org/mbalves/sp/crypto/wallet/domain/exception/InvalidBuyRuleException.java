@@ -0,0 +1,7 @@
+package org.mbalves.sp.crypto.wallet.domain.exception;
+
+public class InvalidBuyRuleException extends RuntimeException {
+    public InvalidBuyRuleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.mbalves.sp.crypto.wallet.domain.exception;
+
+public class InvalidSimulationRangeException extends RuntimeException {
+    public InvalidSimulationRangeException(String message) {
+        super(message);
+    }
+}
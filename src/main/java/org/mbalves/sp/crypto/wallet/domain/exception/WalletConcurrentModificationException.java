@@ -0,0 +1,7 @@
+package org.mbalves.sp.crypto.wallet.domain.exception;
+
+public class WalletConcurrentModificationException extends RuntimeException {
+    public WalletConcurrentModificationException(Long walletId) {
+        super("Wallet was modified concurrently, please retry: " + walletId);
+    }
+}
@@ -0,0 +1,40 @@
+package org.mbalves.sp.crypto.wallet.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Web server and threads of the reactive profile.
+ * Requests are served by Reactor Netty rather than by Tomcat, which is also on the classpath for the default profile.
+ * The use cases and their ports are synchronous, so the reactive controllers run them on the use case scheduler,
+ * never on the event loops.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * @param threads The number of threads running use cases, or 0 for a virtual thread per use case call
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler useCaseScheduler(@Value("${crypto.reactive.use-case-threads:0}") int threads) {
+        return Schedulers.fromExecutorService(threads > 0
+                ? Executors.newFixedThreadPool(threads)
+                : Executors.newVirtualThreadPerTaskExecutor(), "use-cases");
+    }
+}
@@ -0,0 +1,52 @@
+package org.mbalves.sp.crypto.wallet.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Database access of the reactive profile, on the R2DBC connection pool Spring Boot configures
+ * from {@code spring.r2dbc}. Flyway and the adapters not replaced by the profile keep the JDBC datasource;
+ * Spring Boot backs off from it once a connection factory exists, so the single pool is declared here,
+ * as the {@link DataSourceRoutingConfig} does when a replica is configured.
+ * The R2DBC transaction manager is not a bean: a second transaction manager would make every
+ * {@code @Transactional} use case ambiguous, and the synchronous use cases could not join a reactive
+ * transaction anyway. The R2DBC adapters demarcate their transactions with the {@link TransactionalOperator}
+ * instead, one per port call, like the {@code @Transactional} methods of the JPA adapters. No use case writes
+ * through more than one wallet or token repository call in a transaction, so the use cases are as atomic
+ * in both profiles: each write, such as a wallet save with all its assets, commits or rolls back as a whole.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class R2dbcConfig {
+
+    @Bean
+    @ConditionalOnExpression("'${crypto.datasource.replica.jdbc-url:}'.isEmpty()")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator r2dbcTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
@@ -0,0 +1,28 @@
+package org.mbalves.sp.crypto.wallet.infrastructure.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections of read-only transactions to the replica pool and everything else to the primary.
+ * It must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * so the target is chosen on the first statement, once the transaction attributes are known.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReplicaRouting.isPrimaryForced()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
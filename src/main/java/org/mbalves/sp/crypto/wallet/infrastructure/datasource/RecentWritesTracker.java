@@ -0,0 +1,38 @@
+package org.mbalves.sp.crypto.wallet.infrastructure.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Remembers which wallets were written recently, so that reads of those wallets
+ * go to the primary until the replicas are expected to have caught up.
+ * The window is tracked per application instance.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+@Component
+public class RecentWritesTracker {
+    private final Cache<Long, Boolean> recentWalletWrites;
+
+    public RecentWritesTracker(@Value("${crypto.datasource.read-your-writes-window:5s}") Duration window) {
+        this.recentWalletWrites = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void recordWalletWrite(Long walletId) {
+        if (walletId != null) {
+            recentWalletWrites.put(walletId, Boolean.TRUE);
+        }
+    }
+
+    public boolean isRecentlyWritten(Long walletId) {
+        return walletId != null && recentWalletWrites.getIfPresent(walletId) != null;
+    }
+}
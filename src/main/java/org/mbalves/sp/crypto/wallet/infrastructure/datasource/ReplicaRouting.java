@@ -0,0 +1,38 @@
+package org.mbalves.sp.crypto.wallet.infrastructure.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Lets a read-only operation opt out of the replica, e.g. to read its own recent writes.
+ * Without a configured replica every connection comes from the primary and this is a no-op.
+ *
+ * @author Marcelo Alves
+ * @version 1.0
+ */
+public final class ReplicaRouting {
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * Runs the operation with all its connections taken from the primary.
+     *
+     * @param operation The operation to run
+     * @return The result of the operation
+     * @param <T> The result type
+     */
+    public static <T> T onPrimary(Supplier<T> operation) {
+        boolean previous = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return operation.get();
+        } finally {
+            PRIMARY_FORCED.set(previous);
+        }
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get();
+    }
+}
@@ -12,7 +12,11 @@ public class LoggingUtils {
     private static final String TOKEN_SYMBOL = "tokenSymbol";
 
     public static void setRequestId() {
-        MDC.put(REQUEST_ID, UUID.randomUUID().toString());
+        setRequestId(UUID.randomUUID().toString());
+    }
+
+    public static void setRequestId(String requestId) {
+        MDC.put(REQUEST_ID, requestId);
     }
 
     public static void setWalletId(Long walletId) {
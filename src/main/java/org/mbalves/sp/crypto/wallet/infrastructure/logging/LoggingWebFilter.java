@@ -0,0 +1,50 @@
+package org.mbalves.sp.crypto.wallet.infrastructure.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.UUID;
+
+/**
+ * Reactive counterpart of the {@link LoggingInterceptor}.
+ * A request is not bound to a thread, so its ID travels in the Reactor context under {@link #REQUEST_ID};
+ * the MDC is only set while a line is logged here, and by the controllers on the threads running the use cases.
+ */
+@Component
+@Profile("reactive")
+public class LoggingWebFilter implements WebFilter {
+    public static final String REQUEST_ID = "requestId";
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingWebFilter.class);
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String requestId = UUID.randomUUID().toString();
+        String method = exchange.getRequest().getMethod().name();
+        String path = exchange.getRequest().getPath().value();
+        logWithRequestId(requestId, () -> log.info("Request started: {} {}", method, path));
+
+        return chain.filter(exchange)
+                .doOnSuccess(done -> logWithRequestId(requestId, () -> log.info("Request completed: {} {} - Status: {}",
+                        method, path, exchange.getResponse().getStatusCode())))
+                .doOnError(ex -> logWithRequestId(requestId, () -> log.error("Request failed: {} {} - Error: {}",
+                        method, path, ex.getMessage(), ex)))
+                .contextWrite(Context.of(REQUEST_ID, requestId));
+    }
+
+    private static void logWithRequestId(String requestId, Runnable logging) {
+        LoggingUtils.setRequestId(requestId);
+        try {
+            logging.run();
+        } finally {
+            LoggingUtils.clear();
+        }
+    }
+}
@@ -0,0 +1,3 @@
+ALTER TABLE wallet ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE asset ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- PostgreSQL does not index foreign keys: without it every wallet load, wallet delete and
+-- wallet-ordered scan of the assets reads the whole asset table.
+CREATE INDEX asset_wallet_id_idx ON asset (wallet_id);
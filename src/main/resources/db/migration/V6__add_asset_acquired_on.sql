@@ -0,0 +1,3 @@
+-- The day an asset was first added to its wallet, the default baseline of wallet simulations.
+-- Assets that existed before this migration get the day it ran.
+ALTER TABLE asset ADD COLUMN acquired_on DATE DEFAULT CURRENT_DATE NOT NULL;
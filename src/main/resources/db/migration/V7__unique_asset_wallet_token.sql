@@ -0,0 +1,11 @@
+-- A wallet holds at most one asset per token, so imports can upsert assets with ON CONFLICT.
+-- Duplicates created by concurrent writers before this migration are merged into the oldest asset.
+UPDATE asset a SET quantity = (SELECT SUM(d.quantity) FROM asset d
+                               WHERE d.wallet_id = a.wallet_id AND d.token_id = a.token_id)
+WHERE a.id = (SELECT MIN(d.id) FROM asset d WHERE d.wallet_id = a.wallet_id AND d.token_id = a.token_id)
+  AND EXISTS (SELECT 1 FROM asset d WHERE d.wallet_id = a.wallet_id AND d.token_id = a.token_id AND d.id <> a.id);
+
+DELETE FROM asset a
+WHERE a.id > (SELECT MIN(d.id) FROM asset d WHERE d.wallet_id = a.wallet_id AND d.token_id = a.token_id);
+
+ALTER TABLE asset ADD CONSTRAINT asset_wallet_id_token_id_key UNIQUE (wallet_id, token_id);
@@ -0,0 +1,141 @@
+package org.mbalves.sp.crypto.wallet.adapter.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mbalves.sp.crypto.wallet.domain.PriceResolution;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PriceHistoryRepositoryAdapterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private PriceHistoryRepositoryAdapter priceHistoryRepositoryAdapter;
+
+    @Test
+    void createPartition_ShouldCallPartitionFunctionWithFirstDayOfMonth() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class))).thenReturn(true);
+
+        // Act
+        boolean created = priceHistoryRepositoryAdapter.createPartition(YearMonth.of(2026, 11));
+
+        // Assert
+        assertTrue(created);
+        verify(jdbcTemplate).queryForObject("SELECT create_token_price_tick_partition(?)", Boolean.class,
+                LocalDate.of(2026, 11, 1));
+    }
+
+    @Test
+    void downsamplePartition_ShouldSwapInCompactedPartition() {
+        // Act
+        priceHistoryRepositoryAdapter.downsamplePartition(YearMonth.of(2026, 6), PriceResolution.HOUR);
+
+        // Assert
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeastOnce()).execute(statements.capture());
+        List<String> ddl = statements.getAllValues();
+        assertEquals("CREATE TABLE token_price_tick_202606_compacted (LIKE token_price_tick INCLUDING DEFAULTS)", ddl.get(0));
+        assertEquals("ALTER TABLE token_price_tick DETACH PARTITION token_price_tick_202606", ddl.get(2));
+        assertEquals("DROP TABLE token_price_tick_202606", ddl.get(3));
+        assertEquals("ALTER TABLE token_price_tick_202606_compacted RENAME TO token_price_tick_202606", ddl.get(4));
+        assertEquals("ALTER TABLE token_price_tick ATTACH PARTITION token_price_tick_202606"
+                + " FOR VALUES FROM ('2026-06-01 00:00:00+00') TO ('2026-07-01 00:00:00+00')", ddl.get(5));
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(eq("INSERT INTO token_price_tick_202606_compacted (token_id, ts, resolution, price)"
+                + " SELECT token_id, date_trunc('hour', ts AT TIME ZONE 'UTC') AT TIME ZONE 'UTC', ?,"
+                + " (array_agg(price ORDER BY ts DESC))[1] FROM token_price_tick_202606"
+                + " GROUP BY token_id, date_trunc('hour', ts AT TIME ZONE 'UTC') AT TIME ZONE 'UTC'"), eq((short) 1));
+        inOrder.verify(jdbcTemplate).update("UPDATE token_price_partition SET resolution = ? WHERE month_start = ?",
+                (short) 1, LocalDate.of(2026, 6, 1));
+    }
+
+    @Test
+    void dropPartition_ShouldDetachDropAndForgetPartition() {
+        // Act
+        priceHistoryRepositoryAdapter.dropPartition(YearMonth.of(2025, 9));
+
+        // Assert
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE token_price_tick DETACH PARTITION token_price_tick_202509");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE token_price_tick_202509");
+        inOrder.verify(jdbcTemplate).update("DELETE FROM token_price_partition WHERE month_start = ?", LocalDate.of(2025, 9, 1));
+    }
+
+    @Test
+    void findDailyPrices_ShouldQueryTheLastPriceOfEachDayOfEveryToken() {
+        // Arrange
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        Instant to = Instant.parse("2026-02-01T00:00:00Z");
+
+        // Act
+        priceHistoryRepositoryAdapter.findDailyPrices(List.of("bitcoin", "ethereum"), from, to);
+
+        // Assert
+        verify(jdbcTemplate).query(eq("SELECT DISTINCT ON (token_id, date_trunc('day', ts AT TIME ZONE 'UTC')) token_id,"
+                        + " date_trunc('day', ts AT TIME ZONE 'UTC') AT TIME ZONE 'UTC' AS day, price FROM token_price_tick"
+                        + " WHERE token_id IN (?, ?) AND ts >= ? AND ts < ?"
+                        + " ORDER BY token_id, date_trunc('day', ts AT TIME ZONE 'UTC'), ts DESC"),
+                any(RowCallbackHandler.class),
+                eq("bitcoin"), eq("ethereum"),
+                eq(OffsetDateTime.ofInstant(from, ZoneOffset.UTC)), eq(OffsetDateTime.ofInstant(to, ZoneOffset.UTC)));
+    }
+
+    @Test
+    void findDailyPrices_WithoutTokens_ShouldNotQuery() {
+        // Act
+        var prices = priceHistoryRepositoryAdapter.findDailyPrices(List.of(), Instant.EPOCH, Instant.EPOCH);
+
+        // Assert
+        assertTrue(prices.isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void downsamplePartition_WhenTheMonthIsNotAPlainPartitionName_ShouldNotRunAnyStatement() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> priceHistoryRepositoryAdapter.downsamplePartition(YearMonth.of(10000, 1), PriceResolution.DAY));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void resolutionCodes_ShouldBeStableAndRoundTrip() {
+        // The codes are stored, so reordering the enum must not change them
+        assertEquals(0, PriceHistoryRepositoryAdapter.code(PriceResolution.TICK));
+        assertEquals(1, PriceHistoryRepositoryAdapter.code(PriceResolution.HOUR));
+        assertEquals(2, PriceHistoryRepositoryAdapter.code(PriceResolution.DAY));
+        for (PriceResolution resolution : PriceResolution.values()) {
+            assertEquals(resolution, PriceHistoryRepositoryAdapter.resolution(PriceHistoryRepositoryAdapter.code(resolution)));
+        }
+        assertThrows(IllegalStateException.class, () -> PriceHistoryRepositoryAdapter.resolution((short) 3));
+    }
+}
@@ -0,0 +1,95 @@
+package org.mbalves.sp.crypto.wallet.adapter.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceProviderPort;
+import org.mbalves.sp.crypto.wallet.application.port.out.TokenRepositoryPort;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.Asset;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletConcurrentModificationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the R2DBC adapter of the reactive profile against the in-memory database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "crypto.price-update-interval=999999999")
+@ActiveProfiles("reactive")
+class R2dbcWalletRepositoryAdapterTest {
+
+    @Autowired
+    private WalletRepositoryPort walletRepository;
+
+    @Autowired
+    private TokenRepositoryPort tokenRepository;
+
+    @MockitoBean
+    private PriceProviderPort priceProvider;
+
+    private Token bitcoin;
+    private Token ethereum;
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() {
+        assertInstanceOf(R2dbcWalletRepositoryAdapter.class, walletRepository);
+        bitcoin = tokenRepository.save(new Token("bitcoin", "BTC", new BigDecimal("50000.00"), null));
+        ethereum = tokenRepository.save(new Token("ethereum", "ETH", new BigDecimal("3000.00"), null));
+        Wallet created = walletRepository.createIfAbsent("r2dbc-" + UUID.randomUUID() + "@example.com").orElseThrow();
+        created.addAsset(asset(bitcoin, "1"));
+        wallet = walletRepository.save(created);
+    }
+
+    @Test
+    void save_WhenAnAssetWasModifiedConcurrently_ShouldRollBackTheWholeSave() {
+        Wallet stale = walletRepository.findById(wallet.getId()).orElseThrow();
+        Wallet concurrent = walletRepository.findById(wallet.getId()).orElseThrow();
+        concurrent.findAsset("BTC").orElseThrow().setQuantity(new BigDecimal("2"));
+        walletRepository.save(concurrent);
+
+        // Without the wallet version, the wallet row is updated before the stale asset is detected
+        stale.setVersion(null);
+        stale.findAsset("BTC").orElseThrow().setQuantity(new BigDecimal("3"));
+        stale.addAsset(asset(ethereum, "5"));
+        assertThrows(WalletConcurrentModificationException.class, () -> walletRepository.save(stale));
+
+        Wallet stored = walletRepository.findById(wallet.getId()).orElseThrow();
+        assertEquals(wallet.getVersion() + 1, stored.getVersion());
+        assertEquals(1, stored.getAssets().size());
+        assertEquals(0, new BigDecimal("2").compareTo(stored.findAsset("BTC").orElseThrow().getQuantity()));
+        assertTrue(stored.findAsset("ETH").isEmpty());
+    }
+
+    @Test
+    void save_ShouldIncrementTheVersionOfTheChangedAssetsOnly() {
+        wallet.addAsset(asset(ethereum, "5"));
+        Wallet withEthereum = walletRepository.save(wallet);
+        Asset btc = withEthereum.findAsset("BTC").orElseThrow();
+        btc.setQuantity(new BigDecimal("1.5"));
+
+        Wallet saved = walletRepository.save(withEthereum);
+
+        assertEquals(1L, saved.findAsset("BTC").orElseThrow().getVersion());
+        assertEquals(0L, saved.findAsset("ETH").orElseThrow().getVersion());
+    }
+
+    private static Asset asset(Token token, String quantity) {
+        Asset asset = new Asset();
+        asset.setToken(token);
+        asset.setQuantity(new BigDecimal(quantity));
+        return asset;
+    }
+}
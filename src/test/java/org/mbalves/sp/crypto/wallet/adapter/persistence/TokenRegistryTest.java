@@ -0,0 +1,55 @@
+package org.mbalves.sp.crypto.wallet.adapter.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TokenRegistryTest {
+
+    private final TokenRegistry tokenRegistry = new TokenRegistry();
+
+    @Test
+    void get_WithSameValues_ShouldReturnSharedTokenWithInternedSymbol() {
+        Token first = tokenRegistry.get("bitcoin", new String("BTC"), new BigDecimal("50000.0000000000"));
+        Token second = tokenRegistry.get("bitcoin", new String("BTC"), new BigDecimal("50000.0000000000"));
+
+        assertSame(first, second);
+        assertSame("BTC", first.getSymbol());
+        assertEquals(1, tokenRegistry.size());
+    }
+
+    @Test
+    void get_WithNewPrice_ShouldReplaceSharedToken() {
+        Token old = tokenRegistry.get("bitcoin", "BTC", new BigDecimal("50000.0000000000"));
+
+        Token updated = tokenRegistry.get("bitcoin", "BTC", new BigDecimal("51000.0000000000"));
+
+        assertNotSame(old, updated);
+        assertEquals(new BigDecimal("51000.0000000000"), updated.getPrice());
+        assertSame(updated, tokenRegistry.get("bitcoin", "BTC", new BigDecimal("51000.0000000000")));
+        assertEquals(new BigDecimal("50000.0000000000"), old.getPrice());
+    }
+
+    @Test
+    void register_ShouldShareSavedTokenWithReads() {
+        Instant lastUpdated = Instant.now();
+        Token saved = tokenRegistry.register(new Token("bitcoin", "BTC", new BigDecimal("50000.0000000000"), lastUpdated));
+
+        assertSame(saved, tokenRegistry.get("bitcoin", "BTC", new BigDecimal("50000.0000000000")));
+        assertSame(saved, tokenRegistry.register(new Token("bitcoin", "BTC", new BigDecimal("50000.0000000000"), lastUpdated)));
+    }
+
+    @Test
+    void get_WithoutId_ShouldNotRegisterToken() {
+        Token token = tokenRegistry.get(null, "BTC", BigDecimal.ONE);
+
+        assertEquals("BTC", token.getSymbol());
+        assertEquals(0, tokenRegistry.size());
+    }
+}
@@ -8,6 +8,7 @@ import org.mbalves.sp.crypto.wallet.adapter.persistence.repository.TokenJpaRepos
 import org.mbalves.sp.crypto.wallet.domain.Token;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -30,6 +31,9 @@ class TokenRepositoryAdapterTest {
     @Mock
     private TokenJpaRepository tokenRepository;
 
+    @Spy
+    private TokenRegistry tokenRegistry = new TokenRegistry();
+
     @InjectMocks
     private TokenRepositoryAdapter tokenRepositoryAdapter;
 
@@ -38,11 +42,7 @@ class TokenRepositoryAdapterTest {
 
     @BeforeEach
     void setUp() {
-        token = new Token();
-        token.setId("bitcoin");
-        token.setSymbol("BTC");
-        token.setPrice(BigDecimal.valueOf(50000.0));
-        token.setLastUpdated(Instant.now());
+        token = new Token("bitcoin", "BTC", BigDecimal.valueOf(50000.0), Instant.now());
 
         tokenEntity = new TokenEntity();
         tokenEntity.setId("bitcoin");
@@ -66,7 +66,7 @@ class TokenRepositoryAdapterTest {
 
     @Test
     void save_WithoutDate_ShouldConvertDomainToEntityAndBack() {
-        token.setLastUpdated(null);
+        token = new Token("bitcoin", "BTC", BigDecimal.valueOf(50000.0), null);
         when(tokenRepository.save(any(TokenEntity.class))).thenReturn(tokenEntity);
 
         Token saved = tokenRepositoryAdapter.save(token);
@@ -80,23 +80,23 @@ class TokenRepositoryAdapterTest {
 
     @Test
     void findBySymbol_WhenTokenExists_ShouldReturnToken() {
-        when(tokenRepository.findById("BTC")).thenReturn(Optional.of(tokenEntity));
+        when(tokenRepository.findBySymbol("BTC")).thenReturn(Optional.of(tokenEntity));
 
         Optional<Token> result = tokenRepositoryAdapter.findBySymbol("BTC");
 
         assertTrue(result.isPresent());
         assertEquals("BTC", result.get().getSymbol());
-        verify(tokenRepository).findById("BTC");
+        verify(tokenRepository).findBySymbol("BTC");
     }
 
     @Test
     void findBySymbol_WhenTokenDoesNotExist_ShouldReturnEmpty() {
-        when(tokenRepository.findById("BTC")).thenReturn(Optional.empty());
+        when(tokenRepository.findBySymbol("BTC")).thenReturn(Optional.empty());
 
         Optional<Token> result = tokenRepositoryAdapter.findBySymbol("BTC");
 
         assertFalse(result.isPresent());
-        verify(tokenRepository).findById("BTC");
+        verify(tokenRepository).findBySymbol("BTC");
     }
 
     @Test
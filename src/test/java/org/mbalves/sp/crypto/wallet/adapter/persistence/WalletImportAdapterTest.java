@@ -0,0 +1,27 @@
+package org.mbalves.sp.crypto.wallet.adapter.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportRow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WalletImportAdapterTest {
+
+    @Test
+    void toCsv_ShouldQuoteValuesAndLeaveNullsEmpty() {
+        // Act
+        String csv = WalletImportAdapter.toCsv(new WalletImportRow(7, "a\"b@example.com", null, null));
+
+        // Assert
+        assertEquals("7,\"a\"\"b@example.com\",,\n", csv);
+    }
+
+    @Test
+    void toCsv_ShouldWriteAllColumns() {
+        // Act
+        String csv = WalletImportAdapter.toCsv(new WalletImportRow(1, "alice@example.com", "BTC", "0.5"));
+
+        // Assert
+        assertEquals("1,\"alice@example.com\",\"BTC\",\"0.5\"\n", csv);
+    }
+}
@@ -0,0 +1,134 @@
+package org.mbalves.sp.crypto.wallet.adapter.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mbalves.sp.crypto.wallet.adapter.persistence.WalletQueryAdapter.AssetRow;
+import org.mbalves.sp.crypto.wallet.adapter.persistence.WalletQueryAdapter.WalletRow;
+import org.mbalves.sp.crypto.wallet.domain.AssetView;
+import org.mbalves.sp.crypto.wallet.domain.Money;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.WalletView;
+import org.mbalves.sp.crypto.wallet.infrastructure.datasource.RecentWritesTracker;
+import org.mbalves.sp.crypto.wallet.infrastructure.datasource.ReplicaRouting;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WalletQueryAdapterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private RecentWritesTracker recentWritesTracker = new RecentWritesTracker(Duration.ofMinutes(1));
+
+    @InjectMocks
+    private WalletQueryAdapter walletQueryAdapter;
+
+    @Test
+    void toWalletRows_ShouldGroupRowsByWallet() throws SQLException {
+        // Arrange
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true, true, true, false);
+        when(rs.getLong("id")).thenReturn(1L, 1L, 2L);
+        when(rs.getString("email")).thenReturn("a@example.com", "b@example.com");
+        when(rs.getString("token_id")).thenReturn("bitcoin", "ethereum", null);
+        when(rs.getBigDecimal("quantity")).thenReturn(new BigDecimal("0.5"), new BigDecimal("2"));
+
+        // Act
+        List<WalletRow> wallets = WalletQueryAdapter.toWalletRows(rs);
+
+        // Assert
+        assertEquals(List.of(
+                new WalletRow(1L, "a@example.com", List.of(
+                        new AssetRow("bitcoin", new BigDecimal("0.5")),
+                        new AssetRow("ethereum", new BigDecimal("2")))),
+                new WalletRow(2L, "b@example.com", List.of())), wallets);
+    }
+
+    @Test
+    void toWalletRows_WhenNoRows_ShouldReturnEmptyList() throws SQLException {
+        // Arrange
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(false);
+
+        // Act & Assert
+        assertTrue(WalletQueryAdapter.toWalletRows(rs).isEmpty());
+    }
+
+    @Test
+    void toWalletViews_ShouldPriceTheAssetsWithTheirTokens() {
+        // Arrange
+        List<WalletRow> rows = List.of(
+                new WalletRow(1L, "a@example.com", List.of(
+                        new AssetRow("bitcoin", new BigDecimal("0.5")),
+                        new AssetRow("ethereum", new BigDecimal("2")))),
+                new WalletRow(2L, "b@example.com", List.of()));
+        Map<String, Token> tokens = Map.of(
+                "bitcoin", new Token("bitcoin", "BTC", new BigDecimal("50000"), null),
+                "ethereum", new Token("ethereum", "ETH", new BigDecimal("3000"), null));
+
+        // Act
+        List<WalletView> wallets = WalletQueryAdapter.toWalletViews(rows, tokens);
+
+        // Assert
+        assertEquals(List.of(
+                new WalletView(1L, "a@example.com", List.of(
+                        new AssetView("BTC", new BigDecimal("0.5"), new BigDecimal("50000")),
+                        new AssetView("ETH", new BigDecimal("2"), new BigDecimal("3000")))),
+                new WalletView(2L, "b@example.com", List.of())), wallets);
+        assertEquals(Money.of(new BigDecimal("31000")), wallets.getFirst().total());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findById_WhenWalletWasRecentlyWritten_ShouldReadFromPrimary() {
+        // Arrange
+        recentWritesTracker.recordWalletWrite(1L);
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), eq(1L))).thenAnswer(invocation -> {
+            assertTrue(ReplicaRouting.isPrimaryForced());
+            return List.of(new WalletRow(1L, "a@example.com", List.of()));
+        });
+
+        // Act
+        Optional<WalletView> wallet = walletQueryAdapter.findById(1L);
+
+        // Assert
+        assertTrue(wallet.isPresent());
+        assertFalse(ReplicaRouting.isPrimaryForced());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findById_WhenWalletDoesNotExist_ShouldReturnEmpty() {
+        // Arrange
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), eq(1L))).thenAnswer(invocation -> {
+            assertFalse(ReplicaRouting.isPrimaryForced());
+            return List.of();
+        });
+
+        // Act & Assert
+        assertTrue(walletQueryAdapter.findById(1L).isEmpty());
+    }
+}
@@ -10,21 +10,32 @@ import org.mbalves.sp.crypto.wallet.adapter.persistence.repository.WalletJpaRepo
 import org.mbalves.sp.crypto.wallet.domain.Asset;
 import org.mbalves.sp.crypto.wallet.domain.Token;
 import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletConcurrentModificationException;
+import org.mbalves.sp.crypto.wallet.infrastructure.datasource.RecentWritesTracker;
+import org.mbalves.sp.crypto.wallet.infrastructure.datasource.ReplicaRouting;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,6 +45,15 @@ class WalletRepositoryAdapterTest {
     @Mock
     private WalletJpaRepository walletJpaRepository;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private RecentWritesTracker recentWritesTracker = new RecentWritesTracker(Duration.ofMinutes(1));
+
+    @Spy
+    private TokenRegistry tokenRegistry = new TokenRegistry();
+
     @InjectMocks
     private WalletRepositoryAdapter walletRepositoryAdapter;
 
@@ -70,10 +90,7 @@ class WalletRepositoryAdapterTest {
         wallet.setId(walletId);
         wallet.setEmail(email);
 
-        Token token = new Token();
-        token.setId("ethereum");
-        token.setSymbol("ETH");
-        token.setPrice(BigDecimal.valueOf(3000.0));
+        Token token = new Token("ethereum", "ETH", BigDecimal.valueOf(3000.0), null);
 
         Asset asset = new Asset();
         asset.setId(2L);
@@ -85,14 +102,14 @@ class WalletRepositoryAdapterTest {
     @Test
     void save_ShouldConvertDomainToEntityAndSave() {
         // Arrange
-        when(walletJpaRepository.save(any(WalletEntity.class))).thenReturn(walletEntity);
+        when(walletJpaRepository.saveAndFlush(any(WalletEntity.class))).thenReturn(walletEntity);
         ArgumentCaptor<WalletEntity> captor = ArgumentCaptor.forClass(WalletEntity.class);
 
         // Act
         walletRepositoryAdapter.save(wallet);
 
         // Assert
-        verify(walletJpaRepository).save(captor.capture());
+        verify(walletJpaRepository).saveAndFlush(captor.capture());
         WalletEntity capturedEntity = captor.getValue();
 
         assertNotNull(capturedEntity);
@@ -101,6 +118,46 @@ class WalletRepositoryAdapterTest {
         assertEquals(0, capturedEntity.getAssets().size());
     }
 
+    @Test
+    void save_WhenWalletIsVersioned_ShouldIncrementVersionAndSave() {
+        // Arrange
+        wallet.setVersion(3L);
+        walletEntity.setVersion(4L);
+        when(walletJpaRepository.incrementVersion(walletId, 3L)).thenReturn(1);
+        when(walletJpaRepository.saveAndFlush(any(WalletEntity.class))).thenReturn(walletEntity);
+        ArgumentCaptor<WalletEntity> captor = ArgumentCaptor.forClass(WalletEntity.class);
+
+        // Act
+        Wallet result = walletRepositoryAdapter.save(wallet);
+
+        // Assert
+        verify(walletJpaRepository).saveAndFlush(captor.capture());
+        assertEquals(4L, captor.getValue().getVersion());
+        assertEquals(4L, result.getVersion());
+        assertTrue(recentWritesTracker.isRecentlyWritten(walletId));
+    }
+
+    @Test
+    void save_WhenVersionIsStale_ShouldThrowConcurrentModification() {
+        // Arrange
+        wallet.setVersion(3L);
+        when(walletJpaRepository.incrementVersion(walletId, 3L)).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(WalletConcurrentModificationException.class, () -> walletRepositoryAdapter.save(wallet));
+        verify(walletJpaRepository, never()).saveAndFlush(any(WalletEntity.class));
+    }
+
+    @Test
+    void save_WhenAssetVersionIsStale_ShouldThrowConcurrentModification() {
+        // Arrange
+        when(walletJpaRepository.saveAndFlush(any(WalletEntity.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(AssetEntity.class, 1L));
+
+        // Act & Assert
+        assertThrows(WalletConcurrentModificationException.class, () -> walletRepositoryAdapter.save(wallet));
+    }
+
     @Test
     void findByEmail_WhenWalletExists_ShouldReturnWallet() {
         // Arrange
@@ -161,6 +218,54 @@ class WalletRepositoryAdapterTest {
         verify(walletJpaRepository).findById(walletId);
     }
 
+    @Test
+    void findById_WhenWalletWasJustWritten_ShouldReadFromPrimary() {
+        // Arrange
+        recentWritesTracker.recordWalletWrite(walletId);
+        when(walletJpaRepository.findById(walletId)).thenAnswer(invocation -> {
+            assertTrue(ReplicaRouting.isPrimaryForced());
+            return Optional.of(walletEntity);
+        });
+
+        // Act
+        Optional<Wallet> result = walletRepositoryAdapter.findById(walletId);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertFalse(ReplicaRouting.isPrimaryForced());
+    }
+
+    @Test
+    void findById_WhenWalletWasNotWritten_ShouldNotForcePrimary() {
+        // Arrange
+        when(walletJpaRepository.findById(walletId)).thenAnswer(invocation -> {
+            assertFalse(ReplicaRouting.isPrimaryForced());
+            return Optional.of(walletEntity);
+        });
+
+        // Act
+        Optional<Wallet> result = walletRepositoryAdapter.findById(walletId);
+
+        // Assert
+        assertTrue(result.isPresent());
+    }
+
+    @Test
+    void findByIdForUpdate_WhenWalletWasNotWritten_ShouldReadFromPrimary() {
+        // Arrange
+        when(walletJpaRepository.findById(walletId)).thenAnswer(invocation -> {
+            assertTrue(ReplicaRouting.isPrimaryForced());
+            return Optional.of(walletEntity);
+        });
+
+        // Act
+        Optional<Wallet> result = walletRepositoryAdapter.findByIdForUpdate(walletId);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertFalse(ReplicaRouting.isPrimaryForced());
+    }
+
     @Test
     void findAll_ShouldReturnAllWallets() {
         // Arrange
@@ -179,4 +284,80 @@ class WalletRepositoryAdapterTest {
         
         verify(walletJpaRepository).findAll();
     }
+
+    @Test
+    void createIfAbsent_WhenEmailIsNew_ShouldReturnEmptyWallet() {
+        // Arrange
+        when(walletJpaRepository.insertIfAbsent(email)).thenReturn(Optional.of(walletId));
+
+        // Act
+        Optional<Wallet> result = walletRepositoryAdapter.createIfAbsent(email);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(walletId, result.get().getId());
+        assertEquals(email, result.get().getEmail());
+        assertEquals(0L, result.get().getVersion());
+        assertTrue(result.get().getAssets().isEmpty());
+    }
+
+    @Test
+    void createIfAbsent_WhenEmailExists_ShouldReturnEmpty() {
+        // Arrange
+        when(walletJpaRepository.insertIfAbsent(email)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<Wallet> result = walletRepositoryAdapter.createIfAbsent(email);
+
+        // Assert
+        assertFalse(result.isPresent());
+    }
+
+    @Test
+    void deleteById_ShouldReportWhetherAWalletWasDeleted() {
+        // Arrange
+        when(walletJpaRepository.deleteWalletById(walletId)).thenReturn(1);
+        when(walletJpaRepository.deleteWalletById(2L)).thenReturn(0);
+
+        // Act & Assert
+        assertTrue(walletRepositoryAdapter.deleteById(walletId));
+        assertFalse(walletRepositoryAdapter.deleteById(2L));
+    }
+
+    @Test
+    void groupByWallet_ShouldAssembleConsecutiveRowsIntoWallets() {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<WalletRepositoryAdapter.WalletRow> rows = Stream.of(
+                walletRow(1L, 10L, "BTC"),
+                walletRow(1L, 11L, "ETH"),
+                walletRow(2L, null, null),
+                walletRow(3L, 12L, "BTC")).onClose(() -> closed.set(true));
+
+        // Act
+        List<Wallet> wallets;
+        try (Stream<Wallet> stream = WalletRepositoryAdapter.groupByWallet(rows)) {
+            wallets = stream.toList();
+        }
+
+        // Assert
+        assertEquals(3, wallets.size());
+        assertEquals(List.of("BTC", "ETH"), wallets.get(0).getAssets().stream().map(a -> a.getToken().getSymbol()).toList());
+        assertTrue(wallets.get(1).getAssets().isEmpty());
+        assertEquals(12L, wallets.get(2).getAssets().getFirst().getId());
+        assertTrue(closed.get());
+    }
+
+    private static WalletRepositoryAdapter.WalletRow walletRow(Long walletId, Long assetId, String symbol) {
+        Wallet wallet = new Wallet();
+        wallet.setId(walletId);
+        Asset asset = null;
+        if (assetId != null) {
+            Token token = new Token(null, symbol, null, null);
+            asset = new Asset();
+            asset.setId(assetId);
+            asset.setToken(token);
+        }
+        return new WalletRepositoryAdapter.WalletRow(wallet, asset);
+    }
 }
@@ -13,10 +13,18 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -341,4 +349,123 @@ class CoinCapAdapterTest {
         // Assert
         assertNull(result);
     }
+
+    @Test
+    void getTokenPrices_ShouldPlaceEachPriceOnItsDayWithOneRequest() {
+        // Arrange
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 3);
+        long firstDay = from.atStartOfDay(java.time.ZoneOffset.UTC).toInstant().toEpochMilli();
+        CoinCapDataHistory day1 = new CoinCapDataHistory();
+        day1.setPriceUsd("42000.0");
+        day1.setTime(firstDay);
+        CoinCapDataHistory day3 = new CoinCapDataHistory();
+        day3.setPriceUsd("43000.0");
+        day3.setTime(firstDay + 2 * 86_400_000L);
+        CoinCapPriceHistoryResponse response = new CoinCapPriceHistoryResponse();
+        response.setData(List.of(day1, day3));
+
+        when(restTemplate.exchange(any(), any(), any(), eq(CoinCapPriceHistoryResponse.class), eq("bitcoin"),
+                eq(firstDay), eq(firstDay + 2 * 86_400_000L)))
+            .thenReturn(ok(response));
+
+        // Act
+        double[] result = coinCapAdapter.getTokenPrices("bitcoin", from, to);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(3, result.length);
+        assertEquals(42000.0, result[0]);
+        assertTrue(Double.isNaN(result[1]));
+        assertEquals(43000.0, result[2]);
+    }
+
+    @Test
+    void getTokenPrices_WhenApiThrowsException_ShouldReturnNull() {
+        // Arrange
+        when(restTemplate.exchange(any(), any(), any(), eq(CoinCapPriceHistoryResponse.class), any(), any(), any()))
+            .thenThrow(new RestClientException("API error"));
+
+        // Act
+        double[] result = coinCapAdapter.getTokenPrices("bitcoin", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 3));
+
+        // Assert
+        assertNull(result);
+    }
+
+    @Test
+    void getTokens_ShouldResolveAllSymbolsFromOneAssetListPage() {
+        // Arrange
+        CoinCapData btc = new CoinCapData();
+        btc.setId("bitcoin");
+        btc.setSymbol("BTC");
+        btc.setPriceUsd("50000.0");
+        CoinCapData eth = new CoinCapData();
+        eth.setId("ethereum");
+        eth.setSymbol("ETH");
+        eth.setPriceUsd("3000.0");
+        CoinCapListResponse response = new CoinCapListResponse();
+        response.setData(java.util.List.of(btc, eth));
+        when(restTemplate.exchange(any(), any(), any(), eq(CoinCapListResponse.class), eq(2000), eq(0)))
+            .thenReturn(ok(response));
+        ReflectionTestUtils.setField(coinCapAdapter, "apiUrlAssets", "url");
+
+        // Act
+        var tokens = coinCapAdapter.getTokens(java.util.List.of("ETH", "NOPE"));
+
+        // Assert
+        assertEquals(1, tokens.size());
+        assertEquals("ethereum", tokens.get("ETH").getId());
+        assertEquals(3000.0, tokens.get("ETH").getPrice().doubleValue());
+    }
+
+    @Test
+    void getTokens_WhenApiFails_ShouldReturnEmptyMap() {
+        // Arrange
+        when(restTemplate.exchange(any(), any(), any(), eq(CoinCapListResponse.class), eq(2000), eq(0)))
+            .thenThrow(new RestClientException("API Error"));
+        ReflectionTestUtils.setField(coinCapAdapter, "apiUrlAssets", "url");
+
+        // Act
+        var tokens = coinCapAdapter.getTokens(java.util.List.of("BTC"));
+
+        // Assert
+        assertEquals(0, tokens.size());
+    }
+
+    @Test
+    void getTokenPrice_WhenCalledConcurrently_ShouldLimitRequestsInFlight() throws Exception {
+        // Arrange
+        coinCapAdapter.setMaxConcurrentRequests(2);
+        CoinCapData data = new CoinCapData();
+        data.setPriceUsd("50000.0");
+        CoinCapPriceResponse response = new CoinCapPriceResponse();
+        response.setData(data);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(restTemplate.exchange(any(), any(), any(), eq(CoinCapPriceResponse.class), eq("bitcoin")))
+            .thenAnswer(invocation -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                inFlight.decrementAndGet();
+                return ok(response);
+            });
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Double>> prices = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                prices.add(executor.submit(() -> coinCapAdapter.getTokenPrice(tokenId)));
+            }
+            for (Future<Double> price : prices) {
+                assertEquals(50000.0, price.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(2, maxInFlight.get());
+    }
 }
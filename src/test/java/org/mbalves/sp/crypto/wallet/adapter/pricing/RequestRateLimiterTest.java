@@ -0,0 +1,50 @@
+package org.mbalves.sp.crypto.wallet.adapter.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestRateLimiterTest {
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void reserve_ShouldAllowABurstOfTheWindowThenSpreadThePermits() {
+        // Arrange: 3 permits per 3 seconds
+        RequestRateLimiter limiter = new RequestRateLimiter(3, Duration.ofSeconds(3), now::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(SECOND, limiter.reserve());
+        assertEquals(2 * SECOND, limiter.reserve());
+    }
+
+    @Test
+    void reserve_AfterAnIdleWindow_ShouldAllowAFullBurstAgain() {
+        // Arrange
+        RequestRateLimiter limiter = new RequestRateLimiter(2, Duration.ofSeconds(2), now::get);
+        limiter.reserve();
+        limiter.reserve();
+        assertEquals(SECOND, limiter.reserve());
+
+        // Act
+        now.addAndGet(10 * SECOND);
+
+        // Assert
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(SECOND, limiter.reserve());
+    }
+
+    @Test
+    void newLimiter_WithoutPermits_ShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new RequestRateLimiter(0, Duration.ofMinutes(1)));
+    }
+}
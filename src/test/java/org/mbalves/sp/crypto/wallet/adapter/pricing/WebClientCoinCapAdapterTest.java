@@ -0,0 +1,69 @@
+package org.mbalves.sp.crypto.wallet.adapter.pricing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class WebClientCoinCapAdapterTest {
+
+    private final AtomicReference<ClientRequest> lastRequest = new AtomicReference<>();
+    private WebClientCoinCapAdapter adapter;
+    private ClientResponse nextResponse;
+
+    @BeforeEach
+    void setUp() {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            lastRequest.set(request);
+            return Mono.just(nextResponse);
+        });
+        adapter = new WebClientCoinCapAdapter(builder);
+        adapter.setTimeouts(Duration.ofSeconds(1), Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(adapter, "apiUrlSymbol", "https://api.example.com/assets?search={symbol}");
+        ReflectionTestUtils.setField(adapter, "apiKey", "secret");
+    }
+
+    @Test
+    void getToken_WhenApiReturnsValidResponse_ShouldReturnTokenFromTheWebClient() {
+        // Arrange
+        nextResponse = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"data\":[{\"id\":\"bitcoin\",\"symbol\":\"BTC\",\"priceUsd\":\"50000.0\"}],\"timestamp\":1}")
+                .build();
+
+        // Act
+        var token = adapter.getToken("BTC");
+
+        // Assert
+        assertNotNull(token);
+        assertEquals("bitcoin", token.getId());
+        assertEquals(50000.0, token.getPrice().doubleValue());
+        assertEquals("https://api.example.com/assets?search=BTC", lastRequest.get().url().toString());
+        assertEquals("Bearer secret", lastRequest.get().headers().getFirst(HttpHeaders.AUTHORIZATION));
+    }
+
+    @Test
+    void getToken_WhenApiFails_ShouldReturnNull() {
+        // Arrange
+        nextResponse = ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build();
+
+        // Act
+        var token = adapter.getToken("BTC");
+
+        // Assert
+        assertNull(token);
+    }
+}
@@ -41,6 +41,20 @@ class GlobalExceptionHandlerTest {
         assertEquals(expectedMessage, response.getBody());
     }
 
+    @Test
+    void handleWalletConcurrentModification_ShouldReturnConflictStatus() {
+        // Arrange
+        Long walletId = 1L;
+        WalletConcurrentModificationException exception = new WalletConcurrentModificationException(walletId);
+
+        // Act
+        ResponseEntity<String> response = exceptionHandler.handleWalletConcurrentModification(exception);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(exception.getMessage(), response.getBody());
+    }
+
     @Test
     void handleAssetNotFound_ShouldReturnNotFoundStatus() {
         // Arrange
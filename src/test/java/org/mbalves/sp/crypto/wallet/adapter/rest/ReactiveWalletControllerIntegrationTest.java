@@ -0,0 +1,130 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceProviderPort;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the reactive profile end to end: WebFlux on Netty, the use cases, and the R2DBC repositories
+ * sharing the in-memory database with the JDBC adapters, with only the price provider stubbed.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "crypto.price-update-interval=999999999")
+@ActiveProfiles("reactive")
+class ReactiveWalletControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private PriceProviderPort priceProvider;
+
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        email = "reactive-" + UUID.randomUUID() + "@example.com";
+        when(priceProvider.getToken("BTC")).thenReturn(new Token("bitcoin", "BTC", new BigDecimal("50000.00"), null));
+        when(priceProvider.getTokens(any())).thenReturn(Map.of());
+    }
+
+    @Test
+    void walletLifecycle_ShouldBeServedByTheReactiveStack() {
+        Map<?, ?> created = webTestClient.post().uri("/api/wallets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("email", email))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Map.class)
+                .returnResult().getResponseBody();
+        assertNotNull(created);
+        Long walletId = ((Number) created.get("id")).longValue();
+
+        webTestClient.post().uri("/api/wallets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("email", email))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        webTestClient.post().uri("/api/wallets/{walletId}/assets", walletId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("symbol", "BTC", "quantity", 2.0))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.assets[0].symbol").isEqualTo("BTC")
+                .jsonPath("$.total").isEqualTo(100000.00);
+
+        webTestClient.post().uri("/api/wallets/{walletId}/assets", walletId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("symbol", "BTC", "quantity", -0.5))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.assets.length()").isEqualTo(1)
+                .jsonPath("$.total").isEqualTo(75000.00);
+
+        // Read by the JDBC query adapter, so what R2DBC wrote must be committed
+        webTestClient.get().uri("/api/wallets/{walletId}", walletId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.assets[0].quantity").isEqualTo(1.5)
+                .jsonPath("$.total").isEqualTo(75000.00);
+
+        webTestClient.post().uri("/api/wallets/{walletId}/simulate?date={date}&baseline={date}",
+                        walletId, LocalDate.now(), LocalDate.now())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(75000.00)
+                .jsonPath("$.bestAsset").isEqualTo("BTC");
+
+        webTestClient.get().uri("/api/wallets/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> assertTrue(body.contains("\"email\":\"" + email + "\""), body));
+
+        webTestClient.delete().uri("/api/wallets/{walletId}/assets/BTC", walletId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.assets.length()").isEqualTo(0);
+
+        webTestClient.delete().uri("/api/wallets/{walletId}", walletId)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/api/wallets/{walletId}", walletId)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void addAsset_WhenWalletIsUnknown_ShouldReturnNotFound() {
+        webTestClient.post().uri("/api/wallets/{walletId}/assets", Long.MAX_VALUE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("symbol", "BTC", "quantity", 1.0))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
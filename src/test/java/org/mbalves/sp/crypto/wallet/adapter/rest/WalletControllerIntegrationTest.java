@@ -7,8 +7,15 @@ import org.mbalves.sp.crypto.wallet.adapter.rest.dto.AssetRequest;
 import org.mbalves.sp.crypto.wallet.adapter.rest.dto.WalletRequest;
 import org.mbalves.sp.crypto.wallet.application.port.in.*;
 import org.mbalves.sp.crypto.wallet.domain.Asset;
+import org.mbalves.sp.crypto.wallet.domain.AssetView;
 import org.mbalves.sp.crypto.wallet.domain.Token;
 import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportError;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportRow;
+import org.mbalves.sp.crypto.wallet.domain.WalletPage;
+import org.mbalves.sp.crypto.wallet.domain.WalletSummary;
+import org.mbalves.sp.crypto.wallet.domain.WalletView;
 import org.mbalves.sp.crypto.wallet.domain.exception.AssetNotFoundException;
 import org.mbalves.sp.crypto.wallet.domain.exception.InvalidTokenException;
 import org.mbalves.sp.crypto.wallet.domain.exception.WalletAlreadyExistsException;
@@ -18,18 +25,26 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -57,9 +72,27 @@ class WalletControllerIntegrationTest {
     @MockitoBean
     private DeleteWalletUseCase deleteWalletUseCase;
 
+    @MockitoBean
+    private ImportWalletsUseCase importWalletsUseCase;
+
+    @MockitoBean
+    private ExportWalletsUseCase exportWalletsUseCase;
+
+    @MockitoBean
+    private ListWalletsUseCase listWalletsUseCase;
+
     @MockitoBean
     private SimulateWalletProfitUseCase simulateWalletProfitUseCase;
 
+    @MockitoBean
+    private SimulateWalletRiskUseCase simulateWalletRiskUseCase;
+
+    @MockitoBean
+    private GetWalletAnalyticsUseCase getWalletAnalyticsUseCase;
+
+    @MockitoBean
+    private BacktestStrategiesUseCase backtestStrategiesUseCase;
+
     private Wallet wallet;
     private final Long walletId = 1L;
     private final String email = "test@example.com";
@@ -71,17 +104,14 @@ class WalletControllerIntegrationTest {
         wallet.setEmail(email);
         wallet.setAssets(new ArrayList<>());
 
-        Token token = new Token();
-        token.setId("bitcoin");
-        token.setSymbol("BTC");
-        token.setPrice(BigDecimal.valueOf(50000.0));
+        Token token = new Token("bitcoin", "BTC", BigDecimal.valueOf(50000.0), null);
 
         Asset asset = new Asset();
         asset.setId(1L);
         asset.setToken(token);
         asset.setQuantity(BigDecimal.valueOf(0.5));
 
-        wallet.getAssets().add(asset);
+        wallet.addAsset(asset);
     }
 
     @Test
@@ -134,16 +164,13 @@ class WalletControllerIntegrationTest {
         request.setQuantity(2.0);
         
         // Add another asset to the wallet for this test
-        Token ethToken = new Token();
-        ethToken.setId("ethereum");
-        ethToken.setSymbol("ETH");
-        ethToken.setPrice(BigDecimal.valueOf(3000.0));
+        Token ethToken = new Token("ethereum", "ETH", BigDecimal.valueOf(3000.0), null);
 
         Asset ethAsset = new Asset();
         ethAsset.setId(2L);
         ethAsset.setToken(ethToken);
         ethAsset.setQuantity(BigDecimal.valueOf(2.0));
-        wallet.getAssets().add(ethAsset);
+        wallet.addAsset(ethAsset);
         
         when(addAssetUseCase.addAsset(walletId, "ETH", 2.0)).thenReturn(wallet);
 
@@ -204,7 +231,7 @@ class WalletControllerIntegrationTest {
     @Test
     void getWallet_ShouldReturnOkStatus() throws Exception {
         // Arrange
-        when(getWalletUseCase.getWallet(walletId)).thenReturn(wallet);
+        when(getWalletUseCase.getWallet(walletId)).thenReturn(walletView());
 
         // Act & Assert
         mockMvc.perform(get("/api/wallets/{walletId}", walletId))
@@ -272,7 +299,7 @@ class WalletControllerIntegrationTest {
     void deleteAsset_ShouldReturnOkStatus() throws Exception {
         // Arrange
         String symbol = "BTC";
-        wallet.getAssets().removeIf(asset -> asset.getToken().getSymbol().equals(symbol));
+        wallet.removeAsset(symbol);
         when(deleteAssetUseCase.deleteAsset(walletId, symbol)).thenReturn(wallet);
 
         // Act & Assert
@@ -313,4 +340,148 @@ class WalletControllerIntegrationTest {
 
         verify(deleteAssetUseCase).deleteAsset(walletId, symbol);
     }
+
+    @Test
+    void importWallets_WithCsv_ShouldStreamRowsAndReturnSummary() throws Exception {
+        // Arrange
+        List<WalletImportRow> received = new ArrayList<>();
+        WalletImportResult result = new WalletImportResult();
+        result.setRowsRead(3);
+        result.setRowsImported(2);
+        result.setRowsRejected(1);
+        result.setWalletsCreated(2);
+        result.setAssetsCreated(1);
+        result.getErrors().add(new WalletImportError(4, "Invalid quantity: abc"));
+        when(importWalletsUseCase.importWallets(any())).thenAnswer(invocation -> {
+            Stream<WalletImportRow> rows = invocation.getArgument(0);
+            rows.forEach(received::add);
+            return result;
+        });
+
+        // Act & Assert
+        mockMvc.perform(post("/api/wallets/import")
+                .contentType("text/csv")
+                .content("email,symbol,quantity\nalice@example.com,BTC,0.5\nbob@example.com\n\nbob@example.com,ETH,abc\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(3))
+                .andExpect(jsonPath("$.rowsImported").value(2))
+                .andExpect(jsonPath("$.rowsRejected").value(1))
+                .andExpect(jsonPath("$.walletsCreated").value(2))
+                .andExpect(jsonPath("$.assetsCreated").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(4))
+                .andExpect(jsonPath("$.errors[0].message").value("Invalid quantity: abc"));
+
+        assertEquals(List.of(
+                new WalletImportRow(2, "alice@example.com", "BTC", "0.5"),
+                new WalletImportRow(3, "bob@example.com", null, null),
+                new WalletImportRow(5, "bob@example.com", "ETH", "abc")), received);
+    }
+
+    @Test
+    void importWallets_WithNdjson_ShouldStreamRows() throws Exception {
+        // Arrange
+        List<WalletImportRow> received = new ArrayList<>();
+        when(importWalletsUseCase.importWallets(any())).thenAnswer(invocation -> {
+            Stream<WalletImportRow> rows = invocation.getArgument(0);
+            rows.forEach(received::add);
+            return new WalletImportResult();
+        });
+
+        // Act & Assert
+        mockMvc.perform(post("/api/wallets/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"email\":\"alice@example.com\",\"symbol\":\"BTC\",\"quantity\":0.12345678901}\n{not json\n"))
+                .andExpect(status().isOk());
+
+        assertEquals(List.of(
+                new WalletImportRow(1, "alice@example.com", "BTC", "0.12345678901"),
+                new WalletImportRow(2, null, null, null)), received);
+    }
+
+    @Test
+    void exportWallets_AsNdjson_ShouldWriteOneWalletPerLine() throws Exception {
+        // Arrange
+        Wallet empty = new Wallet();
+        empty.setId(2L);
+        empty.setEmail("empty@example.com");
+        when(exportWalletsUseCase.exportWallets(any())).thenAnswer(invocation -> {
+            Consumer<Wallet> consumer = invocation.getArgument(0);
+            consumer.accept(wallet);
+            consumer.accept(empty);
+            return 2L;
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/wallets/export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":1,\"total\":25000.00,\"assets\":[{\"symbol\":\"BTC\",\"quantity\":0.5,\"price\":50000.0,\"value\":25000.00}],\"email\":\"test@example.com\"}\n"
+                        + "{\"id\":2,\"total\":0.00,\"assets\":[],\"email\":\"empty@example.com\"}\n"));
+    }
+
+    @Test
+    void exportWallets_AsCsv_ShouldWriteOneRowPerAsset() throws Exception {
+        // Arrange
+        Wallet empty = new Wallet();
+        empty.setId(2L);
+        empty.setEmail("empty@example.com");
+        when(exportWalletsUseCase.exportWallets(any())).thenAnswer(invocation -> {
+            Consumer<Wallet> consumer = invocation.getArgument(0);
+            consumer.accept(wallet);
+            consumer.accept(empty);
+            return 2L;
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/wallets/export").accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("wallet_id,email,symbol,quantity,price,value\n"
+                        + "1,test@example.com,BTC,0.5,50000.0,25000.00\n"
+                        + "2,empty@example.com,,,,\n"));
+    }
+
+    @Test
+    void listWallets_ShouldReturnPageWithAssets() throws Exception {
+        // Arrange
+        when(listWalletsUseCase.listWallets(null, 50)).thenReturn(new WalletPage<>(List.of(walletView()), 1L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/wallets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.wallets[0].id").value(1))
+                .andExpect(jsonPath("$.wallets[0].total").value(25000.00))
+                .andExpect(jsonPath("$.wallets[0].assets[0].symbol").value("BTC"))
+                .andExpect(jsonPath("$.nextAfter").value(1));
+    }
+
+    @Test
+    void listWallets_TotalsOnly_ShouldOmitAssets() throws Exception {
+        // Arrange
+        when(listWalletsUseCase.listWalletTotals(1L, 10)).thenReturn(new WalletPage<>(
+                List.of(new WalletSummary(2L, "other@example.com", new BigDecimal("12.345"))), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/wallets").param("after", "1").param("limit", "10").param("totalsOnly", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.wallets[0].id").value(2))
+                .andExpect(jsonPath("$.wallets[0].total").value(12.35))
+                .andExpect(jsonPath("$.wallets[0].assets").doesNotExist())
+                .andExpect(jsonPath("$.nextAfter").doesNotExist());
+    }
+
+    private WalletView walletView() {
+        return new WalletView(walletId, email,
+                List.of(new AssetView("BTC", BigDecimal.valueOf(0.5), BigDecimal.valueOf(50000.0))));
+    }
 }
@@ -0,0 +1,235 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mbalves.sp.crypto.wallet.WalletApplication;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceProviderPort;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the requests served per second by the MVC/JPA stack, on the Tomcat thread pool and on virtual threads,
+ * and by the WebFlux/R2DBC stack of the {@code reactive} profile, with {@value #CLIENTS} concurrent clients:
+ * <ul>
+ *   <li>{@code POST /api/wallets/simulate} while the price provider takes {@value #PROVIDER_LATENCY_MILLIS} ms per call,
+ *       as during a CoinCap slowdown. Each request simulates a different quantity, so none is answered
+ *       from the simulation cache.</li>
+ *   <li>{@code POST /api/wallets/{walletId}/simulate} of a stored wallet at today's prices,
+ *       which only reads the wallet through the repository of each stack.</li>
+ * </ul>
+ * It starts the application once per stack and scenario and is excluded from the regular tests:
+ * <pre>
+ * ./gradlew loadTest
+ * </pre>
+ */
+@Tag("load")
+class WalletControllerLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(WalletControllerLoadTest.class);
+    private static final long PROVIDER_LATENCY_MILLIS = 100;
+    private static final int WARMUP_REQUESTS = 100;
+    private static final int REQUESTS = 1000;
+    private static final int CLIENTS = 200;
+    private static final String LOAD_EMAIL = "load@example.com";
+
+    @Test
+    void simulate_OffThePlatformThreads_ShouldServeMoreRequestsWhileTheProviderIsSlow() throws Exception {
+        Map<Stack, Double> throughputs = throughputs((context, baseUri) -> i -> HttpRequest.newBuilder(
+                        baseUri.resolve("/api/wallets/simulate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"assets\":[{\"symbol\":\"BTC\",\"quantity\":" + (i + 1)
+                        + ",\"value\":30000}],\"date\":\"" + LocalDate.now() + "\"}"))
+                .build());
+
+        print("Simulations per second with a " + PROVIDER_LATENCY_MILLIS + " ms provider", throughputs);
+        double platformThroughput = throughputs.get(Stack.MVC_PLATFORM_THREADS);
+        assertTrue(throughputs.get(Stack.MVC_VIRTUAL_THREADS) > platformThroughput * 1.5,
+                "Virtual threads served " + throughputs.get(Stack.MVC_VIRTUAL_THREADS)
+                        + " requests per second, platform threads " + platformThroughput);
+        assertTrue(throughputs.get(Stack.REACTIVE) > platformThroughput * 1.5,
+                "The reactive stack served " + throughputs.get(Stack.REACTIVE)
+                        + " requests per second, platform threads " + platformThroughput);
+    }
+
+    @Test
+    void simulateStoredWallet_ShouldBeServedByEveryStack() throws Exception {
+        Map<Stack, Double> throughputs = throughputs((context, baseUri) -> {
+            long walletId = seedWallet(context.getBean(JdbcTemplate.class));
+            URI uri = baseUri.resolve("/api/wallets/" + walletId + "/simulate?date=" + LocalDate.now()
+                    + "&baseline=" + LocalDate.now());
+            return i -> HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build();
+        });
+
+        print("Stored wallet simulations per second", throughputs);
+    }
+
+    /**
+     * Measures the scenario on every stack in turn.
+     */
+    private static Map<Stack, Double> throughputs(Scenario scenario) throws Exception {
+        Map<Stack, Double> throughputs = new EnumMap<>(Stack.class);
+        for (Stack stack : Stack.values()) {
+            throughputs.put(stack, throughput(stack, scenario));
+        }
+        return throughputs;
+    }
+
+    /**
+     * Starts the application on the stack with the slow provider and measures the requests it serves per second.
+     */
+    private static double throughput(Stack stack, Scenario scenario) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WalletApplication.class)
+                .properties("server.port=0",
+                        "server.tomcat.threads.max=50",
+                        "crypto.price-update-interval=999999999",
+                        "logging.level.org.mbalves=WARN",
+                        "logging.level." + WalletControllerLoadTest.class.getName() + "=INFO")
+                .properties(stack.properties)
+                .initializers(applicationContext -> ((GenericApplicationContext) applicationContext).registerBean(
+                        "slowPriceProvider", PriceProviderPort.class, SlowPriceProvider::new,
+                        definition -> definition.setPrimary(true)))
+                .run();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+            URI baseUri = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+            IntFunction<HttpRequest> requests = scenario.requests(context, baseUri);
+
+            send(httpClient, requests, 0, WARMUP_REQUESTS);
+            long start = System.nanoTime();
+            send(httpClient, requests, WARMUP_REQUESTS, REQUESTS);
+            return REQUESTS / (Duration.ofNanos(System.nanoTime() - start).toMillis() / 1000.0);
+        }
+    }
+
+    /**
+     * Sends the requests, at most {@link #CLIENTS} at a time, and waits for all of them.
+     */
+    private static void send(HttpClient httpClient, IntFunction<HttpRequest> requests, int first, int count) {
+        Semaphore inFlight = new Semaphore(CLIENTS);
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            inFlight.acquireUninterruptibly();
+            responses.add(httpClient.sendAsync(requests.apply(i), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> inFlight.release()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.join().statusCode());
+        }
+    }
+
+    /**
+     * Stores a wallet holding bitcoin, unless an earlier run in the same database already did, and returns its ID.
+     */
+    private static long seedWallet(JdbcTemplate jdbcTemplate) {
+        List<Long> walletIds = jdbcTemplate.queryForList("SELECT id FROM wallet WHERE email = ?", Long.class, LOAD_EMAIL);
+        if (!walletIds.isEmpty()) {
+            return walletIds.getFirst();
+        }
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM token WHERE id = 'bitcoin'", Integer.class) == 0) {
+            jdbcTemplate.update("INSERT INTO token (id, symbol, price, last_updated) VALUES ('bitcoin', 'BTC', 50000, CURRENT_TIMESTAMP)");
+        }
+        jdbcTemplate.update("INSERT INTO wallet (email) VALUES (?)", LOAD_EMAIL);
+        long walletId = jdbcTemplate.queryForObject("SELECT id FROM wallet WHERE email = ?", Long.class, LOAD_EMAIL);
+        jdbcTemplate.update("INSERT INTO asset (quantity, token_id, wallet_id) VALUES (1.5, 'bitcoin', ?)", walletId);
+        return walletId;
+    }
+
+    private static void print(String title, Map<Stack, Double> throughputs) {
+        StringBuilder line = new StringBuilder(title).append(" with ").append(CLIENTS).append(" clients:");
+        throughputs.forEach((stack, throughput) -> line.append(String.format(" %s %.0f,", stack.label, throughput)));
+        log.info(line.substring(0, line.length() - 1));
+    }
+
+    /**
+     * The stacks compared, with the properties selecting them.
+     */
+    private enum Stack {
+        MVC_PLATFORM_THREADS("MVC/JPA on platform threads",
+                "spring.threads.virtual.enabled=false", "crypto.simulation.price-lookup-threads=8"),
+        MVC_VIRTUAL_THREADS("MVC/JPA on virtual threads",
+                "spring.threads.virtual.enabled=true", "crypto.simulation.price-lookup-threads=0"),
+        REACTIVE("WebFlux/R2DBC",
+                "spring.profiles.active=reactive", "crypto.reactive.use-case-threads=0",
+                "crypto.simulation.price-lookup-threads=0");
+
+        private final String label;
+        private final String[] properties;
+
+        Stack(String label, String... properties) {
+            this.label = label;
+            this.properties = properties;
+        }
+    }
+
+    /**
+     * The requests of a scenario, built once the application is started.
+     */
+    private interface Scenario {
+        IntFunction<HttpRequest> requests(ConfigurableApplicationContext context, URI baseUri);
+    }
+
+    /**
+     * A price provider that waits before answering, like the API under load.
+     */
+    private static final class SlowPriceProvider implements PriceProviderPort {
+        @Override
+        public Token getToken(String symbol) {
+            waitForTheProvider();
+            return new Token("bitcoin", symbol, BigDecimal.valueOf(50000.0), null);
+        }
+
+        @Override
+        public Map<String, Token> getTokens(Collection<String> symbols) {
+            return Map.of();
+        }
+
+        @Override
+        public Double getTokenPrice(String tokenId) {
+            return null;
+        }
+
+        @Override
+        public Double getTokenPrice(String tokenId, LocalDate date) {
+            return null;
+        }
+
+        @Override
+        public double[] getTokenPrices(String tokenId, LocalDate from, LocalDate to) {
+            return null;
+        }
+
+        private static void waitForTheProvider() {
+            try {
+                Thread.sleep(PROVIDER_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -2,26 +2,56 @@ package org.mbalves.sp.crypto.wallet.adapter.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.mbalves.sp.crypto.wallet.adapter.rest.dto.AssetRequest;
+import org.mbalves.sp.crypto.wallet.adapter.rest.dto.WalletBacktestRequest;
+import org.mbalves.sp.crypto.wallet.adapter.rest.dto.WalletBatchSimulationRequest;
+import org.mbalves.sp.crypto.wallet.adapter.rest.dto.WalletRiskRequest;
+import org.mbalves.sp.crypto.wallet.adapter.rest.dto.WalletSimulationRangeRequest;
 import org.mbalves.sp.crypto.wallet.adapter.rest.dto.WalletSimulationRequest;
 import org.mbalves.sp.crypto.wallet.adapter.rest.dto.WalletSimulationRequest.AssetSimulationRequest;
 import org.mbalves.sp.crypto.wallet.application.port.in.*;
+import org.mbalves.sp.crypto.wallet.domain.Backtest;
+import org.mbalves.sp.crypto.wallet.domain.BacktestResult;
+import org.mbalves.sp.crypto.wallet.domain.BuyRule;
+import org.mbalves.sp.crypto.wallet.domain.BuyStrategy;
+import org.mbalves.sp.crypto.wallet.domain.Money;
+import org.mbalves.sp.crypto.wallet.domain.WalletAnalytics;
+import org.mbalves.sp.crypto.wallet.domain.WalletRisk;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulation;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationOutcome;
 import org.mbalves.sp.crypto.wallet.domain.WalletSimulationResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationSeries;
+import org.mbalves.sp.crypto.wallet.domain.exception.InsufficientPriceHistoryException;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidBuyRuleException;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidSimulationRangeException;
 import org.mbalves.sp.crypto.wallet.domain.exception.InvalidTokenException;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(WalletController.class)
@@ -36,6 +66,15 @@ class WalletControllerSimulationIntegrationTest {
     @MockitoBean
     private SimulateWalletProfitUseCase simulateWalletProfitUseCase;
 
+    @MockitoBean
+    private SimulateWalletRiskUseCase simulateWalletRiskUseCase;
+
+    @MockitoBean
+    private GetWalletAnalyticsUseCase getWalletAnalyticsUseCase;
+
+    @MockitoBean
+    private BacktestStrategiesUseCase backtestStrategiesUseCase;
+
     @MockitoBean
     private CreateWalletUseCase createWalletUseCase;
 
@@ -51,6 +90,15 @@ class WalletControllerSimulationIntegrationTest {
     @MockitoBean
     private DeleteWalletUseCase deleteWalletUseCase;
 
+    @MockitoBean
+    private ImportWalletsUseCase importWalletsUseCase;
+
+    @MockitoBean
+    private ExportWalletsUseCase exportWalletsUseCase;
+
+    @MockitoBean
+    private ListWalletsUseCase listWalletsUseCase;
+
     @Test
     void simulateWallet_OneAsset_ShouldReturnSimulationResult() throws Exception {
         WalletSimulationRequest request = new WalletSimulationRequest();
@@ -61,7 +109,7 @@ class WalletControllerSimulationIntegrationTest {
         request.setAssets(List.of(asset));
 
         WalletSimulationResult result = new WalletSimulationResult();
-        result.setTotal(BigDecimal.valueOf(35000.0));
+        result.setTotal(Money.of(BigDecimal.valueOf(35000.0)));
         result.setBestAsset("BTC");
         result.setBestPerformance(BigDecimal.valueOf(16.67));
         result.setWorstAsset("BTC");
@@ -87,7 +135,7 @@ class WalletControllerSimulationIntegrationTest {
         request.setDate(LocalDate.now());
 
         WalletSimulationResult result = new WalletSimulationResult();
-        result.setTotal(BigDecimal.ZERO);
+        result.setTotal(Money.ZERO);
 
         when(simulateWalletProfitUseCase.simulateProfit(any(), any())).thenReturn(result);
 
@@ -117,4 +165,262 @@ class WalletControllerSimulationIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("Invalid token or price not found for symbol: XYZ"));
     }
+
+    @Test
+    void simulateWalletRange_ShouldReturnTheSeries() throws Exception {
+        AssetSimulationRequest asset = new AssetSimulationRequest();
+        asset.setSymbol("BTC");
+        asset.setQuantity(1.0);
+        asset.setValue(BigDecimal.valueOf(30000.0));
+        WalletSimulationRangeRequest request = new WalletSimulationRangeRequest();
+        request.setAssets(List.of(asset));
+        request.setStart(LocalDate.of(2025, 1, 1));
+        request.setEnd(LocalDate.of(2025, 1, 8));
+        request.setStep(7);
+
+        WalletSimulationSeries series = new WalletSimulationSeries();
+        series.setDates(List.of(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 8)));
+        series.setTotals(new double[]{30000.0, 33000.5});
+        series.setSymbols(List.of("BTC"));
+        series.setPerformances(new double[][]{{0.0, 10.0}});
+
+        when(simulateWalletProfitUseCase.simulateProfitSeries(any(), eq(LocalDate.of(2025, 1, 1)),
+                eq(LocalDate.of(2025, 1, 8)), eq(7))).thenReturn(series);
+
+        mockMvc.perform(post("/api/wallets/simulate/range")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dates[1]").value("2025-01-08"))
+                .andExpect(jsonPath("$.totals[1]").value(33000.5))
+                .andExpect(jsonPath("$.assets[0].symbol").value("BTC"))
+                .andExpect(jsonPath("$.assets[0].performances[1]").value(10.0));
+    }
+
+    @Test
+    void simulateWalletRange_WhenRangeIsInvalid_ShouldReturnBadRequest() throws Exception {
+        AssetSimulationRequest asset = new AssetSimulationRequest();
+        asset.setSymbol("BTC");
+        asset.setQuantity(1.0);
+        asset.setValue(BigDecimal.valueOf(30000.0));
+        WalletSimulationRangeRequest request = new WalletSimulationRangeRequest();
+        request.setAssets(List.of(asset));
+        request.setStart(LocalDate.now());
+        request.setEnd(LocalDate.now().minusDays(1));
+
+        when(simulateWalletProfitUseCase.simulateProfitSeries(any(), any(), any(), eq(1)))
+                .thenThrow(new InvalidSimulationRangeException("The start date must not be after the end date"));
+
+        mockMvc.perform(post("/api/wallets/simulate/range")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("The start date must not be after the end date"));
+    }
+
+    @Test
+    void simulateWallets_ShouldStreamOneResultPerPortfolioInOrder() throws Exception {
+        AssetSimulationRequest asset = new AssetSimulationRequest();
+        asset.setSymbol("BTC");
+        asset.setQuantity(1.0);
+        asset.setValue(BigDecimal.valueOf(30000.0));
+        WalletSimulationRequest dated = new WalletSimulationRequest();
+        dated.setAssets(List.of(asset));
+        dated.setDate(LocalDate.of(2025, 1, 1));
+        WalletSimulationRequest undated = new WalletSimulationRequest();
+        undated.setAssets(List.of(asset));
+        WalletBatchSimulationRequest request = new WalletBatchSimulationRequest();
+        request.setPortfolios(List.of(dated, undated));
+        request.setDate(LocalDate.of(2024, 6, 1));
+
+        WalletSimulationResult result = new WalletSimulationResult();
+        result.setTotal(Money.of(BigDecimal.valueOf(35000.0)));
+        result.setBestAsset("BTC");
+        result.setBestPerformance(BigDecimal.valueOf(16.67));
+        result.setWorstAsset("BTC");
+        result.setWorstPerformance(BigDecimal.valueOf(16.67));
+        List<LocalDate> dates = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<WalletSimulation> wallets = invocation.getArgument(0);
+            wallets.forEach(wallet -> dates.add(wallet.getDate()));
+            Consumer<WalletSimulationOutcome> outcomes = invocation.getArgument(1);
+            outcomes.accept(new WalletSimulationOutcome(result, null));
+            outcomes.accept(new WalletSimulationOutcome(null, "Invalid token or price not found for symbol: BTC"));
+            return null;
+        }).when(simulateWalletProfitUseCase).simulateProfits(any(), any());
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/wallets/simulate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"total\":35000.00,\"bestAsset\":\"BTC\",\"bestPerformance\":16.67,\"worstAsset\":\"BTC\",\"worstPerformance\":16.67}\n"
+                        + "{\"error\":\"Invalid token or price not found for symbol: BTC\"}\n"));
+        assertEquals(List.of(LocalDate.of(2025, 1, 1), LocalDate.of(2024, 6, 1)), dates);
+    }
+
+    @Test
+    void simulateStoredWallet_ShouldSimulateFromTheBaselineDate() throws Exception {
+        WalletSimulationResult result = new WalletSimulationResult();
+        result.setTotal(Money.of(new BigDecimal("45000.00")));
+        result.setBestAsset("BTC");
+        result.setBestPerformance(new BigDecimal("50.00"));
+        result.setWorstAsset("ETH");
+        result.setWorstPerformance(new BigDecimal("-10.00"));
+
+        when(simulateWalletProfitUseCase.simulateProfit(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2024, 1, 1)))
+                .thenReturn(result);
+
+        mockMvc.perform(post("/api/wallets/1/simulate")
+                        .param("date", "2025-01-01")
+                        .param("baseline", "2024-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(45000.00))
+                .andExpect(jsonPath("$.bestAsset").value("BTC"))
+                .andExpect(jsonPath("$.bestPerformance").value(50.00))
+                .andExpect(jsonPath("$.worstAsset").value("ETH"))
+                .andExpect(jsonPath("$.worstPerformance").value(-10.00));
+    }
+
+    @Test
+    void simulateStoredWallet_WhenWalletDoesNotExist_ShouldReturnNotFound() throws Exception {
+        when(simulateWalletProfitUseCase.simulateProfit(eq(99L), eq(LocalDate.now()), isNull()))
+                .thenThrow(new WalletNotFoundException(99L));
+
+        mockMvc.perform(post("/api/wallets/99/simulate"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Wallet not found with ID: 99"));
+    }
+
+    @Test
+    void backtestStrategies_ShouldReturnTheResultOfEachStrategy() throws Exception {
+        BacktestResult result = new BacktestResult();
+        result.setFinalValue(450.5);
+        result.setInvested(300.0);
+        result.setIrr(82.25);
+        result.setWorstDrawdown(-12.5);
+        result.setDrawdowns(new double[]{0.0, -12.5, -3.0});
+        Backtest backtest = new Backtest();
+        backtest.setDates(List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 3)));
+        backtest.setResults(List.of(result));
+
+        when(backtestStrategiesUseCase.backtest(List.of(new BuyStrategy(List.of(new BuyRule("BTC", new BigDecimal("100"), 1)))),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 3))).thenReturn(backtest);
+
+        mockMvc.perform(post("/api/wallets/backtest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(backtestRequest("100", 1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dates[0]").value("2024-01-01"))
+                .andExpect(jsonPath("$.strategies[0].finalValue").value(450.5))
+                .andExpect(jsonPath("$.strategies[0].invested").value(300.0))
+                .andExpect(jsonPath("$.strategies[0].irr").value(82.25))
+                .andExpect(jsonPath("$.strategies[0].worstDrawdown").value(-12.5))
+                .andExpect(jsonPath("$.strategies[0].drawdowns[1]").value(-12.5));
+    }
+
+    @Test
+    void backtestStrategies_WhenRuleIsInvalid_ShouldReturnBadRequest() throws Exception {
+        when(backtestStrategiesUseCase.backtest(anyList(), any(), any()))
+                .thenThrow(new InvalidBuyRuleException("The amount of BTC must be positive"));
+
+        mockMvc.perform(post("/api/wallets/backtest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(backtestRequest("0", 7))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("The amount of BTC must be positive"));
+    }
+
+    @Test
+    void simulateWalletRisk_ShouldReturnValueAtRiskLevels() throws Exception {
+        WalletRisk risk = new WalletRisk();
+        risk.setCurrentValue(50000.0);
+        risk.setHorizonDays(10);
+        risk.setPaths(100000);
+        risk.setHistoryDays(364);
+        risk.setExpectedValue(50210.5);
+        risk.setLevels(List.of(new WalletRisk.ValueAtRisk(0.95, 6100.25, 8020.75)));
+
+        when(simulateWalletRiskUseCase.simulateRisk(1L, 10)).thenReturn(risk);
+
+        mockMvc.perform(get("/api/wallets/1/risk").param("horizonDays", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currentValue").value(50000.0))
+                .andExpect(jsonPath("$.paths").value(100000))
+                .andExpect(jsonPath("$.levels[0].confidence").value(0.95))
+                .andExpect(jsonPath("$.levels[0].valueAtRisk").value(6100.25))
+                .andExpect(jsonPath("$.levels[0].conditionalValueAtRisk").value(8020.75));
+    }
+
+    @Test
+    void simulateAssetsRisk_WhenHistoryIsTooShort_ShouldReturnUnprocessableEntity() throws Exception {
+        AssetRequest asset = new AssetRequest();
+        asset.setSymbol("BTC");
+        asset.setQuantity(1.0);
+        WalletRiskRequest request = new WalletRiskRequest();
+        request.setAssets(List.of(asset));
+
+        when(simulateWalletRiskUseCase.simulateRisk(anyList(), eq(1)))
+                .thenThrow(new InsufficientPriceHistoryException(3, 30));
+
+        mockMvc.perform(post("/api/wallets/risk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().string("Not enough price history to simulate the risk: 3 daily returns found, 30 required"));
+    }
+
+    @Test
+    void getWalletAnalytics_ShouldReturnTheStatisticsAndCorrelations() throws Exception {
+        WalletAnalytics analytics = new WalletAnalytics();
+        analytics.setWindowDays(30);
+        analytics.setHistoryDays(29);
+        analytics.setVolatility(52.4);
+        analytics.setSharpeRatio(1.25);
+        analytics.setMaxDrawdown(12.5);
+        analytics.setSymbols(List.of("BTC", "ETH"));
+        analytics.setVolatilities(new double[]{48.1, 63.2});
+        analytics.setCorrelations(new double[][]{{1.0, 0.8123}, {0.8123, 1.0}});
+
+        when(getWalletAnalyticsUseCase.getAnalytics(1L, 30)).thenReturn(analytics);
+
+        mockMvc.perform(get("/api/wallets/1/analytics").param("window", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.historyDays").value(29))
+                .andExpect(jsonPath("$.volatility").value(52.4))
+                .andExpect(jsonPath("$.sharpeRatio").value(1.25))
+                .andExpect(jsonPath("$.maxDrawdown").value(12.5))
+                .andExpect(jsonPath("$.symbols[1]").value("ETH"))
+                .andExpect(jsonPath("$.correlations[0][1]").value(0.8123));
+    }
+
+    @Test
+    void getWalletAnalytics_WhenHistoryIsTooShort_ShouldReturnUnprocessableEntity() throws Exception {
+        when(getWalletAnalyticsUseCase.getAnalytics(1L, 90))
+                .thenThrow(new InsufficientPriceHistoryException("compute the analytics", 3, 7));
+
+        mockMvc.perform(get("/api/wallets/1/analytics"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().string("Not enough price history to compute the analytics: 3 daily returns found, 7 required"));
+    }
+
+    private static WalletBacktestRequest backtestRequest(String amount, int intervalDays) {
+        WalletBacktestRequest.BuyRuleRequest rule = new WalletBacktestRequest.BuyRuleRequest();
+        rule.setSymbol("BTC");
+        rule.setAmount(new BigDecimal(amount));
+        rule.setIntervalDays(intervalDays);
+        WalletBacktestRequest.StrategyRequest strategy = new WalletBacktestRequest.StrategyRequest();
+        strategy.setRules(List.of(rule));
+        WalletBacktestRequest request = new WalletBacktestRequest();
+        request.setStrategies(List.of(strategy));
+        request.setStart(LocalDate.of(2024, 1, 1));
+        request.setEnd(LocalDate.of(2024, 1, 3));
+        return request;
+    }
 }
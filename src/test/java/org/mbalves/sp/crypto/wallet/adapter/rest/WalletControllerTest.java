@@ -12,14 +12,20 @@ import org.mbalves.sp.crypto.wallet.domain.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
@@ -42,6 +48,24 @@ class WalletControllerTest {
     @Mock
     private DeleteWalletUseCase deleteWalletUseCase;
 
+    @Mock
+    private ImportWalletsUseCase importWalletsUseCase;
+
+    @Mock
+    private ExportWalletsUseCase exportWalletsUseCase;
+
+    @Mock
+    private ListWalletsUseCase listWalletsUseCase;
+
+    @Mock
+    private SimulateWalletRiskUseCase simulateWalletRiskUseCase;
+
+    @Mock
+    private GetWalletAnalyticsUseCase getWalletAnalyticsUseCase;
+
+    @Mock
+    private BacktestStrategiesUseCase backtestStrategiesUseCase;
+
     @InjectMocks
     private WalletController walletController;
 
@@ -56,17 +80,14 @@ class WalletControllerTest {
         wallet.setEmail(email);
         wallet.setAssets(new ArrayList<>());
 
-        Token token = new Token();
-        token.setId("bitcoin");
-        token.setSymbol("BTC");
-        token.setPrice(BigDecimal.valueOf(50000.00));
+        Token token = new Token("bitcoin", "BTC", BigDecimal.valueOf(50000.00), null);
 
         Asset asset = new Asset();
         asset.setId(1L);
         asset.setToken(token);
         asset.setQuantity(BigDecimal.valueOf(0.50));
 
-        wallet.getAssets().add(asset);
+        wallet.addAsset(asset);
     }
 
     @Test
@@ -101,16 +122,13 @@ class WalletControllerTest {
         request.setQuantity(2.0);
         
         // Add another asset to the wallet for this test
-        Token ethToken = new Token();
-        ethToken.setId("ethereum");
-        ethToken.setSymbol("ETH");
-        ethToken.setPrice(BigDecimal.valueOf(3000.0));
+        Token ethToken = new Token("ethereum", "ETH", BigDecimal.valueOf(3000.0), null);
 
         Asset ethAsset = new Asset();
         ethAsset.setId(2L);
         ethAsset.setToken(ethToken);
         ethAsset.setQuantity(BigDecimal.valueOf(2.0));
-        wallet.getAssets().add(ethAsset);
+        wallet.addAsset(ethAsset);
         
         when(addAssetUseCase.addAsset(walletId, "ETH", 2.0)).thenReturn(wallet);
 
@@ -143,10 +161,11 @@ class WalletControllerTest {
     @Test
     void getWallet_ShouldReturnWalletResponse() {
         // Arrange
-        when(getWalletUseCase.getWallet(walletId)).thenReturn(wallet);
+        when(getWalletUseCase.getWallet(walletId)).thenReturn(new WalletView(walletId, email,
+                List.of(new AssetView("BTC", BigDecimal.valueOf(0.5), BigDecimal.valueOf(50000.0)))));
 
         // Act
-        WalletResponse response = walletController.getWallet(walletId);
+        WalletResponse response = (WalletResponse) walletController.getWallet(walletId).getBody();
 
         // Assert
         assertNotNull(response);
@@ -161,6 +180,22 @@ class WalletControllerTest {
         verify(getWalletUseCase).getWallet(walletId);
     }
 
+    @Test
+    void getWallet_WithJsonFastPath_ShouldReturnJsonRenderedByDatabase() {
+        // Arrange
+        ReflectionTestUtils.setField(walletController, "jsonFastPath", true);
+        byte[] json = "{\"id\":1,\"total\":0.00,\"assets\":[]}".getBytes(StandardCharsets.UTF_8);
+        when(getWalletUseCase.getWalletJson(walletId)).thenReturn(json);
+
+        // Act
+        ResponseEntity<?> response = walletController.getWallet(walletId);
+
+        // Assert
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertSame(json, response.getBody());
+        verify(getWalletUseCase, never()).getWallet(walletId);
+    }
+
     @Test
     void deleteWallet_ShouldReturnNoContent() {
 
@@ -194,7 +229,7 @@ class WalletControllerTest {
         assertNotNull(response);
         assertEquals(walletId, response.getId());
         assertEquals(0, response.getAssets().size());
-        assertEquals(BigDecimal.ZERO, response.getTotal());
+        assertEquals(Money.ZERO, response.getTotal());
         
         verify(deleteAssetUseCase).deleteAsset(walletId, symbol);
     }
@@ -216,7 +251,7 @@ class WalletControllerTest {
         assetSimulation.setValue(BigDecimal.valueOf(50000));
 
         var simulationResult = new WalletSimulationResult();
-        simulationResult.setTotal(BigDecimal.valueOf(50000));
+        simulationResult.setTotal(Money.of(BigDecimal.valueOf(50000)));
         simulationResult.setBestAsset("BTC");
         simulationResult.setBestPerformance(BigDecimal.valueOf(10));
         simulationResult.setWorstAsset("BTC");
@@ -226,7 +261,8 @@ class WalletControllerTest {
             SimulateWalletProfitUseCase.class
         );
         var controller = new WalletController(
-            createWalletUseCase, addAssetUseCase, getWalletUseCase, deleteWalletUseCase, deleteAssetUseCase, simulateWalletProfitUseCase
+            createWalletUseCase, addAssetUseCase, getWalletUseCase, deleteWalletUseCase, deleteAssetUseCase, simulateWalletProfitUseCase,
+            simulateWalletRiskUseCase, getWalletAnalyticsUseCase, backtestStrategiesUseCase, importWalletsUseCase, exportWalletsUseCase, listWalletsUseCase, new com.fasterxml.jackson.databind.ObjectMapper()
         );
 
         org.mockito.Mockito.when(
@@ -241,7 +277,7 @@ class WalletControllerTest {
 
         // Assert
         assertNotNull(response);
-        assertEquals(BigDecimal.valueOf(50000), response.getTotal());
+        assertEquals(Money.of(BigDecimal.valueOf(50000)), response.getTotal());
         assertEquals("BTC", response.getBestAsset());
         assertEquals(BigDecimal.valueOf(10), response.getBestPerformance());
         assertEquals("BTC", response.getWorstAsset());
@@ -0,0 +1,76 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest;
+
+import org.junit.jupiter.api.Test;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportRow;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class WalletImportParserTest {
+
+    @Test
+    void csv_WithQuotedFields_ShouldUnquoteThem() {
+        // Act
+        List<WalletImportRow> rows = csv("\"alice@example.com\",\"BTC\",\"0.5\"\n\"a\"\"b@example.com\",\"X,Y\",1\n");
+
+        // Assert
+        assertRow(rows.get(0), 1, "alice@example.com", "BTC", "0.5");
+        assertRow(rows.get(1), 2, "a\"b@example.com", "X,Y", "1");
+    }
+
+    @Test
+    void csv_WithTheExportLayout_ShouldMapTheColumnsByHeader() {
+        // Act
+        List<WalletImportRow> rows = csv(WalletResponses.CSV_HEADER
+                + "1,alice@example.com,BTC,0.5,50000,25000.00\n"
+                + "2,\"bob,jr@example.com\",,,,\n");
+
+        // Assert
+        assertEquals(2, rows.size());
+        assertRow(rows.get(0), 2, "alice@example.com", "BTC", "0.5");
+        assertRow(rows.get(1), 3, "bob,jr@example.com", "", "");
+    }
+
+    @Test
+    void csv_WithoutHeader_ShouldReadEmailSymbolAndQuantity() {
+        // Act
+        List<WalletImportRow> rows = csv("alice@example.com,BTC,0.5\n\nbob@example.com\n");
+
+        // Assert
+        assertEquals(2, rows.size());
+        assertRow(rows.get(0), 1, "alice@example.com", "BTC", "0.5");
+        assertRow(rows.get(1), 3, "bob@example.com", null, null);
+    }
+
+    @Test
+    void csv_WithUnclosedQuoteOrWrongColumnCount_ShouldRejectTheRow() {
+        // Act
+        List<WalletImportRow> rows = csv("email,symbol,quantity\n\"alice@example.com,BTC,0.5\nbob@example.com,BTC\n");
+
+        // Assert
+        assertEquals(2, rows.size());
+        assertRow(rows.get(0), 2, null, null, null);
+        assertRow(rows.get(1), 3, null, null, null);
+    }
+
+    @Test
+    void fields_WithUnclosedQuote_ShouldReturnNull() {
+        assertNull(WalletImportParser.fields("\"a,b"));
+        assertEquals(List.of("", "", ""), WalletImportParser.fields(",\"\","));
+    }
+
+    private static List<WalletImportRow> csv(String text) {
+        return WalletImportParser.csv(new BufferedReader(new StringReader(text))).toList();
+    }
+
+    private static void assertRow(WalletImportRow row, long line, String email, String symbol, String quantity) {
+        assertEquals(line, row.getLine());
+        assertEquals(email, row.getEmail());
+        assertEquals(symbol, row.getSymbol());
+        assertEquals(quantity, row.getQuantity());
+    }
+}
@@ -0,0 +1,179 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceProviderPort;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the bulk import, which stages rows with {@code COPY} and merges them with PostgreSQL-only SQL,
+ * against the database in {@code CRYPTO_TEST_DB_URL}, like {@link WalletJsonFastPathConsistencyTest}.
+ */
+@SpringBootTest(properties = "crypto.price-update-interval=999999999")
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "CRYPTO_TEST_DB_URL", matches = ".+")
+class WalletImportPostgresIntegrationTest {
+    private static final String EMAIL_PREFIX = "wallet-import-pg-";
+    private static final String SYMBOL_PREFIX = "WIPG";
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("CRYPTO_TEST_DB_URL"));
+        registry.add("spring.datasource.username", () -> env("CRYPTO_TEST_DB_USER", "crypto"));
+        registry.add("spring.datasource.password", () -> env("CRYPTO_TEST_DB_PASSWORD", "crypto"));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private PriceProviderPort priceProvider;
+
+    private final ObjectMapper reader = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        jdbcTemplate.update("INSERT INTO token (id, symbol, price, last_updated) VALUES (?, ?, 10, now())",
+                EMAIL_PREFIX + "a", SYMBOL_PREFIX + "A");
+        when(priceProvider.getTokens(any())).thenReturn(Map.of(SYMBOL_PREFIX + "N",
+                new Token(EMAIL_PREFIX + "n", SYMBOL_PREFIX + "N", new BigDecimal("2.5"), null)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM wallet WHERE email LIKE ?", EMAIL_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM token WHERE id LIKE ?", EMAIL_PREFIX + "%");
+    }
+
+    @Test
+    void importWallets_ShouldCreateThenUpdateOneAssetPerWalletAndToken() throws Exception {
+        JsonNode created = importCsv("email,symbol,quantity\n"
+                + "\"" + email("alice") + "\",\"" + SYMBOL_PREFIX + "A\",\"1.5\"\n"
+                + email("alice") + "," + SYMBOL_PREFIX + "A,0.5\n"
+                + email("alice") + "," + SYMBOL_PREFIX + "N,2\n"
+                + email("bob") + "\n");
+
+        assertEquals(4, created.get("rowsImported").asLong(), created::toString);
+        assertEquals(2, created.get("walletsCreated").asLong());
+        assertEquals(2, created.get("assetsCreated").asLong());
+        assertEquals(0, created.get("assetsUpdated").asLong());
+
+        JsonNode updated = importCsv(email("alice") + "," + SYMBOL_PREFIX + "A,1\n");
+
+        assertEquals(0, updated.get("assetsCreated").asLong());
+        assertEquals(1, updated.get("assetsUpdated").asLong());
+        assertEquals(Map.of(SYMBOL_PREFIX + "A", new BigDecimal("3"), SYMBOL_PREFIX + "N", new BigDecimal("2")),
+                quantities("alice"));
+        assertEquals(2L, walletVersion("alice"));
+    }
+
+    @Test
+    void importWallets_WithTheExportedCsv_ShouldAddTheExportedQuantities() throws Exception {
+        importCsv(email("alice") + "," + SYMBOL_PREFIX + "A,1.5\n" + "\"" + email("bob") + "\"\n");
+        MvcResult export = mockMvc.perform(get("/api/wallets/export").accept(WalletController.TEXT_CSV))
+                .andReturn();
+        String exported = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String ours = exported.lines()
+                .filter(line -> line.startsWith("wallet_id,") || line.contains(EMAIL_PREFIX))
+                .collect(Collectors.joining("\n", "", "\n"));
+
+        JsonNode reimported = importCsv(ours);
+
+        assertEquals(2, reimported.get("rowsImported").asLong(), reimported::toString);
+        assertEquals(0, reimported.get("rowsRejected").asLong());
+        assertEquals(0, reimported.get("walletsCreated").asLong());
+        assertEquals(1, reimported.get("assetsUpdated").asLong());
+        assertEquals(Map.of(SYMBOL_PREFIX + "A", new BigDecimal("3")), quantities("alice"));
+    }
+
+    @Test
+    void importWallets_WhenConcurrent_ShouldSumIntoASingleAsset() throws Exception {
+        importCsv(email("alice") + "\n");
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<JsonNode> importOne = () -> {
+            start.await();
+            return importCsv(email("alice") + "," + SYMBOL_PREFIX + "A,1\n");
+        };
+
+        List<Future<JsonNode>> imports;
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            imports = List.of(executor.submit(importOne), executor.submit(importOne),
+                    executor.submit(importOne), executor.submit(importOne));
+            start.countDown();
+        }
+
+        long assetsCreated = 0;
+        for (Future<JsonNode> result : imports) {
+            assetsCreated += result.get().get("assetsCreated").asLong();
+        }
+        assertEquals(1, assetsCreated);
+        assertEquals(Map.of(SYMBOL_PREFIX + "A", new BigDecimal("4")), quantities("alice"));
+    }
+
+    private JsonNode importCsv(String csv) throws Exception {
+        String body = mockMvc.perform(post("/api/wallets/import")
+                        .contentType(WalletController.TEXT_CSV)
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return reader.readTree(body);
+    }
+
+    private Map<String, BigDecimal> quantities(String name) {
+        return jdbcTemplate.query("SELECT t.symbol, a.quantity FROM asset a JOIN token t ON t.id = a.token_id"
+                        + " JOIN wallet w ON w.id = a.wallet_id WHERE w.email = ?",
+                (rs, row) -> Map.entry(rs.getString(1), rs.getBigDecimal(2).stripTrailingZeros()), email(name))
+                .stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private Long walletVersion(String name) {
+        return jdbcTemplate.queryForObject("SELECT version FROM wallet WHERE email = ?", Long.class, email(name));
+    }
+
+    private static String email(String name) {
+        return EMAIL_PREFIX + name + "@example.com";
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,141 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NumericNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceProviderPort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the JSON rendered by PostgreSQL for {@code GET /api/wallets/{id}} carries the same
+ * values as the response written by Jackson. The fast path only runs on PostgreSQL, so this test
+ * runs only when {@code CRYPTO_TEST_DB_URL} points to a PostgreSQL database it may migrate, e.g.
+ * {@code CRYPTO_TEST_DB_URL=jdbc:postgresql://localhost:5432/crypto_wallet_test}, with the
+ * credentials in {@code CRYPTO_TEST_DB_USER} and {@code CRYPTO_TEST_DB_PASSWORD}.
+ */
+@SpringBootTest(properties = "crypto.price-update-interval=999999999")
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "CRYPTO_TEST_DB_URL", matches = ".+")
+class WalletJsonFastPathConsistencyTest {
+    private static final String TOKEN_PREFIX = "json-consistency-";
+
+    // Numbers are compared by value, the two paths may print them differently (1.000E-7 and 0.0000001000)
+    private static final Comparator<JsonNode> NUMERIC = (a, b) -> a instanceof NumericNode && b instanceof NumericNode
+            ? a.decimalValue().compareTo(b.decimalValue())
+            : Objects.equals(a, b) ? 0 : 1;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("CRYPTO_TEST_DB_URL"));
+        registry.add("spring.datasource.username", () -> env("CRYPTO_TEST_DB_USER", "crypto"));
+        registry.add("spring.datasource.password", () -> env("CRYPTO_TEST_DB_PASSWORD", "crypto"));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WalletController walletController;
+
+    @MockitoBean
+    private PriceProviderPort priceProvider;
+
+    private final ObjectMapper reader = new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private Long walletId;
+    private Long emptyWalletId;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        // Prices and quantities at the edges of the number formats and of the rounding to two decimals
+        Map<String, String> prices = Map.of(
+                "tiny", "0.0000001234",
+                "large", "123456789012.1234567891",
+                "half", "0.0050000000");
+        prices.forEach((name, price) -> jdbcTemplate.update(
+                "INSERT INTO token (id, symbol, price, last_updated) VALUES (?, ?, ?, now())",
+                TOKEN_PREFIX + name, TOKEN_PREFIX.toUpperCase() + name.toUpperCase(), new BigDecimal(price)));
+
+        walletId = createWallet("full");
+        addAsset(walletId, "tiny", "0.0000000001");
+        addAsset(walletId, "large", "1234567890.1234567890");
+        addAsset(walletId, "half", "3");
+        emptyWalletId = createWallet("empty");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM wallet WHERE email LIKE ?", TOKEN_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM token WHERE id LIKE ?", TOKEN_PREFIX + "%");
+        ReflectionTestUtils.setField(walletController, "jsonFastPath", false);
+    }
+
+    @Test
+    void getWallet_WithJsonFastPath_ShouldMatchJacksonResponse() throws Exception {
+        assertSameValues(walletId);
+    }
+
+    @Test
+    void getWallet_WithoutAssets_WithJsonFastPath_ShouldMatchJacksonResponse() throws Exception {
+        assertSameValues(emptyWalletId);
+    }
+
+    private void assertSameValues(Long id) throws Exception {
+        JsonNode expected = getWallet(id, false);
+        JsonNode actual = getWallet(id, true);
+
+        assertTrue(expected.equals(NUMERIC, actual), () -> "Expected " + expected + " but was " + actual);
+        assertEquals(expected.get("total").decimalValue().scale(), actual.get("total").decimalValue().scale());
+    }
+
+    private JsonNode getWallet(Long id, boolean jsonFastPath) throws Exception {
+        ReflectionTestUtils.setField(walletController, "jsonFastPath", jsonFastPath);
+        String body = mockMvc.perform(get("/api/wallets/{walletId}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return reader.readTree(body);
+    }
+
+    private Long createWallet(String name) {
+        return jdbcTemplate.queryForObject("INSERT INTO wallet (email) VALUES (?) RETURNING id", Long.class,
+                TOKEN_PREFIX + name + "@example.com");
+    }
+
+    private void addAsset(Long wallet, String token, String quantity) {
+        jdbcTemplate.update("INSERT INTO asset (wallet_id, token_id, quantity) VALUES (?, ?, ?)",
+                wallet, TOKEN_PREFIX + token, new BigDecimal(quantity));
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,43 @@
+package org.mbalves.sp.crypto.wallet.adapter.rest.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mbalves.sp.crypto.wallet.domain.Money;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MoneySerializerTest {
+
+    private ObjectMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new ObjectMapper();
+        mapper.registerModule(new SimpleModule()
+                .addSerializer(Money.class, new MoneySerializer()));
+    }
+
+    @Test
+    void testSerialize() throws JsonProcessingException {
+        String json = mapper.writeValueAsString(Money.of(new BigDecimal("123.4506789")));
+        assertEquals("123.45", json);
+    }
+
+    @Test
+    void testSerializeMatchesBigDecimalSerializer() throws JsonProcessingException {
+        ObjectMapper bigDecimalMapper = new ObjectMapper();
+        bigDecimalMapper.registerModule(new SimpleModule()
+                .addSerializer(BigDecimal.class, new MoneyValueSerializer()));
+
+        for (String value : new String[]{"0", "0.005", "-0.005", "-1.2345", "99.995", "123456789012345678.129"}) {
+            BigDecimal decimal = new BigDecimal(value);
+            assertEquals(bigDecimalMapper.writeValueAsString(decimal), mapper.writeValueAsString(Money.of(decimal)), value);
+        }
+    }
+
+}
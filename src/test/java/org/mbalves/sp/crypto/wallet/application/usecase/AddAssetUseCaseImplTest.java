@@ -1,5 +1,6 @@
 package org.mbalves.sp.crypto.wallet.application.usecase;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,10 +12,12 @@ import org.mbalves.sp.crypto.wallet.domain.Token;
 import org.mbalves.sp.crypto.wallet.domain.Wallet;
 import org.mbalves.sp.crypto.wallet.domain.exception.InsufficientFundsException;
 import org.mbalves.sp.crypto.wallet.domain.exception.InvalidTokenException;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletConcurrentModificationException;
 import org.mbalves.sp.crypto.wallet.domain.exception.WalletNotFoundException;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -23,9 +26,11 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -42,6 +47,9 @@ class AddAssetUseCaseImplTest {
     @Mock
     private PriceProviderPort priceProvider;
 
+    @Spy
+    private ConcurrentUpdateRetrier retrier = new ConcurrentUpdateRetrier(new SimpleMeterRegistry(), 3, 0);
+
     @InjectMocks
     private AddAssetUseCaseImpl addAssetUseCase;
 
@@ -62,17 +70,13 @@ class AddAssetUseCaseImplTest {
         wallet.setId(walletId);
         wallet.setEmail("test@example.com");
 
-        token = new Token();
-        token.setId("bitcoin");
-        token.setSymbol("BTC");
-        token.setPrice(BigDecimal.valueOf(price));
-        token.setLastUpdated(Instant.now());
+        token = new Token("bitcoin", "BTC", BigDecimal.valueOf(price), Instant.now());
     }
 
     @Test
     void addAsset_WhenWalletExistsAndTokenIsValid_ShouldAddAssetAndReturnWallet() {
         // Arrange
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
         when(priceProvider.getToken("BTC")).thenReturn(token);
         when(walletRepository.save(any(Wallet.class))).thenReturn(wallet);
         when(tokenRepository.save(any(Token.class))).thenReturn(token);
@@ -102,7 +106,7 @@ class AddAssetUseCaseImplTest {
     @Test
     void addAsset_WhenTokenIsInvalid_ShouldThrowException() {
         // Arrange
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
         when(priceProvider.getToken("BTC")).thenReturn(null);
 
         // Act & Assert
@@ -120,7 +124,7 @@ class AddAssetUseCaseImplTest {
     @Test
     void addAsset_WhenWalletDoesNotExist_ShouldThrowWalletNotFoundException() {
         // Arrange
-        when(walletRepository.findById(walletId)).thenReturn(Optional.empty());
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.empty());
 
         // Act & Assert
         WalletNotFoundException exception = assertThrows(
@@ -128,7 +132,7 @@ class AddAssetUseCaseImplTest {
                 () -> addAssetUseCase.addAsset(walletId, symbol, quantity)
         );
         assertEquals("Wallet not found with ID: 1", exception.getMessage());
-        verify(walletRepository).findById(walletId);
+        verify(walletRepository).findByIdForUpdate(walletId);
         verifyNoMoreInteractions(walletRepository, priceProvider);
     }
 
@@ -140,7 +144,7 @@ class AddAssetUseCaseImplTest {
         existingAsset.setToken(token);
         existingAsset.setQuantity(BigDecimal.valueOf(1.0));
         wallet.addAsset(existingAsset);
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
         when(priceProvider.getToken("BTC")).thenReturn(token);
         when(tokenRepository.save(any(Token.class))).thenReturn(token);
         when(walletRepository.save(any(Wallet.class))).thenReturn(wallet);
@@ -163,7 +167,7 @@ class AddAssetUseCaseImplTest {
     @Test
     void addAsset_WhenAssetAlreadyExistsAndQuantityBecomesNegative_ShouldThrowInsufficientFundsException() {
         // Arrange
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
         when(priceProvider.getToken("BTC")).thenReturn(token);
         when(tokenRepository.save(any(Token.class))).thenReturn(token);
 
@@ -183,4 +187,44 @@ class AddAssetUseCaseImplTest {
         verify(walletRepository, never()).save(any());
     }
 
+    @Test
+    void addAsset_WhenSaveConflicts_ShouldRetryWithFreshWallet() {
+        // Arrange
+        Wallet fresh = new Wallet();
+        fresh.setId(walletId);
+        fresh.setEmail("test@example.com");
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet)).thenReturn(Optional.of(fresh));
+        when(priceProvider.getToken("BTC")).thenReturn(token);
+        when(tokenRepository.save(any(Token.class))).thenReturn(token);
+        when(walletRepository.save(any(Wallet.class)))
+                .thenThrow(new WalletConcurrentModificationException(walletId))
+                .thenReturn(fresh);
+
+        // Act
+        Wallet result = addAssetUseCase.addAsset(walletId, symbol, quantity);
+
+        // Assert
+        assertSame(fresh, result);
+        assertEquals(1, fresh.getAssets().size());
+        verify(walletRepository, times(2)).findByIdForUpdate(walletId);
+        verify(walletRepository, times(2)).save(any(Wallet.class));
+        verify(priceProvider).getToken("BTC");
+    }
+
+    @Test
+    void addAsset_WhenSaveKeepsConflicting_ShouldGiveUpAfterMaxAttempts() {
+        // Arrange
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
+        when(priceProvider.getToken("BTC")).thenReturn(token);
+        when(tokenRepository.save(any(Token.class))).thenReturn(token);
+        when(walletRepository.save(any(Wallet.class)))
+                .thenThrow(new WalletConcurrentModificationException(walletId));
+
+        // Act & Assert
+        assertThrows(
+                WalletConcurrentModificationException.class,
+                () -> addAssetUseCase.addAsset(walletId, symbol, quantity)
+        );
+        verify(walletRepository, times(3)).save(any(Wallet.class));
+    }
 }
@@ -0,0 +1,159 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceHistoryRepositoryPort;
+import org.mbalves.sp.crypto.wallet.application.port.out.TokenRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.Backtest;
+import org.mbalves.sp.crypto.wallet.domain.BacktestResult;
+import org.mbalves.sp.crypto.wallet.domain.BuyRule;
+import org.mbalves.sp.crypto.wallet.domain.BuyStrategy;
+import org.mbalves.sp.crypto.wallet.domain.PricePoint;
+import org.mbalves.sp.crypto.wallet.domain.PriceResolution;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidBuyRuleException;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidSimulationRangeException;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidTokenException;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BacktestStrategiesUseCaseImplTest {
+
+    @Mock
+    private TokenRepositoryPort tokenRepository;
+
+    @Mock
+    private PriceHistoryRepositoryPort priceHistoryRepository;
+
+    private final LocalDate today = LocalDate.of(2025, 6, 1);
+    private final LocalDate start = LocalDate.of(2025, 5, 1);
+    private final DcaBacktestEngine engine = new DcaBacktestEngine(2);
+    private BacktestStrategiesUseCaseImpl backtestStrategiesUseCase;
+
+    private Token btcToken;
+    private Token ethToken;
+
+    @BeforeEach
+    void setUp() {
+        backtestStrategiesUseCase = new BacktestStrategiesUseCaseImpl(tokenRepository, priceHistoryRepository, engine,
+                Clock.fixed(today.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC), 365, 10);
+        btcToken = new Token("bitcoin", "BTC", BigDecimal.valueOf(50000.0), null);
+        ethToken = new Token("ethereum", "ETH", BigDecimal.valueOf(2500.0), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void backtest_ShouldReadEachTokenHistoryOnceForAllStrategies() {
+        when(tokenRepository.findBySymbol("BTC")).thenReturn(Optional.of(btcToken));
+        when(tokenRepository.findBySymbol("ETH")).thenReturn(Optional.of(ethToken));
+        when(priceHistoryRepository.findPrices("bitcoin", instant(start), instant(start.plusDays(10))))
+                .thenReturn(List.of(price(start, 100.0)));
+        when(priceHistoryRepository.findPrices("ethereum", instant(start), instant(start.plusDays(10))))
+                .thenReturn(List.of(price(start, 10.0)));
+
+        Backtest backtest = backtestStrategiesUseCase.backtest(List.of(
+                strategy(new BuyRule("BTC", new BigDecimal("100"), 7)),
+                strategy(new BuyRule("BTC", new BigDecimal("50"), 1), new BuyRule("ETH", new BigDecimal("20"), 3))),
+                start, start.plusDays(9));
+
+        assertEquals(10, backtest.getDates().size());
+        assertEquals(start, backtest.getDates().getFirst());
+        assertEquals(start.plusDays(9), backtest.getDates().getLast());
+        assertEquals(2, backtest.getResults().size());
+        assertEquals(200.0, backtest.getResults().get(0).getInvested());
+        assertEquals(580.0, backtest.getResults().get(1).getInvested());
+        verify(priceHistoryRepository, times(1)).findPrices("bitcoin", instant(start), instant(start.plusDays(10)));
+        verify(priceHistoryRepository, times(1)).findPrices("ethereum", instant(start), instant(start.plusDays(10)));
+    }
+
+    @Test
+    void backtest_ShouldUseTheLastPriceOfEachDayAndCarryItForward() {
+        when(tokenRepository.findBySymbol("BTC")).thenReturn(Optional.of(btcToken));
+        when(priceHistoryRepository.findPrices("bitcoin", instant(start), instant(start.plusDays(4))))
+                .thenReturn(List.of(price(start, 90.0), price(start.atTime(20, 0), 100.0),
+                        price(start.plusDays(2), 200.0)));
+
+        BacktestResult result = backtestStrategiesUseCase.backtest(
+                List.of(strategy(new BuyRule("BTC", new BigDecimal("100"), 1))), start, start.plusDays(3)).getResults().getFirst();
+
+        // Bought 1 unit on each of the first two days and half a unit on each of the last two
+        assertEquals(400.0, result.getInvested());
+        assertEquals(600.0, result.getFinalValue());
+    }
+
+    @Test
+    void backtest_WhenFirstDayHasNoPrice_ShouldThrowInvalidTokenException() {
+        when(tokenRepository.findBySymbol("BTC")).thenReturn(Optional.of(btcToken));
+        when(priceHistoryRepository.findPrices(any(), any(), any()))
+                .thenReturn(List.of(price(start.plusDays(1), 100.0)));
+
+        assertThrows(InvalidTokenException.class, () -> backtestStrategiesUseCase.backtest(
+                List.of(strategy(new BuyRule("BTC", new BigDecimal("100"), 1))), start, start.plusDays(3)));
+    }
+
+    @Test
+    void backtest_WhenTokenIsUnknown_ShouldThrowInvalidTokenException() {
+        when(tokenRepository.findBySymbol("XYZ")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidTokenException.class, () -> backtestStrategiesUseCase.backtest(
+                List.of(strategy(new BuyRule("XYZ", new BigDecimal("100"), 1))), start, today));
+    }
+
+    @Test
+    void backtest_WhenRulesOrRangeAreInvalid_ShouldThrowBeforeReadingPrices() {
+        List<BuyStrategy> valid = List.of(strategy(new BuyRule("BTC", new BigDecimal("100"), 7)));
+
+        assertThrows(InvalidBuyRuleException.class, () -> backtestStrategiesUseCase.backtest(
+                List.of(strategy(new BuyRule("BTC", BigDecimal.ZERO, 7))), start, today));
+        assertThrows(InvalidBuyRuleException.class, () -> backtestStrategiesUseCase.backtest(
+                List.of(strategy(new BuyRule("BTC", new BigDecimal("100"), 0))), start, today));
+        assertThrows(InvalidBuyRuleException.class, () -> backtestStrategiesUseCase.backtest(List.of(), start, today));
+        assertThrows(InvalidSimulationRangeException.class,
+                () -> backtestStrategiesUseCase.backtest(valid, today, start));
+        assertThrows(InvalidSimulationRangeException.class,
+                () -> backtestStrategiesUseCase.backtest(valid, start, today.plusDays(1)));
+        assertThrows(InvalidSimulationRangeException.class,
+                () -> backtestStrategiesUseCase.backtest(valid, today.minusDays(366), today));
+        verify(priceHistoryRepository, never()).findPrices(any(), any(), any());
+    }
+
+    private static BuyStrategy strategy(BuyRule... rules) {
+        return new BuyStrategy(List.of(rules));
+    }
+
+    private static Instant instant(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static PricePoint price(LocalDate date, double price) {
+        return price(date.atTime(12, 0), price);
+    }
+
+    private static PricePoint price(LocalDateTime time, double price) {
+        return new PricePoint(time.toInstant(ZoneOffset.UTC), BigDecimal.valueOf(price), PriceResolution.TICK);
+    }
+}
@@ -0,0 +1,166 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mbalves.sp.crypto.wallet.domain.AssetSimulation;
+import org.mbalves.sp.crypto.wallet.domain.Money;
+import org.mbalves.sp.crypto.wallet.domain.PriceEpoch;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationResult;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidSimulationRangeException;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidTokenException;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingSimulateWalletProfitUseCaseTest {
+
+    @Mock
+    private SimulateWalletProfitUseCaseImpl delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingSimulateWalletProfitUseCase simulateWalletProfitUseCase;
+
+    private final LocalDate pastDate = LocalDate.of(2025, 1, 1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        simulateWalletProfitUseCase = new CachingSimulateWalletProfitUseCase(delegate, meterRegistry, 100, 60000);
+    }
+
+    @Test
+    void simulateProfit_WithSameAssetsInAnotherOrderAndScale_ShouldSimulateOnce() {
+        WalletSimulationResult result = result("37000.00");
+        when(delegate.simulateProfit(List.of(asset("BTC", 1.0, "30000"), asset("ETH", 2.0, "4800")), pastDate))
+                .thenReturn(result);
+
+        WalletSimulationResult first = simulateWalletProfitUseCase.simulateProfit(
+                List.of(asset("ETH", 2.0, "4800"), asset("BTC", 1.0, "30000")), pastDate);
+        WalletSimulationResult second = simulateWalletProfitUseCase.simulateProfit(
+                List.of(asset("BTC", 1.0, "30000.00"), asset("ETH", 2.0, "4800.0")), pastDate);
+
+        assertSame(result, first);
+        assertSame(result, second);
+        verify(delegate, times(1)).simulateProfit(any(), any());
+        assertEquals(1.0, gets("hit"));
+        assertEquals(1.0, gets("miss"));
+    }
+
+    @Test
+    void simulateProfit_WithAnotherDateOrQuantity_ShouldSimulateAgain() {
+        when(delegate.simulateProfit(any(), any())).thenReturn(result("35000.00"));
+
+        simulateWalletProfitUseCase.simulateProfit(List.of(asset("BTC", 1.0, "30000")), pastDate);
+        simulateWalletProfitUseCase.simulateProfit(List.of(asset("BTC", 1.0, "30000")), pastDate.plusDays(1));
+        simulateWalletProfitUseCase.simulateProfit(List.of(asset("BTC", 2.0, "30000")), pastDate);
+
+        verify(delegate, times(3)).simulateProfit(any(), any());
+        assertEquals(0.0, gets("hit"));
+    }
+
+    @Test
+    void simulateProfit_ForToday_ShouldSimulateAgainAfterPricesAreUpdated() {
+        LocalDate today = LocalDate.now();
+        when(delegate.simulateProfit(any(), eq(today))).thenReturn(result("35000.00"));
+
+        simulateWalletProfitUseCase.simulateProfit(List.of(asset("BTC", 1.0, "30000")), today);
+        simulateWalletProfitUseCase.simulateProfit(List.of(asset("BTC", 1.0, "30000")), today);
+        PriceEpoch.advance();
+        simulateWalletProfitUseCase.simulateProfit(List.of(asset("BTC", 1.0, "30000")), today);
+
+        verify(delegate, times(2)).simulateProfit(any(), eq(today));
+        assertEquals(1.0, gets("hit"));
+    }
+
+    @Test
+    void simulateProfit_ForPastDate_ShouldNotDependOnPriceUpdates() {
+        when(delegate.simulateProfit(any(), eq(pastDate))).thenReturn(result("35000.00"));
+
+        simulateWalletProfitUseCase.simulateProfit(List.of(asset("BTC", 1.0, "30000")), pastDate);
+        PriceEpoch.advance();
+        simulateWalletProfitUseCase.simulateProfit(List.of(asset("BTC", 1.0, "30000")), pastDate);
+
+        verify(delegate, times(1)).simulateProfit(any(), eq(pastDate));
+    }
+
+    @Test
+    void simulateProfit_WhenSimulationFails_ShouldNotCacheTheFailure() {
+        when(delegate.simulateProfit(any(), any()))
+                .thenThrow(new InvalidTokenException("XYZ"))
+                .thenReturn(result("10.00"));
+
+        assertThrows(InvalidTokenException.class,
+                () -> simulateWalletProfitUseCase.simulateProfit(List.of(asset("XYZ", 1.0, "10")), pastDate));
+        WalletSimulationResult result = simulateWalletProfitUseCase.simulateProfit(List.of(asset("XYZ", 1.0, "10")), pastDate);
+
+        assertEquals(Money.of(new BigDecimal("10.00")), result.getTotal());
+        verify(delegate, times(2)).simulateProfit(any(), any());
+    }
+
+    @Test
+    void simulateProfit_WhenAnAssetIsInvalid_ShouldPassItToTheSimulationWithoutCaching() {
+        AssetSimulation missingQuantity = new AssetSimulation();
+        missingQuantity.setSymbol("BTC");
+        missingQuantity.setValue(new BigDecimal("30000"));
+        AssetSimulation missingValue = asset("ETH", 1.0, "3000");
+        missingValue.setValue(null);
+        List<AssetSimulation> assets = List.of(asset("BTC", 1.0, "30000"), missingQuantity, missingValue);
+        when(delegate.simulateProfit(assets, pastDate))
+                .thenThrow(new InvalidSimulationRangeException("Quantity and value must be positive for symbol: BTC"));
+
+        assertThrows(InvalidSimulationRangeException.class,
+                () -> simulateWalletProfitUseCase.simulateProfit(assets, pastDate));
+
+        assertEquals(0, simulateWalletProfitUseCase.size());
+    }
+
+    @Test
+    void simulateProfit_WhenCacheIsFull_ShouldEvictResults() {
+        simulateWalletProfitUseCase = new CachingSimulateWalletProfitUseCase(delegate, new SimpleMeterRegistry(), 2, 60000);
+        when(delegate.simulateProfit(any(), any())).thenReturn(result("1.00"));
+
+        for (int i = 0; i < 50; i++) {
+            simulateWalletProfitUseCase.simulateProfit(List.of(asset("BTC", 1.0 + i, "30000")), pastDate);
+        }
+
+        assertEquals(2, simulateWalletProfitUseCase.size());
+        simulateWalletProfitUseCase.simulateProfit(List.of(asset("BTC", 1.0, "30000")), pastDate);
+        verify(delegate, times(51)).simulateProfit(any(), any());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CachingSimulateWalletProfitUseCase.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter().count();
+    }
+
+    private static AssetSimulation asset(String symbol, double quantity, String value) {
+        AssetSimulation asset = new AssetSimulation();
+        asset.setSymbol(symbol);
+        asset.setQuantity(quantity);
+        asset.setValue(new BigDecimal(value));
+        return asset;
+    }
+
+    private static WalletSimulationResult result(String total) {
+        WalletSimulationResult result = new WalletSimulationResult();
+        result.setTotal(Money.of(new BigDecimal(total)));
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceHistoryRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.PriceResolution;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompactPriceHistoryUseCaseImplTest {
+
+    @Mock
+    private PriceHistoryRepositoryPort priceHistoryRepository;
+
+    private CompactPriceHistoryUseCaseImpl compactPriceHistoryUseCase;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2026-10-19T03:15:00Z"), ZoneOffset.UTC);
+        compactPriceHistoryUseCase = new CompactPriceHistoryUseCaseImpl(priceHistoryRepository, clock,
+                Duration.ofDays(7), Duration.ofDays(90), Duration.ofDays(365), 2);
+    }
+
+    @Test
+    void compactPriceHistory_ShouldCreateCurrentAndUpcomingPartitions() {
+        // Arrange
+        when(priceHistoryRepository.findPartitions()).thenReturn(Map.of());
+
+        // Act
+        compactPriceHistoryUseCase.compactPriceHistory();
+
+        // Assert
+        verify(priceHistoryRepository).createPartition(YearMonth.of(2026, 10));
+        verify(priceHistoryRepository).createPartition(YearMonth.of(2026, 11));
+        verify(priceHistoryRepository).createPartition(YearMonth.of(2026, 12));
+        verify(priceHistoryRepository, never()).createPartition(YearMonth.of(2027, 1));
+    }
+
+    @Test
+    void compactPriceHistory_ShouldDownsampleAndDropPartitionsByAge() {
+        // Arrange
+        Map<YearMonth, PriceResolution> partitions = new LinkedHashMap<>();
+        partitions.put(YearMonth.of(2025, 9), PriceResolution.DAY);
+        partitions.put(YearMonth.of(2026, 6), PriceResolution.HOUR);
+        partitions.put(YearMonth.of(2026, 7), PriceResolution.TICK);
+        partitions.put(YearMonth.of(2026, 9), PriceResolution.TICK);
+        partitions.put(YearMonth.of(2026, 10), PriceResolution.TICK);
+        when(priceHistoryRepository.findPartitions()).thenReturn(partitions);
+
+        // Act
+        compactPriceHistoryUseCase.compactPriceHistory();
+
+        // Assert
+        verify(priceHistoryRepository).dropPartition(YearMonth.of(2025, 9));
+        verify(priceHistoryRepository).downsamplePartition(YearMonth.of(2026, 6), PriceResolution.DAY);
+        verify(priceHistoryRepository).downsamplePartition(YearMonth.of(2026, 7), PriceResolution.HOUR);
+        verify(priceHistoryRepository).downsamplePartition(YearMonth.of(2026, 9), PriceResolution.HOUR);
+        verify(priceHistoryRepository, never()).downsamplePartition(YearMonth.of(2026, 10), PriceResolution.HOUR);
+    }
+
+    @Test
+    void compactPriceHistory_WhenPartitionIsAlreadyCompacted_ShouldLeaveIt() {
+        // Arrange
+        when(priceHistoryRepository.findPartitions()).thenReturn(Map.of(YearMonth.of(2026, 9), PriceResolution.HOUR));
+
+        // Act
+        compactPriceHistoryUseCase.compactPriceHistory();
+
+        // Assert
+        verify(priceHistoryRepository, never()).downsamplePartition(any(), any());
+        verify(priceHistoryRepository, never()).dropPartition(any());
+    }
+
+    @Test
+    void compactPriceHistory_WhenOnePartitionFails_ShouldContinueWithTheOthers() {
+        // Arrange
+        Map<YearMonth, PriceResolution> partitions = new LinkedHashMap<>();
+        partitions.put(YearMonth.of(2026, 6), PriceResolution.HOUR);
+        partitions.put(YearMonth.of(2026, 9), PriceResolution.TICK);
+        when(priceHistoryRepository.findPartitions()).thenReturn(partitions);
+        doThrow(new RuntimeException("Lock timeout"))
+                .when(priceHistoryRepository).downsamplePartition(YearMonth.of(2026, 6), PriceResolution.DAY);
+
+        // Act
+        compactPriceHistoryUseCase.compactPriceHistory();
+
+        // Assert
+        verify(priceHistoryRepository).downsamplePartition(YearMonth.of(2026, 9), PriceResolution.HOUR);
+    }
+}
@@ -0,0 +1,83 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletConcurrentModificationException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConcurrentUpdateRetrierTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentUpdateRetrier retrier;
+    private final Long walletId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retrier = new ConcurrentUpdateRetrier(meterRegistry, 3, 0);
+    }
+
+    @Test
+    void execute_WhenNoConflict_ShouldRunOnce() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retrier.execute(walletId, attempt -> {
+            calls.incrementAndGet();
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(1, calls.get());
+        assertEquals(0.0, conflicts("retried"));
+        assertEquals(0.0, conflicts("exhausted"));
+    }
+
+    @Test
+    void execute_WhenConflictIsTransient_ShouldRetryAndCountConflict() {
+        String result = retrier.execute(walletId, attempt -> {
+            if (attempt == 1) {
+                throw new WalletConcurrentModificationException(walletId);
+            }
+            return "attempt " + attempt;
+        });
+
+        assertEquals("attempt 2", result);
+        assertEquals(1.0, conflicts("retried"));
+        assertEquals(0.0, conflicts("exhausted"));
+    }
+
+    @Test
+    void execute_WhenConflictPersists_ShouldGiveUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(WalletConcurrentModificationException.class, () -> retrier.execute(walletId, attempt -> {
+            calls.incrementAndGet();
+            throw new WalletConcurrentModificationException(walletId);
+        }));
+
+        assertEquals(3, calls.get());
+        assertEquals(2.0, conflicts("retried"));
+        assertEquals(1.0, conflicts("exhausted"));
+    }
+
+    @Test
+    void execute_WhenOtherExceptionIsThrown_ShouldNotRetry() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> retrier.execute(walletId, attempt -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("boom");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    private double conflicts(String outcome) {
+        return meterRegistry.get(ConcurrentUpdateRetrier.CONFLICTS_METRIC).tag("outcome", outcome).counter().count();
+    }
+}
@@ -15,9 +15,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,8 +42,7 @@ class CreateWalletUseCaseImplTest {
     @Test
     void createWallet_WhenEmailDoesNotExist_ShouldCreateAndReturnWallet() {
         // Arrange
-        when(walletRepository.findByEmail(email)).thenReturn(Optional.empty());
-        when(walletRepository.save(any(Wallet.class))).thenReturn(wallet);
+        when(walletRepository.createIfAbsent(email)).thenReturn(Optional.of(wallet));
 
         // Act
         Wallet result = createWalletUseCase.createWallet(email);
@@ -54,14 +52,14 @@ class CreateWalletUseCaseImplTest {
         assertEquals(email, result.getEmail());
         assertEquals(1L, result.getId());
         
-        verify(walletRepository).findByEmail(email);
-        verify(walletRepository).save(any(Wallet.class));
+        verify(walletRepository).createIfAbsent(email);
+        verifyNoMoreInteractions(walletRepository);
     }
 
     @Test
     void createWallet_WhenEmailAlreadyExists_ShouldThrowException() {
         // Arrange
-        when(walletRepository.findByEmail(email)).thenReturn(Optional.of(wallet));
+        when(walletRepository.createIfAbsent(email)).thenReturn(Optional.empty());
 
         // Act & Assert
         WalletAlreadyExistsException exception = assertThrows(
@@ -71,7 +69,7 @@ class CreateWalletUseCaseImplTest {
         
         assertEquals("Wallet already exists for email: " + email, exception.getMessage());
         
-        verify(walletRepository).findByEmail(email);
-        verify(walletRepository, never()).save(any(Wallet.class));
+        verify(walletRepository).createIfAbsent(email);
+        verifyNoMoreInteractions(walletRepository);
     }
 }
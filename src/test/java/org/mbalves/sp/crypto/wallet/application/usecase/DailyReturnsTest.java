@@ -0,0 +1,72 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceHistoryRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.PricePoint;
+import org.mbalves.sp.crypto.wallet.domain.PriceResolution;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailyReturnsTest {
+
+    @Mock
+    private PriceHistoryRepositoryPort priceHistoryRepository;
+
+    private final Instant from = Instant.parse("2025-01-01T00:00:00Z");
+    private final Instant to = Instant.parse("2025-01-10T00:00:00Z");
+
+    @Test
+    void load_ShouldSkipTheReturnsAcrossMissingDays() {
+        // Arrange: no price on the 3rd, so the change from the 2nd to the 4th is not a daily return
+        when(priceHistoryRepository.findDailyPrices(List.of("bitcoin"), from, to)).thenReturn(Map.of("bitcoin", List.of(
+                price("2025-01-01", "100"), price("2025-01-02", "110"), price("2025-01-04", "200"), price("2025-01-05", "220"))));
+
+        // Act
+        double[][] logReturns = DailyReturns.load(priceHistoryRepository, List.of("bitcoin"), from, to);
+
+        // Assert
+        assertEquals(1, logReturns.length);
+        assertArrayEquals(new double[]{Math.log(1.1), Math.log(1.1)}, logReturns[0], 1e-12);
+    }
+
+    @Test
+    void load_ShouldAlignTheTokensOnTheDaysEveryTokenHasAPrice() {
+        // Arrange
+        when(priceHistoryRepository.findDailyPrices(List.of("bitcoin", "ethereum"), from, to)).thenReturn(Map.of(
+                "bitcoin", List.of(price("2025-01-01", "100"), price("2025-01-02", "200"), price("2025-01-03", "100")),
+                "ethereum", List.of(price("2025-01-02", "10"), price("2025-01-03", "20"), price("2025-01-04", "40"))));
+
+        // Act
+        double[][] logReturns = DailyReturns.load(priceHistoryRepository, List.of("bitcoin", "ethereum"), from, to);
+
+        // Assert
+        assertArrayEquals(new double[]{Math.log(0.5)}, logReturns[0], 1e-12);
+        assertArrayEquals(new double[]{Math.log(2.0)}, logReturns[1], 1e-12);
+    }
+
+    @Test
+    void load_WithoutTokens_ShouldNotReadTheHistory() {
+        // Act
+        double[][] logReturns = DailyReturns.load(priceHistoryRepository, List.of(), from, to);
+
+        // Assert
+        assertEquals(0, logReturns.length);
+        verifyNoInteractions(priceHistoryRepository);
+    }
+
+    private static PricePoint price(String day, String price) {
+        return new PricePoint(Instant.parse(day + "T00:00:00Z"), new BigDecimal(price), PriceResolution.DAY);
+    }
+}
@@ -0,0 +1,138 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mbalves.sp.crypto.wallet.domain.BacktestResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DcaBacktestEngineTest {
+
+    private final DcaBacktestEngine engine = new DcaBacktestEngine(4);
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void run_WithConstantPrices_ShouldKeepTheInvestedAmount() {
+        double[][] prices = {constant(15, 100.0)};
+
+        BacktestResult result = engine.run(prices, List.of(strategy(0, 100.0, 7)))[0];
+
+        assertEquals(300.0, result.getInvested());
+        assertEquals(300.0, result.getFinalValue());
+        assertEquals(0.0, result.getIrr());
+        assertEquals(0.0, result.getWorstDrawdown());
+        assertArrayEquals(new double[15], result.getDrawdowns());
+    }
+
+    @Test
+    void run_WhenPriceDoublesInAYear_ShouldReturnAHundredPercentPerYear() {
+        double[] prices = new double[366];
+        for (int day = 0; day < prices.length; day++) {
+            prices[day] = 100.0 + 100.0 * day / 365;
+        }
+
+        BacktestResult result = engine.run(new double[][]{prices}, List.of(strategy(0, 1000.0, 1000)))[0];
+
+        assertEquals(1000.0, result.getInvested());
+        assertEquals(2000.0, result.getFinalValue());
+        assertEquals(100.0, result.getIrr());
+        assertEquals(0.0, result.getWorstDrawdown());
+    }
+
+    @Test
+    void run_ShouldMeasureDrawdownsRegardlessOfPurchases() {
+        double[][] prices = {{100.0, 50.0, 100.0}};
+
+        BacktestResult result = engine.run(prices, List.of(strategy(0, 100.0, 1)))[0];
+
+        // 1 unit, then 2 units at half the price, all worth 100 again on the last day, plus the last purchase
+        assertEquals(300.0, result.getInvested());
+        assertEquals(400.0, result.getFinalValue());
+        assertEquals(-50.0, result.getWorstDrawdown());
+        assertArrayEquals(new double[]{0.0, -50.0, 0.0}, result.getDrawdowns());
+    }
+
+    @Test
+    void run_WithSeveralRules_ShouldBuyEachTokenOnItsOwnSchedule() {
+        double[][] prices = {constant(10, 100.0), constant(10, 10.0)};
+        prices[1][9] = 20.0;
+
+        BacktestResult result = engine.run(prices, List.of(new DcaBacktestEngine.Strategy(
+                new int[]{0, 1}, new double[]{100.0, 50.0}, new int[]{5, 3})))[0];
+
+        // Days 0 and 5 for the first token, days 0, 3, 6 and 9 for the second
+        assertEquals(400.0, result.getInvested());
+        assertEquals(200.0 + 3 * 5 * 20.0 + 50.0, result.getFinalValue());
+    }
+
+    @Test
+    void run_WhenEveryPurchaseIsOnTheLastDay_ShouldHaveNoRateOfReturn() {
+        BacktestResult result = engine.run(new double[][]{{100.0}}, List.of(strategy(0, 100.0, 1)))[0];
+
+        assertEquals(100.0, result.getFinalValue());
+        assertNull(result.getIrr());
+    }
+
+    @Test
+    void irr_ShouldDiscountThePurchasesToTheFinalValue() {
+        double[] spent = new double[731];
+        for (int day = 0; day < spent.length; day += 7) {
+            spent[day] = 100.0;
+        }
+
+        double rate = DcaBacktestEngine.irr(spent, 12_345.0) / 100;
+
+        double compounded = 0.0;
+        for (int day = 0; day < spent.length; day++) {
+            compounded += spent[day] * Math.pow(1 + rate, (spent.length - 1 - day) / 365.0);
+        }
+        assertEquals(12_345.0, compounded, 1.0);
+    }
+
+    @Test
+    void run_ShouldGiveTheSameResultsWhateverTheParallelism() {
+        Random random = new Random(42);
+        double[][] prices = new double[3][1826];
+        for (double[] tokenPrices : prices) {
+            tokenPrices[0] = 100.0;
+            for (int day = 1; day < tokenPrices.length; day++) {
+                tokenPrices[day] = tokenPrices[day - 1] * Math.exp(random.nextGaussian() * 0.03);
+            }
+        }
+        List<DcaBacktestEngine.Strategy> strategies = new ArrayList<>();
+        for (int s = 0; s < DcaBacktestEngine.STRATEGIES_PER_TASK * 5 + 3; s++) {
+            strategies.add(new DcaBacktestEngine.Strategy(new int[]{s % 3, (s + 1) % 3},
+                    new double[]{10.0 + s, 50.0}, new int[]{1 + s % 30, 7}));
+        }
+        DcaBacktestEngine sequential = new DcaBacktestEngine(1);
+        try {
+            BacktestResult[] expected = sequential.run(prices, strategies);
+            BacktestResult[] actual = engine.run(prices, strategies);
+
+            assertEquals(Arrays.asList(expected), Arrays.asList(actual));
+        } finally {
+            sequential.shutdown();
+        }
+    }
+
+    private static DcaBacktestEngine.Strategy strategy(int token, double amount, int intervalDays) {
+        return new DcaBacktestEngine.Strategy(new int[]{token}, new double[]{amount}, new int[]{intervalDays});
+    }
+
+    private static double[] constant(int days, double price) {
+        double[] prices = new double[days];
+        Arrays.fill(prices, price);
+        return prices;
+    }
+}
@@ -1,5 +1,6 @@
 package org.mbalves.sp.crypto.wallet.application.usecase;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,10 +9,12 @@ import org.mbalves.sp.crypto.wallet.domain.Asset;
 import org.mbalves.sp.crypto.wallet.domain.Token;
 import org.mbalves.sp.crypto.wallet.domain.Wallet;
 import org.mbalves.sp.crypto.wallet.domain.exception.AssetNotFoundException;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletConcurrentModificationException;
 import org.mbalves.sp.crypto.wallet.domain.exception.WalletNotFoundException;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -23,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +36,9 @@ class DeleteAssetUseCaseImplTest {
     @Mock
     private WalletRepositoryPort walletRepository;
 
+    @Spy
+    private ConcurrentUpdateRetrier retrier = new ConcurrentUpdateRetrier(new SimpleMeterRegistry(), 3, 0);
+
     @InjectMocks
     private DeleteAssetUseCaseImpl deleteAssetUseCase;
 
@@ -47,9 +54,7 @@ class DeleteAssetUseCaseImplTest {
         wallet.setAssets(new ArrayList<>());
 
         Asset asset = new Asset();
-        Token token = new Token();
-        token.setSymbol(symbol);
-        token.setPrice(BigDecimal.valueOf(50000.0));
+        Token token = new Token(null, symbol, BigDecimal.valueOf(50000.0), null);
         asset.setToken(token);
         asset.setQuantity(BigDecimal.valueOf(1.0));
         wallet.addAsset(asset);
@@ -58,7 +63,7 @@ class DeleteAssetUseCaseImplTest {
     @Test
     void deleteAsset_WhenWalletExists_ShouldDeleteAsset() {
         // Arrange
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
         when(walletRepository.save(any(Wallet.class))).thenReturn(wallet);
         ArgumentCaptor<Wallet> captor = ArgumentCaptor.forClass(Wallet.class);
 
@@ -66,7 +71,7 @@ class DeleteAssetUseCaseImplTest {
         deleteAssetUseCase.deleteAsset(walletId, symbol);
 
         // Assert
-        verify(walletRepository).findById(walletId);
+        verify(walletRepository).findByIdForUpdate(walletId);
         verify(walletRepository).save(captor.capture());
         Wallet captured = captor.getValue();
 
@@ -74,29 +79,62 @@ class DeleteAssetUseCaseImplTest {
         assertEquals(0, captured.getAssets().size());
     }
 
+    @Test
+    void deleteAsset_WithLowercaseSymbol_ShouldDeleteAsset() {
+        // Arrange
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
+        when(walletRepository.save(any(Wallet.class))).thenReturn(wallet);
+
+        // Act
+        Wallet result = deleteAssetUseCase.deleteAsset(walletId, "btc");
+
+        // Assert
+        assertEquals(0, result.getAssets().size());
+    }
+
     @Test
     void deleteAsset_WhenWalletDoesNotExist_ShouldThrowException() {
         // Arrange
-        when(walletRepository.findById(walletId)).thenReturn(Optional.empty());
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(WalletNotFoundException.class,
                 () -> deleteAssetUseCase.deleteAsset(walletId, symbol)
         );
-        verify(walletRepository).findById(walletId);
+        verify(walletRepository).findByIdForUpdate(walletId);
         verify(walletRepository, never()).save(any(Wallet.class));
     }
 
     @Test
     void deleteAsset_WhenAssetDoesNotExist_ShouldThrowException() {
         // Arrange
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
 
         // Act & Assert
         assertThrows(AssetNotFoundException.class,
                 () -> deleteAssetUseCase.deleteAsset(walletId, "ETH")
         );
-        verify(walletRepository).findById(walletId);
+        verify(walletRepository).findByIdForUpdate(walletId);
         verify(walletRepository, never()).save(any(Wallet.class));
     }
+
+    @Test
+    void deleteAsset_WhenSaveConflicts_ShouldRetryWithFreshWallet() {
+        // Arrange
+        Wallet fresh = new Wallet();
+        fresh.setId(walletId);
+        fresh.setAssets(new ArrayList<>(wallet.getAssets()));
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet)).thenReturn(Optional.of(fresh));
+        when(walletRepository.save(any(Wallet.class)))
+                .thenThrow(new WalletConcurrentModificationException(walletId))
+                .thenReturn(fresh);
+
+        // Act
+        Wallet result = deleteAssetUseCase.deleteAsset(walletId, symbol);
+
+        // Assert
+        assertEquals(0, result.getAssets().size());
+        verify(walletRepository, times(2)).findByIdForUpdate(walletId);
+        verify(walletRepository, times(2)).save(any(Wallet.class));
+    }
 }
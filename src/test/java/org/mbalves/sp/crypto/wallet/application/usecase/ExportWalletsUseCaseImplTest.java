@@ -0,0 +1,64 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportWalletsUseCaseImplTest {
+
+    @Mock
+    private WalletRepositoryPort walletRepository;
+
+    @InjectMocks
+    private ExportWalletsUseCaseImpl exportWalletsUseCase;
+
+    @Test
+    void exportWallets_ShouldPassEveryWalletToConsumerAndCloseStream() {
+        // Arrange
+        Wallet first = new Wallet();
+        first.setId(1L);
+        Wallet second = new Wallet();
+        second.setId(2L);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(walletRepository.streamAll()).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        List<Wallet> exported = new ArrayList<>();
+
+        // Act
+        long count = exportWalletsUseCase.exportWallets(exported::add);
+
+        // Assert
+        assertEquals(2, count);
+        assertEquals(List.of(first, second), exported);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportWallets_WhenConsumerFails_ShouldCloseStream() {
+        // Arrange
+        Wallet wallet = new Wallet();
+        wallet.setId(1L);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(walletRepository.streamAll()).thenReturn(Stream.of(wallet).onClose(() -> closed.set(true)));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> exportWalletsUseCase.exportWallets(w -> {
+            throw new IllegalStateException("Client disconnected");
+        }));
+        assertTrue(closed.get());
+    }
+}
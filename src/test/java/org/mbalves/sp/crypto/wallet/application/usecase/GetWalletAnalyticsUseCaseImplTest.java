@@ -0,0 +1,184 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceHistoryRepositoryPort;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.Asset;
+import org.mbalves.sp.crypto.wallet.domain.PriceEpoch;
+import org.mbalves.sp.crypto.wallet.domain.PricePoint;
+import org.mbalves.sp.crypto.wallet.domain.PriceResolution;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.WalletAnalytics;
+import org.mbalves.sp.crypto.wallet.domain.exception.InsufficientPriceHistoryException;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidSimulationRangeException;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletNotFoundException;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetWalletAnalyticsUseCaseImplTest {
+
+    @Mock
+    private WalletRepositoryPort walletRepository;
+
+    @Mock
+    private PriceHistoryRepositoryPort priceHistoryRepository;
+
+    private final Instant now = Instant.parse("2025-06-01T12:00:00Z");
+    private final PortfolioAnalyticsEngine engine = new PortfolioAnalyticsEngine(2);
+    private GetWalletAnalyticsUseCaseImpl getWalletAnalyticsUseCase;
+
+    private Token btcToken;
+    private Token ethToken;
+
+    @BeforeEach
+    void setUp() {
+        getWalletAnalyticsUseCase = new GetWalletAnalyticsUseCaseImpl(walletRepository, priceHistoryRepository, engine,
+                new SimpleMeterRegistry(), Clock.fixed(now, ZoneOffset.UTC), 365, 5, 0.0, 100, Duration.ofMinutes(5));
+        btcToken = new Token("bitcoin", "BTC", BigDecimal.valueOf(50000.0), null);
+        ethToken = new Token("ethereum", "ETH", BigDecimal.valueOf(2500.0), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void getAnalytics_ShouldWeighTheTokensAndUseOnlyTheDaysEveryTokenHasAPrice() {
+        Wallet wallet = wallet(asset(btcToken, "1"), asset(ethToken, "4"));
+        when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
+        List<PricePoint> ethPrices = new ArrayList<>(dailyPrices(30, 2500.0, 0.95, 1.05));
+        // Two days without ETH prices, so the return across them is skipped
+        ethPrices.subList(10, 12).clear();
+        when(priceHistoryRepository.findDailyPrices(List.of("bitcoin", "ethereum"), now.minus(Duration.ofDays(30)), now))
+                .thenReturn(Map.of("bitcoin", dailyPrices(30, 50000.0, 1.02, 0.98), "ethereum", ethPrices));
+
+        WalletAnalytics analytics = getWalletAnalyticsUseCase.getAnalytics(1L, 30);
+
+        assertEquals(30, analytics.getWindowDays());
+        assertEquals(26, analytics.getHistoryDays());
+        assertEquals(List.of("BTC", "ETH"), analytics.getSymbols());
+        assertEquals(2, analytics.getVolatilities().length);
+        assertTrue(analytics.getVolatilities()[1] > analytics.getVolatilities()[0]);
+        assertTrue(analytics.getVolatility() > 0.0);
+        assertTrue(analytics.getMaxDrawdown() > 0.0);
+        assertEquals(1.0, analytics.getCorrelations()[0][0]);
+        assertEquals(analytics.getCorrelations()[0][1], analytics.getCorrelations()[1][0]);
+    }
+
+    @Test
+    void getAnalytics_ShouldBeCachedUntilPricesAreUpdated() {
+        Wallet wallet = wallet(asset(btcToken, "1"));
+        when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
+        when(priceHistoryRepository.findDailyPrices(anyCollection(), any(), any()))
+                .thenReturn(Map.of("bitcoin", dailyPrices(30, 50000.0, 1.02, 0.98)));
+
+        WalletAnalytics first = getWalletAnalyticsUseCase.getAnalytics(1L, 30);
+        WalletAnalytics second = getWalletAnalyticsUseCase.getAnalytics(1L, 30);
+        PriceEpoch.advance();
+        WalletAnalytics third = getWalletAnalyticsUseCase.getAnalytics(1L, 30);
+
+        assertSame(first, second);
+        assertEquals(first, third);
+        verify(priceHistoryRepository, times(2)).findDailyPrices(anyCollection(), any(), any());
+    }
+
+    @Test
+    void getAnalytics_ForEmptyWallet_ShouldNotReadTheHistory() {
+        when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet()));
+
+        WalletAnalytics analytics = getWalletAnalyticsUseCase.getAnalytics(1L, 30);
+
+        assertEquals(0.0, analytics.getVolatility());
+        assertTrue(analytics.getSymbols().isEmpty());
+        verify(priceHistoryRepository, never()).findDailyPrices(anyCollection(), any(), any());
+    }
+
+    @Test
+    void getAnalytics_WhenHistoryIsTooShort_ShouldThrowInsufficientPriceHistoryException() {
+        when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet(asset(btcToken, "1"))));
+        when(priceHistoryRepository.findDailyPrices(anyCollection(), any(), eq(now)))
+                .thenReturn(Map.of("bitcoin", dailyPrices(4, 50000.0, 1.01)));
+
+        InsufficientPriceHistoryException exception = assertThrows(InsufficientPriceHistoryException.class,
+                () -> getWalletAnalyticsUseCase.getAnalytics(1L, 30));
+
+        assertEquals("Not enough price history to compute the analytics: 3 daily returns found, 5 required",
+                exception.getMessage());
+    }
+
+    @Test
+    void getAnalytics_WhenWindowIsOutOfRange_ShouldThrowInvalidSimulationRangeException() {
+        assertThrows(InvalidSimulationRangeException.class, () -> getWalletAnalyticsUseCase.getAnalytics(1L, 1));
+        assertThrows(InvalidSimulationRangeException.class, () -> getWalletAnalyticsUseCase.getAnalytics(1L, 366));
+        verify(walletRepository, never()).findById(any());
+    }
+
+    @Test
+    void getAnalytics_WhenWalletDoesNotExist_ShouldThrowWalletNotFoundException() {
+        when(walletRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(WalletNotFoundException.class, () -> getWalletAnalyticsUseCase.getAnalytics(1L, 30));
+    }
+
+    /**
+     * One price a day at the start of the day, each being the previous one times the next factor.
+     */
+    private List<PricePoint> dailyPrices(int days, double first, double... factors) {
+        List<PricePoint> prices = new ArrayList<>();
+        Instant day = now.minus(Duration.ofDays(days - 1)).truncatedTo(ChronoUnit.DAYS);
+        double close = first;
+        for (int i = 0; i < days; i++) {
+            prices.add(new PricePoint(day, BigDecimal.valueOf(close), PriceResolution.DAY));
+            close *= factors[i % factors.length];
+            day = day.plus(Duration.ofDays(1));
+        }
+        return prices;
+    }
+
+    private static Wallet wallet(Asset... assets) {
+        Wallet wallet = new Wallet();
+        wallet.setId(1L);
+        wallet.setVersion(0L);
+        for (Asset asset : assets) {
+            wallet.addAsset(asset);
+        }
+        return wallet;
+    }
+
+    private static Asset asset(Token token, String quantity) {
+        Asset asset = new Asset();
+        asset.setToken(token);
+        asset.setQuantity(new BigDecimal(quantity));
+        return asset;
+    }
+}
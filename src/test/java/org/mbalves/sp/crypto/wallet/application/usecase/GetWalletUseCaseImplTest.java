@@ -3,17 +3,20 @@ package org.mbalves.sp.crypto.wallet.application.usecase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
-import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletQueryPort;
+import org.mbalves.sp.crypto.wallet.domain.WalletView;
 import org.mbalves.sp.crypto.wallet.domain.exception.WalletNotFoundException;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -22,42 +25,40 @@ import static org.mockito.Mockito.when;
 class GetWalletUseCaseImplTest {
 
     @Mock
-    private WalletRepositoryPort walletRepository;
+    private WalletQueryPort walletQuery;
 
     @InjectMocks
     private GetWalletUseCaseImpl getWalletUseCase;
 
     private Long walletId;
-    private Wallet wallet;
+    private WalletView wallet;
 
     @BeforeEach
     void setUp() {
         walletId = 1L;
-        wallet = new Wallet();
-        wallet.setId(walletId);
-        wallet.setEmail("test@example.com");
+        wallet = new WalletView(walletId, "test@example.com", List.of());
     }
 
     @Test
     void getWallet_WhenWalletExists_ShouldReturnWallet() {
         // Arrange
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+        when(walletQuery.findById(walletId)).thenReturn(Optional.of(wallet));
 
         // Act
-        Wallet result = getWalletUseCase.getWallet(walletId);
+        WalletView result = getWalletUseCase.getWallet(walletId);
 
         // Assert
         assertNotNull(result);
-        assertEquals(walletId, result.getId());
-        assertEquals("test@example.com", result.getEmail());
+        assertEquals(walletId, result.id());
+        assertEquals("test@example.com", result.email());
         
-        verify(walletRepository).findById(walletId);
+        verify(walletQuery).findById(walletId);
     }
 
     @Test
     void getWallet_WhenWalletDoesNotExist_ShouldThrowException() {
         // Arrange
-        when(walletRepository.findById(walletId)).thenReturn(Optional.empty());
+        when(walletQuery.findById(walletId)).thenReturn(Optional.empty());
 
         // Act & Assert
         WalletNotFoundException exception = assertThrows(
@@ -67,6 +68,25 @@ class GetWalletUseCaseImplTest {
         
         assertEquals("Wallet not found with ID: " + walletId, exception.getMessage());
         
-        verify(walletRepository).findById(walletId);
+        verify(walletQuery).findById(walletId);
+    }
+
+    @Test
+    void getWalletJson_WhenWalletExists_ShouldReturnJson() {
+        // Arrange
+        byte[] json = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        when(walletQuery.findJsonById(walletId)).thenReturn(Optional.of(json));
+
+        // Act & Assert
+        assertSame(json, getWalletUseCase.getWalletJson(walletId));
+    }
+
+    @Test
+    void getWalletJson_WhenWalletDoesNotExist_ShouldThrowException() {
+        // Arrange
+        when(walletQuery.findJsonById(walletId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(WalletNotFoundException.class, () -> getWalletUseCase.getWalletJson(walletId));
     }
 }
@@ -0,0 +1,131 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceProviderPort;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletImportPort;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportError;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletImportRow;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportWalletsUseCaseImplTest {
+
+    @Mock
+    private WalletImportPort walletImport;
+
+    @Mock
+    private PriceProviderPort priceProvider;
+
+    private ImportWalletsUseCaseImpl importWalletsUseCase;
+
+    private final List<WalletImportRow> staged = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importWalletsUseCase = new ImportWalletsUseCaseImpl(walletImport, priceProvider, 2, 1000);
+        when(walletImport.stage(any())).thenAnswer(invocation -> {
+            Stream<WalletImportRow> rows = invocation.getArgument(0);
+            rows.forEach(staged::add);
+            return (long) staged.size();
+        });
+        when(walletImport.merge()).thenReturn(new WalletImportResult());
+    }
+
+    @Test
+    void importWallets_ShouldStageNormalizedValidRows() {
+        // Arrange
+        Stream<WalletImportRow> rows = Stream.of(
+                new WalletImportRow(1, " alice@example.com ", "btc", "0.50"),
+                new WalletImportRow(2, "bob@example.com", null, null));
+
+        // Act
+        WalletImportResult result = importWalletsUseCase.importWallets(rows);
+
+        // Assert
+        verify(walletImport).createStaging();
+        assertEquals(List.of(
+                new WalletImportRow(1, "alice@example.com", "BTC", "0.5"),
+                new WalletImportRow(2, "bob@example.com", null, null)), staged);
+        assertEquals(2, result.getRowsRead());
+        assertEquals(2, result.getRowsImported());
+        assertEquals(0, result.getRowsRejected());
+        verify(priceProvider, never()).getTokens(anyCollection());
+    }
+
+    @Test
+    void importWallets_ShouldRejectInvalidRowsAndReportUpToTheLimit() {
+        // Arrange
+        Stream<WalletImportRow> rows = Stream.of(
+                new WalletImportRow(1, "not-an-email", "BTC", "1"),
+                new WalletImportRow(2, "alice@example.com", "BTC", "-1"),
+                new WalletImportRow(3, "alice@example.com", "BTC", null),
+                new WalletImportRow(4, "alice@example.com", "BTC", "1"));
+
+        // Act
+        WalletImportResult result = importWalletsUseCase.importWallets(rows);
+
+        // Assert
+        assertEquals(1, staged.size());
+        assertEquals(4, result.getRowsRead());
+        assertEquals(1, result.getRowsImported());
+        assertEquals(3, result.getRowsRejected());
+        assertEquals(List.of(
+                new WalletImportError(1, "Invalid email: not-an-email"),
+                new WalletImportError(2, "Quantity must be positive: -1")), result.getErrors());
+    }
+
+    @Test
+    void importWallets_ShouldResolveUnknownSymbolsInOneLookupAndRejectUnresolved() {
+        // Arrange
+        Token eth = new Token("ethereum", "ETH", null, null);
+        when(walletImport.findUnknownSymbols()).thenReturn(List.of("ETH", "NOPE"));
+        when(priceProvider.getTokens(List.of("ETH", "NOPE"))).thenReturn(Map.of("ETH", eth));
+        when(walletImport.findRowsWithSymbols(List.of("NOPE"), 2))
+                .thenReturn(List.of(new WalletImportRow(2, "bob@example.com", "NOPE", "1")));
+        when(walletImport.deleteRowsWithSymbols(List.of("NOPE"))).thenReturn(1L);
+        Stream<WalletImportRow> rows = Stream.of(
+                new WalletImportRow(1, "alice@example.com", "ETH", "1"),
+                new WalletImportRow(2, "bob@example.com", "NOPE", "1"));
+
+        // Act
+        WalletImportResult result = importWalletsUseCase.importWallets(rows);
+
+        // Assert
+        verify(walletImport).saveTokens(List.of(eth));
+        assertEquals(1, result.getRowsImported());
+        assertEquals(1, result.getRowsRejected());
+        assertEquals(List.of(new WalletImportError(2, "Invalid token symbol: NOPE")), result.getErrors());
+    }
+
+    @Test
+    void importWallets_WhenAllSymbolsAreKnown_ShouldNotCallPriceProvider() {
+        // Arrange
+        when(walletImport.findUnknownSymbols()).thenReturn(List.of());
+
+        // Act
+        importWalletsUseCase.importWallets(Stream.of(new WalletImportRow(1, "alice@example.com", "BTC", "1")));
+
+        // Assert
+        verify(priceProvider, never()).getTokens(anyCollection());
+        verify(walletImport, never()).findRowsWithSymbols(anyCollection(), anyInt());
+        verify(walletImport).merge();
+    }
+}
@@ -0,0 +1,95 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletQueryPort;
+import org.mbalves.sp.crypto.wallet.domain.WalletPage;
+import org.mbalves.sp.crypto.wallet.domain.WalletSummary;
+import org.mbalves.sp.crypto.wallet.domain.WalletView;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ListWalletsUseCaseImplTest {
+
+    @Mock
+    private WalletQueryPort walletQuery;
+
+    private ListWalletsUseCaseImpl listWalletsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        listWalletsUseCase = new ListWalletsUseCaseImpl(walletQuery, 100);
+    }
+
+    @Test
+    void listWallets_WhenMoreWalletsFollow_ShouldReturnFullPageWithNextAfter() {
+        // Arrange
+        when(walletQuery.findPage(10L, 3)).thenReturn(wallets(11, 12, 13));
+
+        // Act
+        WalletPage<WalletView> page = listWalletsUseCase.listWallets(10L, 2);
+
+        // Assert
+        assertEquals(List.of(11L, 12L), page.getItems().stream().map(WalletView::id).toList());
+        assertEquals(12L, page.getNextAfter());
+    }
+
+    @Test
+    void listWallets_WhenLastPage_ShouldReturnNoNextAfter() {
+        // Arrange
+        when(walletQuery.findPage(null, 3)).thenReturn(wallets(1, 2));
+
+        // Act
+        WalletPage<WalletView> page = listWalletsUseCase.listWallets(null, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNextAfter());
+    }
+
+    @Test
+    void listWallets_ShouldKeepLimitWithinBounds() {
+        // Arrange
+        when(walletQuery.findPage(null, 101)).thenReturn(List.of());
+        when(walletQuery.findPage(null, 2)).thenReturn(List.of());
+
+        // Act
+        listWalletsUseCase.listWallets(null, 1000);
+        listWalletsUseCase.listWallets(null, 0);
+
+        // Assert
+        verify(walletQuery).findPage(null, 101);
+        verify(walletQuery).findPage(null, 2);
+    }
+
+    @Test
+    void listWalletTotals_ShouldReturnSummariesWithNextAfter() {
+        // Arrange
+        when(walletQuery.findSummaryPage(0L, 2)).thenReturn(List.of(
+                new WalletSummary(1L, "a@example.com", BigDecimal.TEN),
+                new WalletSummary(2L, "b@example.com", BigDecimal.ZERO)));
+
+        // Act
+        WalletPage<WalletSummary> page = listWalletsUseCase.listWalletTotals(0L, 1);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertEquals(BigDecimal.TEN, page.getItems().getFirst().getTotal());
+        assertEquals(1L, page.getNextAfter());
+    }
+
+    private static List<WalletView> wallets(long... ids) {
+        return LongStream.of(ids).mapToObj(id -> new WalletView(id, id + "@example.com", List.of())).toList();
+    }
+}
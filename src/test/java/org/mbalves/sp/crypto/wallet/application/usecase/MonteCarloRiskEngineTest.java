@@ -0,0 +1,60 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonteCarloRiskEngineTest {
+
+    private final MonteCarloRiskEngine engine = new MonteCarloRiskEngine(4);
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void simulate_WithConstantReturns_ShouldCompoundThemOnEveryPath() {
+        double[] logReturns = {Math.log(1.01), Math.log(0.99), Math.log(1.01), Math.log(0.99)};
+
+        double[] values = engine.simulate(new double[]{1000.0, 500.0}, logReturns, 10, 100, 42L);
+
+        double expected = 1000.0 * Math.pow(1.01, 10) + 500.0 * Math.pow(0.99, 10);
+        assertEquals(100, values.length);
+        for (double value : values) {
+            assertEquals(expected, value, 1e-9);
+        }
+    }
+
+    @Test
+    void simulate_ShouldReturnSortedValues() {
+        double[] logReturns = {Math.log(1.05), Math.log(0.95), Math.log(1.02), Math.log(0.9)};
+
+        double[] values = engine.simulate(new double[]{1000.0}, logReturns, 5, 10_000, 7L);
+
+        for (int i = 1; i < values.length; i++) {
+            assertTrue(values[i - 1] <= values[i]);
+        }
+        assertTrue(values[0] < 1000.0);
+        assertTrue(values[values.length - 1] > 1000.0);
+    }
+
+    @Test
+    void simulate_WithSameSeed_ShouldGiveSameValuesWhateverTheParallelism() {
+        double[] logReturns = {0.01, -0.02, 0.03, -0.01, 0.0, 0.02};
+        MonteCarloRiskEngine sequential = new MonteCarloRiskEngine(1);
+        try {
+            int paths = MonteCarloRiskEngine.PATHS_PER_TASK * 5 + 3;
+
+            double[] expected = sequential.simulate(new double[]{100.0, 200.0}, logReturns, 20, paths, 11L);
+            double[] actual = engine.simulate(new double[]{100.0, 200.0}, logReturns, 20, paths, 11L);
+
+            assertArrayEquals(expected, actual);
+        } finally {
+            sequential.shutdown();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mbalves.sp.crypto.wallet.domain.WalletAnalytics;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PortfolioAnalyticsEngineTest {
+
+    private final PortfolioAnalyticsEngine engine = new PortfolioAnalyticsEngine(4);
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void analyze_WithAlternatingReturns_ShouldMeasureVolatilityAndDrawdown() {
+        double[] returns = {Math.log(1.1), Math.log(0.9), Math.log(1.1), Math.log(0.9)};
+
+        WalletAnalytics analytics = engine.analyze(new double[]{1.0}, new double[][]{returns}, 0.0);
+
+        // Simple returns of +10% and -10%: a sample standard deviation of sqrt(4 * 0.01 / 3)
+        double volatility = Math.sqrt(4 * 0.01 / 3) * Math.sqrt(365) * 100;
+        assertEquals(Math.round(volatility * 100) / 100.0, analytics.getVolatility());
+        // 1.1 * 0.9 * 1.1 * 0.9 = 0.9801 from the peak of 1.1
+        assertEquals(10.9, analytics.getMaxDrawdown());
+        assertEquals(0.0, analytics.getSharpeRatio());
+        assertEquals(1.0, analytics.getCorrelations()[0][0]);
+    }
+
+    @Test
+    void analyze_ShouldMeasureTheSharpeRatioAgainstTheRiskFreeRate() {
+        double[] returns = {0.02, 0.0, 0.02, 0.0};
+
+        WalletAnalytics analytics = engine.analyze(new double[]{1.0}, new double[][]{returns}, 0.5);
+
+        double mean = (Math.expm1(0.02) * 2) / 4;
+        double deviation = Math.sqrt(4 * Math.pow(Math.expm1(0.02) / 2, 2) / 3);
+        double sharpe = (mean * 365 - 0.5) / (deviation * Math.sqrt(365));
+        assertEquals(Math.round(sharpe * 100) / 100.0, analytics.getSharpeRatio());
+        assertEquals(0.0, analytics.getMaxDrawdown());
+    }
+
+    @Test
+    void analyze_ShouldCorrelateTheTokensPairwise() {
+        double[] btc = {0.01, -0.02, 0.03, -0.01, 0.02};
+        double[] doubled = {0.02, -0.04, 0.06, -0.02, 0.04};
+        double[] inverse = {-0.01, 0.02, -0.03, 0.01, -0.02};
+        double[] stable = {0.0, 0.0, 0.0, 0.0, 0.0};
+
+        WalletAnalytics analytics = engine.analyze(new double[]{0.25, 0.25, 0.25, 0.25},
+                new double[][]{btc, doubled, inverse, stable}, 0.0);
+
+        double[][] correlations = analytics.getCorrelations();
+        assertArrayEquals(new double[]{1.0, 1.0, -1.0, 0.0}, correlations[0]);
+        assertArrayEquals(new double[]{1.0, 1.0, -1.0, 0.0}, correlations[1]);
+        assertArrayEquals(new double[]{-1.0, -1.0, 1.0, 0.0}, correlations[2]);
+        assertArrayEquals(new double[]{0.0, 0.0, 0.0, 1.0}, correlations[3]);
+        assertEquals(0.0, analytics.getVolatilities()[3]);
+    }
+
+    @Test
+    void analyze_WhenTheWalletDoesNotVary_ShouldHaveNoSharpeRatio() {
+        WalletAnalytics analytics = engine.analyze(new double[]{1.0}, new double[][]{{0.0, 0.0, 0.0}}, 0.0);
+
+        assertEquals(0.0, analytics.getVolatility());
+        assertNull(analytics.getSharpeRatio());
+    }
+
+    @Test
+    void analyze_ShouldGiveSameCorrelationsWhateverTheParallelism() {
+        int tokens = PortfolioAnalyticsEngine.ROWS_PER_TASK * 5 + 3;
+        Random random = new Random(42L);
+        double[][] returns = new double[tokens][60];
+        double[] weights = new double[tokens];
+        for (int t = 0; t < tokens; t++) {
+            weights[t] = 1.0 / tokens;
+            for (int day = 0; day < returns[t].length; day++) {
+                returns[t][day] = random.nextGaussian() * 0.03;
+            }
+        }
+        PortfolioAnalyticsEngine sequential = new PortfolioAnalyticsEngine(1);
+        try {
+            WalletAnalytics expected = sequential.analyze(weights, returns, 0.0);
+            WalletAnalytics actual = engine.analyze(weights, returns, 0.0);
+
+            assertArrayEquals(expected.getCorrelations(), actual.getCorrelations());
+            for (int i = 0; i < tokens; i++) {
+                for (int j = 0; j < tokens; j++) {
+                    assertEquals(actual.getCorrelations()[i][j], actual.getCorrelations()[j][i]);
+                }
+            }
+        } finally {
+            sequential.shutdown();
+        }
+    }
+}
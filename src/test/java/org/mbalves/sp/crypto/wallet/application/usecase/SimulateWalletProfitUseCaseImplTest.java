@@ -4,24 +4,43 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mbalves.sp.crypto.wallet.application.port.out.PriceProviderPort;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.Asset;
 import org.mbalves.sp.crypto.wallet.domain.AssetSimulation;
+import org.mbalves.sp.crypto.wallet.domain.Money;
 import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulation;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationOutcome;
 import org.mbalves.sp.crypto.wallet.domain.WalletSimulationResult;
+import org.mbalves.sp.crypto.wallet.domain.WalletSimulationSeries;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidSimulationRangeException;
 import org.mbalves.sp.crypto.wallet.domain.exception.InvalidTokenException;
-import org.mockito.InjectMocks;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletNotFoundException;
 import org.mockito.Mock;
+import org.mockito.stubbing.Answer;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,7 +50,9 @@ class SimulateWalletProfitUseCaseImplTest {
     @Mock
     private PriceProviderPort priceProvider;
 
-    @InjectMocks
+    @Mock
+    private WalletRepositoryPort walletRepository;
+
     private SimulateWalletProfitUseCaseImpl simulateWalletProfitUseCase;
 
     private AssetSimulation asset1;
@@ -41,6 +62,8 @@ class SimulateWalletProfitUseCaseImplTest {
 
     @BeforeEach
     void setUp() {
+        simulateWalletProfitUseCase = new SimulateWalletProfitUseCaseImpl(priceProvider, walletRepository, 4, 2, 1825, 100);
+
         asset1 = new AssetSimulation();
         asset1.setSymbol("BTC");
         asset1.setQuantity(1.0);
@@ -51,15 +74,9 @@ class SimulateWalletProfitUseCaseImplTest {
         asset2.setQuantity(2.0);
         asset2.setValue(BigDecimal.valueOf(4800.0)); // historical value is 2400.0
 
-        btcToken = new Token();
-        btcToken.setId("bitcoin");
-        btcToken.setSymbol("BTC");
-        btcToken.setPrice(BigDecimal.valueOf(35000.0));
+        btcToken = new Token("bitcoin", "BTC", BigDecimal.valueOf(35000.0), null);
 
-        ethToken = new Token();
-        ethToken.setId("ethereum");
-        ethToken.setSymbol("ETH");
-        ethToken.setPrice(BigDecimal.valueOf(2500.0));
+        ethToken = new Token("ethereum", "ETH", BigDecimal.valueOf(2500.0), null);
     }
 
     @Test
@@ -70,7 +87,7 @@ class SimulateWalletProfitUseCaseImplTest {
         WalletSimulationResult result = simulateWalletProfitUseCase.simulateProfit(assets, date);
 
         assertNotNull(result);
-        assertEquals(BigDecimal.ZERO, result.getTotal());
+        assertEquals(Money.ZERO, result.getTotal());
         assertNull(result.getBestAsset());
         assertNull(result.getWorstAsset());
         assertNull(result.getBestPerformance());
@@ -88,7 +105,7 @@ class SimulateWalletProfitUseCaseImplTest {
         WalletSimulationResult result = simulateWalletProfitUseCase.simulateProfit(assets, date);
 
         assertNotNull(result);
-        assertEquals(new BigDecimal("40000.00"), result.getTotal());
+        assertEquals(Money.of(new BigDecimal("40000.00")), result.getTotal());
         assertEquals("BTC", result.getBestAsset());
         assertEquals("ETH", result.getWorstAsset());
         assertNotNull(result.getBestPerformance());
@@ -113,7 +130,7 @@ class SimulateWalletProfitUseCaseImplTest {
         WalletSimulationResult result = simulateWalletProfitUseCase.simulateProfit(assets, date);
 
         assertNotNull(result);
-        assertEquals(new BigDecimal("37000.00"), result.getTotal());
+        assertEquals(Money.of(new BigDecimal("37000.00")), result.getTotal());
         assertEquals("ETH", result.getBestAsset());
         assertEquals("BTC", result.getWorstAsset());
         assertNotNull(result.getBestPerformance());
@@ -156,4 +173,284 @@ class SimulateWalletProfitUseCaseImplTest {
         assertEquals("Invalid token or price not found for symbol: BTC", exception.getMessage());
         verify(priceProvider).getToken("BTC");
     }
+
+    @Test
+    void simulateProfit_WithRepeatedSymbol_ShouldFetchPriceOnce() {
+        when(priceProvider.getToken("BTC")).thenReturn(btcToken);
+
+        WalletSimulationResult result = simulateWalletProfitUseCase.simulateProfit(List.of(asset1, asset1), LocalDate.now());
+
+        assertEquals(Money.of(new BigDecimal("70000.00")), result.getTotal());
+        verify(priceProvider, times(1)).getToken("BTC");
+    }
+
+    @Test
+    void simulateProfit_historicalDate_ShouldFetchPricesConcurrently() {
+        LocalDate date = LocalDate.now().minusDays(1);
+        // Each lookup waits until both are in flight, which fails the test if they run one after the other
+        CountDownLatch bothInFlight = new CountDownLatch(2);
+        Answer<Token> tokenWhenBothInFlight = invocation -> {
+            bothInFlight.countDown();
+            assertTrue(bothInFlight.await(5, TimeUnit.SECONDS));
+            return "BTC".equals(invocation.getArgument(0)) ? btcToken : ethToken;
+        };
+        when(priceProvider.getToken("BTC")).thenAnswer(tokenWhenBothInFlight);
+        when(priceProvider.getToken("ETH")).thenAnswer(tokenWhenBothInFlight);
+        when(priceProvider.getTokenPrice("bitcoin", date)).thenReturn(30000.0);
+        when(priceProvider.getTokenPrice("ethereum", date)).thenReturn(3500.0);
+
+        WalletSimulationResult result = simulateWalletProfitUseCase.simulateProfit(Arrays.asList(asset1, asset2), date);
+
+        assertEquals(Money.of(new BigDecimal("37000.00")), result.getTotal());
+    }
+
+    @Test
+    void simulateProfit_historicalDate_ShouldFetchEachPastPriceOnceAcrossSimulations() {
+        when(priceProvider.getToken("BTC")).thenReturn(btcToken);
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        when(priceProvider.getTokenPrice("bitcoin", date)).thenReturn(40000.0);
+
+        simulateWalletProfitUseCase.simulateProfit(List.of(asset1), date);
+        WalletSimulationResult result = simulateWalletProfitUseCase.simulateProfit(List.of(asset1), date);
+
+        assertEquals(Money.of(new BigDecimal("40000.00")), result.getTotal());
+        verify(priceProvider, times(1)).getTokenPrice("bitcoin", date);
+    }
+
+    @Test
+    void simulateProfit_storedWallet_ShouldMeasureFromAcquisitionDatesWithStoredPrices() {
+        LocalDate btcAcquired = LocalDate.of(2024, 1, 1);
+        LocalDate ethAcquired = LocalDate.of(2024, 6, 1);
+        when(walletRepository.findByIdWithAssets(1L)).thenReturn(Optional.of(wallet(
+                asset(btcToken, "0.5", btcAcquired), asset(ethToken, "2", ethAcquired))));
+        when(priceProvider.getTokenPrice("bitcoin", btcAcquired)).thenReturn(28000.0);
+        when(priceProvider.getTokenPrice("ethereum", ethAcquired)).thenReturn(3750.0);
+
+        WalletSimulationResult result = simulateWalletProfitUseCase.simulateProfit(1L, LocalDate.now(), null);
+
+        // 0.5 * 35000 + 2 * 2500, at the stored prices
+        assertEquals(Money.of(new BigDecimal("22500.00")), result.getTotal());
+        assertEquals("BTC", result.getBestAsset());
+        assertEquals(new BigDecimal("25.00"), result.getBestPerformance());
+        assertEquals("ETH", result.getWorstAsset());
+        assertEquals(new BigDecimal("-33.33"), result.getWorstPerformance());
+        verify(priceProvider, never()).getToken(any());
+    }
+
+    @Test
+    void simulateProfit_storedWallet_WithBaseline_ShouldMeasureEveryAssetFromTheBaseline() {
+        LocalDate baseline = LocalDate.of(2023, 1, 1);
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        when(walletRepository.findByIdWithAssets(1L)).thenReturn(Optional.of(wallet(
+                asset(btcToken, "1", LocalDate.of(2022, 1, 1)), asset(ethToken, "2", LocalDate.of(2022, 6, 1)))));
+        when(priceProvider.getTokenPrice("bitcoin", baseline)).thenReturn(20000.0);
+        when(priceProvider.getTokenPrice("bitcoin", date)).thenReturn(40000.0);
+        when(priceProvider.getTokenPrice("ethereum", baseline)).thenReturn(2000.0);
+        when(priceProvider.getTokenPrice("ethereum", date)).thenReturn(3000.0);
+
+        WalletSimulationResult result = simulateWalletProfitUseCase.simulateProfit(1L, date, baseline);
+
+        assertEquals(Money.of(new BigDecimal("46000.00")), result.getTotal());
+        assertEquals(new BigDecimal("100.00"), result.getBestPerformance());
+        assertEquals(new BigDecimal("50.00"), result.getWorstPerformance());
+        verify(priceProvider, times(1)).getTokenPrice("bitcoin", baseline);
+        verify(priceProvider, times(1)).getTokenPrice("ethereum", date);
+    }
+
+    @Test
+    void simulateProfit_storedWallet_WhenWalletDoesNotExist_ShouldThrowWalletNotFoundException() {
+        when(walletRepository.findByIdWithAssets(1L)).thenReturn(Optional.empty());
+
+        assertThrows(WalletNotFoundException.class,
+                () -> simulateWalletProfitUseCase.simulateProfit(1L, LocalDate.now(), null));
+    }
+
+    @Test
+    void simulateProfit_storedWallet_WhenPastPriceIsMissing_ShouldThrowInvalidTokenException() {
+        LocalDate baseline = LocalDate.of(2023, 1, 1);
+        when(walletRepository.findByIdWithAssets(1L)).thenReturn(Optional.of(wallet(asset(btcToken, "1", null))));
+        when(priceProvider.getTokenPrice("bitcoin", baseline)).thenReturn(null);
+
+        assertThrows(InvalidTokenException.class,
+                () -> simulateWalletProfitUseCase.simulateProfit(1L, LocalDate.now(), baseline));
+    }
+
+    @Test
+    void simulateProfits_ShouldFetchEachTokenAndPastPriceOnce() {
+        LocalDate date = LocalDate.of(2025, 1, 1);
+        when(priceProvider.getTokens(Set.of("BTC", "ETH"))).thenReturn(Map.of("BTC", btcToken, "ETH", ethToken));
+        when(priceProvider.getTokenPrice("bitcoin", date)).thenReturn(30000.0);
+        when(priceProvider.getTokenPrice("ethereum", date)).thenReturn(3500.0);
+        List<WalletSimulation> wallets = List.of(
+                new WalletSimulation(List.of(asset1, asset2), date),
+                new WalletSimulation(List.of(asset2), date),
+                new WalletSimulation(List.of(asset1), LocalDate.now()));
+
+        List<WalletSimulationOutcome> outcomes = new ArrayList<>();
+        simulateWalletProfitUseCase.simulateProfits(wallets, outcomes::add);
+
+        assertEquals(3, outcomes.size());
+        assertEquals(Money.of(new BigDecimal("37000.00")), outcomes.get(0).result().getTotal());
+        assertEquals(Money.of(new BigDecimal("7000.00")), outcomes.get(1).result().getTotal());
+        assertEquals(Money.of(new BigDecimal("35000.00")), outcomes.get(2).result().getTotal());
+        assertNull(outcomes.get(0).error());
+        verify(priceProvider, times(1)).getTokens(any());
+        verify(priceProvider, times(1)).getTokenPrice("bitcoin", date);
+        verify(priceProvider, times(1)).getTokenPrice("ethereum", date);
+        verify(priceProvider, never()).getToken(any());
+    }
+
+    @Test
+    void simulateProfits_WhenTokenIsInvalid_ShouldFailOnlyItsPortfolio() {
+        when(priceProvider.getTokens(Set.of("BTC", "XYZ"))).thenReturn(Map.of("BTC", btcToken));
+        AssetSimulation invalid = new AssetSimulation();
+        invalid.setSymbol("XYZ");
+        invalid.setQuantity(1.0);
+        invalid.setValue(BigDecimal.TEN);
+        List<WalletSimulation> wallets = List.of(
+                new WalletSimulation(List.of(invalid), LocalDate.now()),
+                new WalletSimulation(List.of(asset1), LocalDate.now()));
+
+        List<WalletSimulationOutcome> outcomes = new ArrayList<>();
+        simulateWalletProfitUseCase.simulateProfits(wallets, outcomes::add);
+
+        assertNull(outcomes.get(0).result());
+        assertEquals("Invalid token or price not found for symbol: XYZ", outcomes.get(0).error());
+        assertEquals(Money.of(new BigDecimal("35000.00")), outcomes.get(1).result().getTotal());
+    }
+
+    @Test
+    void simulateProfits_WhenQuantityIsZero_ShouldFailOnlyItsPortfolio() {
+        when(priceProvider.getTokens(Set.of("BTC"))).thenReturn(Map.of("BTC", btcToken));
+        AssetSimulation empty = new AssetSimulation();
+        empty.setSymbol("BTC");
+        empty.setQuantity(0.0);
+        empty.setValue(BigDecimal.TEN);
+        List<WalletSimulation> wallets = List.of(
+                new WalletSimulation(List.of(empty), LocalDate.now()),
+                new WalletSimulation(List.of(asset1), LocalDate.now()));
+
+        List<WalletSimulationOutcome> outcomes = new ArrayList<>();
+        simulateWalletProfitUseCase.simulateProfits(wallets, outcomes::add);
+
+        assertNull(outcomes.get(0).result());
+        assertEquals("Quantity and value must be positive for symbol: BTC", outcomes.get(0).error());
+        assertEquals(Money.of(new BigDecimal("35000.00")), outcomes.get(1).result().getTotal());
+    }
+
+    @Test
+    void simulateProfits_WhenPastPriceLookupFails_ShouldFailOnlyItsPortfolios() {
+        LocalDate date = LocalDate.of(2025, 1, 1);
+        when(priceProvider.getTokens(Set.of("BTC", "ETH"))).thenReturn(Map.of("BTC", btcToken, "ETH", ethToken));
+        when(priceProvider.getTokenPrice("bitcoin", date)).thenThrow(new IllegalStateException("rate limited"));
+        when(priceProvider.getTokenPrice("ethereum", date)).thenReturn(3500.0);
+        List<WalletSimulation> wallets = List.of(
+                new WalletSimulation(List.of(asset1), date),
+                new WalletSimulation(List.of(asset2), date));
+
+        List<WalletSimulationOutcome> outcomes = new ArrayList<>();
+        simulateWalletProfitUseCase.simulateProfits(wallets, outcomes::add);
+
+        assertEquals("Invalid token or price not found for symbol: BTC", outcomes.get(0).error());
+        assertEquals(Money.of(new BigDecimal("7000.00")), outcomes.get(1).result().getTotal());
+    }
+
+    @Test
+    void simulateProfitSeries_ShouldFetchEachHistoryOnceAndValueEveryStep() {
+        LocalDate today = LocalDate.now();
+        LocalDate start = today.minusDays(4);
+        when(priceProvider.getTokens(Set.of("BTC", "ETH"))).thenReturn(Map.of("BTC", btcToken, "ETH", ethToken));
+        when(priceProvider.getTokenPrices("bitcoin", start, today.minusDays(1)))
+                .thenReturn(new double[]{30000.0, Double.NaN, 32000.0, 33000.0});
+        when(priceProvider.getTokenPrices("ethereum", start, today.minusDays(1)))
+                .thenReturn(new double[]{2400.0, 2400.0, 2400.0, 2400.0});
+
+        WalletSimulationSeries series = simulateWalletProfitUseCase.simulateProfitSeries(
+                List.of(asset1, asset2, asset1), start, today, 2);
+
+        assertEquals(List.of(start, start.plusDays(2), today), series.getDates());
+        assertArrayEquals(new double[]{64800.0, 68800.0, 75000.0}, series.getTotals());
+        assertEquals(List.of("BTC", "ETH", "BTC"), series.getSymbols());
+        assertArrayEquals(new double[]{0.0, 6.67, 16.67}, series.getPerformances()[0]);
+        assertArrayEquals(new double[]{0.0, 0.0, 4.17}, series.getPerformances()[1]);
+        verify(priceProvider, times(1)).getTokens(any());
+        verify(priceProvider, times(1)).getTokenPrices("bitcoin", start, today.minusDays(1));
+        verify(priceProvider, times(1)).getTokenPrices("ethereum", start, today.minusDays(1));
+    }
+
+    @Test
+    void simulateProfitSeries_WhenFirstDayHasNoPrice_ShouldThrowInvalidTokenException() {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 1, 3);
+        when(priceProvider.getTokens(Set.of("BTC"))).thenReturn(Map.of("BTC", btcToken));
+        when(priceProvider.getTokenPrices("bitcoin", start, end)).thenReturn(new double[]{Double.NaN, 30000.0, 31000.0});
+
+        InvalidTokenException exception = assertThrows(
+                InvalidTokenException.class,
+                () -> simulateWalletProfitUseCase.simulateProfitSeries(List.of(asset1), start, end, 1)
+        );
+
+        assertEquals("Invalid token or price not found for symbol: BTC", exception.getMessage());
+    }
+
+    @Test
+    void simulateProfitSeries_WhenRangeIsInvalid_ShouldThrowInvalidSimulationRangeException() {
+        LocalDate today = LocalDate.now();
+        List<AssetSimulation> assets = List.of(asset1);
+
+        assertThrows(InvalidSimulationRangeException.class,
+                () -> simulateWalletProfitUseCase.simulateProfitSeries(assets, today, today.minusDays(1), 1));
+        assertThrows(InvalidSimulationRangeException.class,
+                () -> simulateWalletProfitUseCase.simulateProfitSeries(assets, today, today.plusDays(1), 1));
+        assertThrows(InvalidSimulationRangeException.class,
+                () -> simulateWalletProfitUseCase.simulateProfitSeries(assets, today.minusDays(7), today, 0));
+        assertThrows(InvalidSimulationRangeException.class,
+                () -> simulateWalletProfitUseCase.simulateProfitSeries(assets, today.minusDays(1826), today, 1));
+        verify(priceProvider, never()).getTokens(any());
+    }
+
+    @Test
+    void simulateProfit_WhenQuantityIsMissing_ShouldThrowInvalidSimulationRangeException() {
+        AssetSimulation missingQuantity = new AssetSimulation();
+        missingQuantity.setSymbol("BTC");
+        missingQuantity.setValue(new BigDecimal("30000.00"));
+
+        assertThrows(InvalidSimulationRangeException.class,
+                () -> simulateWalletProfitUseCase.simulateProfit(List.of(missingQuantity), LocalDate.now()));
+        verify(priceProvider, never()).getTokens(any());
+    }
+
+    @Test
+    void simulateProfitSeries_WhenQuantityOrValueIsNotPositive_ShouldThrowInvalidSimulationRangeException() {
+        LocalDate today = LocalDate.now();
+        AssetSimulation zeroQuantity = new AssetSimulation();
+        zeroQuantity.setSymbol("BTC");
+        zeroQuantity.setQuantity(0.0);
+        zeroQuantity.setValue(new BigDecimal("30000.00"));
+        AssetSimulation missingValue = new AssetSimulation();
+        missingValue.setSymbol("ETH");
+        missingValue.setQuantity(1.0);
+
+        InvalidSimulationRangeException exception = assertThrows(InvalidSimulationRangeException.class,
+                () -> simulateWalletProfitUseCase.simulateProfitSeries(List.of(zeroQuantity), today.minusDays(7), today, 1));
+        assertEquals("Quantity and value must be positive for symbol: BTC", exception.getMessage());
+        assertThrows(InvalidSimulationRangeException.class,
+                () -> simulateWalletProfitUseCase.simulateProfitSeries(List.of(asset1, missingValue), today.minusDays(7), today, 1));
+        verify(priceProvider, never()).getTokens(any());
+    }
+
+    private static Wallet wallet(Asset... assets) {
+        Wallet wallet = new Wallet();
+        wallet.setId(1L);
+        wallet.setAssets(new ArrayList<>(List.of(assets)));
+        return wallet;
+    }
+
+    private static Asset asset(Token token, String quantity, LocalDate acquiredOn) {
+        Asset asset = new Asset();
+        asset.setToken(token);
+        asset.setQuantity(new BigDecimal(quantity));
+        asset.setAcquiredOn(acquiredOn);
+        return asset;
+    }
 }
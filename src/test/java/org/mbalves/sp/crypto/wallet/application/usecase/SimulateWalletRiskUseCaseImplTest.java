@@ -0,0 +1,202 @@
+package org.mbalves.sp.crypto.wallet.application.usecase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceHistoryRepositoryPort;
+import org.mbalves.sp.crypto.wallet.application.port.out.TokenRepositoryPort;
+import org.mbalves.sp.crypto.wallet.application.port.out.WalletRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.Asset;
+import org.mbalves.sp.crypto.wallet.domain.AssetSimulation;
+import org.mbalves.sp.crypto.wallet.domain.PricePoint;
+import org.mbalves.sp.crypto.wallet.domain.PriceResolution;
+import org.mbalves.sp.crypto.wallet.domain.Token;
+import org.mbalves.sp.crypto.wallet.domain.Wallet;
+import org.mbalves.sp.crypto.wallet.domain.WalletRisk;
+import org.mbalves.sp.crypto.wallet.domain.exception.InsufficientPriceHistoryException;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidSimulationRangeException;
+import org.mbalves.sp.crypto.wallet.domain.exception.InvalidTokenException;
+import org.mbalves.sp.crypto.wallet.domain.exception.WalletNotFoundException;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SimulateWalletRiskUseCaseImplTest {
+
+    @Mock
+    private WalletRepositoryPort walletRepository;
+
+    @Mock
+    private TokenRepositoryPort tokenRepository;
+
+    @Mock
+    private PriceHistoryRepositoryPort priceHistoryRepository;
+
+    private final Instant now = Instant.parse("2025-06-01T12:00:00Z");
+    private final MonteCarloRiskEngine engine = new MonteCarloRiskEngine(2);
+    private SimulateWalletRiskUseCaseImpl simulateWalletRiskUseCase;
+
+    private Token btcToken;
+    private Token ethToken;
+
+    @BeforeEach
+    void setUp() {
+        simulateWalletRiskUseCase = new SimulateWalletRiskUseCaseImpl(walletRepository, tokenRepository,
+                priceHistoryRepository, engine, Clock.fixed(now, ZoneOffset.UTC), 20_000, 365, 5, 30,
+                new double[]{0.95, 0.99});
+        btcToken = new Token("bitcoin", "BTC", BigDecimal.valueOf(50000.0), null);
+        ethToken = new Token("ethereum", "ETH", BigDecimal.valueOf(2500.0), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void simulateRisk_WithSteadilyRisingPrices_ShouldCompoundTheDailyReturn() {
+        when(tokenRepository.findBySymbol("BTC")).thenReturn(Optional.of(btcToken));
+        when(priceHistoryRepository.findDailyPrices(eq(List.of("bitcoin")), any(), eq(now)))
+                .thenReturn(Map.of("bitcoin", dailyPrices(10, 100.0, 1.01)));
+
+        WalletRisk risk = simulateWalletRiskUseCase.simulateRisk(List.of(asset("BTC", 2.0)), 3);
+
+        double expected = Math.round(100000.0 * Math.pow(1.01, 3) * 100) / 100.0;
+        assertEquals(100000.0, risk.getCurrentValue());
+        assertEquals(3, risk.getHorizonDays());
+        assertEquals(20_000, risk.getPaths());
+        assertEquals(9, risk.getHistoryDays());
+        assertEquals(expected, risk.getExpectedValue(), 0.01);
+        assertEquals(2, risk.getLevels().size());
+        assertEquals(0.95, risk.getLevels().get(0).confidence());
+        assertEquals(100000.0 - expected, risk.getLevels().get(0).valueAtRisk(), 0.01);
+        assertEquals(100000.0 - expected, risk.getLevels().get(1).conditionalValueAtRisk(), 0.01);
+    }
+
+    @Test
+    void simulateRisk_ForWallet_ShouldUseOnlyTheDaysEveryTokenHasAPrice() {
+        Wallet wallet = new Wallet();
+        wallet.setId(1L);
+        wallet.addAsset(asset(btcToken, "1"));
+        wallet.addAsset(asset(ethToken, "4"));
+        when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
+        List<PricePoint> ethPrices = new ArrayList<>(dailyPrices(40, 2500.0, 1.05, 0.96));
+        // Two days without ETH prices, so the returns ending on the days after them are skipped too
+        ethPrices.subList(10, 11).clear();
+        ethPrices.subList(20, 21).clear();
+        when(priceHistoryRepository.findDailyPrices(eq(List.of("bitcoin", "ethereum")), any(), eq(now)))
+                .thenReturn(Map.of("bitcoin", dailyPrices(40, 50000.0, 0.97, 1.04), "ethereum", ethPrices));
+
+        WalletRisk risk = simulateWalletRiskUseCase.simulateRisk(1L, 10);
+
+        assertEquals(60000.0, risk.getCurrentValue());
+        assertEquals(35, risk.getHistoryDays());
+        WalletRisk.ValueAtRisk var95 = risk.getLevels().get(0);
+        WalletRisk.ValueAtRisk var99 = risk.getLevels().get(1);
+        assertTrue(var95.valueAtRisk() > 0);
+        assertTrue(var99.valueAtRisk() >= var95.valueAtRisk());
+        assertTrue(var95.conditionalValueAtRisk() >= var95.valueAtRisk());
+        assertTrue(var99.conditionalValueAtRisk() >= var99.valueAtRisk());
+    }
+
+    @Test
+    void simulateRisk_ForEmptyWallet_ShouldNotSimulate() {
+        Wallet wallet = new Wallet();
+        wallet.setId(1L);
+        when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
+
+        WalletRisk risk = simulateWalletRiskUseCase.simulateRisk(1L, 1);
+
+        assertEquals(0.0, risk.getCurrentValue());
+        assertTrue(risk.getLevels().isEmpty());
+        verify(priceHistoryRepository, never()).findDailyPrices(any(), any(), any());
+    }
+
+    @Test
+    void simulateRisk_WhenHistoryIsTooShort_ShouldThrowInsufficientPriceHistoryException() {
+        when(tokenRepository.findBySymbol("BTC")).thenReturn(Optional.of(btcToken));
+        when(priceHistoryRepository.findDailyPrices(eq(List.of("bitcoin")), any(), eq(now)))
+                .thenReturn(Map.of("bitcoin", dailyPrices(5, 100.0, 1.01)));
+
+        InsufficientPriceHistoryException exception = assertThrows(InsufficientPriceHistoryException.class,
+                () -> simulateWalletRiskUseCase.simulateRisk(List.of(asset("BTC", 1.0)), 1));
+
+        assertEquals("Not enough price history to simulate the risk: 4 daily returns found, 5 required",
+                exception.getMessage());
+    }
+
+    @Test
+    void simulateRisk_WhenHorizonIsOutOfRange_ShouldThrowInvalidSimulationRangeException() {
+        assertThrows(InvalidSimulationRangeException.class,
+                () -> simulateWalletRiskUseCase.simulateRisk(List.of(asset("BTC", 1.0)), 0));
+        assertThrows(InvalidSimulationRangeException.class,
+                () -> simulateWalletRiskUseCase.simulateRisk(1L, 31));
+        verify(tokenRepository, never()).findBySymbol(anyString());
+        verify(walletRepository, never()).findById(any());
+    }
+
+    @Test
+    void simulateRisk_WhenTokenIsUnknown_ShouldThrowInvalidTokenException() {
+        when(tokenRepository.findBySymbol("XYZ")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidTokenException.class,
+                () -> simulateWalletRiskUseCase.simulateRisk(List.of(asset("XYZ", 1.0)), 1));
+    }
+
+    @Test
+    void simulateRisk_WhenWalletDoesNotExist_ShouldThrowWalletNotFoundException() {
+        when(walletRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(WalletNotFoundException.class, () -> simulateWalletRiskUseCase.simulateRisk(1L, 1));
+    }
+
+    /**
+     * One price a day at the start of the day, each being the previous one times the next factor.
+     */
+    private List<PricePoint> dailyPrices(int days, double first, double... factors) {
+        List<PricePoint> prices = new ArrayList<>();
+        Instant day = now.minus(Duration.ofDays(days - 1)).truncatedTo(java.time.temporal.ChronoUnit.DAYS);
+        double close = first;
+        for (int i = 0; i < days; i++) {
+            prices.add(new PricePoint(day, BigDecimal.valueOf(close), PriceResolution.DAY));
+            close *= factors[i % factors.length];
+            day = day.plus(Duration.ofDays(1));
+        }
+        return prices;
+    }
+
+    private static AssetSimulation asset(String symbol, double quantity) {
+        AssetSimulation asset = new AssetSimulation();
+        asset.setSymbol(symbol);
+        asset.setQuantity(quantity);
+        return asset;
+    }
+
+    private static Asset asset(Token token, String quantity) {
+        Asset asset = new Asset();
+        asset.setToken(token);
+        asset.setQuantity(new BigDecimal(quantity));
+        return asset;
+    }
+}
@@ -3,8 +3,10 @@ package org.mbalves.sp.crypto.wallet.application.usecase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mbalves.sp.crypto.wallet.application.port.out.PriceHistoryRepositoryPort;
 import org.mbalves.sp.crypto.wallet.application.port.out.PriceProviderPort;
 import org.mbalves.sp.crypto.wallet.application.port.out.TokenRepositoryPort;
+import org.mbalves.sp.crypto.wallet.domain.PriceEpoch;
 import org.mbalves.sp.crypto.wallet.domain.Token;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -16,8 +18,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -32,6 +38,9 @@ class UpdatePricesUseCaseImplTest {
     @Mock
     private PriceProviderPort priceProvider;
 
+    @Mock
+    private PriceHistoryRepositoryPort priceHistoryRepository;
+
     @InjectMocks
     private UpdatePricesUseCaseImpl updatePricesUseCase;
 
@@ -40,17 +49,9 @@ class UpdatePricesUseCaseImplTest {
 
     @BeforeEach
     void setUp() {
-        btcToken = new Token();
-        btcToken.setId("bitcoin");
-        btcToken.setSymbol("BTC");
-        btcToken.setPrice(BigDecimal.valueOf(50000.0));
-        btcToken.setLastUpdated(Instant.now());
-
-        ethToken = new Token();
-        ethToken.setId("ethereum");
-        ethToken.setSymbol("ETH");
-        ethToken.setPrice(BigDecimal.valueOf(3000.0));
-        ethToken.setLastUpdated(Instant.now());
+        btcToken = new Token("bitcoin", "BTC", BigDecimal.valueOf(50000.0), Instant.now());
+
+        ethToken = new Token("ethereum", "ETH", BigDecimal.valueOf(3000.0), Instant.now());
     }
 
     @Test
@@ -61,6 +62,7 @@ class UpdatePricesUseCaseImplTest {
         when(priceProvider.getTokenPrice("bitcoin")).thenReturn(51000.0);
         when(priceProvider.getTokenPrice("ethereum")).thenReturn(3100.0);
         when(tokenRepository.save(any(Token.class))).thenReturn(btcToken).thenReturn(ethToken);
+        long epoch = PriceEpoch.current();
 
         // Act
         updatePricesUseCase.updatePrices();
@@ -73,6 +75,25 @@ class UpdatePricesUseCaseImplTest {
         verify(priceProvider).getTokenPrice("bitcoin");
         verify(priceProvider).getTokenPrice("ethereum");
         verify(tokenRepository, times(2)).save(any(Token.class));
+        verify(priceHistoryRepository).recordPrices(eq(List.of(
+                btcToken.withPrice(BigDecimal.valueOf(51000.0)), ethToken.withPrice(BigDecimal.valueOf(3100.0)))), any(Instant.class));
+        assertTrue(PriceEpoch.current() > epoch);
+    }
+
+    @Test
+    void updatePrices_WhenRecordingHistoryFails_ShouldKeepUpdatedPrices() {
+        // Arrange
+        List<Token> tokens = Collections.singletonList(btcToken);
+        when(tokenRepository.findAll()).thenReturn(tokens);
+        when(priceProvider.getTokenPrice("bitcoin")).thenReturn(51000.0);
+        doThrow(new RuntimeException("No partition")).when(priceHistoryRepository).recordPrices(anyList(), any(Instant.class));
+
+        // Act
+        updatePricesUseCase.updatePrices();
+
+        // Assert
+        verify(tokenRepository).save(btcToken.withPrice(BigDecimal.valueOf(51000.0)));
+        verify(priceHistoryRepository).recordPrices(anyList(), any(Instant.class));
     }
 
     @Test
@@ -87,6 +108,7 @@ class UpdatePricesUseCaseImplTest {
         verify(tokenRepository).findAll();
         verify(priceProvider, never()).getTokenPrice(anyString());
         verify(tokenRepository, never()).save(any(Token.class));
+        verify(priceHistoryRepository, never()).recordPrices(anyList(), any(Instant.class));
     }
 
     @Test
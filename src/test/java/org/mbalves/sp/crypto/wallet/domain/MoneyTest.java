@@ -0,0 +1,106 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MoneyTest {
+
+    @Test
+    void testMultiplyRoundsLikeBigDecimal() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            BigDecimal price = BigDecimal.valueOf(random.nextLong(1_000_000_000_000_000L), 10);
+            BigDecimal quantity = BigDecimal.valueOf(random.nextLong(100_000_000_000_000L), 10);
+            if (random.nextBoolean()) {
+                quantity = quantity.negate();
+            }
+            BigDecimal expected = price.multiply(quantity).setScale(Money.SCALE, RoundingMode.HALF_UP);
+
+            assertEquals(expected, Money.of(price).multiply(Quantity.of(quantity)).toBigDecimal(), price + " * " + quantity);
+        }
+    }
+
+    @Test
+    void testMultiplyRoundsHalfUp() {
+        Money price = Money.of(new BigDecimal("0.0000000005"));
+
+        assertEquals(new BigDecimal("0.0000000003"), price.multiply(Quantity.of(new BigDecimal("0.5"))).toBigDecimal());
+        assertEquals(new BigDecimal("-0.0000000003"), price.multiply(Quantity.of(new BigDecimal("-0.5"))).toBigDecimal());
+    }
+
+    @Test
+    void testMultiplyOverflowFallsBackToBigDecimal() {
+        Money price = Money.of(new BigDecimal("123456789012.1234567891"));
+        Quantity quantity = Quantity.of(new BigDecimal("1234567890.1234567890"));
+
+        BigDecimal expected = new BigDecimal("123456789012.1234567891").multiply(new BigDecimal("1234567890.1234567890"))
+                .setScale(Money.SCALE, RoundingMode.HALF_UP);
+        assertEquals(expected, price.multiply(quantity).toBigDecimal());
+    }
+
+    @Test
+    void testAddOverflowFallsBackToBigDecimal() {
+        Money large = Money.of(new BigDecimal("900000000"));
+
+        Money sum = large.add(large);
+
+        assertEquals(new BigDecimal("1800000000.0000000000"), sum.toBigDecimal());
+        assertEquals(large, sum.add(large.multiply(Quantity.of(BigDecimal.valueOf(-1)))));
+    }
+
+    @Test
+    void testRoundToCents() {
+        assertEquals(new BigDecimal("0.0100000000"), Money.of(new BigDecimal("0.005")).roundToCents().toBigDecimal());
+        assertEquals(new BigDecimal("-0.0100000000"), Money.of(new BigDecimal("-0.005")).roundToCents().toBigDecimal());
+        assertEquals(Money.ZERO, Money.of(new BigDecimal("0.0049999999")).roundToCents());
+    }
+
+    @Test
+    void testToCentsString() {
+        assertEquals("0.00", Money.ZERO.toCentsString());
+        assertEquals("25000.00", Money.of(BigDecimal.valueOf(25000)).toCentsString());
+        assertEquals("1.05", Money.of(new BigDecimal("1.045")).toCentsString());
+        assertEquals("-0.05", Money.of(new BigDecimal("-0.045")).toCentsString());
+        assertEquals("-12.30", Money.of(new BigDecimal("-12.3")).toCentsString());
+    }
+
+    @Test
+    void testCompareToAndEquals() {
+        Money small = Money.of(new BigDecimal("1.5"));
+        Money large = Money.of(new BigDecimal("1000000000"));
+
+        assertEquals(-1, Integer.signum(small.compareTo(large)));
+        assertEquals(Money.of(new BigDecimal("1.50")), small);
+        assertEquals(Money.of(new BigDecimal("1000000000.0")), large);
+    }
+
+    @Test
+    void testEqualsIgnoresHowTheAmountWasComputed() {
+        Money sum = Money.of(BigDecimal.valueOf(90_000_000)).add(Money.of(BigDecimal.valueOf(90_000_000)));
+        Money parsed = Money.of(BigDecimal.valueOf(180_000_000));
+
+        assertEquals(0, sum.compareTo(parsed));
+        assertEquals(parsed, sum);
+        assertEquals(parsed.hashCode(), sum.hashCode());
+        assertEquals(1, new HashSet<>(List.of(sum, parsed)).size());
+    }
+
+    @Test
+    void testLargestAmountInUnitsEqualsTheSameAmountComputed() {
+        Money largest = Money.of(new BigDecimal("922337203.6854775807"));
+        Money computed = Money.of(new BigDecimal("922337203.6854775806")).add(Money.of(new BigDecimal("0.0000000001")));
+        Money beyond = Money.of(new BigDecimal("922337203.6854775808"));
+
+        assertEquals(largest, computed);
+        assertEquals(largest.hashCode(), computed.hashCode());
+        assertEquals(beyond, computed.add(Money.of(new BigDecimal("0.0000000001"))));
+        assertEquals(new BigDecimal("922337203.6854775808"), beyond.toBigDecimal());
+    }
+}
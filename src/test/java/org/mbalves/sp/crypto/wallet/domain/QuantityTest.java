@@ -0,0 +1,32 @@
+package org.mbalves.sp.crypto.wallet.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QuantityTest {
+
+    @Test
+    void testEveryQuantityThatFitsIsKeptInUnits() {
+        Quantity largest = Quantity.of(new BigDecimal("922337203.6854775807"));
+        Quantity beyond = Quantity.of(new BigDecimal("922337203.6854775808"));
+
+        assertNull(largest.decimal);
+        assertEquals(Long.MAX_VALUE, largest.units);
+        assertNotNull(beyond.decimal);
+        assertNull(Quantity.of(new BigDecimal("-922337203.6854775807")).decimal);
+    }
+
+    @Test
+    void testEqualsComparesTheValue() {
+        Quantity quantity = Quantity.of(new BigDecimal("180000000"));
+
+        assertEquals(quantity, Quantity.of(new BigDecimal("180000000.000")));
+        assertEquals(quantity.hashCode(), Quantity.of(new BigDecimal("180000000.000")).hashCode());
+        assertEquals(Quantity.of(new BigDecimal("1000000000")), Quantity.of(new BigDecimal("1000000000.0000000000")));
+    }
+}
@@ -3,8 +3,14 @@ package org.mbalves.sp.crypto.wallet.domain;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class WalletTest {
 
@@ -13,10 +19,7 @@ class WalletTest {
         // Arrange
         Wallet wallet = new Wallet();
 
-        Token token = new Token();
-        token.setId("bitcoin");
-        token.setSymbol("BTC");
-        token.setPrice(BigDecimal.valueOf(50000.0));
+        Token token = new Token("bitcoin", "BTC", BigDecimal.valueOf(50000.0), null);
 
         Asset asset = new Asset();
         asset.setToken(token);
@@ -35,20 +38,14 @@ class WalletTest {
         // Arrange
         Wallet wallet = new Wallet();
 
-        Token token1 = new Token();
-        token1.setId("bitcoin");
-        token1.setSymbol("BTC");
-        token1.setPrice(BigDecimal.valueOf(50000.0));
+        Token token1 = new Token("bitcoin", "BTC", BigDecimal.valueOf(50000.0), null);
 
         Asset asset1 = new Asset();
         asset1.setToken(token1);
         asset1.setQuantity(BigDecimal.valueOf(1.0));
         wallet.addAsset(asset1);
 
-        Token token2 = new Token();
-        token2.setId("ethereum");
-        token2.setSymbol("ETH");
-        token2.setPrice(BigDecimal.valueOf(3000.0));
+        Token token2 = new Token("ethereum", "ETH", BigDecimal.valueOf(3000.0), null);
 
         Asset asset2 = new Asset();
         asset2.setToken(token2);
@@ -56,7 +53,7 @@ class WalletTest {
         wallet.addAsset(asset2);
         
         // Act
-        BigDecimal totalValue = wallet.getTotal();
+        Money totalValue = wallet.getTotal();
         
         // Assert
         assertEquals(80000.0, totalValue.doubleValue());
@@ -68,9 +65,137 @@ class WalletTest {
         Wallet wallet = new Wallet();
         
         // Act
-        BigDecimal totalValue = wallet.getTotal();
+        Money totalValue = wallet.getTotal();
         
         // Assert
-        assertEquals(BigDecimal.ZERO, totalValue);
+        assertEquals(Money.ZERO, totalValue);
+    }
+
+    @Test
+    void testFindAssetIgnoresCase() {
+        // Arrange
+        Wallet wallet = new Wallet();
+        Asset asset = asset("BTC", 1.0);
+        wallet.addAsset(asset);
+
+        // Act & Assert
+        assertEquals(asset, wallet.findAsset("btc").orElseThrow());
+        assertTrue(wallet.findAsset("ETH").isEmpty());
+    }
+
+    @Test
+    void testAddAssetReplacesAssetOfSameTokenKeepingOrder() {
+        // Arrange
+        Wallet wallet = new Wallet();
+        wallet.addAsset(asset("BTC", 1.0));
+        wallet.addAsset(asset("ETH", 2.0));
+        Asset replacement = asset("btc", 3.0);
+
+        // Act
+        wallet.addAsset(replacement);
+
+        // Assert
+        assertEquals(List.of(replacement, wallet.findAsset("ETH").orElseThrow()), List.copyOf(wallet.getAssets()));
+    }
+
+    @Test
+    void testRemoveAsset() {
+        // Arrange
+        Wallet wallet = new Wallet();
+        wallet.addAsset(asset("BTC", 1.0));
+
+        // Act & Assert
+        assertFalse(wallet.removeAsset("ETH"));
+        assertTrue(wallet.removeAsset("Btc"));
+        assertTrue(wallet.getAssets().isEmpty());
+    }
+
+    @Test
+    void testGetAssetsIsReadOnly() {
+        Wallet wallet = new Wallet();
+
+        assertThrows(UnsupportedOperationException.class, () -> wallet.getAssets().add(asset("BTC", 1.0)));
+    }
+
+    @Test
+    void testGetTotalIsKeptUntilAnAssetChanges() {
+        // Arrange
+        Wallet wallet = new Wallet();
+        Asset btc = asset("BTC", 1.0);
+        wallet.addAsset(btc);
+        Money total = wallet.getTotal();
+
+        // Act & Assert
+        assertSame(total, wallet.getTotal());
+        assertSame(btc.getValue(), btc.getValue());
+
+        btc.setQuantity(BigDecimal.valueOf(2.0));
+        assertEquals(Money.of(BigDecimal.valueOf(200)), btc.getValue());
+        assertEquals(Money.of(BigDecimal.valueOf(200)), wallet.getTotal());
+
+        wallet.addAsset(asset("ETH", 1.0));
+        assertEquals(Money.of(BigDecimal.valueOf(300)), wallet.getTotal());
+
+        wallet.removeAsset("BTC");
+        assertEquals(Money.of(BigDecimal.valueOf(100)), wallet.getTotal());
+    }
+
+    @Test
+    void testGetTotalIsRecalculatedWhenPriceEpochAdvances() {
+        // Arrange
+        Wallet wallet = new Wallet();
+        Asset btc = asset("BTC", 1.0);
+        wallet.addAsset(btc);
+        Money value = btc.getValue();
+        Money total = wallet.getTotal();
+
+        // Act
+        PriceEpoch.advance();
+
+        // Assert
+        assertNotSame(value, btc.getValue());
+        assertNotSame(total, wallet.getTotal());
+        assertEquals(total, wallet.getTotal());
+    }
+
+    @Test
+    void testGetTotalIsRecalculatedWhenTokenPriceChanges() {
+        // Arrange
+        Wallet wallet = new Wallet();
+        Asset btc = asset("BTC", 1.0);
+        wallet.addAsset(btc);
+        assertEquals(Money.of(BigDecimal.valueOf(100)), wallet.getTotal());
+
+        // Act
+        btc.setToken(btc.getToken().withPrice(BigDecimal.valueOf(150.0)));
+
+        // Assert
+        assertEquals(Money.of(BigDecimal.valueOf(150)), btc.getValue());
+        assertEquals(Money.of(BigDecimal.valueOf(150)), wallet.getTotal());
+    }
+
+    @Test
+    void testRemovedAssetNoLongerChangesTotal() {
+        // Arrange
+        Wallet wallet = new Wallet();
+        Asset btc = asset("BTC", 1.0);
+        wallet.addAsset(btc);
+        wallet.addAsset(asset("ETH", 1.0));
+        wallet.removeAsset("BTC");
+        Money total = wallet.getTotal();
+
+        // Act
+        btc.setQuantity(BigDecimal.valueOf(5.0));
+
+        // Assert
+        assertSame(total, wallet.getTotal());
+    }
+
+    private static Asset asset(String symbol, double quantity) {
+        Token token = new Token(null, symbol, BigDecimal.valueOf(100.0), null);
+        Asset asset = new Asset();
+        asset.setToken(token);
+        asset.setQuantity(BigDecimal.valueOf(quantity));
+        return asset;
     }
 }
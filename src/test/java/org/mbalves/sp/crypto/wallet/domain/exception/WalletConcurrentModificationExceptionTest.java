@@ -0,0 +1,20 @@
+package org.mbalves.sp.crypto.wallet.domain.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WalletConcurrentModificationExceptionTest {
+
+    @Test
+    void testConstructorAndMessage() {
+        // Arrange
+        Long walletId = 123L;
+
+        // Act
+        WalletConcurrentModificationException exception = new WalletConcurrentModificationException(walletId);
+
+        // Assert
+        assertEquals("Wallet was modified concurrently, please retry: 123", exception.getMessage());
+    }
+}
@@ -0,0 +1,45 @@
+package org.mbalves.sp.crypto.wallet.infrastructure.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource();
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void determineCurrentLookupKey_WhenTransactionIsReadWrite_ShouldRouteToPrimary() {
+        // Act & Assert
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_WhenTransactionIsReadOnly_ShouldRouteToReplica() {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertEquals(ReadWriteRoutingDataSource.Route.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_WhenPrimaryIsForced_ShouldRouteToPrimary() {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        Object route = ReplicaRouting.onPrimary(dataSource::determineCurrentLookupKey);
+
+        // Assert
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, route);
+        assertEquals(ReadWriteRoutingDataSource.Route.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+}